@@ -2,16 +2,25 @@ package com.interviewprep;
 
 import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
+import com.interviewprep.server.ApiServer;
+import com.interviewprep.server.InterviewApi;
+import com.interviewprep.service.AIServiceManager;
 import com.interviewprep.service.ConfigurationService;
+import com.interviewprep.service.InterviewService;
+import com.interviewprep.service.StorageService;
+import com.interviewprep.service.UserContextCache;
 import com.interviewprep.ui.MainFrame;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Main entry point for AI Mock Interview Prep Tool
  * Uses free and open-source tools for AI-powered interview preparation
+ * With {@code --server [--port N]} it runs headless, serving the interview features over HTTP.
  */
 @Slf4j
 public class Main {
@@ -25,6 +34,11 @@ public class Main {
         // Load configuration
         ConfigurationService config = ConfigurationService.getInstance();
         
+        if (Arrays.asList(args).contains("--server")) {
+            startServer(config, args);
+            return;
+        }
+        
         // Set Look and Feel
         setLookAndFeel(config);
         
@@ -44,6 +58,39 @@ public class Main {
         });
     }
     
+    /**
+     * Headless mode: no window, just the HTTP API until the process is stopped
+     */
+    private static void startServer(ConfigurationService config, String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        
+        AIServiceManager aiServiceManager = new AIServiceManager(config);
+        StorageService storageService = new StorageService(config.getProperty("storage.path", "data"));
+        InterviewService interviewService = new InterviewService(aiServiceManager, null, storageService);
+        interviewService.setVoiceTracking(config.getBooleanProperty("analytics.track.pace", true),
+            config.getBooleanProperty("analytics.track.confidence", true));
+        
+        int portArg = Arrays.asList(args).indexOf("--port");
+        int port = portArg >= 0 && portArg + 1 < args.length
+            ? Integer.parseInt(args[portArg + 1]) : config.getIntProperty("server.port", 8080);
+        ApiServer server = ApiServer.fromConfig(config, port);
+        UserContextCache userContexts = UserContextCache.fromConfig(config, storageService);
+        new InterviewApi(interviewService, storageService, aiServiceManager, userContexts).register(server);
+        
+        try {
+            server.start();
+        } catch (IOException e) {
+            log.error("Could not start API server", e);
+            System.exit(1);
+        }
+        userContexts.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            userContexts.shutdown();
+        }, "api-shutdown"));
+        log.info("Running headless with AI service: {}", aiServiceManager.getCurrentServiceName());
+    }
+    
     private static void createDirectories() {
         String[] directories = {
             "recordings",
@@ -0,0 +1,128 @@
+package com.interviewprep.model;
+
+import lombok.Data;
+import java.util.*;
+
+/**
+ * Pre-aggregated analytics used by the trend dashboard.
+ * Maintained incrementally on every analytics save so charts never rescan history.
+ */
+@Data
+public class AnalyticsRollup {
+    private Map<String, Bucket> byMode;      // mode display name -> aggregate
+    private Map<String, Bucket> byCategory;  // category -> aggregate
+    private TreeMap<String, Bucket> byDay;   // yyyy-MM-dd -> aggregate
+    private TreeMap<String, Bucket> byWeek;  // yyyy-Www -> aggregate
+    private Bucket overall;
+
+    public AnalyticsRollup() {
+        this.byMode = new HashMap<>();
+        this.byCategory = new HashMap<>();
+        this.byDay = new TreeMap<>();
+        this.byWeek = new TreeMap<>();
+        this.overall = new Bucket();
+    }
+
+    /**
+     * Deep copy, safe to read while the original keeps changing
+     */
+    public AnalyticsRollup copy() {
+        AnalyticsRollup copy = new AnalyticsRollup();
+        byMode.forEach((key, bucket) -> copy.byMode.put(key, bucket.copy()));
+        byCategory.forEach((key, bucket) -> copy.byCategory.put(key, bucket.copy()));
+        byDay.forEach((key, bucket) -> copy.byDay.put(key, bucket.copy()));
+        byWeek.forEach((key, bucket) -> copy.byWeek.put(key, bucket.copy()));
+        copy.overall = overall.copy();
+        return copy;
+    }
+
+    /**
+     * Most recent daily buckets, oldest first
+     */
+    public List<Map.Entry<String, Bucket>> getRecentDays(int limit) {
+        return tail(byDay, limit);
+    }
+
+    /**
+     * Most recent weekly buckets, oldest first
+     */
+    public List<Map.Entry<String, Bucket>> getRecentWeeks(int limit) {
+        return tail(byWeek, limit);
+    }
+
+    private static List<Map.Entry<String, Bucket>> tail(TreeMap<String, Bucket> map, int limit) {
+        List<Map.Entry<String, Bucket>> result = new ArrayList<>(Math.min(limit, map.size()));
+        for (Map.Entry<String, Bucket> entry : map.descendingMap().entrySet()) {
+            if (result.size() >= limit) break;
+            result.add(entry);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Running sums for one rollup dimension value
+     */
+    @Data
+    public static class Bucket {
+        private int count;
+        private double scoreSum;
+        private long fillerWordSum;
+        private int paceCount; // sessions that reported words per minute
+        private double wordsPerMinuteSum;
+
+        public void add(double score, int fillerWords, double wordsPerMinute, int sign) {
+            count += sign;
+            scoreSum += sign * score;
+            fillerWordSum += (long) sign * fillerWords;
+            if (wordsPerMinute > 0) {
+                paceCount += sign;
+                wordsPerMinuteSum += sign * wordsPerMinute;
+            }
+        }
+
+        public boolean isEmpty() {
+            return count <= 0;
+        }
+
+        public Bucket copy() {
+            Bucket copy = new Bucket();
+            copy.count = count;
+            copy.scoreSum = scoreSum;
+            copy.fillerWordSum = fillerWordSum;
+            copy.paceCount = paceCount;
+            copy.wordsPerMinuteSum = wordsPerMinuteSum;
+            return copy;
+        }
+
+        public double getAverageScore() {
+            return count == 0 ? 0 : scoreSum / count;
+        }
+
+        public double getAverageFillerWords() {
+            return count == 0 ? 0 : fillerWordSum / (double) count;
+        }
+
+        public double getAverageWordsPerMinute() {
+            return paceCount == 0 ? 0 : wordsPerMinuteSum / paceCount;
+        }
+    }
+
+    /**
+     * Compact record of one session's share of the rollup
+     */
+    @Data
+    public static class Contribution {
+        private String mode;
+        private String day;
+        private String week;
+        private double overallScore;
+        private int fillerWords;
+        private double wordsPerMinute;
+        private Map<String, Double> categoryScores;
+
+        public Contribution() {
+            this.categoryScores = new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.interviewprep.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-question speech segments of a session's audio recording.
+ * Written next to the WAV file so playback and analysis can seek straight to an answer.
+ */
+@Data
+public class AnswerSegmentIndex {
+    private String sessionId;
+    private String audioFilePath;
+    private int bytesPerSecond;
+    private int dataOffset;          // byte offset of the first PCM sample in the audio file
+    private List<Segment> segments;
+
+    public AnswerSegmentIndex() {
+        this.segments = new ArrayList<>();
+    }
+
+    public Segment getSegment(String questionId) {
+        for (Segment segment : segments) {
+            if (segment.getQuestionId().equals(questionId)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One question's window (display to submit) and the speech detected inside it.
+     * All times are milliseconds from the start of the recording.
+     */
+    @Data
+    public static class Segment {
+        private String questionId;
+        private int questionIndex;
+        private long startMillis;
+        private long endMillis;
+        private long speechOnsetMillis = -1;   // -1 when no speech was detected
+        private long speechOffsetMillis = -1;
+        private long speakingMillis;
+        private int pauseCount;
+        private long totalPauseMillis;
+        private long longestPauseMillis;
+        private long byteOffset;               // file position of the answer audio, for seeking
+        private long byteLength;
+        private List<Span> spans = new ArrayList<>();
+
+        public boolean hasSpeech() {
+            return speechOnsetMillis >= 0;
+        }
+
+        /**
+         * Time from the question being shown to the first word
+         */
+        public long getResponseLatencyMillis() {
+            return hasSpeech() ? speechOnsetMillis - startMillis : -1;
+        }
+
+        public double getMeanPauseMillis() {
+            return pauseCount == 0 ? 0 : (double) totalPauseMillis / pauseCount;
+        }
+    }
+
+    /**
+     * Continuous stretch of speech
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Span {
+        private long startMillis;
+        private long endMillis;
+
+        public long getDurationMillis() {
+            return endMillis - startMillis;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.interviewprep.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Visual engagement measured from sampled video frames, overall and per question.
+ * Written next to the recording so analytics can use it without re-reading the video.
+ */
+@Data
+public class EngagementReport {
+    private int sampleEvery;            // every Nth frame was analyzed
+    private long sampledFrames;
+    private long analysisMillis;        // time spent detecting
+    private double cpuShare;            // analysis time over elapsed time
+    private Metrics overall;
+    private List<QuestionEngagement> questions;
+
+    public EngagementReport() {
+        this.overall = new Metrics();
+        this.questions = new ArrayList<>();
+    }
+
+    public QuestionEngagement getQuestion(String questionId) {
+        for (QuestionEngagement question : questions) {
+            if (question.getQuestionId().equals(questionId)) {
+                return question;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Shares of the analyzed frames (0-1)
+     */
+    @Data
+    public static class Metrics {
+        private int samples;
+        private double facePresence;        // a face was visible
+        private double facingCamera;        // head turned toward the camera
+        private double eyeContact = -1;     // of frames where the eyes were found; -1 if they never were
+        private double headMovement;        // mean face movement between samples, in frame widths
+
+        /**
+         * 0-10; gaze counts as head pose when the eyes could not be measured
+         */
+        public double getEngagementScore() {
+            if (samples == 0 || facePresence == 0) return 0;
+            double gaze = eyeContact >= 0 ? eyeContact : facingCamera;
+            return 10 * (0.3 * facePresence + 0.35 * facingCamera + 0.35 * gaze);
+        }
+    }
+
+    /**
+     * One question's window, from being shown to the next question
+     */
+    @Data
+    public static class QuestionEngagement {
+        private String questionId;
+        private int questionIndex;
+        private long startMillis;
+        private long endMillis;
+        private Metrics metrics = new Metrics();
+    }
+}
@@ -12,6 +12,8 @@ public class InterviewAnalytics {
     private String sessionId;
     private LocalDateTime sessionDate;
     private InterviewMode mode;
+    private String resumeHash;
+    private String jobDescriptionHash;
     
     // Overall scores (0-10)
     private double overallScore;
@@ -32,6 +34,13 @@ public class InterviewAnalytics {
     private double volumeConsistency; // 0-1
     private double paceConsistency; // 0-1
     
+    // On-camera analytics (from sampled video frames)
+    private double engagementScore; // 0-10
+    private double facePresenceRatio; // 0-1
+    private double facingCameraRatio; // 0-1
+    private double eyeContactRatio; // 0-1, -1 when the eyes could not be measured
+    private Map<String, Double> questionEngagementScores; // question id -> 0-10
+    
     // Content quality
     private List<String> strengths;
     private List<String> weaknesses;
@@ -51,6 +60,7 @@ public class InterviewAnalytics {
         this.weaknesses = new ArrayList<>();
         this.improvementSuggestions = new ArrayList<>();
         this.categoryScores = new HashMap<>();
+        this.questionEngagementScores = new HashMap<>();
         this.questionAnalyses = new ArrayList<>();
     }
     
@@ -11,18 +11,28 @@ import java.util.UUID;
 @Data
 public class InterviewRecording {
     private String recordingId;
-    private String videoFilePath;
+    private String videoFilePath; // the MP4, or the segment index when video is segmented
+    private String videoSegmentIndexFilePath; // question -> segment/offset, when video is segmented
     private String audioFilePath;
+    private String compressedAudioFilePath; // AAC/Opus copy of the WAV, when compression is enabled; canonical once retention drops the WAV
     private String transcriptFilePath;
+    private String segmentIndexFilePath; // per-question answer offsets within the audio
+    private String engagementFilePath; // face/head-pose/gaze metrics from the video
     private LocalDateTime recordingDate;
     private long durationSeconds;
-    private InterviewSession session;
+    private String sessionId;
+    private transient InterviewSession session; // not persisted; metadata references the session by id
     
     public InterviewRecording() {
         this.recordingId = UUID.randomUUID().toString();
         this.recordingDate = LocalDateTime.now();
     }
     
+    public void setSession(InterviewSession session) {
+        this.session = session;
+        this.sessionId = session != null ? session.getSessionId() : null;
+    }
+    
     public String getFormattedDate() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         return recordingDate.format(formatter);
@@ -17,7 +17,10 @@ public class InterviewSession {
     private Map<String, String> userAnswers; // questionId -> answer
     private Map<String, String> feedback; // questionId -> feedback
     private Map<String, Long> answerDurations; // questionId -> seconds
+    private Map<String, Long> speakingMillis; // questionId -> detected speech in the audio, if recorded
     private String overallFeedback;
+    private String resumeHash; // DocumentBlobStore keys of the documents used
+    private String jobDescriptionHash;
     
     public InterviewSession() {
         this.sessionId = UUID.randomUUID().toString();
@@ -26,6 +29,7 @@ public class InterviewSession {
         this.userAnswers = new HashMap<>();
         this.feedback = new HashMap<>();
         this.answerDurations = new HashMap<>();
+        this.speakingMillis = new HashMap<>();
     }
     
     public void addQuestionAnswer(InterviewQuestion question, String answer, long durationSeconds) {
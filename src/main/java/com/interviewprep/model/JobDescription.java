@@ -10,9 +10,12 @@ import java.time.LocalDateTime;
 public class JobDescription {
     private String fileName;
     private String content;
+    private String contentHash; // SHA-256 of normalized content (DocumentBlobStore key)
     private String jobTitle;
     private String company;
+    private String responsibilities;
     private String requiredSkills;
+    private String preferredSkills;
     private LocalDateTime uploadedAt;
     
     public JobDescription() {
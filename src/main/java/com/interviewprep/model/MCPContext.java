@@ -17,6 +17,9 @@ public class MCPContext {
     private Map<String, Integer> questionHistory; // questionId -> times asked
     private int currentDifficultyLevel; // 1-5
     private LocalDateTime lastSessionDate;
+    private String lastResumeHash; // restored from DocumentBlobStore on startup
+    private String lastResumeFileName;
+    private String lastJobDescriptionHash;
     
     public MCPContext() {
         this.historicalSessions = new ArrayList<>();
@@ -10,9 +10,12 @@ import java.time.LocalDateTime;
 public class Resume {
     private String fileName;
     private String content;
+    private String contentHash; // SHA-256 of normalized content (DocumentBlobStore key)
     private LocalDateTime uploadedAt;
     private String extractedSkills;
     private String extractedExperience;
+    private String extractedEducation;
+    private String extractedProjects;
     
     public Resume() {
         this.uploadedAt = LocalDateTime.now();
@@ -0,0 +1,18 @@
+package com.interviewprep.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A single ranked hit from the full-text search index
+ */
+@Data
+public class SearchResult {
+    private String sessionId;
+    private String questionId; // null for session-level analytics feedback
+    private String kind;       // Answer, Analytics
+    private String title;
+    private String snippet;
+    private LocalDateTime date;
+    private double score;
+}
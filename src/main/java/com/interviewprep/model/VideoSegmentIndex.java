@@ -0,0 +1,66 @@
+package com.interviewprep.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Segment files of a session's video and where each question starts in them.
+ * Rewritten as segments complete, so after a crash it still describes everything recorded.
+ */
+@Data
+public class VideoSegmentIndex {
+    private int segmentSeconds;
+    private boolean complete;           // false while recording, or if the recording crashed
+    private List<Segment> segments;
+    private List<Answer> answers;
+
+    public VideoSegmentIndex() {
+        this.segments = new ArrayList<>();
+        this.answers = new ArrayList<>();
+    }
+
+    public Answer getAnswer(String questionId) {
+        for (Answer answer : answers) {
+            if (answer.getQuestionId().equals(questionId)) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Segment holding this point of the recording, or null if it was not written
+     */
+    public Segment findSegment(long videoMillis) {
+        for (Segment segment : segments) {
+            if (videoMillis >= segment.getStartMillis() && videoMillis < segment.getEndMillis()) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One closed segment file; times are milliseconds from the start of the recording
+     */
+    @Data
+    public static class Segment {
+        private String fileName;        // relative to the recording directory
+        private long startMillis;
+        private long endMillis;
+    }
+
+    /**
+     * Where a question was shown: the segment to open and how far into it to seek
+     */
+    @Data
+    public static class Answer {
+        private String questionId;
+        private int questionIndex;
+        private long videoMillis;
+        private String fileName;        // null until the segment has been closed
+        private long offsetMillis;
+    }
+}
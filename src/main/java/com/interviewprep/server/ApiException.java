@@ -0,0 +1,17 @@
+package com.interviewprep.server;
+
+/**
+ * A request that cannot be served, answered with {@code status} and a JSON error message
+ */
+public class ApiException extends RuntimeException {
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
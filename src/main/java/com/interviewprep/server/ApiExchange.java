@@ -0,0 +1,186 @@
+package com.interviewprep.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One API request and its response: path and query parameters, a JSON body, and either one
+ * JSON reply or a stream of JSON lines
+ * Writes are synchronized so the server can end a stream that ran past its timeout while the
+ * handler may still be writing.
+ */
+public class ApiExchange {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String JSON_LINES = "application/x-ndjson; charset=utf-8";
+
+    private final HttpExchange http;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> query;
+    private final Gson gson;
+    private final int maxBodyBytes;
+
+    // guarded by this
+    private boolean committed;
+    private boolean closed;
+    private OutputStream stream;
+
+    ApiExchange(HttpExchange http, Map<String, String> pathParams, Gson gson, int maxBodyBytes) {
+        this.http = http;
+        this.pathParams = pathParams;
+        this.query = parseQuery(http.getRequestURI().getRawQuery());
+        this.gson = gson;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public String getMethod() {
+        return http.getRequestMethod();
+    }
+
+    public String pathParam(String name) {
+        return pathParams.get(name);
+    }
+
+    public String query(String name, String defaultValue) {
+        return query.getOrDefault(name, defaultValue);
+    }
+
+    public int queryInt(String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Query parameter " + name + " must be a number");
+        }
+    }
+
+    /**
+     * The request body parsed as JSON
+     * @throws ApiException 400 if missing or malformed, 413 if larger than the server allows
+     */
+    public <T> T body(Class<T> type) throws IOException {
+        byte[] bytes = readBody();
+        if (bytes.length == 0) {
+            throw new ApiException(400, "Request body required");
+        }
+        try {
+            T value = gson.fromJson(new String(bytes, StandardCharsets.UTF_8), type);
+            if (value == null) {
+                throw new ApiException(400, "Request body required");
+            }
+            return value;
+        } catch (JsonParseException e) {
+            throw new ApiException(400, "Malformed JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reply with one JSON document
+     */
+    public synchronized void json(int status, Object value) throws IOException {
+        if (committed) {
+            throw new IllegalStateException("Response already sent");
+        }
+        committed = true;
+        byte[] bytes = gson.toJson(value).getBytes(StandardCharsets.UTF_8);
+        http.getResponseHeaders().set("Content-Type", JSON);
+        http.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = http.getResponseBody()) {
+            out.write(bytes);
+        }
+        closed = true;
+    }
+
+    public void error(int status, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        json(status, error);
+    }
+
+    /**
+     * Send one line of a streamed reply (JSON lines over chunked encoding), flushed at once
+     * The first call sends the 200 status; a client sees each line as soon as it is written.
+     */
+    public synchronized void streamLine(Object value) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (stream == null) {
+            if (committed) {
+                throw new IllegalStateException("Response already sent");
+            }
+            committed = true;
+            http.getResponseHeaders().set("Content-Type", JSON_LINES);
+            http.getResponseHeaders().set("Cache-Control", "no-cache");
+            http.sendResponseHeaders(200, 0);
+            stream = http.getResponseBody();
+        }
+        stream.write((gson.toJson(value) + "\n").getBytes(StandardCharsets.UTF_8));
+        stream.flush();
+    }
+
+    public synchronized boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * End the reply: an error status if nothing was sent yet, else a final error line
+     */
+    synchronized void fail(int status, String message) {
+        try {
+            if (!committed) {
+                error(status, message);
+            } else if (stream != null && !closed) {
+                JsonObject error = new JsonObject();
+                error.addProperty("error", message);
+                streamLine(error);
+            }
+        } catch (IOException e) {
+            // The client has gone; nothing left to tell it
+        }
+        closed = true;
+    }
+
+    synchronized void finish() {
+        closed = true;
+        http.close();
+    }
+
+    private byte[] readBody() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = http.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (body.size() + read > maxBodyBytes) {
+                    throw new ApiException(413, "Request body larger than " + maxBodyBytes / 1024 + " KB");
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            params.put(name, value);
+        }
+        return params;
+    }
+}
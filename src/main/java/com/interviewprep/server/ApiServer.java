@@ -0,0 +1,348 @@
+package com.interviewprep.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.interviewprep.service.ConfigurationService;
+import com.interviewprep.service.LocalDateTimeAdapter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Small JSON-over-HTTP server on the JDK's HttpServer, for running without the Swing UI
+ * Work such as an LLM call runs on a fixed pool of workers sized to what the AI backend can
+ * serve at once. At most {@code queueCapacity} more requests may wait for a worker. Beyond
+ * that, requests are turned away at once with 503 and Retry-After rather than piling up.
+ * Each request has a deadline: work still running when it passes is interrupted and the
+ * client gets 504, or a final error line if a streamed reply had already started. A request
+ * keeps its place until its handler has really returned, so handlers that ignore the
+ * interrupt still count against the limit rather than letting more work in. Health and
+ * metrics routes run inline so they answer even when every worker is busy.
+ */
+@Slf4j
+public class ApiServer {
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(ApiExchange exchange) throws Exception;
+    }
+
+    private final InetSocketAddress address;
+    private final int workers;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final int maxBodyBytes;
+    private final List<Route> routes = new ArrayList<>();
+    private final Gson gson = new GsonBuilder()
+        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+        .create();
+    private final Semaphore admission;
+    private final ThreadPoolExecutor workerPool;
+    private ExecutorService requestPool;
+    private HttpServer server;
+
+    // guarded by this
+    private final Stats stats = new Stats();
+    private long latencyNanos;
+
+    /**
+     * @param workers requests worked on at once
+     * @param queueCapacity requests that may wait for a worker before new ones get 503
+     * @param timeoutMillis deadline per request, from admission
+     */
+    public ApiServer(InetSocketAddress address, int workers, int queueCapacity, long timeoutMillis, int maxBodyBytes) {
+        this.address = address;
+        this.workers = Math.max(1, workers);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.timeoutMillis = timeoutMillis;
+        this.maxBodyBytes = maxBodyBytes;
+        this.admission = new Semaphore(this.workers + this.queueCapacity);
+        // Admission keeps the queue within queueCapacity; the extra room covers a worker that has
+        // given back its permit but not yet returned to take the next task
+        this.workerPool = new ThreadPoolExecutor(this.workers, this.workers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.workers + this.queueCapacity), daemonThreads("api-worker"));
+    }
+
+    /**
+     * Server using the server.* settings
+     */
+    public static ApiServer fromConfig(ConfigurationService config) {
+        return fromConfig(config, config.getIntProperty("server.port", 8080));
+    }
+
+    public static ApiServer fromConfig(ConfigurationService config, int port) {
+        return new ApiServer(
+            new InetSocketAddress(config.getProperty("server.bind", "127.0.0.1"), port),
+            config.getIntProperty("server.workers", 4),
+            config.getIntProperty("server.queue", 16),
+            config.getIntProperty("server.timeout.seconds", 120) * 1000L,
+            config.getIntProperty("server.max.body.kb", 1024) * 1024);
+    }
+
+    /**
+     * Route a request to a handler run on the worker pool
+     * @param pathPattern path with {name} segments, e.g. /api/sessions/{id}
+     */
+    public ApiServer route(String method, String pathPattern, Handler handler) {
+        routes.add(new Route(method, pathPattern, handler, false));
+        return this;
+    }
+
+    /**
+     * Route a cheap request that is answered on the request thread, bypassing the queue
+     */
+    public ApiServer routeInline(String method, String pathPattern, Handler handler) {
+        routes.add(new Route(method, pathPattern, handler, true));
+        return this;
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(address, 0);
+        // One request thread per admitted request plus a few to answer the rest with 503
+        requestPool = Executors.newFixedThreadPool(workers + queueCapacity + 2, daemonThreads("api-request"));
+        server.setExecutor(requestPool);
+        server.createContext("/", this::dispatch);
+        server.start();
+        log.info("API server listening on {}:{} ({} workers, queue {}, timeout {} s)",
+            address.getHostString(), getPort(), workers, queueCapacity, timeoutMillis / 1000);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop accepting requests, give those in progress up to {@code delaySeconds} to finish
+     */
+    public void stop(int delaySeconds) {
+        if (server == null) return;
+        server.stop(delaySeconds);
+        requestPool.shutdownNow();
+        workerPool.shutdownNow();
+        log.info("API server stopped");
+    }
+
+    public synchronized Stats getStats() {
+        Stats copy = new Stats();
+        copy.requests = stats.requests;
+        copy.completed = stats.completed;
+        copy.rejected = stats.rejected;
+        copy.timedOut = stats.timedOut;
+        copy.failed = stats.failed;
+        copy.maxLatencyMillis = stats.maxLatencyMillis;
+        copy.averageLatencyMillis = stats.completed > 0 ? latencyNanos / stats.completed / 1_000_000.0 : 0;
+        copy.workers = workers;
+        copy.busyWorkers = workerPool.getActiveCount();
+        copy.queued = workerPool.getQueue().size();
+        return copy;
+    }
+
+    private void dispatch(HttpExchange http) {
+        long start = System.nanoTime();
+        synchronized (this) {
+            stats.requests++;
+        }
+        ApiExchange exchange = null;
+        try {
+            String path = http.getRequestURI().getPath();
+            Map<String, String> params = new HashMap<>();
+            Route route = match(http.getRequestMethod(), path, params);
+            exchange = new ApiExchange(http, params, gson, maxBodyBytes);
+            if (route == null) {
+                boolean known = routes.stream().anyMatch(r -> r.matches(path, new HashMap<>()));
+                exchange.error(known ? 405 : 404, known ? "Method not allowed" : "No such endpoint: " + path);
+                return;
+            }
+            if (route.inline) {
+                run(route, exchange);
+            } else {
+                runOnWorker(route, exchange, http);
+            }
+        } catch (Exception e) {
+            log.error("API request failed", e);
+        } finally {
+            if (exchange != null) {
+                exchange.finish();
+            } else {
+                http.close();
+            }
+            long elapsed = System.nanoTime() - start;
+            synchronized (this) {
+                stats.completed++;
+                latencyNanos += elapsed;
+                stats.maxLatencyMillis = Math.max(stats.maxLatencyMillis, elapsed / 1_000_000);
+            }
+        }
+    }
+
+    private void runOnWorker(Route route, ApiExchange exchange, HttpExchange http) throws IOException {
+        if (!admission.tryAcquire()) {
+            synchronized (this) {
+                stats.rejected++;
+            }
+            http.getResponseHeaders().set("Retry-After", "1");
+            exchange.error(503, "Server busy, retry shortly");
+            return;
+        }
+        // Whoever claims the request first owns the permit: the worker releases it when the
+        // handler returns, the request thread only if the work never started
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> work;
+        try {
+            work = workerPool.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return null;
+                try {
+                    run(route, exchange);
+                } finally {
+                    admission.release();
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            synchronized (this) {
+                stats.rejected++;
+            }
+            http.getResponseHeaders().set("Retry-After", "1");
+            exchange.error(503, "Server busy, retry shortly");
+            return;
+        }
+        try {
+            work.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(work, claimed);
+            synchronized (this) {
+                stats.timedOut++;
+            }
+            log.warn("{} {} timed out after {} ms", http.getRequestMethod(), http.getRequestURI().getPath(),
+                timeoutMillis);
+            exchange.fail(504, "Timed out after " + timeoutMillis / 1000 + " s");
+        } catch (InterruptedException e) {
+            abandon(work, claimed);
+            Thread.currentThread().interrupt();
+            exchange.fail(503, "Server shutting down");
+        } catch (ExecutionException e) {
+            // run() already answered
+            log.debug("Worker failed: {}", e.getCause().toString());
+        }
+    }
+
+    private void abandon(Future<?> work, AtomicBoolean claimed) {
+        work.cancel(true);
+        if (claimed.compareAndSet(false, true)) {
+            admission.release();
+        }
+    }
+
+    /**
+     * Run a handler, turning exceptions into error replies
+     */
+    private void run(Route route, ApiExchange exchange) {
+        try {
+            route.handler.handle(exchange);
+            if (!exchange.isCommitted()) {
+                exchange.fail(500, "No response");
+            }
+        } catch (ApiException e) {
+            exchange.fail(e.getStatus(), e.getMessage());
+        } catch (InterruptedException | java.io.InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled at its deadline; the client already has its 504
+                return;
+            }
+            synchronized (this) {
+                stats.failed++;
+            }
+            log.error("API handler failed", e);
+            exchange.fail(500, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private Route match(String method, String path, Map<String, String> params) {
+        for (Route route : routes) {
+            if (route.method.equalsIgnoreCase(method) && route.matches(path, params)) {
+                return route;
+            }
+            params.clear();
+        }
+        return null;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Route {
+        private static final Pattern PARAM = Pattern.compile("\\{(\\w+)}");
+
+        final String method;
+        final Pattern pattern;
+        final List<String> names = new ArrayList<>();
+        final Handler handler;
+        final boolean inline;
+
+        Route(String method, String pathPattern, Handler handler, boolean inline) {
+            this.method = method;
+            this.handler = handler;
+            this.inline = inline;
+            Matcher m = PARAM.matcher(pathPattern);
+            StringBuilder regex = new StringBuilder();
+            int last = 0;
+            while (m.find()) {
+                regex.append(Pattern.quote(pathPattern.substring(last, m.start()))).append("([^/]+)");
+                names.add(m.group(1));
+                last = m.end();
+            }
+            regex.append(Pattern.quote(pathPattern.substring(last)));
+            this.pattern = Pattern.compile(regex + "/?");
+        }
+
+        boolean matches(String path, Map<String, String> params) {
+            Matcher m = pattern.matcher(path);
+            if (!m.matches()) return false;
+            for (int i = 0; i < names.size(); i++) {
+                params.put(names.get(i), m.group(i + 1));
+            }
+            return true;
+        }
+    }
+
+    @Data
+    public static class Stats {
+        private long requests;
+        private long completed;
+        private long rejected;          // 503: every worker busy and the queue full
+        private long timedOut;          // 504
+        private long failed;            // 500
+        private double averageLatencyMillis;
+        private long maxLatencyMillis;
+        private int workers;
+        private int busyWorkers;
+        private int queued;
+    }
+}
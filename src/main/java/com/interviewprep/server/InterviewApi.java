@@ -0,0 +1,257 @@
+package com.interviewprep.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.interviewprep.model.*;
+import com.interviewprep.service.AIServiceException;
+import com.interviewprep.service.AIServiceManager;
+import com.interviewprep.service.DocumentBlobStore;
+import com.interviewprep.service.DocumentSegmenter;
+import com.interviewprep.service.InterviewService;
+import com.interviewprep.service.StorageService;
+import com.interviewprep.service.UserContextCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The interview features as HTTP routes: resume analysis, question generation, answer
+ * evaluation, sessions and analytics
+ * AI routes take {@code ?stream=true} to get the model's text as it is written, one
+ * {@code {"chunk": ...}} line at a time, followed by a {@code {"result": ...}} line.
+ * Analytics generated with {@code ?user=ID} also update that user's MCP context.
+ */
+public class InterviewApi {
+    private static final int MAX_QUESTIONS = 20;
+
+    private final InterviewService interviewService;
+    private final StorageService storageService;
+    private final AIServiceManager aiServiceManager;
+    private final UserContextCache userContexts;
+    private Gson gson;
+
+    public InterviewApi(InterviewService interviewService, StorageService storageService,
+                        AIServiceManager aiServiceManager, UserContextCache userContexts) {
+        this.interviewService = interviewService;
+        this.storageService = storageService;
+        this.aiServiceManager = aiServiceManager;
+        this.userContexts = userContexts;
+    }
+
+    public void register(ApiServer server) {
+        gson = server.getGson();
+        server.routeInline("GET", "/api/health", this::health)
+            .routeInline("GET", "/api/metrics", exchange -> exchange.json(200, server.getStats()))
+            .route("POST", "/api/resume/analysis", this::analyzeResume)
+            .route("POST", "/api/questions", this::generateQuestions)
+            .route("POST", "/api/answers/evaluation", this::evaluateAnswer)
+            .route("POST", "/api/sessions", this::saveSession)
+            .route("GET", "/api/sessions", this::listSessions)
+            .route("GET", "/api/sessions/{id}", this::getSession)
+            .route("DELETE", "/api/sessions/{id}", this::deleteSession)
+            .route("POST", "/api/sessions/{id}/analytics", this::generateAnalytics)
+            .route("GET", "/api/sessions/{id}/analytics", this::getAnalytics)
+            .route("GET", "/api/analytics/rollup", exchange -> exchange.json(200, storageService.getAnalyticsRollup()))
+            .route("GET", "/api/users/{userId}/context", this::getUserContext);
+    }
+
+    private void health(ApiExchange exchange) throws IOException {
+        JsonObject health = new JsonObject();
+        health.addProperty("status", "ok");
+        health.addProperty("aiService", aiServiceManager.getCurrentServiceName());
+        exchange.json(200, health);
+    }
+
+    private void analyzeResume(ApiExchange exchange) throws IOException {
+        DocumentsRequest request = exchange.body(DocumentsRequest.class);
+        Resume resume = resume(request.resume);
+        JobDescription jobDescription = jobDescription(request.jobDescription);
+        respond(exchange, onChunk -> interviewService.analyzeResume(resume, jobDescription, onChunk));
+    }
+
+    private void generateQuestions(ApiExchange exchange) throws IOException {
+        QuestionsRequest request = exchange.body(QuestionsRequest.class);
+        InterviewMode mode = parseMode(request.mode);
+        int count = request.count > 0 ? Math.min(request.count, MAX_QUESTIONS) : 5;
+        Resume resume = resume(request.resume);
+        JobDescription jobDescription = jobDescription(request.jobDescription);
+        respond(exchange, onChunk ->
+            interviewService.generateQuestions(resume, jobDescription, mode, count, onChunk));
+    }
+
+    private void evaluateAnswer(ApiExchange exchange) throws IOException {
+        AnswerRequest request = exchange.body(AnswerRequest.class);
+        InterviewQuestion question = request.question;
+        if (question == null && request.questionText != null) {
+            question = new InterviewQuestion(request.questionText, request.category, null);
+        }
+        if (question == null || question.getQuestion() == null || question.getQuestion().isBlank()) {
+            throw new ApiException(400, "question or questionText required");
+        }
+        if (request.answer == null || request.answer.isBlank()) {
+            throw new ApiException(400, "answer required");
+        }
+        InterviewQuestion asked = question;
+        respond(exchange, onChunk -> interviewService.evaluateAnswer(asked, request.answer, onChunk));
+    }
+
+    private void saveSession(ApiExchange exchange) throws IOException {
+        InterviewSession session = exchange.body(InterviewSession.class);
+        if (session.getSessionId() == null || session.getSessionId().isBlank()) {
+            throw new ApiException(400, "sessionId required");
+        }
+        storageService.saveSession(session);
+        if (session.getEndTime() != null) {
+            aiServiceManager.endConversation(session.getSessionId());
+        }
+        exchange.json(201, session);
+    }
+
+    private void listSessions(ApiExchange exchange) throws IOException {
+        exchange.json(200, storageService.getRecentSessions(exchange.queryInt("limit", 20)));
+    }
+
+    private void getSession(ApiExchange exchange) throws IOException {
+        exchange.json(200, session(exchange.pathParam("id")));
+    }
+
+    private void deleteSession(ApiExchange exchange) throws IOException {
+        if (!storageService.deleteSession(exchange.pathParam("id"))) {
+            throw new ApiException(404, "No such session: " + exchange.pathParam("id"));
+        }
+        aiServiceManager.endConversation(exchange.pathParam("id"));
+        JsonObject deleted = new JsonObject();
+        deleted.addProperty("deleted", exchange.pathParam("id"));
+        exchange.json(200, deleted);
+    }
+
+    private void generateAnalytics(ApiExchange exchange) throws IOException {
+        InterviewSession session = session(exchange.pathParam("id"));
+        String userId = exchange.query("user", null);
+        respond(exchange, 201, onChunk -> {
+            InterviewAnalytics analytics = interviewService.generateAnalytics(session, onChunk);
+            storageService.saveAnalytics(analytics);
+            if (userId != null && !userId.isBlank()) {
+                userContexts.update(userId, context -> context.updateAfterSession(analytics));
+            }
+            return analytics;
+        });
+    }
+
+    private void getUserContext(ApiExchange exchange) throws IOException {
+        // Serialized under the user's lock, so the reply is a consistent snapshot
+        JsonElement context = userContexts.read(exchange.pathParam("userId"), gson::toJsonTree);
+        exchange.json(200, context);
+    }
+
+    private void getAnalytics(ApiExchange exchange) throws IOException {
+        InterviewAnalytics analytics = storageService.loadAnalytics(exchange.pathParam("id"));
+        if (analytics == null) {
+            throw new ApiException(404, "No analytics for session: " + exchange.pathParam("id"));
+        }
+        exchange.json(200, analytics);
+    }
+
+    private void respond(ApiExchange exchange, AiCall call) throws IOException {
+        respond(exchange, 200, call);
+    }
+
+    /**
+     * Run an AI call and reply with its result, streamed as it is written if the client asked
+     * A failed AI call is answered with 503 when no AI service is available and 502 otherwise.
+     */
+    private void respond(ApiExchange exchange, int status, AiCall call) throws IOException {
+        try {
+            if (!Boolean.parseBoolean(exchange.query("stream", "false"))) {
+                exchange.json(status, call.run(null));
+                return;
+            }
+            stream(exchange, call);
+        } catch (AIServiceException e) {
+            throw new ApiException(e.isUnavailable() ? 503 : 502, "AI service failed: " + e.getMessage());
+        }
+    }
+
+    private void stream(ApiExchange exchange, AiCall call) throws IOException {
+        Object result = call.run(chunk -> {
+            JsonObject line = new JsonObject();
+            line.addProperty("chunk", chunk);
+            try {
+                exchange.streamLine(line);
+            } catch (IOException e) {
+                // Client went away or the request timed out: stop generating
+                throw new UncheckedIOException(e);
+            }
+        });
+        exchange.streamLine(Map.of("result", result));
+    }
+
+    private InterviewSession session(String sessionId) {
+        InterviewSession session = storageService.loadSession(sessionId);
+        if (session == null) {
+            throw new ApiException(404, "No such session: " + sessionId);
+        }
+        return session;
+    }
+
+    private Resume resume(String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            throw new ApiException(400, "resume required");
+        }
+        Resume resume = new Resume("api_upload.txt", text);
+        resume.setContentHash(storeDocument(text));
+        DocumentSegmenter.segment(resume);
+        return resume;
+    }
+
+    private JobDescription jobDescription(String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            throw new ApiException(400, "jobDescription required");
+        }
+        JobDescription jobDescription = new JobDescription("api_upload.txt", text);
+        jobDescription.setContentHash(storeDocument(text));
+        DocumentSegmenter.segment(jobDescription);
+        return jobDescription;
+    }
+
+    private String storeDocument(String text) throws IOException {
+        DocumentBlobStore documentStore = storageService.getDocumentStore();
+        return documentStore != null ? documentStore.put(text) : null;
+    }
+
+    private static InterviewMode parseMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return InterviewMode.PRACTICE;
+        }
+        try {
+            return InterviewMode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Unknown mode: " + mode);
+        }
+    }
+
+    @FunctionalInterface
+    private interface AiCall {
+        Object run(Consumer<String> onChunk) throws IOException;
+    }
+
+    static class DocumentsRequest {
+        String resume;
+        String jobDescription;
+    }
+
+    static class QuestionsRequest extends DocumentsRequest {
+        String mode;
+        int count;
+    }
+
+    static class AnswerRequest {
+        InterviewQuestion question;
+        String questionText;
+        String category;
+        String answer;
+    }
+}
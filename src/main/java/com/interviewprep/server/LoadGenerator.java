@@ -0,0 +1,170 @@
+package com.interviewprep.server;
+
+import lombok.Data;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load generator for the API server: {@code concurrency} clients each send their
+ * next request as soon as the last one is answered, until {@code requests} have been sent
+ * Usage: LoadGenerator URL [--method M] [--body FILE] [--concurrency N] [--requests N]
+ *        [--timeout SECONDS]
+ * Reports throughput, latency percentiles and how many of each status came back, so the
+ * effect of server.workers and server.queue can be measured directly.
+ */
+public class LoadGenerator {
+    private final URI uri;
+    private final String method;
+    private final String body;
+    private final int concurrency;
+    private final int requests;
+    private final Duration timeout;
+
+    public LoadGenerator(URI uri, String method, String body, int concurrency, int requests, Duration timeout) {
+        this.uri = uri;
+        this.method = method;
+        this.body = body;
+        this.concurrency = Math.max(1, concurrency);
+        this.requests = Math.max(1, requests);
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadGenerator URL [--method M] [--body FILE] [--concurrency N] "
+                + "[--requests N] [--timeout SECONDS]");
+            System.exit(2);
+        }
+        String method = "GET";
+        String body = null;
+        int concurrency = 8;
+        int requests = 100;
+        int timeoutSeconds = 300;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--method": method = args[i + 1].toUpperCase(); break;
+                case "--body": body = Files.readString(Path.of(args[i + 1])); break;
+                case "--concurrency": concurrency = Integer.parseInt(args[i + 1]); break;
+                case "--requests": requests = Integer.parseInt(args[i + 1]); break;
+                case "--timeout": timeoutSeconds = Integer.parseInt(args[i + 1]); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        Report report = new LoadGenerator(URI.create(args[0]), method, body, concurrency, requests,
+            Duration.ofSeconds(timeoutSeconds)).run();
+        System.out.println(report.summary());
+    }
+
+    /**
+     * Send every request and wait for the last reply
+     */
+    public Report run() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newCachedThreadPool(daemon()))
+            .build();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        Map<Integer, Integer> statuses = new ConcurrentSkipListMap<>();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency, daemon());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        // Streamed replies count when the last line arrives
+                        status = client.send(request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        status = 0; // connection failed or client-side timeout
+                    }
+                    latencies.add(System.nanoTime() - sent);
+                    statuses.merge(status, 1, Integer::sum);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        return new Report(latencies, statuses, System.nanoTime() - start);
+    }
+
+    private HttpRequest request() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout);
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+            builder.method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private static ThreadFactory daemon() {
+        return r -> {
+            Thread thread = new Thread(r, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Data
+    public static class Report {
+        private final int requests;
+        private final double seconds;
+        private final double requestsPerSecond;
+        private final long p50Millis;
+        private final long p95Millis;
+        private final long p99Millis;
+        private final long maxMillis;
+        private final Map<Integer, Integer> statuses; // 0 = no response
+
+        Report(List<Long> latencyNanos, Map<Integer, Integer> statuses, long elapsedNanos) {
+            List<Long> sorted = new ArrayList<>(latencyNanos);
+            Collections.sort(sorted);
+            this.requests = sorted.size();
+            this.seconds = elapsedNanos / 1e9;
+            this.requestsPerSecond = seconds > 0 ? requests / seconds : 0;
+            this.p50Millis = percentile(sorted, 50);
+            this.p95Millis = percentile(sorted, 95);
+            this.p99Millis = percentile(sorted, 99);
+            this.maxMillis = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1) / 1_000_000;
+            this.statuses = new TreeMap<>(statuses);
+        }
+
+        public int count(int status) {
+            return statuses.getOrDefault(status, 0);
+        }
+
+        public String summary() {
+            return String.format("%d requests in %.2f s = %.1f req/s%nlatency ms: p50 %d, p95 %d, p99 %d, max %d%n"
+                + "statuses: %s", requests, seconds, requestsPerSecond, p50Millis, p95Millis, p99Millis,
+                maxMillis, statuses);
+        }
+
+        private static long percentile(List<Long> sorted, int percent) {
+            if (sorted.isEmpty()) return 0;
+            int index = (int) Math.ceil(percent / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000;
+        }
+    }
+}
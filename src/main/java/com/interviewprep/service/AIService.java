@@ -1,5 +1,7 @@
 package com.interviewprep.service;
 
+import java.util.function.Consumer;
+
 /**
  * Interface for AI services to enable plug-and-play between different providers
  */
@@ -12,6 +14,17 @@ public interface AIService {
      */
     String generate(String prompt);
     
+    /**
+     * Generate a response, passing pieces of it to {@code onChunk} as they arrive
+     * Services that cannot stream deliver the whole response as one piece.
+     * @return the complete response
+     */
+    default String generateStream(String prompt, Consumer<String> onChunk) {
+        String response = generate(prompt);
+        onChunk.accept(response);
+        return response;
+    }
+    
     /**
      * Check if the AI service is available
      * @return true if available, false otherwise
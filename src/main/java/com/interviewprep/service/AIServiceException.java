@@ -0,0 +1,24 @@
+package com.interviewprep.service;
+
+import java.io.IOException;
+
+/**
+ * The AI backend could not produce a response: none is available, or the call to it failed
+ * AI services report failures as an "Error: ..." response; InterviewService turns those into
+ * this exception so callers can tell a failed call from a real answer.
+ */
+public class AIServiceException extends IOException {
+    private final boolean unavailable;
+
+    public AIServiceException(String message, boolean unavailable) {
+        super(message);
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * True when no AI service was selected at all, rather than a call to one failing
+     */
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+}
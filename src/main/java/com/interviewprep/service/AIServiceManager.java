@@ -3,12 +3,17 @@ package com.interviewprep.service;
 import lombok.extern.slf4j.Slf4j;
 import com.interviewprep.service.ConfigurationService;
 
+import java.util.function.Consumer;
+
 /**
  * Manages AI service selection and switching between Bedrock and Ollama
  */
 @Slf4j
 public class AIServiceManager {
     
+    /** Response when no service is selected */
+    public static final String NO_SERVICE = "Error: No AI service available";
+    
     private AIService currentService;
     private final OllamaService ollamaService;
     private final BedrockService bedrockService;
@@ -138,12 +143,31 @@ public class AIServiceManager {
     public String generate(String prompt) {
         if (currentService == null) {
             log.error("No AI service selected");
-            return "Error: No AI service available";
+            return NO_SERVICE;
         }
         
         return currentService.generate(prompt);
     }
     
+    /**
+     * Generate using current service, streaming the response as it is produced
+     */
+    public String generateStream(String prompt, Consumer<String> onChunk) {
+        if (currentService == null) {
+            log.error("No AI service selected");
+            return NO_SERVICE;
+        }
+        
+        return currentService.generateStream(prompt, onChunk);
+    }
+    
+    /**
+     * Forget a session's chat history once the session is over
+     */
+    public void endConversation(String sessionId) {
+        ollamaService.clearHistory(sessionId);
+    }
+    
     /**
      * Check if current service is available
      */
@@ -0,0 +1,124 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the encoder profile so encoding keeps up with the capture frame rate
+ * Encode time per frame is measured against the frame budget (1 / fps) over two-second
+ * windows. A slow encoder has its preset moved one step faster (or, with plenty of headroom,
+ * back toward the configured preset, never past it); only one step is taken per encoder. An
+ * encoder running at a bitrate rather than a CRF (OpenH264) also has the bitrate lowered by a
+ * fifth, down to a quarter of the target, or raised back toward the target. Neither can change
+ * on a running encoder, so the adapted profile is used the next time an encoder is opened.
+ */
+@Slf4j
+public class AdaptiveEncoderProfile {
+    static final double TOO_SLOW_FRACTION = 0.85;   // of the frame budget
+    static final double HEADROOM_FRACTION = 0.35;
+    private static final double WINDOW_SECONDS = 2;
+    static final double BITRATE_STEP = 0.8;
+    static final double MIN_BITRATE_FRACTION = 0.25; // of the target
+
+    private final EncoderProfile configured;
+    private final boolean adaptive;
+
+    // guarded by this
+    private EncoderProfile current;
+    private EncoderProfile active;
+    private int targetKbps;
+    private int liveKbps;
+    private boolean presetStepped;
+    private long budgetNanos;
+    private int windowSize;
+    private int windowFrames;
+    private long windowNanos;
+
+    public AdaptiveEncoderProfile(EncoderProfile configured, boolean adaptive) {
+        this.configured = configured;
+        this.adaptive = adaptive;
+        this.current = configured;
+    }
+
+    public static AdaptiveEncoderProfile fromConfig(ConfigurationService config) {
+        return new AdaptiveEncoderProfile(EncoderProfile.fromConfig(config),
+            config.getBooleanProperty("video.compression.adaptive", true));
+    }
+
+    /**
+     * An x264 encoder is being opened at this frame rate
+     */
+    public EncoderProfile begin(double frameRate) {
+        return begin(0, 0, frameRate, "libx264");
+    }
+
+    /**
+     * An encoder is being opened at this size and frame rate
+     * @param encoderName FFmpeg encoder name; one that ignores CRF gets a bitrate derived from the size
+     * @return the profile to open it with
+     */
+    public synchronized EncoderProfile begin(int width, int height, double frameRate, String encoderName) {
+        boolean crf = configured.getBitrateKbps() == 0 && EncoderProfile.honoursCrf(encoderName);
+        targetKbps = crf ? 0 : configured.withDefaultBitrate(width, height, frameRate).getBitrateKbps();
+        if (crf) {
+            current = current.withBitrate(0);
+        } else if (current.getBitrateKbps() == 0 && targetKbps > 0) {
+            current = current.withBitrate(targetKbps);
+        }
+        active = current;
+        liveKbps = active.getBitrateKbps();
+        presetStepped = false;
+        budgetNanos = (long) (1e9 / Math.max(1, frameRate));
+        windowSize = (int) Math.max(10, frameRate * WINDOW_SECONDS);
+        windowFrames = 0;
+        windowNanos = 0;
+        return active;
+    }
+
+    /**
+     * Time the encoder spent on one frame
+     */
+    public synchronized void recordEncodeTime(long nanos) {
+        if (!adaptive || active == null) return;
+        windowNanos += nanos;
+        if (++windowFrames < windowSize) return;
+
+        double load = (double) windowNanos / windowFrames / budgetNanos;
+        windowFrames = 0;
+        windowNanos = 0;
+        int before = liveKbps;
+        if (load > TOO_SLOW_FRACTION) {
+            stepPreset(-1, load);
+            liveKbps = Math.max((int) (targetKbps * MIN_BITRATE_FRACTION), (int) (liveKbps * BITRATE_STEP));
+        } else if (load < HEADROOM_FRACTION) {
+            if (current.getPresetIndex() < configured.getPresetIndex()) {
+                stepPreset(1, load);
+            }
+            liveKbps = Math.min(targetKbps, (int) Math.ceil(liveKbps / BITRATE_STEP));
+        }
+        if (liveKbps == before || liveKbps <= 0) return;
+        current = current.withBitrate(liveKbps);
+        log.info("Encoder at {}% of the frame budget; next recording at {} kbps (was {})",
+            Math.round(load * 100), liveKbps, before);
+    }
+
+    private void stepPreset(int direction, double load) {
+        if (presetStepped) return;
+        EncoderProfile stepped = current.withPresetStep(direction);
+        if (stepped.getPreset().equals(current.getPreset())) return;
+        current = stepped;
+        presetStepped = true;
+        log.info("Encoder at {}% of the frame budget with {}; next recording uses preset {}",
+            Math.round(load * 100), active.getPreset(), current.getPreset());
+    }
+
+    /**
+     * Profile the next encoder will be opened with
+     */
+    public synchronized EncoderProfile getCurrent() {
+        return current;
+    }
+
+    public EncoderProfile getConfigured() {
+        return configured;
+    }
+}
@@ -0,0 +1,240 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.interviewprep.model.AnalyticsRollup;
+import com.interviewprep.model.InterviewAnalytics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.*;
+
+/**
+ * Incrementally maintained analytics rollups (per mode, per category, daily and weekly)
+ * What each session contributed is kept in an append-only log next to the analytics
+ * directory, one JSON line per save, so saving costs one appended line however long the
+ * history. The aggregates are rebuilt from the log on startup. A later line for the same
+ * session replaces the earlier one, and the log is compacted once most of it is superseded.
+ */
+@Slf4j
+public class AnalyticsRollupService {
+    /**
+     * Single-file format written by earlier versions, migrated on first load
+     */
+    public static final String LEGACY_FILE_NAME = "analytics_rollup.json";
+    private static final int MIN_LINES_BEFORE_COMPACTION = 64;
+
+    private final Path logFile;
+    private final Gson gson;
+    private AnalyticsRollup rollup;
+    // sessionId -> what that session contributed, so a regenerated analytics replaces instead of double counting
+    private Map<String, AnalyticsRollup.Contribution> contributions;
+    private int logLines;
+
+    /**
+     * @param logFile contribution log, e.g. rollups/analytics_contributions.jsonl
+     */
+    public AnalyticsRollupService(Path logFile) {
+        this.logFile = logFile;
+        this.gson = new Gson();
+        load();
+    }
+
+    /**
+     * Whether a persisted rollup was found on disk
+     */
+    public synchronized boolean isPersisted() {
+        return Files.exists(logFile);
+    }
+
+    /**
+     * Fold a saved analytics record into the rollups, replacing any earlier version for the same session
+     */
+    public synchronized void record(InterviewAnalytics analytics) {
+        if (analytics == null || analytics.getSessionId() == null) return;
+
+        AnalyticsRollup.Contribution previous = contributions.remove(analytics.getSessionId());
+        if (previous != null) {
+            apply(previous, -1);
+        }
+
+        AnalyticsRollup.Contribution contribution = toContribution(analytics);
+        contributions.put(analytics.getSessionId(), contribution);
+        apply(contribution, 1);
+        append(analytics.getSessionId(), contribution);
+    }
+
+    /**
+     * Rebuild the rollups from scratch (used once when no rollup file exists yet)
+     */
+    public synchronized void rebuild(Collection<InterviewAnalytics> allAnalytics) {
+        rollup = new AnalyticsRollup();
+        contributions = new HashMap<>();
+        for (InterviewAnalytics analytics : allAnalytics) {
+            if (analytics == null || analytics.getSessionId() == null) continue;
+            AnalyticsRollup.Contribution contribution = toContribution(analytics);
+            contributions.put(analytics.getSessionId(), contribution);
+            apply(contribution, 1);
+        }
+        compact();
+        log.info("Analytics rollups rebuilt from {} sessions", contributions.size());
+    }
+
+    /**
+     * Snapshot of the current rollups; later saves do not change it
+     */
+    public synchronized AnalyticsRollup getRollup() {
+        return rollup.copy();
+    }
+
+    private AnalyticsRollup.Contribution toContribution(InterviewAnalytics analytics) {
+        LocalDateTime when = analytics.getSessionDate() != null ? analytics.getSessionDate()
+                : analytics.getGeneratedAt() != null ? analytics.getGeneratedAt()
+                : LocalDateTime.now();
+        LocalDate day = when.toLocalDate();
+
+        AnalyticsRollup.Contribution contribution = new AnalyticsRollup.Contribution();
+        contribution.setMode(analytics.getMode() != null ? analytics.getMode().getDisplayName() : "Unknown");
+        contribution.setDay(day.toString());
+        contribution.setWeek(String.format("%d-W%02d",
+            day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+        contribution.setOverallScore(analytics.getOverallScore());
+        contribution.setFillerWords(analytics.getFillerWordCount());
+        contribution.setWordsPerMinute(analytics.getWordsPerMinute());
+
+        // Headline dimension scores always count as categories, plus any finer-grained ones
+        Map<String, Double> categories = contribution.getCategoryScores();
+        categories.put("Technical", analytics.getTechnicalScore());
+        categories.put("Behavioral", analytics.getBehavioralScore());
+        categories.put("Communication", analytics.getCommunicationScore());
+        categories.put("Confidence", analytics.getConfidenceScore());
+        if (analytics.getCategoryScores() != null) {
+            categories.putAll(analytics.getCategoryScores());
+        }
+        return contribution;
+    }
+
+    private void apply(AnalyticsRollup.Contribution c, int sign) {
+        rollup.getOverall().add(c.getOverallScore(), c.getFillerWords(), c.getWordsPerMinute(), sign);
+        update(rollup.getByMode(), c.getMode(), c, sign);
+        update(rollup.getByDay(), c.getDay(), c, sign);
+        update(rollup.getByWeek(), c.getWeek(), c, sign);
+
+        c.getCategoryScores().forEach((category, score) -> {
+            if (score == null) return;
+            AnalyticsRollup.Bucket bucket = rollup.getByCategory()
+                .computeIfAbsent(category, k -> new AnalyticsRollup.Bucket());
+            bucket.add(score, 0, 0, sign);
+            if (bucket.isEmpty()) {
+                rollup.getByCategory().remove(category);
+            }
+        });
+    }
+
+    private void update(Map<String, AnalyticsRollup.Bucket> buckets, String key,
+                        AnalyticsRollup.Contribution c, int sign) {
+        AnalyticsRollup.Bucket bucket = buckets.computeIfAbsent(key, k -> new AnalyticsRollup.Bucket());
+        bucket.add(c.getOverallScore(), c.getFillerWords(), c.getWordsPerMinute(), sign);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    private void load() {
+        rollup = new AnalyticsRollup();
+        contributions = new HashMap<>();
+        logLines = 0;
+        Path legacyFile = logFile.resolveSibling(LEGACY_FILE_NAME);
+        try {
+            if (Files.exists(logFile)) {
+                readLog();
+            } else if (Files.exists(legacyFile)) {
+                JsonObject legacy = gson.fromJson(Files.readString(legacyFile), JsonObject.class);
+                if (legacy != null && legacy.has("contributions")) {
+                    contributions = gson.fromJson(legacy.get("contributions"),
+                        new TypeToken<HashMap<String, AnalyticsRollup.Contribution>>() { }.getType());
+                }
+                compact();
+                Files.deleteIfExists(legacyFile);
+                log.info("Analytics rollups migrated to {} ({} sessions)", logFile.getFileName(), contributions.size());
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read analytics rollups, starting empty: {}", e.getMessage());
+            contributions = new HashMap<>();
+        }
+        contributions.values().forEach(c -> apply(c, 1));
+    }
+
+    private void readLog() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                logLines++;
+                try {
+                    LogEntry entry = gson.fromJson(line, LogEntry.class);
+                    if (entry != null && entry.sessionId != null && entry.contribution != null) {
+                        contributions.put(entry.sessionId, entry.contribution);
+                    }
+                } catch (JsonParseException e) {
+                    // A line torn by a crash mid-append; the session is recorded again on its next save
+                    log.warn("Skipping unreadable rollup log line {}", logLines);
+                }
+            }
+        }
+    }
+
+    private void append(String sessionId, AnalyticsRollup.Contribution contribution) {
+        if (logLines >= MIN_LINES_BEFORE_COMPACTION && logLines >= 2 * contributions.size()) {
+            compact();
+            return;
+        }
+        try {
+            Files.createDirectories(logFile.getParent());
+            Files.writeString(logFile, gson.toJson(new LogEntry(sessionId, contribution)) + "\n",
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logLines++;
+        } catch (IOException e) {
+            log.error("Error saving analytics rollups", e);
+        }
+    }
+
+    /**
+     * Rewrite the log with one line per session
+     */
+    private void compact() {
+        try {
+            Files.createDirectories(logFile.getParent());
+            Path tmp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, AnalyticsRollup.Contribution> entry : contributions.entrySet()) {
+                    writer.write(gson.toJson(new LogEntry(entry.getKey(), entry.getValue())));
+                    writer.write('\n');
+                }
+            }
+            Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logLines = contributions.size();
+        } catch (IOException e) {
+            log.error("Error saving analytics rollups", e);
+        }
+    }
+
+    private static final class LogEntry {
+        String sessionId;
+        AnalyticsRollup.Contribution contribution;
+
+        LogEntry(String sessionId, AnalyticsRollup.Contribution contribution) {
+            this.sessionId = sessionId;
+            this.contribution = contribution;
+        }
+    }
+}
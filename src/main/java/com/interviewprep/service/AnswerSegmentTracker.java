@@ -0,0 +1,269 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.interviewprep.model.AnswerSegmentIndex;
+import com.interviewprep.model.AnswerSegmentIndex.Segment;
+import com.interviewprep.model.AnswerSegmentIndex.Span;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs voice activity detection over the live capture stream and splits it per question
+ * The UI marks when each question is shown and answered; speech found inside that window
+ * becomes the answer's segment, with speaking time, pauses and the file offsets needed to
+ * play or analyze just that answer.
+ */
+@Slf4j
+public class AnswerSegmentTracker {
+    public static final String INDEX_FILE_NAME = "answer_segments.json";
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final long READ_TIMEOUT_MILLIS = 100;
+
+    private final AudioRingBuffer.Tap tap;
+    private final VoiceActivityDetector vad;
+    private final int bytesPerSecond;
+    private final int frameSize;
+    private final LongSupplier capturePosition;
+    private final BooleanSupplier suppressed;
+    private final List<Segment> segments = new ArrayList<>();   // guarded by this
+    private Segment openSegment;                                 // guarded by this
+    private List<Span> publishedSpans = List.of();               // guarded by this
+    private Thread worker;
+    private volatile boolean stopped;
+
+    /**
+     * @param capturePosition bytes captured so far, in the same stream positions as the tap
+     * @param suppressed true while the microphone is expected to hear our own playback
+     */
+    public AnswerSegmentTracker(AudioRingBuffer.Tap tap, AudioFormat format, VoiceActivityDetector vad,
+                                LongSupplier capturePosition, BooleanSupplier suppressed) {
+        this.tap = tap;
+        this.vad = vad;
+        this.frameSize = format.getFrameSize();
+        this.bytesPerSecond = (int) format.getFrameRate() * frameSize;
+        this.capturePosition = capturePosition;
+        this.suppressed = suppressed;
+    }
+
+    /**
+     * Attach to an active recording using the audio.vad.* settings
+     * @return the running tracker, or null when disabled or the service is not recording
+     */
+    public static AnswerSegmentTracker start(AudioRecordingService audioService, ConfigurationService config,
+                                             BooleanSupplier suppressed) {
+        if (!config.getBooleanProperty("audio.vad.enabled", true)) return null;
+        AudioRingBuffer.Tap tap = audioService.openTap();
+        if (tap == null) return null;
+
+        AudioFormat format = audioService.getAudioFormat();
+        VoiceActivityDetector vad = new VoiceActivityDetector(format.getSampleRate(),
+            VoiceActivityDetector.DEFAULT_FRAME_MILLIS,
+            config.getIntProperty("audio.vad.margin.db", (int) VoiceActivityDetector.DEFAULT_MARGIN_DB),
+            config.getIntProperty("audio.vad.hangover.ms", VoiceActivityDetector.DEFAULT_HANGOVER_MILLIS),
+            VoiceActivityDetector.DEFAULT_MIN_SPEECH_MILLIS);
+        AnswerSegmentTracker tracker = new AnswerSegmentTracker(tap, format, vad,
+            audioService::getCapturedBytes, suppressed);
+        tracker.start();
+        return tracker;
+    }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::detectLoop, "audio-vad");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Question is now on screen; closes the previous question's window if still open
+     */
+    public synchronized void beginQuestion(String questionId, int questionIndex) {
+        long now = currentMillis();
+        closeOpenSegment(now);
+        openSegment = new Segment();
+        openSegment.setQuestionId(questionId);
+        openSegment.setQuestionIndex(questionIndex);
+        openSegment.setStartMillis(now);
+    }
+
+    /**
+     * Answer submitted; speech after this point no longer belongs to the question
+     */
+    public synchronized void endQuestion() {
+        closeOpenSegment(currentMillis());
+    }
+
+    /**
+     * Wait for detection to drain the stream and build the index
+     * Call after the recording has stopped, so the tap reaches end of stream.
+     */
+    public AnswerSegmentIndex finish(String sessionId, String audioFilePath, long timeoutMillis)
+            throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = worker;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                log.warn("Voice activity detection did not drain in {} ms; index may be incomplete", timeoutMillis);
+                stopped = true;
+                thread.join(timeoutMillis);
+            }
+        }
+
+        AnswerSegmentIndex index = new AnswerSegmentIndex();
+        index.setSessionId(sessionId);
+        index.setAudioFilePath(audioFilePath);
+        index.setBytesPerSecond(bytesPerSecond);
+        index.setDataOffset(WAV_HEADER_BYTES);
+        synchronized (this) {
+            // Only the worker touches the detector, so use the spans it last published rather
+            // than reading them while it may still be running
+            List<Span> spans = publishedSpans;
+            closeOpenSegment(currentMillis());
+            for (Segment segment : segments) {
+                fill(segment, spans, bytesPerSecond, frameSize, WAV_HEADER_BYTES);
+                index.getSegments().add(segment);
+            }
+        }
+        if (tap.getDroppedBytes() > 0) {
+            log.warn("Voice activity detection fell behind and skipped {} bytes", tap.getDroppedBytes());
+        }
+        return index;
+    }
+
+    /**
+     * Write the index next to the recording (atomically, like the other JSON stores)
+     */
+    public static Path writeIndex(AnswerSegmentIndex index, Path recordingDir) throws IOException {
+        Files.createDirectories(recordingDir);
+        Path target = recordingDir.resolve(INDEX_FILE_NAME);
+        Path tmp = recordingDir.resolve(INDEX_FILE_NAME + ".tmp");
+        Files.writeString(tmp, new Gson().toJson(index));
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    /**
+     * Index written for a recording directory, or null if there is none
+     */
+    public static AnswerSegmentIndex readIndex(Path recordingDir) {
+        Path file = recordingDir.resolve(INDEX_FILE_NAME);
+        if (!Files.exists(file)) return null;
+        try {
+            return new Gson().fromJson(Files.readString(file), AnswerSegmentIndex.class);
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read answer segment index {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Clip the detected spans to the segment's window and derive its timing statistics
+     */
+    static void fill(Segment segment, List<Span> spans, int bytesPerSecond, int frameSize, int dataOffset) {
+        List<Span> inside = new ArrayList<>();
+        for (Span span : spans) {
+            long start = Math.max(span.getStartMillis(), segment.getStartMillis());
+            long end = Math.min(span.getEndMillis(), segment.getEndMillis());
+            if (end > start) {
+                inside.add(new Span(start, end));
+            }
+        }
+        segment.setSpans(inside);
+        segment.setSpeakingMillis(0);
+        segment.setPauseCount(0);
+        segment.setTotalPauseMillis(0);
+        segment.setLongestPauseMillis(0);
+
+        long from = segment.getStartMillis();
+        long to = segment.getEndMillis();
+        if (!inside.isEmpty()) {
+            from = inside.get(0).getStartMillis();
+            to = inside.get(inside.size() - 1).getEndMillis();
+            segment.setSpeechOnsetMillis(from);
+            segment.setSpeechOffsetMillis(to);
+
+            long previousEnd = -1;
+            for (Span span : inside) {
+                segment.setSpeakingMillis(segment.getSpeakingMillis() + span.getDurationMillis());
+                if (previousEnd >= 0) {
+                    long pause = span.getStartMillis() - previousEnd;
+                    segment.setPauseCount(segment.getPauseCount() + 1);
+                    segment.setTotalPauseMillis(segment.getTotalPauseMillis() + pause);
+                    segment.setLongestPauseMillis(Math.max(segment.getLongestPauseMillis(), pause));
+                }
+                previousEnd = span.getEndMillis();
+            }
+        } else {
+            segment.setSpeechOnsetMillis(-1);
+            segment.setSpeechOffsetMillis(-1);
+        }
+
+        long startByte = toBytes(from, bytesPerSecond, frameSize);
+        segment.setByteOffset(dataOffset + startByte);
+        segment.setByteLength(toBytes(to, bytesPerSecond, frameSize) - startByte);
+    }
+
+    private void detectLoop() {
+        byte[] block = new byte[bytesPerSecond / 10];
+        long expected = tap.getPosition();
+        vad.skip(expected);
+        int published = 0;
+        try {
+            while (!stopped) {
+                int read = tap.read(block, 0, block.length, READ_TIMEOUT_MILLIS);
+                if (read < 0) break;
+                if (read == 0) continue;
+                long blockStart = tap.getPosition() - read;
+                if (blockStart > expected) {
+                    vad.skip(blockStart - expected);
+                }
+                vad.process(block, 0, read, suppressed.getAsBoolean());
+                expected = tap.getPosition();
+                if (vad.getClosedSpanCount() != published) {
+                    published = publishSpans();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Voice activity detection stopped", e);
+        } finally {
+            vad.finish();
+            publishSpans();
+        }
+    }
+
+    private int publishSpans() {
+        List<Span> spans = vad.getSpans();
+        synchronized (this) {
+            publishedSpans = spans;
+        }
+        return spans.size();
+    }
+
+    private void closeOpenSegment(long endMillis) {
+        if (openSegment != null) {
+            openSegment.setEndMillis(Math.max(endMillis, openSegment.getStartMillis()));
+            segments.add(openSegment);
+            openSegment = null;
+        }
+    }
+
+    private long currentMillis() {
+        return capturePosition.getAsLong() * 1000 / bytesPerSecond;
+    }
+
+    private static long toBytes(long millis, int bytesPerSecond, int frameSize) {
+        long bytes = millis * bytesPerSecond / 1000;
+        return bytes - bytes % frameSize;
+    }
+}
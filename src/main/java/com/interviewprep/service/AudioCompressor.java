@@ -0,0 +1,219 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Compresses the capture stream to AAC or Opus while recording
+ * The encoder reads from its own ring buffer tap on a low-priority thread. The ring is the
+ * bounded queue between capture and encoding: capture never waits for the encoder, and if the
+ * encoder falls a full buffer behind, the oldest audio is skipped and counted instead.
+ */
+@Slf4j
+public class AudioCompressor {
+    private static final int BLOCK_BYTES = 4096;       // 128 ms at 16 kHz mono 16-bit
+    private static final long READ_TIMEOUT_MILLIS = 100;
+
+    /**
+     * Supported codecs, with the container and file extension each is written in
+     */
+    public enum Codec {
+        AAC(avcodec.AV_CODEC_ID_AAC, "mp4", ".m4a"),
+        OPUS(avcodec.AV_CODEC_ID_OPUS, "ogg", ".ogg");
+
+        final int codecId;
+        final String container;
+        final String extension;
+
+        Codec(int codecId, String container, String extension) {
+            this.codecId = codecId;
+            this.container = container;
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Codec fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown audio.compression.codec: " + name);
+            }
+        }
+    }
+
+    private final AudioRingBuffer.Tap tap;
+    private final AudioFormat format;
+    private final Path output;
+    private final Codec codec;
+    private final int bitrateKbps;
+    private final LongSupplier capturePosition;
+    private final int bytesPerSecond;
+    private final CompressionReport report = new CompressionReport();   // guarded by this
+    private Thread worker;
+
+    /**
+     * @param capturePosition bytes captured so far, in the same stream positions as the tap
+     */
+    public AudioCompressor(AudioRingBuffer.Tap tap, AudioFormat format, Path output, Codec codec,
+                           int bitrateKbps, LongSupplier capturePosition) {
+        this.tap = tap;
+        this.format = format;
+        this.output = output;
+        this.codec = codec;
+        this.bitrateKbps = bitrateKbps;
+        this.capturePosition = capturePosition;
+        this.bytesPerSecond = (int) format.getFrameRate() * format.getFrameSize();
+        report.setCodec(codec.name().toLowerCase(Locale.ROOT));
+        report.setBitrateKbps(bitrateKbps);
+        report.setOutputPath(output.toString());
+    }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::encodeLoop, "audio-encoder");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    /**
+     * Current distance between capture and the encoder
+     */
+    public long getLagMillis() {
+        return Math.max(0, capturePosition.getAsLong() - tap.getPosition()) * 1000 / bytesPerSecond;
+    }
+
+    /**
+     * Wait for the encoder to drain the stream and close the file
+     * Call after the recording has stopped, so the tap reaches end of stream.
+     * @return the final report, or null if the encoder is still running after the timeout
+     */
+    public CompressionReport finish(long timeoutMillis) throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = worker;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                log.warn("Audio encoder did not finish in {} ms ({} ms behind)", timeoutMillis, getLagMillis());
+                return null;
+            }
+        }
+        return getReport();
+    }
+
+    public synchronized CompressionReport getReport() {
+        CompressionReport copy = new CompressionReport();
+        copy.setCodec(report.getCodec());
+        copy.setBitrateKbps(report.getBitrateKbps());
+        copy.setOutputPath(report.getOutputPath());
+        copy.setPcmBytes(report.getPcmBytes());
+        copy.setEncodedBytes(report.getEncodedBytes());
+        copy.setDroppedBytes(report.getDroppedBytes());
+        copy.setMaxLagMillis(report.getMaxLagMillis());
+        copy.setEncodeMillis(report.getEncodeMillis());
+        copy.setFailed(report.isFailed());
+        return copy;
+    }
+
+    private void encodeLoop() {
+        int channels = format.getChannels();
+        int sampleRate = (int) format.getSampleRate();
+        byte[] block = new byte[BLOCK_BYTES];
+        short[] samples = new short[BLOCK_BYTES / 2];
+        ShortBuffer buffer = ShortBuffer.wrap(samples);
+        long encodeNanos = 0;
+
+        try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(output.toFile(), channels)) {
+            recorder.setFormat(codec.container);
+            recorder.setAudioCodec(codec.codecId);
+            recorder.setSampleRate(sampleRate);
+            recorder.setAudioChannels(channels);
+            recorder.setAudioBitrate(bitrateKbps * 1000);
+            recorder.start();
+
+            int read;
+            while ((read = tap.read(block, 0, block.length, READ_TIMEOUT_MILLIS)) >= 0) {
+                if (read == 0) continue;
+                long lag = getLagMillis();
+                int count = read / 2;
+                for (int i = 0; i < count; i++) {
+                    samples[i] = (short) ((block[2 * i] & 0xFF) | (block[2 * i + 1] << 8));
+                }
+                buffer.limit(count).position(0);
+
+                long started = System.nanoTime();
+                recorder.recordSamples(sampleRate, channels, buffer);
+                encodeNanos += System.nanoTime() - started;
+
+                synchronized (this) {
+                    report.setPcmBytes(report.getPcmBytes() + read);
+                    report.setMaxLagMillis(Math.max(report.getMaxLagMillis(), lag));
+                    report.setDroppedBytes(tap.getDroppedBytes());
+                    report.setEncodeMillis(encodeNanos / 1_000_000);
+                }
+            }
+            recorder.stop();
+        } catch (Exception e) {
+            log.error("Audio compression failed for {}", output, e);
+            synchronized (this) {
+                report.setFailed(true);
+            }
+        }
+
+        long encodedBytes = 0;
+        try {
+            encodedBytes = Files.size(output);
+        } catch (IOException e) {
+            log.warn("Could not size compressed audio {}: {}", output, e.getMessage());
+        }
+        synchronized (this) {
+            report.setEncodedBytes(encodedBytes);
+            report.setDroppedBytes(tap.getDroppedBytes());
+        }
+        if (tap.getDroppedBytes() > 0) {
+            log.warn("Audio encoder fell behind and skipped {} bytes", tap.getDroppedBytes());
+        }
+    }
+
+    @Data
+    public static class CompressionReport {
+        private String codec;
+        private int bitrateKbps;
+        private String outputPath;
+        private long pcmBytes;
+        private long encodedBytes;
+        private long droppedBytes;
+        private long maxLagMillis;
+        private long encodeMillis;
+        private boolean failed;
+
+        /**
+         * Raw PCM size over compressed size, or 0 when nothing was written
+         */
+        public double getCompressionRatio() {
+            return encodedBytes > 0 ? (double) pcmBytes / encodedBytes : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d kbps: %.1f KB -> %.1f KB (%.1fx), max lag %d ms, encode %d ms, %d bytes skipped",
+                codec, bitrateKbps, pcmBytes / 1024.0, encodedBytes / 1024.0, getCompressionRatio(),
+                maxLagMillis, encodeMillis, droppedBytes);
+        }
+    }
+}
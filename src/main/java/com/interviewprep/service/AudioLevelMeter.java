@@ -0,0 +1,58 @@
+package com.interviewprep.service;
+
+/**
+ * RMS and peak level of 16-bit signed little-endian PCM, computed per block without allocating
+ * Levels are normalized to 0..1 of full scale and published for any reader thread.
+ */
+public class AudioLevelMeter {
+    private static final double FULL_SCALE = 32768.0;
+
+    private volatile float rms;
+    private volatile float peak;
+
+    /**
+     * Measure one block of samples and publish its levels
+     */
+    public void update(byte[] pcm, int offset, int length) {
+        int samples = length / 2;
+        if (samples == 0) return;
+
+        long sumOfSquares = 0;
+        int maxAbs = 0;
+        for (int i = offset, end = offset + samples * 2; i < end; i += 2) {
+            int sample = (short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8));
+            sumOfSquares += (long) sample * sample;
+            int abs = sample < 0 ? -sample : sample;
+            if (abs > maxAbs) maxAbs = abs;
+        }
+
+        rms = (float) (Math.sqrt((double) sumOfSquares / samples) / FULL_SCALE);
+        peak = (float) (maxAbs / FULL_SCALE);
+    }
+
+    /**
+     * RMS of the most recent block (0..1)
+     */
+    public float getRms() {
+        return rms;
+    }
+
+    /**
+     * Largest absolute sample of the most recent block (0..1)
+     */
+    public float getPeak() {
+        return peak;
+    }
+
+    /**
+     * RMS expressed in dBFS (-inf for digital silence)
+     */
+    public double getRmsDecibels() {
+        return 20 * Math.log10(rms);
+    }
+
+    public void reset() {
+        rms = 0;
+        peak = 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Plays WAV files through one javax.sound output line kept open between sentences
+ * Reopening the line per sentence would add latency and audible gaps, so it is only reopened
+ * when the audio format changes. Audio is written in 50 ms chunks so a cancel takes effect
+ * within one chunk, and {@link #stop()} discards what the line has buffered.
+ */
+@Slf4j
+public class AudioLinePlayer implements SpeechPipeline.Player {
+    private static final int CHUNK_MILLIS = 50;
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    private volatile SourceDataLine line;
+    private AudioFormat lineFormat;     // playback thread only
+
+    @Override
+    public void play(Path wav, Runnable started, BooleanSupplier cancelled) throws IOException {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(wav.toFile())) {
+            AudioFormat format = in.getFormat();
+            SourceDataLine output = open(format);
+            int frameSize = Math.max(1, format.getFrameSize());
+            byte[] chunk = new byte[Math.max(frameSize,
+                (int) (format.getFrameRate() * CHUNK_MILLIS / 1000) * frameSize)];
+            boolean first = true;
+            int read;
+            while (!cancelled.getAsBoolean() && (read = in.read(chunk)) > 0) {
+                if (first) {
+                    output.start();
+                    started.run();
+                    first = false;
+                }
+                output.write(chunk, 0, read - read % frameSize);
+            }
+        } catch (UnsupportedAudioFileException | LineUnavailableException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void drain(BooleanSupplier cancelled) throws InterruptedException {
+        SourceDataLine output = line;
+        if (output == null) return;
+        // SourceDataLine.drain cannot be interrupted, so poll until the buffer is empty
+        while (!cancelled.getAsBoolean() && output.isOpen() && output.available() < output.getBufferSize()) {
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        SourceDataLine output = line;
+        if (output != null) {
+            output.stop();
+            output.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        SourceDataLine output = line;
+        line = null;
+        if (output != null) {
+            output.close();
+        }
+    }
+
+    private SourceDataLine open(AudioFormat format) throws LineUnavailableException {
+        SourceDataLine output = line;
+        if (output != null && output.isOpen() && format.matches(lineFormat)) {
+            return output;
+        }
+        if (output != null) {
+            output.close();
+        }
+        output = AudioSystem.getSourceDataLine(format);
+        // Room for a few chunks: enough to avoid underruns, small enough to stop quickly
+        output.open(format, (int) (format.getFrameRate() * CHUNK_MILLIS * 4 / 1000) * format.getFrameSize());
+        lineFormat = format;
+        line = output;
+        log.debug("Opened speech output line: {}", format);
+        return output;
+    }
+}
@@ -5,17 +5,37 @@ import lombok.extern.slf4j.Slf4j;
 import javax.sound.sampled.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Service for audio recording using Java Sound API
+ * A dedicated capture thread drains the line into a preallocated ring buffer and meters each
+ * block; the WAV writer, the optional compressor and any analyzers read from the ring through
+ * their own taps. With compression on, the compressed file is the canonical recording and the
+ * WAV a working copy for analysis that retention deletes once the recording has settled.
  */
 @Slf4j
 public class AudioRecordingService {
+    private static final int BLOCK_BYTES = 1024;          // 32 ms at 16 kHz mono 16-bit
+    private static final int RING_SECONDS = 16;
+    private static final long WRITER_FINISH_MILLIS = 10_000;
+    
     private TargetDataLine targetLine;
-    private AudioInputStream audioStream;
     private String outputPath;
-    private boolean isRecording = false;
-    private Thread recordingThread;
+    private volatile boolean isRecording = false;
+    private Thread captureThread;
+    private Thread writerThread;
+    private AudioRingBuffer ringBuffer;
+    private final AudioLevelMeter levelMeter = new AudioLevelMeter();
+    private volatile long capturedBytes;
+    // Latest block's stream position and System.nanoTime() (the clock shared with video), guarded by captureClock
+    private final Object captureClock = new Object();
+    private long clockPosition;
+    private long clockNanos;
+    private AudioCompressor.Codec compressionCodec;
+    private int compressionBitrateKbps;
+    private AudioCompressor compressor;
+    private AudioCompressor.CompressionReport lastCompressionReport;
     
     private static final AudioFormat AUDIO_FORMAT = new AudioFormat(
         AudioFormat.Encoding.PCM_SIGNED,
@@ -52,6 +72,14 @@ public class AudioRecordingService {
         log.info("Audio recording initialized: {}", outputPath);
     }
     
+    /**
+     * Also write a compressed copy of each recording; null codec disables compression
+     */
+    public void setCompression(AudioCompressor.Codec codec, int bitrateKbps) {
+        this.compressionCodec = codec;
+        this.compressionBitrateKbps = bitrateKbps;
+    }
+    
     /**
      * Start recording
      */
@@ -63,20 +91,137 @@ public class AudioRecordingService {
             return;
         }
         
+        ringBuffer = new AudioRingBuffer(RING_SECONDS * bytesPerSecond(), AUDIO_FORMAT.getFrameSize(), BLOCK_BYTES);
+        AudioRingBuffer.Tap writerTap = ringBuffer.newTap();
+        capturedBytes = 0;
+        markCaptureClock();
+        levelMeter.reset();
+        compressor = null;
+        lastCompressionReport = null;
+        if (compressionCodec != null) {
+            String compressedPath = outputPath.replaceFirst("\\.wav$", compressionCodec.getExtension());
+            compressor = new AudioCompressor(ringBuffer.newTap(), AUDIO_FORMAT, Paths.get(compressedPath),
+                compressionCodec, compressionBitrateKbps, this::getCapturedBytes);
+        }
+        
         isRecording = true;
         targetLine.start();
         
-        audioStream = new AudioInputStream(targetLine);
+        captureThread = new Thread(this::captureLoop, "audio-capture");
+        captureThread.setPriority(Thread.MAX_PRIORITY);
+        captureThread.start();
         
-        recordingThread = new Thread(() -> {
-            try {
-                log.info("Audio recording started");
-                AudioSystem.write(audioStream, AudioFileFormat.Type.WAVE, new File(outputPath));
-            } catch (IOException e) {
-                log.error("Error writing audio file", e);
+        writerThread = new Thread(() -> writeLoop(writerTap), "audio-writer");
+        writerThread.start();
+        if (compressor != null) {
+            compressor.start();
+        }
+        log.info("Audio recording started");
+    }
+    
+    /**
+     * Reads blocks from the line as fast as they arrive; never blocks on disk or consumers
+     */
+    private void captureLoop() {
+        byte[] block = new byte[BLOCK_BYTES];
+        while (isRecording) {
+            int read = targetLine.read(block, 0, block.length);
+            if (read <= 0) continue;
+            ringBuffer.write(block, 0, read);
+            levelMeter.update(block, 0, read);
+            capturedBytes += read;
+            markCaptureClock();
+        }
+        // Drain whatever the line buffered before it was stopped
+        int read;
+        while ((read = targetLine.read(block, 0, Math.min(block.length, targetLine.available()))) > 0) {
+            ringBuffer.write(block, 0, read);
+            capturedBytes += read;
+        }
+        ringBuffer.close();
+    }
+    
+    private void writeLoop(AudioRingBuffer.Tap tap) {
+        byte[] chunk = new byte[BLOCK_BYTES * 8];
+        try (ChunkedWavWriter writer = new ChunkedWavWriter(Paths.get(outputPath), AUDIO_FORMAT, bytesPerSecond())) {
+            int read;
+            while ((read = tap.read(chunk, 0, chunk.length, 100)) >= 0) {
+                if (read > 0) {
+                    writer.write(chunk, 0, read);
+                }
             }
-        });
-        recordingThread.start();
+            if (tap.getDroppedBytes() > 0) {
+                log.warn("Audio writer fell behind and dropped {} bytes", tap.getDroppedBytes());
+            }
+        } catch (IOException e) {
+            log.error("Error writing audio file", e);
+        }
+    }
+    
+    /**
+     * Open a consumer over the live capture stream (e.g. for VAD or transcription)
+     * The tap starts at the current position; returns null when not recording.
+     */
+    public AudioRingBuffer.Tap openTap() {
+        AudioRingBuffer ring = ringBuffer;
+        return ring != null && isRecording ? ring.newTap() : null;
+    }
+    
+    public AudioFormat getAudioFormat() {
+        return AUDIO_FORMAT;
+    }
+    
+    /**
+     * How far the compressor is behind capture, or 0 when not compressing
+     */
+    public long getCompressionLagMillis() {
+        AudioCompressor current = compressor;
+        return current != null && isRecording ? current.getLagMillis() : 0;
+    }
+    
+    /**
+     * Compression result of the last stopped recording, or null if it was not compressed
+     */
+    public AudioCompressor.CompressionReport getLastCompressionReport() {
+        return lastCompressionReport;
+    }
+    
+    /**
+     * Path of the last compressed recording, or null if compression was off or failed
+     */
+    public String getCompressedOutputPath() {
+        AudioCompressor.CompressionReport report = lastCompressionReport;
+        return report != null && !report.isFailed() ? report.getOutputPath() : null;
+    }
+    
+    /**
+     * Bytes captured since recording started (stream position of the capture thread)
+     */
+    public long getCapturedBytes() {
+        return capturedBytes;
+    }
+    
+    /**
+     * Estimated System.nanoTime() at which the byte at this stream position was captured
+     * Extrapolated from the latest block at the nominal sample rate, so it drifts with the
+     * sound card clock; callers compare it with the video clock to measure that drift.
+     */
+    public long captureNanosAt(long position) {
+        synchronized (captureClock) {
+            return clockNanos - (clockPosition - position) * 1_000_000_000L / bytesPerSecond();
+        }
+    }
+    
+    private void markCaptureClock() {
+        long now = System.nanoTime();
+        synchronized (captureClock) {
+            clockPosition = capturedBytes;
+            clockNanos = now;
+        }
+    }
+    
+    private static int bytesPerSecond() {
+        return (int) AUDIO_FORMAT.getFrameRate() * AUDIO_FORMAT.getFrameSize();
     }
     
     /**
@@ -89,25 +234,49 @@ public class AudioRecordingService {
         
         if (targetLine != null) {
             targetLine.stop();
+        }
+        if (captureThread != null) {
+            captureThread.join(2000);
+        }
+        if (targetLine != null) {
             targetLine.close();
         }
-        
-        if (recordingThread != null) {
-            recordingThread.join(2000);
+        if (writerThread != null) {
+            writerThread.join(2000);
+            if (writerThread.isAlive()) {
+                // The WAV header is only final once the writer closes the file, so keep waiting
+                log.warn("Audio writer still flushing after 2000 ms; waiting up to {} ms more", WRITER_FINISH_MILLIS);
+                writerThread.join(WRITER_FINISH_MILLIS);
+                if (writerThread.isAlive()) {
+                    log.error("Audio writer did not finish; {} is only complete up to its last header checkpoint",
+                        outputPath);
+                }
+            }
         }
+        if (compressor != null) {
+            lastCompressionReport = compressor.finish(5000);
+            if (lastCompressionReport != null) {
+                log.info("Audio compressed: {}", lastCompressionReport);
+            }
+        }
+        levelMeter.reset();
         
         log.info("Audio recording stopped: {}", outputPath);
         return outputPath;
     }
     
     /**
-     * Get current audio level (for visualization)
+     * Get current audio level (for visualization): RMS of the latest block, 0..1
      */
     public float getAudioLevel() {
-        if (targetLine != null && targetLine.isOpen()) {
-            return targetLine.getLevel();
-        }
-        return 0;
+        return isRecording ? levelMeter.getRms() : 0;
+    }
+    
+    /**
+     * Peak sample of the latest block, 0..1
+     */
+    public float getPeakLevel() {
+        return isRecording ? levelMeter.getPeak() : 0;
     }
     
     /**
@@ -0,0 +1,196 @@
+package com.interviewprep.service;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated single-producer, multi-consumer byte ring for captured PCM audio
+ * The capture thread never blocks: it always overwrites the oldest data. Each consumer reads
+ * through its own {@link Tap}. A write in progress is not yet visible in the write position but
+ * is already overwriting the oldest bytes, so a tap lagging more than the buffer less one write
+ * is overrun: it skips ahead and counts the bytes it lost instead of slowing the producer down.
+ */
+public class AudioRingBuffer {
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final byte[] buffer;
+    private final int mask;
+    private final int frameSize;
+    private final int pieceLength;
+    private volatile int maxWriteLength; // longest piece written so far, raised before it is copied
+    private final AtomicLong writePosition = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Ring whose writes are split into pieces of at most a quarter of its capacity
+     * Taps may lag by the capacity less the longest piece written so far.
+     */
+    public AudioRingBuffer(int minCapacity, int frameSize) {
+        this(minCapacity, frameSize, 0);
+    }
+
+    /**
+     * @param minCapacity bytes to retain; rounded up to a power of two
+     * @param frameSize bytes per sample frame, so skips never split a frame
+     * @param maxWriteLength largest piece written at once (longer writes are split), at most half
+     *                       the capacity; 0 for a quarter of it, with taps allowed to lag by the
+     *                       capacity less the longest piece actually written
+     */
+    public AudioRingBuffer(int minCapacity, int frameSize, int maxWriteLength) {
+        int capacity = Integer.highestOneBit(Math.max(minCapacity, 1024) - 1) << 1;
+        this.buffer = new byte[capacity];
+        this.mask = capacity - 1;
+        this.frameSize = frameSize;
+        int pieces = maxWriteLength > 0 ? Math.min(maxWriteLength, capacity / 2) : capacity / 4;
+        this.pieceLength = Math.max(frameSize, pieces - pieces % frameSize);
+        this.maxWriteLength = maxWriteLength > 0 ? pieceLength : frameSize;
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Total bytes written since creation (the stream position of the next byte)
+     */
+    public long getWritePosition() {
+        return writePosition.get();
+    }
+
+    /**
+     * Append bytes; only ever called from the single producer thread
+     */
+    public void write(byte[] src, int offset, int length) {
+        if (length > buffer.length) {
+            // Only the newest capacity's worth can be retained
+            offset += length - buffer.length;
+            writePosition.addAndGet(length - buffer.length);
+            length = buffer.length;
+        }
+        // Published piece by piece, so no write in progress reaches further back than a tap may lag
+        while (length > 0) {
+            int piece = Math.min(length, pieceLength);
+            if (piece > maxWriteLength) {
+                maxWriteLength = piece;
+            }
+            writePiece(src, offset, piece);
+            offset += piece;
+            length -= piece;
+        }
+    }
+
+    private void writePiece(byte[] src, int offset, int length) {
+        long position = writePosition.get();
+        int start = (int) (position & mask);
+        int first = Math.min(length, buffer.length - start);
+        System.arraycopy(src, offset, buffer, start, first);
+        if (first < length) {
+            System.arraycopy(src, offset + first, buffer, 0, length - first);
+        }
+        // Volatile write publishes the copied bytes to consumers
+        writePosition.set(position + length);
+    }
+
+    /**
+     * Signal end of stream; taps return -1 once they have drained what was written
+     */
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * New consumer starting at the current write position
+     */
+    public Tap newTap() {
+        return new Tap(writePosition.get());
+    }
+
+    /**
+     * Independent read cursor over the ring
+     */
+    public final class Tap {
+        private long readPosition;
+        private long droppedBytes;
+
+        private Tap(long startPosition) {
+            this.readPosition = startPosition;
+        }
+
+        /**
+         * Stream position of the next byte this tap will return
+         */
+        public long getPosition() {
+            return readPosition;
+        }
+
+        /**
+         * Bytes skipped because the producer was about to overwrite what this tap had not read
+         */
+        public long getDroppedBytes() {
+            return droppedBytes;
+        }
+
+        /**
+         * Read up to {@code length} bytes in whole frames, waiting up to {@code timeoutMillis} for data
+         * @return bytes read, 0 on timeout, or -1 when the ring is closed and drained
+         * @throws IllegalArgumentException if {@code length} is less than one frame
+         */
+        public int read(byte[] dst, int offset, int length, long timeoutMillis) {
+            if (length < frameSize) {
+                throw new IllegalArgumentException("Read length " + length + " is less than one frame of " + frameSize);
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (true) {
+                // Lagging any further, the next write may already be overwriting what we would copy
+                long maxLag = buffer.length - maxWriteLength;
+                long available = writePosition.get() - readPosition;
+                if (available > maxLag) {
+                    skipTo(writePosition.get() - maxLag);
+                    continue;
+                }
+                int count = (int) Math.min(available, length);
+                count -= count % frameSize;
+                if (count > 0) {
+                    copyOut(dst, offset, count);
+
+                    // The producer may have lapped us while we copied; the data is then torn.
+                    // The fence keeps the copy's reads ahead of this check.
+                    VarHandle.acquireFence();
+                    maxLag = buffer.length - maxWriteLength;
+                    if (writePosition.get() - readPosition > maxLag) {
+                        skipTo(writePosition.get() - maxLag);
+                        continue;
+                    }
+                    readPosition += count;
+                    return count;
+                }
+                if (closed) return -1;
+                if (System.nanoTime() >= deadline) return 0;
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+        }
+
+        private void copyOut(byte[] dst, int offset, int count) {
+            int start = (int) (readPosition & mask);
+            int first = Math.min(count, buffer.length - start);
+            System.arraycopy(buffer, start, dst, offset, first);
+            if (first < count) {
+                System.arraycopy(buffer, 0, dst, offset + first, count - first);
+            }
+        }
+
+        private void skipTo(long position) {
+            // Keep frame alignment and leave headroom so the next copy is not immediately lapped
+            long target = position + buffer.length / 4;
+            target -= Math.floorMod(target, frameSize);
+            droppedBytes += target - readPosition;
+            readPosition = target;
+        }
+    }
+}
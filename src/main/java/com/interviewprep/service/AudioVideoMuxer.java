@@ -0,0 +1,221 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameRecorder;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.Buffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Feeds captured audio into the video recorder so both land in one synchronized container
+ * Video frames are placed by their System.nanoTime() capture time relative to the video start;
+ * this puts audio on the same clock. The first sample is aligned to the video start (padding
+ * with silence or skipping), audio the tap lost is replaced by silence, and the gap between the
+ * audio written (sound card clock) and the elapsed capture time (system clock) is measured as
+ * drift once a second.
+ */
+@Slf4j
+public class AudioVideoMuxer {
+    private static final int BLOCK_BYTES = 4096;
+    private static final long READ_TIMEOUT_MILLIS = 100;
+    private static final long DRIFT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final AudioRingBuffer.Tap tap;
+    private final FrameRecorder recorder;
+    private final long videoStartNanos;
+    private final LongUnaryOperator captureNanosAt;
+    private final int sampleRate;
+    private final int channels;
+    private final int frameSize;
+    private final short[] samples = new short[BLOCK_BYTES / 2];
+    private final ShortBuffer sampleBuffer = ShortBuffer.wrap(samples);
+    private final Frame audioFrame = new Frame();
+    private final MuxReport report = new MuxReport();   // guarded by this
+    private volatile boolean stopping;
+    private Thread worker;
+
+    /**
+     * @param recorder started recorder with an audio stream matching {@code format}
+     * @param videoStartNanos capture time that video position zero corresponds to
+     * @param captureNanosAt System.nanoTime() at which a tap stream position was captured
+     */
+    public AudioVideoMuxer(AudioRingBuffer.Tap tap, AudioFormat format, FrameRecorder recorder,
+                           long videoStartNanos, LongUnaryOperator captureNanosAt) {
+        this.tap = tap;
+        this.recorder = recorder;
+        this.videoStartNanos = videoStartNanos;
+        this.captureNanosAt = captureNanosAt;
+        this.sampleRate = (int) format.getSampleRate();
+        this.channels = format.getChannels();
+        this.frameSize = format.getFrameSize();
+        audioFrame.sampleRate = sampleRate;
+        audioFrame.audioChannels = channels;
+        audioFrame.samples = new Buffer[] {sampleBuffer};
+    }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::muxLoop, "av-mux-audio");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Write the audio already captured and stop; call when video stops, before the recorder is closed
+     */
+    public MuxReport stop(long timeoutMillis) throws InterruptedException {
+        stopping = true;
+        Thread thread;
+        synchronized (this) {
+            thread = worker;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                log.warn("Audio muxing did not stop in {} ms", timeoutMillis);
+            }
+        }
+        return getReport();
+    }
+
+    public synchronized MuxReport getReport() {
+        MuxReport copy = new MuxReport();
+        copy.setSamplesWritten(report.getSamplesWritten());
+        copy.setStartOffsetMillis(report.getStartOffsetMillis());
+        copy.setPaddedMillis(report.getPaddedMillis());
+        copy.setDriftMillis(report.getDriftMillis());
+        copy.setMaxDriftMillis(report.getMaxDriftMillis());
+        copy.setSampleRate(sampleRate);
+        copy.setFailed(report.isFailed());
+        return copy;
+    }
+
+    private void muxLoop() {
+        byte[] block = new byte[BLOCK_BYTES];
+        long samplesWritten = 0;
+        long lastDropped = tap.getDroppedBytes();
+        long nextDriftCheck = 0;
+        try {
+            samplesWritten += alignStart(block);
+            while (true) {
+                int read = tap.read(block, 0, block.length, stopping ? 0 : READ_TIMEOUT_MILLIS);
+                if (read < 0 || (read == 0 && stopping)) break;
+                if (read == 0) continue;
+
+                long dropped = tap.getDroppedBytes();
+                if (dropped > lastDropped) {
+                    // Keep later audio in place: the lost stretch becomes silence
+                    long missing = (dropped - lastDropped) / frameSize;
+                    writeSilence(missing);
+                    samplesWritten += missing;
+                    synchronized (this) {
+                        report.setPaddedMillis(report.getPaddedMillis() + missing * 1000 / sampleRate);
+                    }
+                    lastDropped = dropped;
+                }
+
+                samplesWritten += writePcm(block, 0, read);
+
+                long capturedAt = captureNanosAt.applyAsLong(tap.getPosition());
+                if (capturedAt >= nextDriftCheck) {
+                    nextDriftCheck = capturedAt + DRIFT_INTERVAL_NANOS;
+                    recordDrift(samplesWritten, capturedAt);
+                }
+            }
+            recordDrift(samplesWritten, captureNanosAt.applyAsLong(tap.getPosition()));
+        } catch (Exception e) {
+            log.error("Audio muxing stopped", e);
+            synchronized (this) {
+                report.setFailed(true);
+            }
+        }
+        synchronized (this) {
+            report.setSamplesWritten(samplesWritten);
+        }
+    }
+
+    /**
+     * Start the audio track at video position zero
+     * @return samples written (silence) before the first captured sample
+     */
+    private long alignStart(byte[] block) throws FrameRecorder.Exception {
+        long offsetNanos = captureNanosAt.applyAsLong(tap.getPosition()) - videoStartNanos;
+        synchronized (this) {
+            report.setStartOffsetMillis(offsetNanos / 1_000_000);
+        }
+        long offsetSamples = offsetNanos * sampleRate / 1_000_000_000L;
+        if (offsetSamples > 0) {
+            // Audio joined after video started
+            writeSilence(offsetSamples);
+            return offsetSamples;
+        }
+        // Audio from before the video start is already in the tap window: skip it
+        long skipBytes = -offsetSamples * frameSize;
+        while (skipBytes > 0) {
+            int read = tap.read(block, 0, (int) Math.min(block.length, skipBytes), READ_TIMEOUT_MILLIS);
+            if (read <= 0) break;
+            skipBytes -= read;
+        }
+        return 0;
+    }
+
+    private long writePcm(byte[] pcm, int offset, int length) throws FrameRecorder.Exception {
+        int count = length / 2;
+        for (int i = 0; i < count; i++) {
+            samples[i] = (short) ((pcm[offset + 2 * i] & 0xFF) | (pcm[offset + 2 * i + 1] << 8));
+        }
+        sampleBuffer.limit(count).position(0);
+        recorder.record(audioFrame);
+        return count / channels;
+    }
+
+    private void writeSilence(long sampleFrames) throws FrameRecorder.Exception {
+        Arrays.fill(samples, (short) 0);
+        long remaining = sampleFrames * channels;
+        while (remaining > 0) {
+            int count = (int) Math.min(samples.length, remaining);
+            sampleBuffer.limit(count).position(0);
+            recorder.record(audioFrame);
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Drift = position of the audio written minus the capture time of its last sample, both
+     * measured from the video start; positive means audio runs ahead of video
+     */
+    private void recordDrift(long samplesWritten, long capturedAtNanos) {
+        double audioMillis = samplesWritten * 1000.0 / sampleRate;
+        double wallMillis = (capturedAtNanos - videoStartNanos) / 1e6;
+        double drift = audioMillis - wallMillis;
+        synchronized (this) {
+            report.setDriftMillis(drift);
+            if (Math.abs(drift) > Math.abs(report.getMaxDriftMillis())) {
+                report.setMaxDriftMillis(drift);
+            }
+        }
+    }
+
+    @Data
+    public static class MuxReport {
+        private long samplesWritten;
+        private int sampleRate;
+        private long startOffsetMillis;     // audio start relative to video start
+        private long paddedMillis;          // silence inserted for audio the tap lost
+        private double driftMillis;         // at the end of the recording
+        private double maxDriftMillis;
+        private boolean failed;
+
+        @Override
+        public String toString() {
+            return String.format("%.1f s of audio, start offset %d ms, drift %.1f ms (max %.1f ms), %d ms padded",
+                sampleRate > 0 ? samplesWritten / (double) sampleRate : 0, startOffsetMillis,
+                driftMillis, maxDriftMillis, paddedMillis);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Checks devices and services in parallel, each within its own timeout, and remembers the answers
+ * Probes such as an LLM round trip or opening the webcam can take seconds. Each one runs on a
+ * small daemon pool, and a probe still running when its timeout expires is interrupted and
+ * reported as timed out. Listeners hear about each result as soon as it is known, so the UI can
+ * show status without waiting. Results are kept for the life of the process; callers that need
+ * an answer before the probe finishes can wait for it with a bound.
+ */
+@Slf4j
+public class CapabilityProber {
+
+    public enum State { PENDING, AVAILABLE, UNAVAILABLE, TIMED_OUT }
+
+    /**
+     * A check that returns a short description when the capability is usable, or null when not
+     */
+    @FunctionalInterface
+    public interface Probe {
+        String check() throws Exception;
+    }
+
+    private final ExecutorService pool;
+    private final ScheduledExecutorService timer;
+    private final Map<String, ProbeResult> results = new LinkedHashMap<>();     // guarded by this
+    private final Map<String, CompletableFuture<ProbeResult>> done = new LinkedHashMap<>();
+    private final List<Consumer<ProbeResult>> listeners = new CopyOnWriteArrayList<>();
+    private final long createdNanos = System.nanoTime();
+
+    public CapabilityProber(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "capability-probe-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "capability-probe-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Called with each result as it becomes known, on the probing thread
+     */
+    public void addListener(Consumer<ProbeResult> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Start a probe unless it already ran or is running
+     * The timeout counts from now, so size the pool for the probes that start together.
+     * @return the eventual result (never completes exceptionally)
+     */
+    public CompletableFuture<ProbeResult> probe(String name, long timeoutMillis, Probe probe) {
+        CompletableFuture<ProbeResult> future;
+        ProbeResult pending = new ProbeResult(name);
+        synchronized (this) {
+            if (done.containsKey(name)) return done.get(name);
+            future = new CompletableFuture<>();
+            done.put(name, future);
+            results.put(name, pending);
+        }
+        notifyListeners(pending.copy());
+
+        long start = System.nanoTime();
+        Future<?> task = pool.submit(() -> {
+            try {
+                String detail = probe.check();
+                complete(name, detail != null ? State.AVAILABLE : State.UNAVAILABLE, detail, start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception | LinkageError e) {
+                complete(name, State.UNAVAILABLE, e.getMessage(), start);
+            }
+        });
+        timer.schedule(() -> {
+            if (complete(name, State.TIMED_OUT, "no answer in " + timeoutMillis + " ms", start)) {
+                task.cancel(true);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Latest result, or null if the capability was never probed
+     */
+    public synchronized ProbeResult get(String name) {
+        ProbeResult result = results.get(name);
+        return result != null ? result.copy() : null;
+    }
+
+    public boolean isAvailable(String name) {
+        ProbeResult result = get(name);
+        return result != null && result.getState() == State.AVAILABLE;
+    }
+
+    /**
+     * Result once known, waiting at most {@code timeoutMillis} for a probe still running
+     * @return the result, PENDING if it is still unknown, or null if never probed
+     */
+    public ProbeResult await(String name, long timeoutMillis) throws InterruptedException {
+        CompletableFuture<ProbeResult> future;
+        synchronized (this) {
+            future = done.get(name);
+        }
+        if (future == null) return null;
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return get(name);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Completes once every probe started so far has an answer
+     */
+    public CompletableFuture<List<ProbeResult>> whenAllDone() {
+        List<CompletableFuture<ProbeResult>> futures;
+        synchronized (this) {
+            futures = new ArrayList<>(done.values());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> getResults());
+    }
+
+    /**
+     * Every probe's current result, in the order probes were started
+     */
+    public synchronized List<ProbeResult> getResults() {
+        List<ProbeResult> copy = new ArrayList<>();
+        for (ProbeResult result : results.values()) {
+            copy.add(result.copy());
+        }
+        return copy;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Record the first answer for a probe; later ones (e.g. a probe finishing after its timeout) are ignored
+     */
+    private boolean complete(String name, State state, String detail, long startNanos) {
+        ProbeResult result;
+        CompletableFuture<ProbeResult> future;
+        synchronized (this) {
+            result = results.get(name);
+            if (result.getState() != State.PENDING) return false;
+            result.setState(state);
+            result.setDetail(detail);
+            result.setMillis((System.nanoTime() - startNanos) / 1_000_000);
+            result.setSinceStartMillis((System.nanoTime() - createdNanos) / 1_000_000);
+            result = result.copy();
+            future = done.get(name);
+        }
+        log.info("Capability {}: {} in {} ms{}", name, state, result.getMillis(),
+            detail != null ? " (" + detail + ")" : "");
+        notifyListeners(result);
+        future.complete(result);
+        return true;
+    }
+
+    private void notifyListeners(ProbeResult result) {
+        for (Consumer<ProbeResult> listener : listeners) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                log.warn("Capability listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Data
+    public static class ProbeResult {
+        private final String name;
+        private State state = State.PENDING;
+        private String detail;
+        private long millis;              // time the probe took
+        private long sinceStartMillis;    // when it finished, from prober creation
+
+        ProbeResult copy() {
+            ProbeResult copy = new ProbeResult(name);
+            copy.setState(state);
+            copy.setDetail(detail);
+            copy.setMillis(millis);
+            copy.setSinceStartMillis(sinceStartMillis);
+            return copy;
+        }
+    }
+}
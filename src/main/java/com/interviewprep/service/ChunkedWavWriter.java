@@ -0,0 +1,101 @@
+package com.interviewprep.service;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Incremental WAV writer for PCM blocks
+ * The RIFF and data sizes are patched every {@code headerIntervalBytes}, so the file is a
+ * playable WAV up to the last checkpoint even if the application dies mid-recording.
+ */
+public class ChunkedWavWriter implements Closeable {
+    private static final int HEADER_SIZE = 44;
+
+    private final FileChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer sizes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private final long headerIntervalBytes;
+    private long dataBytes;
+    private long bytesSinceHeader;
+
+    public ChunkedWavWriter(Path path, AudioFormat format, long headerIntervalBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        this.headerIntervalBytes = headerIntervalBytes;
+        writeHeader(format);
+    }
+
+    /**
+     * Append PCM bytes in the writer's format
+     */
+    public void write(byte[] pcm, int offset, int length) throws IOException {
+        ByteBuffer block = ByteBuffer.wrap(pcm, offset, length);
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        dataBytes += length;
+        bytesSinceHeader += length;
+        if (bytesSinceHeader >= headerIntervalBytes) {
+            updateSizes();
+            bytesSinceHeader = 0;
+        }
+    }
+
+    public long getDataBytes() {
+        return dataBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            updateSizes();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeHeader(AudioFormat format) throws IOException {
+        int channels = format.getChannels();
+        int sampleRate = (int) format.getSampleRate();
+        int bitsPerSample = format.getSampleSizeInBits();
+        int blockAlign = channels * bitsPerSample / 8;
+
+        header.clear();
+        header.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        header.putInt(36);
+        header.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        header.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        header.putInt(16);
+        header.putShort((short) 1); // PCM
+        header.putShort((short) channels);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * blockAlign);
+        header.putShort((short) blockAlign);
+        header.putShort((short) bitsPerSample);
+        header.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        header.putInt(0);
+        header.flip();
+        channel.write(header, 0);
+        channel.position(HEADER_SIZE);
+    }
+
+    private void updateSizes() throws IOException {
+        long capped = Math.min(dataBytes, 0xFFFFFFFFL - 36);
+        putSize(4, 36 + capped);
+        putSize(40, capped);
+    }
+
+    private void putSize(long position, long value) throws IOException {
+        sizes.clear();
+        sizes.putInt((int) value);
+        sizes.flip();
+        channel.write(sizes, position);
+    }
+}
@@ -0,0 +1,87 @@
+package com.interviewprep.service;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ShortBuffer;
+import java.nio.file.Path;
+
+/**
+ * 16-bit signed little-endian mono PCM decoded on demand from a compressed recording
+ * (AAC or Opus), resampled to the requested rate, so analyzers that read WAV can also read
+ * the compressed copy once the WAV is gone
+ */
+class DecodedPcmStream extends InputStream {
+    private final FFmpegFrameGrabber grabber;
+    private byte[] pending = new byte[0];
+    private int pendingOffset;
+    private boolean finished;
+
+    DecodedPcmStream(Path file, int sampleRate) throws IOException {
+        grabber = new FFmpegFrameGrabber(file.toFile());
+        grabber.setSampleMode(FrameGrabber.SampleMode.SHORT);
+        grabber.setSampleRate(sampleRate);
+        grabber.setAudioChannels(1);
+        try {
+            grabber.start();
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Cannot decode " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        while (pendingOffset >= pending.length) {
+            if (finished || !decodeNext()) {
+                finished = true;
+                return -1;
+            }
+        }
+        int count = Math.min(length, pending.length - pendingOffset);
+        System.arraycopy(pending, pendingOffset, buffer, offset, count);
+        pendingOffset += count;
+        return count;
+    }
+
+    private boolean decodeNext() throws IOException {
+        Frame frame;
+        try {
+            frame = grabber.grabSamples();
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Decoding failed: " + e.getMessage(), e);
+        }
+        if (frame == null) return false;
+        if (frame.samples == null) {
+            pending = new byte[0];
+        } else {
+            ShortBuffer samples = (ShortBuffer) frame.samples[0];
+            int count = samples.remaining();
+            pending = new byte[count * 2];
+            for (int i = 0; i < count; i++) {
+                short sample = samples.get(samples.position() + i);
+                pending[2 * i] = (byte) sample;
+                pending[2 * i + 1] = (byte) (sample >> 8);
+            }
+        }
+        pendingOffset = 0;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            grabber.close();
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed store for resume and job description text
+ * Documents are keyed by the SHA-256 of their normalized text, so identical content is stored once
+ * no matter how many sessions reference it. Derived data (NLP digests, AI analyses) is cached per hash.
+ */
+@Slf4j
+public class DocumentBlobStore {
+    private final Path textDir;
+    private final Path derivedDir;
+    private final Path sourcesFile;
+    private final Gson gson;
+    // Fingerprint (SHA-256) of uploaded file bytes -> hash of the text extracted from it
+    private final Map<String, String> sources;
+
+    public DocumentBlobStore(String dataDirectory) {
+        Path root = Paths.get(dataDirectory, "blobs");
+        this.textDir = root.resolve("text");
+        this.derivedDir = root.resolve("derived");
+        this.sourcesFile = root.resolve("sources.json");
+        this.gson = new Gson();
+        this.sources = new ConcurrentHashMap<>(loadSources());
+
+        try {
+            Files.createDirectories(textDir);
+            Files.createDirectories(derivedDir);
+        } catch (IOException e) {
+            log.error("Failed to create blob store directories", e);
+        }
+    }
+
+    /**
+     * Store text (if not already present) and return its content hash
+     */
+    public String put(String text) throws IOException {
+        String normalized = normalize(text);
+        String hash = sha256Hex(normalized.getBytes(StandardCharsets.UTF_8));
+        Path path = textPath(hash);
+        if (!Files.exists(path)) {
+            writeAtomically(path, normalized);
+            log.info("Stored document {} ({} chars)", shortHash(hash), normalized.length());
+        } else {
+            log.debug("Document {} already stored", shortHash(hash));
+        }
+        return hash;
+    }
+
+    /**
+     * @return the normalized text for a hash, or null if unknown
+     */
+    public String get(String hash) {
+        if (hash == null) return null;
+        try {
+            Path path = textPath(hash);
+            return Files.exists(path) ? Files.readString(path) : null;
+        } catch (IOException e) {
+            log.warn("Failed to read document {}: {}", shortHash(hash), e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean contains(String hash) {
+        return hash != null && Files.exists(textPath(hash));
+    }
+
+    /**
+     * Load a document file, reusing the stored text when the same bytes were imported before
+     * The file is identified by DocumentService.fingerprint, which shares the extraction cache's
+     * fingerprints when that is enabled, so this lookup runs ahead of parsing either way.
+     * @return content hash of the document text
+     */
+    public String importFile(File file, DocumentService documentService) throws IOException {
+        String sourceHash = documentService.fingerprint(file);
+        String known = sources.get(sourceHash);
+        if (known != null && contains(known)) {
+            log.info("Identical upload detected for {}, skipping extraction", file.getName());
+            return known;
+        }
+
+        String hash = put(documentService.extractText(file));
+        sources.put(sourceHash, hash);
+        saveSources();
+        return hash;
+    }
+
+    /**
+     * Cache derived data (e.g. an NLP digest or AI analysis) for a document
+     */
+    public void putDerived(String hash, String key, Object value) {
+        if (hash == null) return;
+        try {
+            writeAtomically(derivedDir.resolve(hash).resolve(safeKey(key) + ".json"), gson.toJson(value));
+        } catch (IOException e) {
+            log.warn("Failed to cache {} for document {}: {}", key, shortHash(hash), e.getMessage());
+        }
+    }
+
+    /**
+     * @return cached derived data, or null if none was stored for this hash and key
+     */
+    public <T> T getDerived(String hash, String key, Class<T> type) {
+        if (hash == null) return null;
+        Path path = derivedDir.resolve(hash).resolve(safeKey(key) + ".json");
+        try {
+            return Files.exists(path) ? gson.fromJson(Files.readString(path), type) : null;
+        } catch (IOException | JsonParseException e) {
+            log.warn("Failed to read cached {} for document {}: {}", key, shortHash(hash), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Canonical form used for hashing: NFC, LF line endings, no trailing spaces, at most one blank line
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC)
+            .replace("\r\n", "\n")
+            .replace('\r', '\n')
+            .replaceAll("[ \\t\\u00A0]+\\n", "\n")
+            .replaceAll("\\n{3,}", "\n\n");
+        return normalized.strip();
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    static String sha256Hex(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private Path textPath(String hash) {
+        // Two-character fan-out keeps directories small
+        return textDir.resolve(hash.substring(0, 2)).resolve(hash + ".txt");
+    }
+
+    private static String safeKey(String key) {
+        return key.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String shortHash(String hash) {
+        return hash.length() > 12 ? hash.substring(0, 12) : hash;
+    }
+
+    private static void writeAtomically(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(tmp, content);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<String, String> loadSources() {
+        try {
+            if (Files.exists(sourcesFile)) {
+                Map<String, String> loaded = gson.fromJson(Files.readString(sourcesFile),
+                    new TypeToken<Map<String, String>>() {}.getType());
+                if (loaded != null) return loaded;
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read document sources, starting empty: {}", e.getMessage());
+        }
+        return Map.of();
+    }
+
+    private synchronized void saveSources() {
+        try {
+            writeAtomically(sourcesFile, gson.toJson(sources));
+        } catch (IOException e) {
+            log.warn("Failed to save document sources: {}", e.getMessage());
+        }
+    }
+}
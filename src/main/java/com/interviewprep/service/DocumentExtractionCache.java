@@ -0,0 +1,156 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-tier cache of extracted document text and detected MIME type
+ * Entries are keyed by the SHA-256 of the file bytes. A file whose path, size and mtime match
+ * the last time it was seen is resolved without reading it at all.
+ */
+@Slf4j
+public class DocumentExtractionCache {
+    private final Path cacheDir;
+    private final Path fingerprintFile;
+    private final int maxMemoryEntries;
+    private final Gson gson;
+    private final Map<String, CachedDocument> memory;
+    private final Map<String, Fingerprint> fingerprints;
+
+    public DocumentExtractionCache(Path cacheDir, int maxMemoryEntries) {
+        this.cacheDir = cacheDir;
+        this.fingerprintFile = cacheDir.resolve("fingerprints.json");
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.gson = new Gson();
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDocument> eldest) {
+                return size() > DocumentExtractionCache.this.maxMemoryEntries;
+            }
+        };
+        this.fingerprints = new ConcurrentHashMap<>(loadFingerprints());
+
+        try {
+            Files.createDirectories(cacheDir);
+        } catch (IOException e) {
+            log.error("Failed to create extraction cache directory", e);
+        }
+    }
+
+    /**
+     * @return content hash of the file, hashing its bytes only when size or mtime changed
+     */
+    public String fingerprint(File file) throws IOException {
+        String path = file.getAbsolutePath();
+        long size = file.length();
+        long modified = file.lastModified();
+
+        Fingerprint known = fingerprints.get(path);
+        if (known != null && known.getSize() == size && known.getModifiedMillis() == modified) {
+            return known.getContentHash();
+        }
+
+        String hash = DocumentBlobStore.sha256Hex(file.toPath());
+        fingerprints.put(path, new Fingerprint(size, modified, hash));
+        saveFingerprints();
+        return hash;
+    }
+
+    /**
+     * @return cached entry from memory or disk, or null on a miss
+     */
+    public CachedDocument get(String contentHash) {
+        synchronized (memory) {
+            CachedDocument cached = memory.get(contentHash);
+            if (cached != null) return cached;
+        }
+
+        Path path = entryPath(contentHash);
+        if (!Files.exists(path)) return null;
+        try {
+            CachedDocument cached = gson.fromJson(Files.readString(path), CachedDocument.class);
+            if (cached != null) {
+                synchronized (memory) {
+                    memory.put(contentHash, cached);
+                }
+            }
+            return cached;
+        } catch (IOException | JsonParseException e) {
+            log.warn("Discarding unreadable cache entry {}: {}", contentHash, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String contentHash, CachedDocument document) {
+        synchronized (memory) {
+            memory.put(contentHash, document);
+        }
+        try {
+            Path path = entryPath(contentHash);
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(tmp, gson.toJson(document));
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to persist cache entry {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    private Path entryPath(String contentHash) {
+        return cacheDir.resolve(contentHash + ".json");
+    }
+
+    private Map<String, Fingerprint> loadFingerprints() {
+        try {
+            if (Files.exists(fingerprintFile)) {
+                Map<String, Fingerprint> loaded = gson.fromJson(Files.readString(fingerprintFile),
+                    new TypeToken<Map<String, Fingerprint>>() {}.getType());
+                if (loaded != null) return loaded;
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read file fingerprints, starting empty: {}", e.getMessage());
+        }
+        return Map.of();
+    }
+
+    private synchronized void saveFingerprints() {
+        try {
+            Path tmp = fingerprintFile.resolveSibling(fingerprintFile.getFileName() + ".tmp");
+            Files.writeString(tmp, gson.toJson(fingerprints));
+            Files.move(tmp, fingerprintFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save file fingerprints: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Extraction result; text is null when only the type has been detected
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedDocument {
+        private String mimeType;
+        private String text;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class Fingerprint {
+        private long size;
+        private long modifiedMillis;
+        private String contentHash;
+    }
+}
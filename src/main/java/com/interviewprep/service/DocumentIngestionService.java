@@ -0,0 +1,270 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Parallel bulk text extraction for folders of resumes and job descriptions
+ * At most {@code parallelism} files are in flight at once and results are handed to the caller
+ * as they complete, so memory stays flat regardless of how many files are queued. Each file
+ * has a parse deadline; a parse that overruns is reported as timed out and interrupted, but a
+ * parser that ignores the interrupt keeps its worker until it returns. Such abandoned workers
+ * still count against {@code parallelism}, here and in later batches, and once every worker is
+ * stuck the remaining files fail at once instead of starting more threads.
+ */
+@Slf4j
+public class DocumentIngestionService {
+    private final DocumentService documentService;
+    private final int parallelism;
+    private final long timeoutMillis;
+    private final long maxFileBytes;
+
+    // Timed-out parses whose threads are still running, across all batches
+    private static final AtomicInteger ABANDONED = new AtomicInteger();
+
+    public DocumentIngestionService(DocumentService documentService, int parallelism,
+                                    long timeoutMillis, long maxFileBytes) {
+        this.documentService = documentService;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutMillis = timeoutMillis;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    /**
+     * Build from documents.batch.* settings (parallelism defaults to performance.max.threads)
+     */
+    public static DocumentIngestionService fromConfig(ConfigurationService config, DocumentService documentService) {
+        return new DocumentIngestionService(documentService,
+            config.getIntProperty("documents.batch.threads", config.getIntProperty("performance.max.threads", 4)),
+            config.getIntProperty("documents.batch.timeout.seconds", 30) * 1000L,
+            config.getIntProperty("documents.batch.max.file.mb", 20) * 1024L * 1024L);
+    }
+
+    /**
+     * Extract every file, delivering each result to {@code sink} on the calling thread
+     */
+    public IngestionReport ingest(List<File> files, Consumer<IngestionResult> sink) throws InterruptedException {
+        IngestionReport report = new IngestionReport();
+        long started = System.nanoTime();
+
+        int budget = parallelism - ABANDONED.get();
+        if (budget <= 0) {
+            for (File file : files) {
+                deliver(stuck(file), sink, report);
+            }
+            log.warn("Refused {} files: every worker is still stuck in a timed-out parse", files.size());
+            report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+            return report;
+        }
+
+        // A permit is held until the worker's parse actually returns, timed out or not, so the
+        // fixed pool never needs more than budget threads
+        ExecutorService workers = new ThreadPoolExecutor(budget, budget, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), daemonThreads("document-ingest"));
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("document-ingest-watchdog"));
+        Semaphore permits = new Semaphore(budget);
+        AtomicInteger abandoned = new AtomicInteger();
+        BlockingQueue<IngestionResult> completed = new LinkedBlockingQueue<>();
+        int delivered = 0;
+
+        try {
+            for (File file : files) {
+                boolean acquired;
+                while (!(acquired = permits.tryAcquire(50, TimeUnit.MILLISECONDS))) {
+                    delivered += drain(completed, sink, report);
+                    if (abandoned.get() >= budget) break;
+                }
+                delivered += drain(completed, sink, report);
+
+                if (!acquired) {
+                    completed.add(stuck(file));
+                    continue;
+                }
+                if (file.length() > maxFileBytes) {
+                    permits.release();
+                    completed.add(IngestionResult.of(file, Status.SKIPPED, null,
+                        "Larger than " + maxFileBytes / (1024 * 1024) + " MB", 0));
+                    continue;
+                }
+                submit(file, workers, watchdog, permits, abandoned, completed);
+            }
+
+            while (delivered < files.size()) {
+                IngestionResult result = completed.poll(100, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    deliver(result, sink, report);
+                    delivered++;
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            watchdog.shutdownNow();
+        }
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Ingested {} files: {}", files.size(), report);
+        return report;
+    }
+
+    private void submit(File file, ExecutorService workers, ScheduledExecutorService watchdog,
+                        Semaphore permits, AtomicInteger abandoned, BlockingQueue<IngestionResult> completed) {
+        AtomicBoolean finished = new AtomicBoolean();
+        long start = System.nanoTime();
+
+        workers.execute(() -> {
+            // Deadline armed once the parse starts; interrupting the thread directly (rather than
+            // cancelling the future) means the permit below is always released
+            Thread worker = Thread.currentThread();
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                if (finished.compareAndSet(false, true)) {
+                    abandoned.incrementAndGet();
+                    ABANDONED.incrementAndGet();
+                    worker.interrupt();
+                    completed.add(IngestionResult.of(file, Status.TIMED_OUT, null,
+                        "Parse exceeded " + timeoutMillis + " ms", elapsedMillis(start)));
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                IngestionResult result;
+                try {
+                    String text = documentService.extractText(file);
+                    result = IngestionResult.of(file, Status.OK, text, null, elapsedMillis(start));
+                } catch (Exception e) {
+                    result = IngestionResult.of(file, Status.FAILED, null, e.getMessage(), elapsedMillis(start));
+                }
+                deadline.cancel(false);
+                if (finished.compareAndSet(false, true)) {
+                    completed.add(result);
+                } else {
+                    abandoned.decrementAndGet();
+                    ABANDONED.decrementAndGet();
+                }
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private IngestionResult stuck(File file) {
+        return IngestionResult.of(file, Status.FAILED, null,
+            "All " + parallelism + " workers are stuck in timed-out parses", 0);
+    }
+
+    private static int drain(BlockingQueue<IngestionResult> completed, Consumer<IngestionResult> sink,
+                             IngestionReport report) {
+        int count = 0;
+        IngestionResult result;
+        while ((result = completed.poll()) != null) {
+            deliver(result, sink, report);
+            count++;
+        }
+        return count;
+    }
+
+    private static void deliver(IngestionResult result, Consumer<IngestionResult> sink, IngestionReport report) {
+        report.record(result);
+        if (result.getStatus() != Status.OK) {
+            log.warn("{} {}: {}", result.getStatus(), result.getFile().getName(), result.getError());
+        }
+        sink.accept(result);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public enum Status {
+        OK, FAILED, TIMED_OUT, SKIPPED
+    }
+
+    /**
+     * Outcome for one file; text is only set when status is OK
+     */
+    @Data
+    public static class IngestionResult {
+        private File file;
+        private Status status;
+        private String text;
+        private String error;
+        private long bytes;
+        private long millis;
+
+        static IngestionResult of(File file, Status status, String text, String error, long millis) {
+            IngestionResult result = new IngestionResult();
+            result.file = file;
+            result.status = status;
+            result.text = text;
+            result.error = error;
+            result.bytes = file.length();
+            result.millis = millis;
+            return result;
+        }
+    }
+
+    /**
+     * Totals and throughput for a batch
+     */
+    @Data
+    public static class IngestionReport {
+        private int succeeded;
+        private int failed;
+        private int timedOut;
+        private int skipped;
+        private long bytes;
+        private long characters;
+        private long elapsedMillis;
+
+        void record(IngestionResult result) {
+            switch (result.getStatus()) {
+                case OK:
+                    succeeded++;
+                    bytes += result.getBytes();
+                    characters += result.getText().length();
+                    break;
+                case FAILED:
+                    failed++;
+                    break;
+                case TIMED_OUT:
+                    timedOut++;
+                    break;
+                case SKIPPED:
+                    skipped++;
+                    break;
+            }
+        }
+
+        public int getTotal() {
+            return succeeded + failed + timedOut + skipped;
+        }
+
+        public double getFilesPerSecond() {
+            return elapsedMillis > 0 ? getTotal() * 1000.0 / elapsedMillis : 0;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedMillis > 0 ? bytes / 1048576.0 * 1000.0 / elapsedMillis : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d ok, %d failed, %d timed out, %d skipped in %d ms (%.1f files/s, %.2f MB/s)",
+                succeeded, failed, timedOut, skipped, elapsedMillis, getFilesPerSecond(), getMegabytesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MediaTypeRegistry;
+import org.apache.tika.mime.MimeTypes;
+import org.apache.tika.parser.CompositeParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Lazily built Tika parser set limited to the configured document formats
+ * Unlike the Tika facade, nothing is discovered through the service loader: the detector and
+ * each enabled parser are only loaded on first use (or by prewarmAsync once the UI is up).
+ */
+@Slf4j
+public class DocumentParserRegistry {
+    public static final List<String> DEFAULT_FORMATS = List.of("pdf", "docx", "txt");
+    public static final int DEFAULT_MAX_CHARS = 100_000; // same limit the Tika facade applies
+
+    private final List<String> formats;
+    private final int maxChars;
+    private volatile MimeTypes detector;
+    private volatile Parser parser;
+
+    public DocumentParserRegistry() {
+        this(DEFAULT_FORMATS, DEFAULT_MAX_CHARS);
+    }
+
+    public DocumentParserRegistry(Collection<String> formats, int maxChars) {
+        this.formats = new ArrayList<>();
+        for (String format : formats) {
+            String normalized = format.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) continue;
+            if (!isKnownFormat(normalized)) {
+                throw new IllegalArgumentException("Unsupported document format: " + format);
+            }
+            this.formats.add(normalized);
+        }
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Build from documents.formats and documents.max.chars
+     */
+    public static DocumentParserRegistry fromConfig(ConfigurationService config) {
+        String formats = config.getProperty("documents.formats", String.join(",", DEFAULT_FORMATS));
+        return new DocumentParserRegistry(Arrays.asList(formats.split(",")),
+            config.getIntProperty("documents.max.chars", DEFAULT_MAX_CHARS));
+    }
+
+    public List<String> getFormats() {
+        return Collections.unmodifiableList(formats);
+    }
+
+    /**
+     * Parse a file to plain text, truncating at the configured character limit
+     * @param metadata receives the detected content type and parser metadata
+     */
+    public String parseToString(File file, Metadata metadata) throws IOException {
+        try (TikaInputStream stream = TikaInputStream.get(file.toPath(), metadata)) {
+            MediaType type = detector().detect(stream, metadata);
+            metadata.set(Metadata.CONTENT_TYPE, type.toString());
+            if (!supports(type)) {
+                throw new IOException("Unsupported document type " + type + " (enabled formats: " + formats + ")");
+            }
+
+            WriteOutContentHandler text = new WriteOutContentHandler(maxChars);
+            try {
+                parser().parse(stream, new BodyContentHandler(text), metadata, new ParseContext());
+            } catch (SAXException e) {
+                if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                    throw new IOException("Failed to parse document: " + e.getMessage(), e);
+                }
+                log.warn("Truncated {} at {} characters", file.getName(), maxChars);
+            } catch (TikaException e) {
+                throw new IOException("Failed to parse document: " + e.getMessage(), e);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Detect the media type from the file name and leading bytes
+     */
+    public String detect(File file) throws IOException {
+        Metadata metadata = new Metadata();
+        try (TikaInputStream stream = TikaInputStream.get(file.toPath(), metadata)) {
+            return detector().detect(stream, metadata).toString();
+        }
+    }
+
+    /**
+     * @return true if one of the enabled parsers handles this type or one of its supertypes
+     */
+    public boolean supports(String mimeType) {
+        MediaType type = MediaType.parse(mimeType);
+        return type != null && supports(type);
+    }
+
+    private boolean supports(MediaType type) {
+        MediaTypeRegistry registry = detector().getMediaTypeRegistry();
+        Set<MediaType> supported = parser().getSupportedTypes(new ParseContext());
+        for (MediaType t = registry.normalize(type.getBaseType()); t != null; t = registry.getSupertype(t)) {
+            if (supported.contains(t)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Load the detector and enabled parsers on a low-priority background thread
+     */
+    public void prewarmAsync() {
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            detector();
+            parser();
+            log.info("Document parsers pre-warmed in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }, "document-parser-prewarm");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private MimeTypes detector() {
+        MimeTypes result = detector;
+        if (result == null) {
+            synchronized (this) {
+                if (detector == null) {
+                    detector = MimeTypes.getDefaultMimeTypes();
+                }
+                result = detector;
+            }
+        }
+        return result;
+    }
+
+    private Parser parser() {
+        Parser result = parser;
+        if (result == null) {
+            synchronized (this) {
+                if (parser == null) {
+                    long start = System.nanoTime();
+                    List<Parser> parsers = new ArrayList<>();
+                    for (String format : formats) {
+                        parsers.add(createParser(format));
+                    }
+                    parser = new CompositeParser(detector().getMediaTypeRegistry(), parsers);
+                    log.info("Initialized document parsers {} in {} ms", formats, (System.nanoTime() - start) / 1_000_000);
+                }
+                result = parser;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isKnownFormat(String format) {
+        switch (format) {
+            case "pdf":
+            case "docx":
+            case "doc":
+            case "txt":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // A switch rather than a lookup table so a parser class is only loaded when its format is enabled
+    private static Parser createParser(String format) {
+        switch (format) {
+            case "pdf":
+                return new org.apache.tika.parser.pdf.PDFParser();
+            case "docx":
+                return new org.apache.tika.parser.microsoft.ooxml.OOXMLParser();
+            case "doc":
+                return new org.apache.tika.parser.microsoft.OfficeParser();
+            case "txt":
+                return new org.apache.tika.parser.txt.TXTParser();
+            default:
+                throw new IllegalArgumentException("Unsupported document format: " + format);
+        }
+    }
+}
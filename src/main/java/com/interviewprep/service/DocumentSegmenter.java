@@ -0,0 +1,225 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.JobDescription;
+import com.interviewprep.model.Resume;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Heuristic section detection for resumes and job descriptions
+ * Runs once when a document is loaded and fills the structured fields on Resume and
+ * JobDescription, so prompts can include only the sections a question type needs.
+ */
+public final class DocumentSegmenter {
+
+    public enum ResumeSection { SUMMARY, EXPERIENCE, EDUCATION, SKILLS, PROJECTS, OTHER }
+
+    private static final int MAX_HEADING_LENGTH = 50;
+
+    private static final Map<ResumeSection, Pattern> RESUME_HEADINGS = new EnumMap<>(ResumeSection.class);
+    static {
+        RESUME_HEADINGS.put(ResumeSection.SUMMARY, heading(
+            "(professional |career |executive )?(summary|profile|objective)|about me"));
+        RESUME_HEADINGS.put(ResumeSection.EXPERIENCE, heading(
+            "(work |professional |relevant |industry )?(experience|employment( history)?)|work history|career history"));
+        RESUME_HEADINGS.put(ResumeSection.EDUCATION, heading(
+            "education( (and|&) (training|certifications))?|academic (background|history)"));
+        RESUME_HEADINGS.put(ResumeSection.SKILLS, heading(
+            "(technical |core |key |relevant )?(skills|competencies|technologies)( (and|&) (tools|technologies))?|tech stack|tools"));
+        RESUME_HEADINGS.put(ResumeSection.PROJECTS, heading(
+            "(personal |selected |key |side |academic )?projects"));
+        RESUME_HEADINGS.put(ResumeSection.OTHER, heading(
+            "certifications?|awards?( (and|&) honou?rs)?|publications|languages|interests|hobbies|volunteer(ing| experience)?|references|achievements"));
+    }
+
+    private static final Pattern JD_REQUIRED_HEADING = heading(
+        "(minimum |basic |required |key )?(requirements|qualifications)|required skills|skills( required)?"
+            + "|what you('ll)? (need|bring)|what we('re)? look(ing)? for|must[- ]haves?|you have|who you are");
+    private static final Pattern JD_DUTIES_HEADING = heading(
+        "(key |core |main )?(responsibilities|duties)|what you('ll)? do|the role|about (the )?(role|job|position)"
+            + "|your (role|impact)|day[- ]to[- ]day");
+    private static final Pattern JD_PREFERRED_HEADING = heading(
+        "preferred( qualifications| skills)?|nice[- ]to[- ]haves?|bonus( points)?");
+    private static final Pattern JD_OTHER_HEADING = heading(
+        "about (the )?(team|us|you)|about .{2,40}|benefits|perks|what we offer|compensation"
+            + "|location|how to apply|equal opportunity.*");
+    private static final Pattern LABELLED_TITLE = Pattern.compile(
+        "^(job title|title|position|role)\\s*[:\\-–]\\s*(.+)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LABELLED_COMPANY = Pattern.compile(
+        "^(company|employer|organi[sz]ation)\\s*[:\\-–]\\s*(.+)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ABOUT_COMPANY = Pattern.compile(
+        "^about\\s+(?!(the\\s+)?(role|job|team|position|opportunity|you|us)\\b)(.{2,40}?)\\s*:?$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TITLE_AT_COMPANY = Pattern.compile("^(.{3,60}?)\\s+(?:at|@)\\s+(.{2,40})$");
+
+    private static final Pattern HYPHENATED_BREAK = Pattern.compile("(\\p{L})-\\n[ \\t]*(\\p{Ll})");
+    private static final Pattern BULLET = Pattern.compile("^[\\s•·▪‣◦*\\-–—>]+");
+
+    private DocumentSegmenter() {
+    }
+
+    /**
+     * Fill extracted skills, experience, education and projects on a resume
+     */
+    public static void segment(Resume resume) {
+        if (resume == null || resume.getContent() == null) return;
+        Map<ResumeSection, String> sections = segmentResume(resume.getContent());
+        resume.setExtractedSkills(listItems(sections.get(ResumeSection.SKILLS)));
+        resume.setExtractedExperience(sections.get(ResumeSection.EXPERIENCE));
+        resume.setExtractedEducation(sections.get(ResumeSection.EDUCATION));
+        resume.setExtractedProjects(sections.get(ResumeSection.PROJECTS));
+    }
+
+    /**
+     * Fill job title, company, responsibilities, required and preferred skills on a job description
+     */
+    public static void segment(JobDescription jobDescription) {
+        if (jobDescription == null || jobDescription.getContent() == null) return;
+        List<String> lines = lines(clean(jobDescription.getContent()));
+        String title = null;
+        String company = null;
+        StringBuilder duties = new StringBuilder();
+        StringBuilder required = new StringBuilder();
+        StringBuilder preferred = new StringBuilder();
+        StringBuilder section = null; // where lines under the current heading go; null to skip them
+
+        for (String line : lines) {
+            Matcher m;
+            if (title == null && (m = LABELLED_TITLE.matcher(line)).matches()) {
+                title = m.group(2).trim();
+                continue;
+            }
+            if (company == null && (m = LABELLED_COMPANY.matcher(line)).matches()) {
+                company = m.group(2).trim();
+                continue;
+            }
+
+            String heading = headingText(line);
+            if (heading != null && JD_REQUIRED_HEADING.matcher(heading).matches()) {
+                section = required;
+                continue;
+            }
+            if (heading != null && JD_DUTIES_HEADING.matcher(heading).matches()) {
+                section = duties;
+                continue;
+            }
+            if (heading != null && JD_PREFERRED_HEADING.matcher(heading).matches()) {
+                section = preferred;
+                continue;
+            }
+            if (heading != null && JD_OTHER_HEADING.matcher(heading).matches()) {
+                if (company == null && (m = ABOUT_COMPANY.matcher(heading)).matches()) {
+                    company = m.group(3).trim();
+                }
+                section = null;
+                continue;
+            }
+            if (section != null && !line.isEmpty()) {
+                section.append(line).append('\n');
+            }
+        }
+
+        // Fall back to the first line, which is usually "Title" or "Title at Company"
+        String firstLine = lines.stream().filter(l -> !l.isEmpty()).findFirst().orElse(null);
+        if (title == null && firstLine != null && firstLine.length() <= 80 && !isJobDescriptionHeading(firstLine)) {
+            Matcher m = TITLE_AT_COMPANY.matcher(firstLine);
+            if (m.matches()) {
+                title = m.group(1).trim();
+                if (company == null) company = m.group(2).trim();
+            } else {
+                title = firstLine;
+            }
+        }
+
+        jobDescription.setJobTitle(title);
+        jobDescription.setCompany(company);
+        jobDescription.setResponsibilities(duties.length() > 0 ? listItems(duties.toString()) : null);
+        jobDescription.setRequiredSkills(required.length() > 0 ? listItems(required.toString()) : null);
+        jobDescription.setPreferredSkills(preferred.length() > 0 ? listItems(preferred.toString()) : null);
+    }
+
+    /**
+     * Split resume text into sections by heading; text before the first heading is the summary
+     */
+    public static Map<ResumeSection, String> segmentResume(String text) {
+        Map<ResumeSection, StringBuilder> builders = new EnumMap<>(ResumeSection.class);
+        ResumeSection current = ResumeSection.SUMMARY;
+
+        for (String line : lines(clean(text))) {
+            ResumeSection section = resumeHeading(line);
+            if (section != null) {
+                current = section;
+                continue;
+            }
+            builders.computeIfAbsent(current, s -> new StringBuilder()).append(line).append('\n');
+        }
+
+        Map<ResumeSection, String> sections = new EnumMap<>(ResumeSection.class);
+        builders.forEach((section, builder) -> {
+            String value = builder.toString().replaceAll("\\n{3,}", "\n\n").strip();
+            if (!value.isEmpty()) sections.put(section, value);
+        });
+        return sections;
+    }
+
+    /**
+     * Join words hyphenated across PDF line breaks and normalize whitespace
+     */
+    public static String clean(String text) {
+        if (text == null) return "";
+        String normalized = text.replace("\r\n", "\n").replace('\r', '\n').replace("\u00AD", "");
+        normalized = HYPHENATED_BREAK.matcher(normalized).replaceAll("$1$2");
+        normalized = normalized.replaceAll("[ \\t\\u00A0\\f]+", " ");
+        normalized = normalized.replaceAll(" ?\\n ?", "\n");
+        return normalized.replaceAll("\\n{3,}", "\n\n").strip();
+    }
+
+    private static boolean isJobDescriptionHeading(String line) {
+        String heading = headingText(line);
+        return line.endsWith(":") || heading != null
+            && (JD_REQUIRED_HEADING.matcher(heading).matches() || JD_DUTIES_HEADING.matcher(heading).matches()
+                || JD_PREFERRED_HEADING.matcher(heading).matches() || JD_OTHER_HEADING.matcher(heading).matches());
+    }
+
+    private static ResumeSection resumeHeading(String line) {
+        String heading = headingText(line);
+        if (heading == null) return null;
+        for (Map.Entry<ResumeSection, Pattern> entry : RESUME_HEADINGS.entrySet()) {
+            if (entry.getValue().matcher(heading).matches()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the line with bullets, numbering and a trailing colon removed, or null if too long to be a heading
+     */
+    private static String headingText(String line) {
+        if (line.isEmpty() || line.length() > MAX_HEADING_LENGTH) return null;
+        String text = line.replaceFirst("^[#\\d.\\s•*\\-–]+", "").replaceFirst("\\s*:\\s*$", "").trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * One item per line with bullet glyphs removed; inline "•" or "|" separated lists are split
+     */
+    private static String listItems(String text) {
+        if (text == null) return null;
+        StringJoiner items = new StringJoiner("\n");
+        for (String part : text.split("\\n|\\s[•|·▪]\\s")) {
+            String item = BULLET.matcher(part).replaceFirst("").trim();
+            if (!item.isEmpty()) items.add(item);
+        }
+        return items.length() > 0 ? items.toString() : null;
+    }
+
+    private static List<String> lines(String text) {
+        return Arrays.asList(text.split("\n", -1));
+    }
+
+    private static Pattern heading(String regex) {
+        return Pattern.compile("^(" + regex + ")$", Pattern.CASE_INSENSITIVE);
+    }
+}
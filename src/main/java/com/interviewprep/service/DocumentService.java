@@ -1,43 +1,88 @@
 package com.interviewprep.service;
 
+import com.interviewprep.service.DocumentExtractionCache.CachedDocument;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tika.Tika;
-import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
 
 import java.io.File;
 import java.io.IOException;
 
 /**
  * Service for reading documents using Apache Tika
- * Supports PDF, DOCX, TXT, and many other formats
+ * Supports PDF, DOCX and TXT by default; see DocumentParserRegistry for the configurable format set
  */
 @Slf4j
 public class DocumentService {
-    private final Tika tika;
+    private final DocumentParserRegistry parsers;
+    private final DocumentExtractionCache cache; // null when caching is disabled
     
     public DocumentService() {
-        this.tika = new Tika();
+        this(new DocumentParserRegistry(), null);
+    }
+    
+    public DocumentService(DocumentExtractionCache cache) {
+        this(new DocumentParserRegistry(), cache);
+    }
+    
+    public DocumentService(DocumentParserRegistry parsers, DocumentExtractionCache cache) {
+        this.parsers = parsers;
+        this.cache = cache;
+    }
+    
+    /**
+     * Load the enabled parsers in the background so the first upload doesn't pay for it
+     */
+    public void prewarm() {
+        parsers.prewarmAsync();
     }
     
     /**
      * Extract text from any supported document format
      */
     public String extractText(File file) throws IOException {
-        try {
-            log.info("Extracting text from: {}", file.getName());
-            String text = tika.parseToString(file);
-            log.info("Extracted {} characters from {}", text.length(), file.getName());
-            return text;
-        } catch (TikaException e) {
-            throw new IOException("Failed to parse document: " + e.getMessage(), e);
+        String hash = cache != null ? cache.fingerprint(file) : null;
+        CachedDocument cached = hash != null ? cache.get(hash) : null;
+        if (cached != null && cached.getText() != null) {
+            log.info("Using cached text for {} ({} characters)", file.getName(), cached.getText().length());
+            return cached.getText();
+        }
+        
+        log.info("Extracting text from: {}", file.getName());
+        Metadata metadata = new Metadata();
+        String text = parsers.parseToString(file, metadata);
+        log.info("Extracted {} characters from {}", text.length(), file.getName());
+        
+        if (hash != null) {
+            // The parse already detected the type, so keep it alongside the text
+            cache.put(hash, new CachedDocument(baseType(metadata.get(Metadata.CONTENT_TYPE)), text));
         }
+        return text;
+    }
+    
+    /**
+     * Content hash of the file bytes, taken from the extraction cache's size+mtime fingerprints
+     * when caching is enabled so an unchanged file is not read again
+     */
+    public String fingerprint(File file) throws IOException {
+        return cache != null ? cache.fingerprint(file) : DocumentBlobStore.sha256Hex(file.toPath());
     }
     
     /**
      * Detect document type
      */
     public String detectFileType(File file) throws IOException {
-        return tika.detect(file);
+        if (cache == null) {
+            return parsers.detect(file);
+        }
+        
+        String hash = cache.fingerprint(file);
+        CachedDocument cached = cache.get(hash);
+        if (cached != null && cached.getMimeType() != null) {
+            return cached.getMimeType();
+        }
+        String mimeType = parsers.detect(file);
+        cache.put(hash, new CachedDocument(mimeType, cached != null ? cached.getText() : null));
+        return mimeType;
     }
     
     /**
@@ -45,14 +90,15 @@ public class DocumentService {
      */
     public boolean isSupported(File file) {
         try {
-            String mimeType = tika.detect(file);
-            return mimeType.contains("text") || 
-                   mimeType.contains("pdf") || 
-                   mimeType.contains("word") ||
-                   mimeType.contains("document");
+            return parsers.supports(detectFileType(file));
         } catch (Exception e) {
             return false;
         }
     }
+    
+    private static String baseType(String contentType) {
+        if (contentType == null) return null;
+        int parameters = contentType.indexOf(';');
+        return (parameters >= 0 ? contentType.substring(0, parameters) : contentType).trim();
+    }
 }
-
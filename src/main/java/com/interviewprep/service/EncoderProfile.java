@@ -0,0 +1,146 @@
+package com.interviewprep.service;
+
+import org.bytedeco.ffmpeg.avcodec.AVCodec;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * H.264 encoder settings: constant rate factor, speed preset and tune, or a target bitrate
+ * x264 encodes at the CRF. OpenH264 ignores CRF, preset and tune, so for encoders like it
+ * {@link #withDefaultBitrate} derives an equivalent bitrate from resolution, frame rate and the
+ * CRF. A bitrate set in the config is used by every encoder. Presets form a ladder from fastest
+ * to slowest that {@link AdaptiveEncoderProfile} moves along for x264.
+ */
+public final class EncoderProfile {
+    public static final List<String> PRESETS = Arrays.asList(
+        "ultrafast", "superfast", "veryfast", "faster", "fast", "medium", "slow");
+    /** CRF used when compression is disabled: visually lossless */
+    public static final int HIGH_QUALITY_CRF = 18;
+    // Bits per pixel at CRF 28 for webcam footage; six CRF steps roughly double the bitrate
+    private static final double BITS_PER_PIXEL_AT_CRF_28 = 0.1;
+
+    private final int crf;
+    private final String preset;
+    private final String tune;
+    private final int bitrateKbps;
+
+    public EncoderProfile(int crf, String preset, String tune, int bitrateKbps) {
+        if (!PRESETS.contains(preset)) {
+            throw new IllegalArgumentException("Unknown x264 preset: " + preset);
+        }
+        this.crf = Math.max(0, Math.min(51, crf));
+        this.preset = preset;
+        this.tune = tune == null || tune.isBlank() ? null : tune.trim();
+        this.bitrateKbps = Math.max(0, bitrateKbps);
+    }
+
+    /**
+     * Profile from video.compression.* settings
+     */
+    public static EncoderProfile fromConfig(ConfigurationService config) {
+        boolean compress = config.getBooleanProperty("video.compression.enabled", true);
+        return new EncoderProfile(
+            compress ? config.getIntProperty("video.compression.quality", 28) : HIGH_QUALITY_CRF,
+            config.getProperty("video.compression.preset", "veryfast").trim(),
+            config.getProperty("video.compression.tune", "zerolatency"),
+            compress ? config.getIntProperty("video.compression.bitrate.kbps", 0) : 0);
+    }
+
+    /**
+     * Name of the encoder FFmpeg picks for H.264 (e.g. libx264 or libopenh264), or null if unknown
+     */
+    public static String h264EncoderName() {
+        try {
+            AVCodec codec = avcodec.avcodec_find_encoder(avcodec.AV_CODEC_ID_H264);
+            return codec == null || codec.isNull() ? null : codec.name().getString();
+        } catch (RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the encoder rate-controls by CRF; for others a bitrate has to be given
+     */
+    public static boolean honoursCrf(String encoderName) {
+        return encoderName != null && (encoderName.startsWith("libx264") || encoderName.equals("libx265"));
+    }
+
+    /**
+     * Bitrate if one is set, otherwise CRF; then preset and tune
+     */
+    public void applyTo(FFmpegFrameRecorder recorder) {
+        if (bitrateKbps > 0) {
+            recorder.setVideoBitrate(bitrateKbps * 1000);
+        } else {
+            recorder.setVideoQuality(crf);
+        }
+        recorder.setVideoOption("preset", preset);
+        if (tune != null) {
+            recorder.setVideoOption("tune", tune);
+        }
+    }
+
+    /**
+     * This profile, or with no bitrate set one suited to the frame size, rate and CRF
+     */
+    public EncoderProfile withDefaultBitrate(int width, int height, double frameRate) {
+        if (bitrateKbps > 0 || width <= 0 || height <= 0 || frameRate <= 0) return this;
+        double bitsPerPixel = BITS_PER_PIXEL_AT_CRF_28 * Math.pow(2, (28 - crf) / 6.0);
+        return withBitrate((int) Math.round(width * (double) height * frameRate * bitsPerPixel / 1000));
+    }
+
+    public EncoderProfile withBitrate(int bitrateKbps) {
+        return new EncoderProfile(crf, preset, tune, bitrateKbps);
+    }
+
+    /**
+     * Same settings with the preset moved by {@code steps} (negative is faster), clamped to the ladder
+     */
+    public EncoderProfile withPresetStep(int steps) {
+        int index = Math.max(0, Math.min(PRESETS.size() - 1, getPresetIndex() + steps));
+        return new EncoderProfile(crf, PRESETS.get(index), tune, bitrateKbps);
+    }
+
+    public int getPresetIndex() {
+        return PRESETS.indexOf(preset);
+    }
+
+    public int getCrf() {
+        return crf;
+    }
+
+    public String getPreset() {
+        return preset;
+    }
+
+    public String getTune() {
+        return tune;
+    }
+
+    public int getBitrateKbps() {
+        return bitrateKbps;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EncoderProfile)) return false;
+        EncoderProfile other = (EncoderProfile) o;
+        return crf == other.crf && bitrateKbps == other.bitrateKbps && preset.equals(other.preset)
+            && java.util.Objects.equals(tune, other.tune);
+    }
+
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(crf, preset, tune, bitrateKbps);
+    }
+
+    @Override
+    public String toString() {
+        return "crf " + crf + ", preset " + preset + (tune != null ? ", tune " + tune : "")
+            + (bitrateKbps > 0 ? ", " + bitrateKbps + " kbps" : "");
+    }
+}
@@ -0,0 +1,314 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.interviewprep.model.EngagementReport;
+import com.interviewprep.model.EngagementReport.Metrics;
+import com.interviewprep.model.EngagementReport.QuestionEngagement;
+import com.interviewprep.service.FaceEngagementDetector.Observation;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Samples video frames for face, head-pose and gaze detection and rolls them up per question
+ * Live, it subscribes to the webcam's frame bus at 1/N of the capture rate on a minimum-priority
+ * thread; offline, it decodes a saved MP4 and analyzes every Nth frame. Either way the worker
+ * sleeps after each detection so analysis stays under its CPU share: when it is too slow the
+ * frame bus simply drops frames for it, and recording never waits.
+ */
+@Slf4j
+public class EngagementAnalyzer {
+    public static final String REPORT_FILE_NAME = "engagement.json";
+    private static final long TAKE_TIMEOUT_MILLIS = 200;
+
+    private final Function<Frame, Observation> detector;
+    private final int sampleEvery;
+    private final double cpuShare;
+
+    // guarded by this
+    private final List<Sample> samples = new ArrayList<>();
+    private final List<QuestionEngagement> marks = new ArrayList<>();
+    private long busyNanos;
+    private long elapsedNanos;
+
+    private volatile long startNanos;
+    private volatile boolean stopped;
+    private VideoFrameQueue subscription;
+    private Runnable unsubscribe;
+    private Thread worker;
+
+    /**
+     * @param detector per-frame detection, called from one thread at a time
+     * @param sampleEvery analyze every Nth frame
+     * @param cpuShare fraction of one core analysis may use, 0-1
+     */
+    public EngagementAnalyzer(Function<Frame, Observation> detector, int sampleEvery, double cpuShare) {
+        this.detector = detector;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.cpuShare = Math.max(0.01, Math.min(1, cpuShare));
+    }
+
+    /**
+     * Analyzer using the vision.* settings
+     * @return the analyzer, or null when disabled or OpenCV's detectors are unavailable
+     */
+    public static EngagementAnalyzer fromConfig(ConfigurationService config) {
+        if (!config.getBooleanProperty("vision.enabled", true)) return null;
+        FaceEngagementDetector detector = FaceEngagementDetector.create();
+        if (detector == null) return null;
+        return new EngagementAnalyzer(detector::observe, config.getIntProperty("vision.sample.every", 10),
+            config.getIntProperty("vision.cpu.percent", 25) / 100.0);
+    }
+
+    /**
+     * Analyze the recording in progress
+     * @return false if the video service is not recording
+     */
+    public boolean startLive(VideoRecordingService videoService, double frameRate) {
+        VideoFrameQueue queue = videoService.subscribe("vision", 1, VideoFrameQueue.DropPolicy.DROP_OLDEST,
+            frameRate / sampleEvery);
+        if (queue == null) return false;
+        if (!startLive(queue, () -> videoService.unsubscribe(queue))) {
+            videoService.unsubscribe(queue);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Analyze frames from a subscription already capped at the sampling rate
+     * @param unsubscribe run when analysis finishes
+     */
+    synchronized boolean startLive(VideoFrameQueue queue, Runnable unsubscribe) {
+        if (worker != null) return false;
+        subscription = queue;
+        this.unsubscribe = unsubscribe;
+        startNanos = System.nanoTime();
+        worker = new Thread(this::liveLoop, "vision-analysis");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+        return true;
+    }
+
+    /**
+     * A question is on screen from now on (live analysis; ignored before {@link #startLive})
+     */
+    public void beginQuestion(String questionId, int questionIndex) {
+        if (startNanos == 0) return;
+        beginQuestion(questionId, questionIndex, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * A question was on screen from this point of the video
+     */
+    public synchronized void beginQuestion(String questionId, int questionIndex, long videoMillis) {
+        QuestionEngagement mark = new QuestionEngagement();
+        mark.setQuestionId(questionId);
+        mark.setQuestionIndex(questionIndex);
+        mark.setStartMillis(Math.max(0, videoMillis));
+        marks.add(mark);
+    }
+
+    /**
+     * Stop live analysis, finishing the frame in hand, and build the report
+     */
+    public EngagementReport finish(long timeoutMillis) throws InterruptedException {
+        stopped = true;
+        Thread thread;
+        synchronized (this) {
+            thread = worker;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                log.warn("Vision analysis did not stop in {} ms", timeoutMillis);
+            }
+            unsubscribe.run();
+        }
+        return buildReport();
+    }
+
+    /**
+     * Analyze every Nth frame of a saved video on the calling thread
+     * @param offsetMillis where the file starts in the recording (for segments)
+     * @return frames analyzed
+     */
+    public long analyzeVideo(Path video, long offsetMillis) throws IOException {
+        long analyzed = 0;
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(video.toFile())) {
+            grabber.start();
+            long index = 0;
+            long busyStart = System.nanoTime();
+            Frame frame;
+            while (!stopped && (frame = grabber.grabImage()) != null) {
+                if (index++ % sampleEvery != 0) continue;
+                observe(frame, offsetMillis + frame.timestamp / 1000);
+                analyzed++;
+                // Decoding the skipped frames counts toward the share too
+                long now = System.nanoTime();
+                throttle(now - busyStart);
+                busyStart = System.nanoTime();
+            }
+            grabber.stop();
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Could not read " + video.getFileName(), e);
+        }
+        return analyzed;
+    }
+
+    /**
+     * Roll the samples up per question; questions run until the next one starts
+     */
+    public synchronized EngagementReport buildReport() {
+        EngagementReport report = new EngagementReport();
+        report.setSampleEvery(sampleEvery);
+        report.setSampledFrames(samples.size());
+        report.setAnalysisMillis(busyNanos / 1_000_000);
+        report.setCpuShare(elapsedNanos > 0 ? (double) busyNanos / elapsedNanos : 0);
+        report.setOverall(summarize(samples, 0, Long.MAX_VALUE));
+
+        List<QuestionEngagement> ordered = new ArrayList<>(marks);
+        ordered.sort(Comparator.comparingLong(QuestionEngagement::getStartMillis));
+        long lastSample = samples.isEmpty() ? 0 : samples.get(samples.size() - 1).millis;
+        for (int i = 0; i < ordered.size(); i++) {
+            QuestionEngagement question = new QuestionEngagement();
+            question.setQuestionId(ordered.get(i).getQuestionId());
+            question.setQuestionIndex(ordered.get(i).getQuestionIndex());
+            question.setStartMillis(ordered.get(i).getStartMillis());
+            question.setEndMillis(i + 1 < ordered.size() ? ordered.get(i + 1).getStartMillis()
+                : Math.max(lastSample + 1, question.getStartMillis()));
+            question.setMetrics(summarize(samples, question.getStartMillis(), question.getEndMillis()));
+            report.getQuestions().add(question);
+        }
+        return report;
+    }
+
+    /**
+     * Write the report next to the recording (atomically, like the other JSON stores)
+     */
+    public static Path writeReport(EngagementReport report, Path recordingDir) throws IOException {
+        Files.createDirectories(recordingDir);
+        Path target = recordingDir.resolve(REPORT_FILE_NAME);
+        Path tmp = recordingDir.resolve(REPORT_FILE_NAME + ".tmp");
+        Files.writeString(tmp, new Gson().toJson(report));
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    public static EngagementReport readReport(Path file) {
+        if (!Files.exists(file)) return null;
+        try {
+            return new Gson().fromJson(Files.readString(file), EngagementReport.class);
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read engagement report {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void liveLoop() {
+        try {
+            while (!stopped) {
+                SharedFrame frame = subscription.take(TAKE_TIMEOUT_MILLIS);
+                if (frame == null) {
+                    if (subscription.isDrained()) break;
+                    continue;
+                }
+                long busyStart = System.nanoTime();
+                try {
+                    observe(frame.getFrame(), (frame.getCaptureNanos() - startNanos) / 1_000_000);
+                } finally {
+                    frame.release();
+                }
+                throttle(System.nanoTime() - busyStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Vision analysis stopped", e);
+        }
+    }
+
+    private void observe(Frame frame, long videoMillis) {
+        Observation observation = detector.apply(frame);
+        synchronized (this) {
+            samples.add(new Sample(videoMillis, observation));
+        }
+    }
+
+    /**
+     * Sleep long enough that {@code busy} is at most the CPU share of the time spent
+     */
+    private void throttle(long busy) {
+        long pause = (long) (busy * (1 - cpuShare) / cpuShare);
+        synchronized (this) {
+            busyNanos += busy;
+            elapsedNanos += busy + pause;
+        }
+        if (pause <= 0) return;
+        try {
+            Thread.sleep(pause / 1_000_000, (int) (pause % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+        }
+    }
+
+    static Metrics summarize(List<Sample> samples, long fromMillis, long toMillis) {
+        Metrics metrics = new Metrics();
+        int count = 0;
+        int present = 0;
+        int facing = 0;
+        int gazeMeasured = 0;
+        int contact = 0;
+        double movement = 0;
+        int moves = 0;
+        Observation previous = null;
+        for (Sample sample : samples) {
+            if (sample.millis < fromMillis || sample.millis >= toMillis) continue;
+            Observation o = sample.observation;
+            count++;
+            if (!o.isFacePresent()) {
+                previous = null;
+                continue;
+            }
+            present++;
+            if (o.isFacingCamera()) facing++;
+            if (o.isGazeMeasured()) {
+                gazeMeasured++;
+                if (o.isEyeContact()) contact++;
+            }
+            if (previous != null) {
+                movement += Math.hypot(o.getFaceX() - previous.getFaceX(), o.getFaceY() - previous.getFaceY());
+                moves++;
+            }
+            previous = o;
+        }
+        metrics.setSamples(count);
+        if (count == 0) return metrics;
+        metrics.setFacePresence((double) present / count);
+        metrics.setFacingCamera((double) facing / count);
+        metrics.setEyeContact(gazeMeasured > 0 ? (double) contact / gazeMeasured : -1);
+        metrics.setHeadMovement(moves > 0 ? movement / moves : 0);
+        return metrics;
+    }
+
+    static final class Sample {
+        final long millis;
+        final Observation observation;
+
+        Sample(long millis, Observation observation) {
+            this.millis = millis;
+            this.observation = observation;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.OpenCVFrameConverter;
+import org.bytedeco.opencv.global.opencv_objdetect;
+import org.bytedeco.opencv.opencv_core.*;
+import org.bytedeco.opencv.opencv_objdetect.CascadeClassifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.bytedeco.opencv.global.opencv_core.flip;
+import static org.bytedeco.opencv.global.opencv_core.minMaxLoc;
+import static org.bytedeco.opencv.global.opencv_imgproc.*;
+
+/**
+ * Face presence, coarse head pose and gaze direction for one video frame
+ * Uses the cascades shipped with javacv's OpenCV: a frontal and a profile face detector, then
+ * eye detection inside the face. The eye line gives roll, the eyes' position within the face
+ * box gives yaw, and the darkest point inside each eye (the pupil) gives the gaze. Frames are
+ * scaled down first, so a detection costs a few milliseconds. Not thread-safe.
+ */
+@Slf4j
+public class FaceEngagementDetector {
+    static final int ANALYSIS_WIDTH = 320;
+    static final double MAX_YAW = 0.15;             // eye midpoint offset, in half face widths
+    static final double MAX_ROLL_DEGREES = 20;
+    static final double MAX_GAZE = 0.3;             // pupil offset from the eye centre, -1..1
+    private static final String CASCADE_ROOT = "/org/bytedeco/opencv/" + Loader.getPlatform() + "/share/opencv4/";
+
+    private final CascadeClassifier frontal;
+    private final CascadeClassifier profile;
+    private final CascadeClassifier eyes;
+    private final OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
+    private final Mat small = new Mat();
+    private final Mat gray = new Mat();
+    private final Mat mirrored = new Mat();
+
+    FaceEngagementDetector(CascadeClassifier frontal, CascadeClassifier profile, CascadeClassifier eyes) {
+        this.frontal = frontal;
+        this.profile = profile;
+        this.eyes = eyes;
+    }
+
+    /**
+     * Load the cascades
+     * @return the detector, or null when OpenCV's object detection cannot be loaded on this machine
+     */
+    public static FaceEngagementDetector create() {
+        try {
+            return new FaceEngagementDetector(
+                load("lbpcascades/lbpcascade_frontalface_improved.xml"),
+                load("lbpcascades/lbpcascade_profileface.xml"),
+                load("haarcascades/haarcascade_eye.xml"));
+        } catch (IOException | RuntimeException | LinkageError e) {
+            log.warn("Face analysis unavailable: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static CascadeClassifier load(String name) throws IOException {
+        File file = Loader.cacheResource(opencv_objdetect.class, CASCADE_ROOT + name);
+        CascadeClassifier cascade = new CascadeClassifier(file.getAbsolutePath());
+        if (cascade.empty()) {
+            throw new IOException("Could not load cascade " + name);
+        }
+        return cascade;
+    }
+
+    public Observation observe(Frame frame) {
+        Mat image = converter.convert(frame);
+        if (image == null || image.empty()) return Observation.absent();
+
+        int height = (int) Math.round(image.rows() * (double) ANALYSIS_WIDTH / image.cols());
+        resize(image, small, new Size(ANALYSIS_WIDTH, height));
+        if (small.channels() == 1) {
+            small.copyTo(gray);
+        } else {
+            cvtColor(small, gray, small.channels() == 4 ? COLOR_BGRA2GRAY : COLOR_BGR2GRAY);
+        }
+        equalizeHist(gray, gray);
+
+        Rect face = largest(detect(frontal, gray, ANALYSIS_WIDTH / 8));
+        if (face != null) {
+            try (Mat faceGray = new Mat(gray, face)) {
+                return frontalObservation(face, faceGray);
+            }
+        }
+
+        // Profile cascade finds faces turned one way; mirror the frame for the other
+        Rect side = largest(detect(profile, gray, ANALYSIS_WIDTH / 8));
+        if (side == null) {
+            flip(gray, mirrored, 1);
+            side = largest(detect(profile, mirrored, ANALYSIS_WIDTH / 8));
+            if (side != null) {
+                side = new Rect(gray.cols() - side.x() - side.width(), side.y(), side.width(), side.height());
+            }
+        }
+        return side != null ? fromDetections(side, new Rect[0], new double[0], true, gray.cols(), gray.rows())
+            : Observation.absent();
+    }
+
+    private Observation frontalObservation(Rect face, Mat faceGray) {
+        // Eyes sit in the upper half of the face box
+        Rect upper = new Rect(0, 0, face.width(), face.height() / 2 + face.height() / 10);
+        List<Rect> found;
+        try (Mat upperGray = new Mat(faceGray, upper)) {
+            found = detect(eyes, upperGray, face.width() / 8);
+        }
+        found.sort(Comparator.comparingInt((Rect r) -> r.width() * r.height()).reversed());
+        if (found.size() > 2) {
+            found = new ArrayList<>(found.subList(0, 2));
+        }
+        found.sort(Comparator.comparingInt(Rect::x));
+
+        Rect[] eyeBoxes = found.toArray(new Rect[0]);
+        double[] pupils = new double[eyeBoxes.length];
+        for (int i = 0; i < eyeBoxes.length; i++) {
+            try (Mat eyeGray = new Mat(faceGray, eyeBoxes[i])) {
+                pupils[i] = pupilPosition(eyeGray);
+            }
+        }
+        return fromDetections(face, eyeBoxes, pupils, false, gray.cols(), gray.rows());
+    }
+
+    /**
+     * Horizontal position of the darkest point in an eye box, 0 (left) to 1 (right)
+     */
+    static double pupilPosition(Mat eyeGray) {
+        // Skip the eyebrow and lower lid
+        int top = eyeGray.rows() * 3 / 10;
+        int rows = Math.max(1, eyeGray.rows() * 6 / 10);
+        try (Mat band = new Mat(eyeGray, new Rect(0, top, eyeGray.cols(), rows));
+             Mat blurred = new Mat();
+             DoublePointer min = new DoublePointer(1);
+             DoublePointer max = new DoublePointer(1);
+             Point minLoc = new Point();
+             Point maxLoc = new Point()) {
+            GaussianBlur(band, blurred, new Size(5, 5), 0);
+            minMaxLoc(blurred, min, max, minLoc, maxLoc, null);
+            return (minLoc.x() + 0.5) / eyeGray.cols();
+        }
+    }
+
+    /**
+     * Derive pose and gaze from the detections; boxes are in face coordinates, the face in frame coordinates
+     */
+    static Observation fromDetections(Rect face, Rect[] eyeBoxes, double[] pupils, boolean profileOnly,
+                                      int frameWidth, int frameHeight) {
+        Observation observation = new Observation();
+        observation.setFacePresent(true);
+        observation.setFaceX((face.x() + face.width() / 2.0) / frameWidth);
+        observation.setFaceY((face.y() + face.height() / 2.0) / frameHeight);
+        if (profileOnly) {
+            observation.setYaw(1);
+            return observation;
+        }
+
+        observation.setFrontal(true);
+        if (eyeBoxes.length == 2) {
+            double x1 = eyeBoxes[0].x() + eyeBoxes[0].width() / 2.0;
+            double y1 = eyeBoxes[0].y() + eyeBoxes[0].height() / 2.0;
+            double x2 = eyeBoxes[1].x() + eyeBoxes[1].width() / 2.0;
+            double y2 = eyeBoxes[1].y() + eyeBoxes[1].height() / 2.0;
+            observation.setRollDegrees(Math.toDegrees(Math.atan2(y2 - y1, x2 - x1)));
+            double halfWidth = face.width() / 2.0;
+            observation.setYaw(((x1 + x2) / 2 - halfWidth) / halfWidth);
+        }
+        if (pupils.length > 0) {
+            double sum = 0;
+            for (double pupil : pupils) {
+                sum += (pupil - 0.5) * 2;
+            }
+            observation.setGaze(sum / pupils.length);
+            observation.setGazeMeasured(true);
+        }
+        observation.setFacingCamera(Math.abs(observation.getYaw()) <= MAX_YAW
+            && Math.abs(observation.getRollDegrees()) <= MAX_ROLL_DEGREES);
+        observation.setEyeContact(observation.isFacingCamera() && observation.isGazeMeasured()
+            && Math.abs(observation.getGaze()) <= MAX_GAZE);
+        return observation;
+    }
+
+    private static List<Rect> detect(CascadeClassifier cascade, Mat image, int minSize) {
+        List<Rect> found = new ArrayList<>();
+        try (RectVector rects = new RectVector()) {
+            cascade.detectMultiScale(image, rects, 1.1, 3, 0, new Size(minSize, minSize), new Size());
+            for (long i = 0; i < rects.size(); i++) {
+                Rect r = rects.get(i);
+                found.add(new Rect(r.x(), r.y(), r.width(), r.height()));
+            }
+        }
+        return found;
+    }
+
+    private static Rect largest(List<Rect> rects) {
+        Rect best = null;
+        for (Rect rect : rects) {
+            if (best == null || rect.width() * rect.height() > best.width() * best.height()) {
+                best = rect;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * What was seen in one frame; positions are fractions of the frame
+     */
+    @Data
+    public static class Observation {
+        private boolean facePresent;
+        private boolean frontal;
+        private boolean facingCamera;
+        private boolean gazeMeasured;
+        private boolean eyeContact;
+        private double faceX;
+        private double faceY;
+        private double yaw;             // -1..1 across half the face width; 1 for a profile
+        private double rollDegrees;
+        private double gaze;            // -1 (left in the image) .. 1 (right)
+
+        public static Observation absent() {
+            return new Observation();
+        }
+    }
+}
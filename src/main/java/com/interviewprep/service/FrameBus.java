@@ -0,0 +1,217 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single webcam reader that fans frames out to every consumer
+ * One capture thread owns the grabber. Each grabbed frame is copied once into a pooled
+ * {@link SharedFrame} and a reference is offered to each subscriber's {@link VideoFrameQueue},
+ * which applies that subscriber's frame-rate cap and drop policy. The pool is bounded by the
+ * subscribers' queue sizes, so once warmed up capture allocates nothing; conversion (e.g. to a
+ * BufferedImage) is left to the subscribers that need it.
+ */
+@Slf4j
+public class FrameBus {
+    private final FrameGrabber grabber;
+    private final long gopNanos;
+    private final List<VideoFrameQueue> subscribers = new CopyOnWriteArrayList<>();
+
+    // Pool, guarded by itself
+    private final ArrayDeque<SharedFrame> free = new ArrayDeque<>();
+    private int allocated;
+    private int poolLimit = 1;              // the frame being filled, plus each subscriber's share
+
+    private volatile boolean running;
+    private Thread captureThread;
+    private volatile long startNanos;
+    private volatile long captured;
+    private volatile long skipped;          // no subscriber wanted the frame
+    private volatile long poolExhausted;
+    private volatile Exception failure;
+
+    /**
+     * @param grabber started grabber, owned by the bus from now on
+     * @param gopSeconds interval at which frames count as key frames for drop policies
+     */
+    public FrameBus(FrameGrabber grabber, double gopSeconds) {
+        this.grabber = grabber;
+        this.gopNanos = Math.max(1, (long) (gopSeconds * 1e9));
+    }
+
+    /**
+     * Add a consumer; frames captured from now on are offered to it
+     * @param maxFps frames per second the subscriber wants at most; 0 for every frame
+     */
+    public VideoFrameQueue subscribe(String name, int capacity, VideoFrameQueue.DropPolicy policy, double maxFps) {
+        VideoFrameQueue queue = new VideoFrameQueue(name, capacity, policy, maxFps);
+        synchronized (free) {
+            // Every queued frame and one in the consumer's hands
+            poolLimit += queue.getCapacity() + 1;
+        }
+        subscribers.add(queue);
+        return queue;
+    }
+
+    /**
+     * Remove a consumer and release the frames it had queued
+     */
+    public void unsubscribe(VideoFrameQueue queue) {
+        if (subscribers.remove(queue)) {
+            queue.discard();
+            synchronized (free) {
+                poolLimit -= queue.getCapacity() + 1;
+            }
+        }
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        startNanos = System.nanoTime();
+        captureThread = new Thread(this::captureLoop, "video-capture");
+        captureThread.setPriority(Thread.NORM_PRIORITY + 1);
+        captureThread.start();
+    }
+
+    /**
+     * Stop capturing and close every subscription; subscribers can still drain their queues
+     */
+    public void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        Thread thread;
+        synchronized (this) {
+            thread = captureThread;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+        }
+        for (VideoFrameQueue queue : subscribers) {
+            queue.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getCapturedCount() {
+        return captured;
+    }
+
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * Frames lost because every pooled buffer was still referenced
+     */
+    public long getPoolExhaustedCount() {
+        return poolExhausted;
+    }
+
+    public int getAllocatedFrames() {
+        synchronized (free) {
+            return allocated;
+        }
+    }
+
+    int getPoolLimit() {
+        synchronized (free) {
+            return poolLimit;
+        }
+    }
+
+    int getFreeFrames() {
+        synchronized (free) {
+            return free.size();
+        }
+    }
+
+    public List<VideoFrameQueue> getSubscribers() {
+        return new ArrayList<>(subscribers);
+    }
+
+    /**
+     * Error that stopped capture, or null
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    void recycle(SharedFrame frame) {
+        synchronized (free) {
+            free.addLast(frame);
+        }
+    }
+
+    private void captureLoop() {
+        long lastInterval = -1;
+        long sequence = 0;
+        try {
+            while (running) {
+                Frame frame = grabber.grab();
+                long now = System.nanoTime();
+                if (frame == null || frame.image == null) continue;
+                captured++;
+                long interval = (now - startNanos) / gopNanos;
+                boolean key = interval != lastInterval;
+                lastInterval = interval;
+                publish(frame, now, sequence++, key);
+            }
+        } catch (Exception e) {
+            log.error("Video capture stopped", e);
+            failure = e;
+            running = false;
+        } finally {
+            for (VideoFrameQueue queue : subscribers) {
+                queue.close();
+            }
+        }
+    }
+
+    private void publish(Frame frame, long now, long sequence, boolean key) {
+        boolean wanted = false;
+        for (VideoFrameQueue queue : subscribers) {
+            wanted |= queue.wants(now);
+        }
+        if (!wanted) {
+            skipped++;
+            return;
+        }
+
+        SharedFrame shared = acquire();
+        if (shared == null) {
+            poolExhausted++;
+            return;
+        }
+        shared.fill(frame, now, sequence, key);
+        for (VideoFrameQueue queue : subscribers) {
+            if (queue.wants(now)) {
+                queue.offer(shared);
+            }
+        }
+        shared.release();   // the bus's own reference
+    }
+
+    private SharedFrame acquire() {
+        synchronized (free) {
+            SharedFrame frame = free.pollFirst();
+            if (frame == null && allocated < poolLimit) {
+                allocated++;
+                frame = new SharedFrame(this);
+            }
+            return frame;
+        }
+    }
+}
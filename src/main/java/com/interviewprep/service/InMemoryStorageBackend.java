@@ -0,0 +1,143 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.interviewprep.model.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent in-memory storage backend for tests and benchmarks
+ * Values are held as compact JSON so callers never share mutable state with the store,
+ * matching the snapshot semantics of the file backend without any disk I/O.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+    private final Gson gson;
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> sessionSequence = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, String> sessionsBySequence = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, String> analytics = new ConcurrentHashMap<>();
+    private final Map<String, String> mcpContexts = new ConcurrentHashMap<>();
+    private final Map<String, String> recordings = new ConcurrentHashMap<>();
+    private final Object[] sessionLocks = new Object[32];
+
+    public InMemoryStorageBackend() {
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .create();
+        for (int i = 0; i < sessionLocks.length; i++) {
+            sessionLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "in-memory";
+    }
+
+    @Override
+    public void saveSession(InterviewSession session) {
+        String id = session.getSessionId();
+        String json = gson.toJson(session);
+        // Striped lock keeps the recency order consistent when the same session is saved concurrently
+        synchronized (lockFor(id)) {
+            long seq = sequence.incrementAndGet();
+            sessions.put(id, json);
+            Long previous = sessionSequence.put(id, seq);
+            if (previous != null) {
+                sessionsBySequence.remove(previous);
+            }
+            sessionsBySequence.put(seq, id);
+        }
+    }
+
+    @Override
+    public InterviewSession loadSession(String sessionId) {
+        return fromJson(sessions.get(sessionId), InterviewSession.class);
+    }
+
+    @Override
+    public List<InterviewSession> listRecentSessions(int limit) {
+        List<InterviewSession> result = new ArrayList<>();
+        for (String id : sessionsBySequence.descendingMap().values()) {
+            if (result.size() >= limit) break;
+            InterviewSession session = loadSession(id);
+            if (session != null) {
+                result.add(session);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean deleteSession(String sessionId) {
+        synchronized (lockFor(sessionId)) {
+            Long seq = sessionSequence.remove(sessionId);
+            if (seq != null) {
+                sessionsBySequence.remove(seq);
+            }
+            return sessions.remove(sessionId) != null;
+        }
+    }
+
+    @Override
+    public void saveAnalytics(InterviewAnalytics value) {
+        analytics.put(value.getSessionId(), gson.toJson(value));
+    }
+
+    @Override
+    public InterviewAnalytics loadAnalytics(String sessionId) {
+        return fromJson(analytics.get(sessionId), InterviewAnalytics.class);
+    }
+
+    @Override
+    public List<InterviewAnalytics> listAnalytics() {
+        return fromJsonAll(analytics.values(), InterviewAnalytics.class);
+    }
+
+    @Override
+    public void saveMCPContext(MCPContext context) {
+        mcpContexts.put(context.getUserId(), gson.toJson(context));
+    }
+
+    @Override
+    public MCPContext loadMCPContext(String userId) {
+        return fromJson(mcpContexts.get(userId), MCPContext.class);
+    }
+
+    @Override
+    public void saveRecording(InterviewRecording recording) {
+        recordings.put(recording.getRecordingId(), gson.toJson(recording));
+    }
+
+    @Override
+    public InterviewRecording loadRecording(String recordingId) {
+        return fromJson(recordings.get(recordingId), InterviewRecording.class);
+    }
+
+    @Override
+    public List<InterviewRecording> listRecordings() {
+        return fromJsonAll(recordings.values(), InterviewRecording.class);
+    }
+
+    private Object lockFor(String id) {
+        return sessionLocks[(id.hashCode() & 0x7fffffff) % sessionLocks.length];
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        return json == null ? null : gson.fromJson(json, type);
+    }
+
+    private <T> List<T> fromJsonAll(Collection<String> values, Class<T> type) {
+        List<T> result = new ArrayList<>(values.size());
+        for (String json : values) {
+            result.add(gson.fromJson(json, type));
+        }
+        return result;
+    }
+}
@@ -16,6 +16,12 @@ public class InterviewService {
     private final AIServiceManager aiServiceManager;
     private final JavaTTSService ttsService;
     private final StorageService storageService;
+    private boolean trackPace = true;
+    private boolean trackVolume = true;
+    private java.util.function.Supplier<EngagementAnalyzer> engagementAnalyzers;
+    
+    // Fewer analyzed frames than this say too little to adjust the confidence score
+    private static final int MIN_ENGAGEMENT_SAMPLES = 20;
     
     private static final Set<String> FILLER_WORDS = Set.of(
         "um", "uh", "like", "you know", "actually", "basically",
@@ -29,13 +35,56 @@ public class InterviewService {
         this.storageService = storageService;
     }
     
+    /**
+     * Which voice metrics to compute from session audio (analytics.track.pace / analytics.track.confidence)
+     */
+    public void setVoiceTracking(boolean trackPace, boolean trackVolume) {
+        this.trackPace = trackPace;
+        this.trackVolume = trackVolume;
+    }
+    
+    /**
+     * Source of analyzers for sessions recorded without live vision analysis; null to skip them
+     */
+    public void setOfflineEngagementAnalysis(java.util.function.Supplier<EngagementAnalyzer> engagementAnalyzers) {
+        this.engagementAnalyzers = engagementAnalyzers;
+    }
+    
     /**
      * Analyze resume against job description
+     * Results are cached per (resume, job description) content hash, so re-analyzing an
+     * unchanged pair is served from the document store without another AI call.
      */
     public ResumeAnalysis analyzeResume(Resume resume, JobDescription jobDescription) throws IOException {
+        return analyzeResume(resume, jobDescription, null);
+    }
+    
+    /**
+     * Analyze resume against job description, streaming the AI's text to {@code onChunk} as it is written
+     * A cached analysis is returned without calling the AI, so nothing is streamed.
+     */
+    public ResumeAnalysis analyzeResume(Resume resume, JobDescription jobDescription,
+                                        java.util.function.Consumer<String> onChunk) throws IOException {
+        DocumentBlobStore documentStore = storageService != null ? storageService.getDocumentStore() : null;
+        String cacheKey = jobDescription.getContentHash() != null
+            ? "analysis_" + jobDescription.getContentHash() : null;
+        
+        if (documentStore != null && cacheKey != null) {
+            ResumeAnalysis cached = documentStore.getDerived(resume.getContentHash(), cacheKey, ResumeAnalysis.class);
+            if (cached != null) {
+                log.info("Using cached resume analysis");
+                return cached;
+            }
+        }
+        
         String prompt = buildResumeAnalysisPrompt(resume, jobDescription);
-        String response = aiServiceManager.generate(prompt);
-        return parseResumeAnalysis(response);
+        String response = generate(prompt, onChunk);
+        ResumeAnalysis analysis = parseResumeAnalysis(response);
+        
+        if (documentStore != null && cacheKey != null) {
+            documentStore.putDerived(resume.getContentHash(), cacheKey, analysis);
+        }
+        return analysis;
     }
     
     /**
@@ -43,8 +92,17 @@ public class InterviewService {
      */
     public List<InterviewQuestion> generateQuestions(Resume resume, JobDescription jobDescription,
                                                      InterviewMode mode, int count) throws IOException {
+        return generateQuestions(resume, jobDescription, mode, count, null);
+    }
+    
+    /**
+     * Generate interview questions, streaming the AI's text to {@code onChunk} as it is written
+     */
+    public List<InterviewQuestion> generateQuestions(Resume resume, JobDescription jobDescription,
+                                                     InterviewMode mode, int count,
+                                                     java.util.function.Consumer<String> onChunk) throws IOException {
         String prompt = buildQuestionGenerationPrompt(resume, jobDescription, mode, count);
-        String response = aiServiceManager.generate(prompt);
+        String response = generate(prompt, onChunk);
         return parseQuestions(response, mode);
     }
     
@@ -52,6 +110,14 @@ public class InterviewService {
      * Evaluate a user's answer to a question
      */
     public QuestionAnalysis evaluateAnswer(InterviewQuestion question, String answer) throws IOException {
+        return evaluateAnswer(question, answer, null);
+    }
+    
+    /**
+     * Evaluate a user's answer, streaming the AI's feedback to {@code onChunk} as it is written
+     */
+    public QuestionAnalysis evaluateAnswer(InterviewQuestion question, String answer,
+                                           java.util.function.Consumer<String> onChunk) throws IOException {
         QuestionAnalysis analysis = new QuestionAnalysis(question, answer);
         
         // Basic metrics
@@ -61,7 +127,7 @@ public class InterviewService {
         
         // Get AI feedback
         String prompt = buildAnswerEvaluationPrompt(question, answer);
-        String feedback = aiServiceManager.generate(prompt);
+        String feedback = generate(prompt, onChunk);
         
         analysis.setFeedback(feedback);
         analysis.setScore(extractScoreFromFeedback(feedback));
@@ -69,6 +135,23 @@ public class InterviewService {
         return analysis;
     }
     
+    /**
+     * Call the AI, turning its "Error: ..." responses into an exception instead of text to parse
+     */
+    private String generate(String prompt, java.util.function.Consumer<String> onChunk) throws AIServiceException {
+        String response = onChunk != null
+            ? aiServiceManager.generateStream(prompt, onChunk)
+            : aiServiceManager.generate(prompt);
+        if (response == null) {
+            throw new AIServiceException("AI service returned no response", false);
+        }
+        if (response.startsWith("Error: ")) {
+            throw new AIServiceException(response.substring("Error: ".length()),
+                AIServiceManager.NO_SERVICE.equals(response));
+        }
+        return response;
+    }
+    
     private String buildResumeAnalysisPrompt(Resume resume, JobDescription jobDescription) {
         return String.format(
             "You are an expert career coach and recruiter. Analyze this resume against the job description.\n\n" +
@@ -98,8 +181,8 @@ public class InterviewService {
             "MISSING_SKILLS:\n" +
             "- [Skill 1]\n" +
             "- [Skill 2]",
-            jobDescription.getContent(),
-            resume.getContent()
+            jobDescriptionContext(jobDescription),
+            DocumentSegmenter.clean(resume.getContent())
         );
     }
     
@@ -120,12 +203,56 @@ public class InterviewService {
             "Generate the questions now:",
             count,
             mode.getDisplayName(),
-            jobDescription.getContent(),
-            resume.getContent(),
+            jobDescriptionContext(jobDescription),
+            resumeContext(resume, mode),
             mode.getDifficulty()
         );
     }
     
+    /**
+     * Resume sections relevant to the interview mode, or the full text if no sections were detected
+     */
+    private String resumeContext(Resume resume, InterviewMode mode) {
+        StringBuilder context = new StringBuilder();
+        if (mode != InterviewMode.BEHAVIORAL) {
+            appendSection(context, "SKILLS", resume.getExtractedSkills());
+        }
+        appendSection(context, "EXPERIENCE", resume.getExtractedExperience());
+        appendSection(context, "PROJECTS", resume.getExtractedProjects());
+        if (mode != InterviewMode.BEHAVIORAL && mode != InterviewMode.FAANG) {
+            appendSection(context, "EDUCATION", resume.getExtractedEducation());
+        }
+        return context.length() > 0 ? context.toString().trim() : DocumentSegmenter.clean(resume.getContent());
+    }
+    
+    /**
+     * The role, responsibilities, required and nice-to-have skills; the role and full text when no
+     * requirements section was detected
+     */
+    private String jobDescriptionContext(JobDescription jobDescription) {
+        StringBuilder context = new StringBuilder();
+        if (jobDescription.getJobTitle() != null) {
+            context.append("Role: ").append(jobDescription.getJobTitle());
+            if (jobDescription.getCompany() != null) {
+                context.append(" at ").append(jobDescription.getCompany());
+            }
+            context.append("\n\n");
+        }
+        if (jobDescription.getRequiredSkills() == null) {
+            return context.append(DocumentSegmenter.clean(jobDescription.getContent())).toString();
+        }
+        appendSection(context, "RESPONSIBILITIES", jobDescription.getResponsibilities());
+        appendSection(context, "REQUIRED SKILLS", jobDescription.getRequiredSkills());
+        appendSection(context, "NICE TO HAVE", jobDescription.getPreferredSkills());
+        return context.toString().trim();
+    }
+    
+    private void appendSection(StringBuilder context, String title, String text) {
+        if (text != null && !text.isBlank()) {
+            context.append(title).append(":\n").append(text).append("\n\n");
+        }
+    }
+    
     private String buildAnswerEvaluationPrompt(InterviewQuestion question, String answer) {
         return String.format(
             "Evaluate this interview answer on a scale of 0-10:\n\n" +
@@ -264,20 +391,158 @@ public class InterviewService {
      * Generate comprehensive analytics for an interview session
      */
     public InterviewAnalytics generateAnalytics(InterviewSession session) throws IOException {
+        return generateAnalytics(session, null);
+    }
+    
+    /**
+     * Generate analytics, streaming the AI's text to {@code onChunk} as it is written
+     */
+    public InterviewAnalytics generateAnalytics(InterviewSession session,
+                                                java.util.function.Consumer<String> onChunk) throws IOException {
         log.info("Generating analytics for session: {}", session.getSessionId());
         
+        // Measure delivery from the recorded audio first so the coach can comment on it
+        ProsodyAnalyzer.ProsodyReport prosody = analyzeVoice(session);
+        EngagementReport engagement = analyzeEngagement(session);
+        
         // Build comprehensive analytics prompt
-        String prompt = buildAnalyticsPrompt(session);
-        String response = aiServiceManager.generate(prompt);
+        String prompt = buildAnalyticsPrompt(session, prosody, engagement);
+        String response = generate(prompt, onChunk);
         
         // Parse the AI response into analytics
         InterviewAnalytics analytics = parseAnalytics(response, session);
+        applyVoiceMetrics(analytics, prosody);
+        applyEngagementMetrics(analytics, engagement);
         
         log.info("Analytics generated successfully for session: {}", session.getSessionId());
         return analytics;
     }
     
-    private String buildAnalyticsPrompt(InterviewSession session) {
+    /**
+     * Prosody of the session's audio recording, restricted to answer segments when indexed
+     */
+    private ProsodyAnalyzer.ProsodyReport analyzeVoice(InterviewSession session) {
+        if ((!trackPace && !trackVolume) || storageService == null) return null;
+        InterviewRecording recording = storageService.findRecordingForSession(session.getSessionId());
+        if (recording == null) return null;
+        
+        // The WAV while it is kept, else the compressed copy that replaces it
+        java.nio.file.Path audio = null;
+        for (String path : new String[] {recording.getAudioFilePath(), recording.getCompressedAudioFilePath()}) {
+            if (path != null && java.nio.file.Files.exists(java.nio.file.Paths.get(path))) {
+                audio = java.nio.file.Paths.get(path);
+                break;
+            }
+        }
+        if (audio == null) return null;
+        AnswerSegmentIndex index = recording.getSegmentIndexFilePath() != null
+            ? AnswerSegmentTracker.readIndex(java.nio.file.Paths.get(recording.getSegmentIndexFilePath()).getParent())
+            : null;
+        try {
+            return ProsodyAnalyzer.analyze(audio, index);
+        } catch (Exception e) {
+            log.warn("Could not analyze session audio {}: {}", audio, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Visual engagement of the session: the report saved during recording, or an offline pass over the video
+     */
+    private EngagementReport analyzeEngagement(InterviewSession session) {
+        if (storageService == null) return null;
+        InterviewRecording recording = storageService.findRecordingForSession(session.getSessionId());
+        if (recording == null) return null;
+        if (recording.getEngagementFilePath() != null) {
+            EngagementReport saved = EngagementAnalyzer.readReport(java.nio.file.Paths.get(recording.getEngagementFilePath()));
+            if (saved != null) return saved;
+        }
+        if (engagementAnalyzers == null || recording.getVideoFilePath() == null) return null;
+        java.nio.file.Path video = java.nio.file.Paths.get(recording.getVideoFilePath());
+        if (!java.nio.file.Files.exists(video)) return null;
+        EngagementAnalyzer analyzer = engagementAnalyzers.get();
+        if (analyzer == null) return null;
+        
+        try {
+            java.nio.file.Path dir = video.getParent();
+            boolean segmented = recording.getVideoSegmentIndexFilePath() != null || VideoSegmentTracker.isIndex(video);
+            VideoSegmentIndex segments = segmented ? VideoSegmentTracker.readIndex(dir) : null;
+            if (segments != null) {
+                for (VideoSegmentIndex.Answer answer : segments.getAnswers()) {
+                    analyzer.beginQuestion(answer.getQuestionId(), answer.getQuestionIndex(), answer.getVideoMillis());
+                }
+                for (VideoSegmentIndex.Segment segment : segments.getSegments()) {
+                    analyzer.analyzeVideo(VideoSegmentTracker.resolveFile(dir, segment.getFileName()),
+                        segment.getStartMillis());
+                }
+            } else if (segmented) {
+                log.warn("Video segment index {} is unreadable; skipping engagement analysis", video);
+                return null;
+            } else {
+                // Question windows from the audio index; audio and video start together
+                AnswerSegmentIndex answers = recording.getSegmentIndexFilePath() != null
+                    ? AnswerSegmentTracker.readIndex(java.nio.file.Paths.get(recording.getSegmentIndexFilePath()).getParent())
+                    : null;
+                if (answers != null) {
+                    for (AnswerSegmentIndex.Segment answer : answers.getSegments()) {
+                        analyzer.beginQuestion(answer.getQuestionId(), answer.getQuestionIndex(), answer.getStartMillis());
+                    }
+                }
+                analyzer.analyzeVideo(video, 0);
+            }
+            EngagementReport report = analyzer.buildReport();
+            recording.setEngagementFilePath(EngagementAnalyzer.writeReport(report, dir).toString());
+            storageService.saveRecording(recording);
+            log.info("Analyzed {} video frames of session {} in {} ms", report.getSampledFrames(),
+                session.getSessionId(), report.getAnalysisMillis());
+            return report;
+        } catch (Exception e) {
+            log.warn("Could not analyze session video {}: {}", video, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void applyEngagementMetrics(InterviewAnalytics analytics, EngagementReport engagement) {
+        if (engagement == null || engagement.getOverall().getSamples() == 0) return;
+        EngagementReport.Metrics overall = engagement.getOverall();
+        analytics.setEngagementScore(overall.getEngagementScore());
+        analytics.setFacePresenceRatio(overall.getFacePresence());
+        analytics.setFacingCameraRatio(overall.getFacingCamera());
+        analytics.setEyeContactRatio(overall.getEyeContact());
+        for (EngagementReport.QuestionEngagement question : engagement.getQuestions()) {
+            if (question.getMetrics().getSamples() > 0) {
+                analytics.getQuestionEngagementScores().put(question.getQuestionId(),
+                    question.getMetrics().getEngagementScore());
+            }
+        }
+        if (overall.getSamples() >= MIN_ENGAGEMENT_SAMPLES) {
+            // Ground the text-only confidence estimate in what the camera saw
+            analytics.setConfidenceScore((analytics.getConfidenceScore() + overall.getEngagementScore()) / 2);
+        }
+    }
+    
+    private static String describe(EngagementReport.Metrics metrics) {
+        String eyes = metrics.getEyeContact() >= 0
+            ? String.format(", eye contact %.0f%%", metrics.getEyeContact() * 100) : "";
+        return String.format("face visible %.0f%% of the time, facing the camera %.0f%%%s",
+            metrics.getFacePresence() * 100, metrics.getFacingCamera() * 100, eyes);
+    }
+    
+    private void applyVoiceMetrics(InterviewAnalytics analytics, ProsodyAnalyzer.ProsodyReport prosody) {
+        if (prosody == null || prosody.getSpeakingSeconds() <= 0) return;
+        if (trackPace) {
+            analytics.setWordsPerMinute(Math.round(prosody.getWordsPerMinute()));
+            if (!Double.isNaN(prosody.getPaceConsistency())) {
+                analytics.setPaceConsistency(prosody.getPaceConsistency());
+            }
+        }
+        if (trackVolume && !Double.isNaN(prosody.getVolumeConsistency())) {
+            analytics.setVolumeConsistency(prosody.getVolumeConsistency());
+        }
+    }
+    
+    private String buildAnalyticsPrompt(InterviewSession session, ProsodyAnalyzer.ProsodyReport prosody,
+                                        EngagementReport engagement) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("You are an expert interview coach. Analyze this interview session and provide comprehensive feedback.\n\n");
         
@@ -285,7 +550,15 @@ public class InterviewService {
         prompt.append("Mode: ").append(session.getMode().getDisplayName()).append("\n");
         prompt.append("Duration: ").append(session.getTotalDurationSeconds() / 60).append(" minutes\n");
         prompt.append("Questions: ").append(session.getQuestions().size()).append("\n");
-        prompt.append("Answered: ").append(session.getUserAnswers().size()).append("\n\n");
+        prompt.append("Answered: ").append(session.getUserAnswers().size()).append("\n");
+        if (prosody != null && prosody.getSpeakingSeconds() > 0) {
+            prompt.append(String.format("Spoken delivery: ~%.0f words per minute, %d pauses over 300 ms (longest %.1f s)\n",
+                prosody.getWordsPerMinute(), prosody.getPauseCount(), prosody.getLongestPauseSeconds()));
+        }
+        if (engagement != null && engagement.getOverall().getSamples() > 0) {
+            prompt.append("On camera: ").append(describe(engagement.getOverall())).append("\n");
+        }
+        prompt.append("\n");
         
         prompt.append("QUESTIONS AND ANSWERS:\n");
         for (int i = 0; i < session.getQuestions().size(); i++) {
@@ -293,10 +566,18 @@ public class InterviewService {
             prompt.append("Q").append(i + 1).append(" (").append(question.getCategory()).append("): ");
             prompt.append(question.getQuestion()).append("\n");
             
-            if (i < session.getUserAnswers().size()) {
-                String answer = session.getUserAnswers().get(i);
+            String answer = session.getUserAnswers().get(question.getId());
+            if (answer != null) {
                 prompt.append("Answer: ").append(answer).append("\n");
-                prompt.append("Duration: ").append(session.getAnswerDurations().get(i)).append(" seconds\n");
+                prompt.append("Duration: ").append(session.getAnswerDurations().get(question.getId())).append(" seconds\n");
+                Long speaking = session.getSpeakingMillis() != null ? session.getSpeakingMillis().get(question.getId()) : null;
+                if (speaking != null) {
+                    prompt.append("Speaking time: ").append(speaking / 1000).append(" seconds\n");
+                }
+                EngagementReport.QuestionEngagement seen = engagement != null ? engagement.getQuestion(question.getId()) : null;
+                if (seen != null && seen.getMetrics().getSamples() > 0) {
+                    prompt.append("On camera: ").append(describe(seen.getMetrics())).append("\n");
+                }
             } else {
                 prompt.append("Answer: [Not answered]\n");
             }
@@ -333,7 +614,17 @@ public class InterviewService {
         InterviewAnalytics analytics = new InterviewAnalytics();
         analytics.setSessionId(session.getSessionId());
         analytics.setGeneratedAt(java.time.LocalDateTime.now());
-        
+        analytics.setSessionDate(session.getStartTime());
+        analytics.setMode(session.getMode());
+        analytics.setResumeHash(session.getResumeHash());
+        analytics.setJobDescriptionHash(session.getJobDescriptionHash());
+        analytics.setTotalQuestions(session.getQuestions().size());
+        analytics.setQuestionsAnswered(session.getUserAnswers().size());
+        analytics.setTotalDurationSeconds(session.getTotalDurationSeconds());
+        analytics.setFillerWordCount(session.getUserAnswers().values().stream()
+            .mapToInt(this::countFillerWords)
+            .sum());
+
         try {
             // Extract scores
             analytics.setOverallScore(extractDoubleValue(aiResponse, "OVERALL_SCORE:", 7.0));
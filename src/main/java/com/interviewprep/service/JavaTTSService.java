@@ -2,7 +2,13 @@ package com.interviewprep.service;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.sound.sampled.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Java-only Text-to-Speech service
@@ -11,13 +17,42 @@ import java.io.*;
 @Slf4j
 public class JavaTTSService {
     private final boolean enabled;
-    private Process currentProcess;
-    private Thread currentThread;
+    private Process currentProcess;             // guarded by this
+    private volatile Thread currentThread;      // written under this
+    private volatile TtsAudioCache audioCache;
+    private volatile SpeechPipeline pipeline;
     
     public JavaTTSService(boolean enabled) {
         this.enabled = enabled;
     }
     
+    /**
+     * Play text from pre-synthesized audio when it is cached (null to always speak live)
+     */
+    public void setAudioCache(TtsAudioCache audioCache) {
+        this.audioCache = audioCache;
+    }
+    
+    /**
+     * Speak through a long-lived pipeline instead of one process per question (null for the latter)
+     */
+    public void setPipeline(SpeechPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+    
+    public SpeechPipeline getPipeline() {
+        return pipeline;
+    }
+    
+    /**
+     * Synthesize upcoming questions in the background so speaking them starts at once
+     */
+    public void prefetch(List<String> texts) {
+        TtsAudioCache cache = audioCache;
+        if (!enabled || cache == null) return;
+        cache.prefetch(texts);
+    }
+    
     /**
      * Speak text using system TTS
      */
@@ -37,6 +72,8 @@ public class JavaTTSService {
                 // Linux: Use espeak if available
                 speakLinux(text);
             }
+        } catch (InterruptedIOException e) {
+            log.debug("Speech stopped before it started");
         } catch (Exception e) {
             log.warn("TTS not available: {}", e.getMessage());
         }
@@ -49,29 +86,159 @@ public class JavaTTSService {
         // Stop any current speech
         stopSpeaking();
         
-        currentThread = new Thread(() -> speak(text));
-        currentThread.start();
+        TtsAudioCache cache = enabled ? audioCache : null;
+        Path cached = cache != null ? cache.lookup(text) : null;
+        SpeechPipeline resident = enabled ? pipeline : null;
+        if (resident != null) {
+            if (cached != null) {
+                resident.play(cached);
+            } else {
+                resident.speak(text);
+            }
+            return;
+        }
+        
+        synchronized (this) {
+            // A concurrent speakAsync may have started speech since we stopped it
+            if (currentThread != null) {
+                currentThread.interrupt();
+            }
+            currentThread = new Thread(() -> {
+                if (cached == null || !play(cached)) {
+                    speak(text);
+                }
+            });
+            currentThread.start();
+        }
+    }
+    
+    /**
+     * Play a cached WAV until it ends or this thread is interrupted
+     * @return false if it could not be played, so the caller can speak live instead
+     */
+    private boolean play(Path wav) {
+        long start = System.nanoTime();
+        Clip clip;
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(wav.toFile())) {
+            clip = AudioSystem.getClip();
+            clip.open(in);
+        } catch (IOException | UnsupportedAudioFileException | LineUnavailableException | IllegalArgumentException e) {
+            log.warn("Could not play cached speech: {}", e.getMessage());
+            return false;
+        }
+        
+        CountDownLatch finished = new CountDownLatch(1);
+        clip.addLineListener(event -> {
+            if (event.getType() == LineEvent.Type.STOP) {
+                finished.countDown();
+            }
+        });
+        try {
+            clip.start();
+            log.debug("Cached speech started in {} ms", (System.nanoTime() - start) / 1_000_000);
+            finished.await(clip.getMicrosecondLength() / 1000 + 2000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // stopSpeaking
+            Thread.currentThread().interrupt();
+        } finally {
+            clip.stop();
+            clip.close();
+        }
+        return true;
+    }
+    
+    /**
+     * Write text spoken by the system voice to a WAV file, without playing it
+     * @param voice system voice name, or empty for the default
+     */
+    public void synthesizeToFile(String text, String voice, Path wav) throws IOException, InterruptedException {
+        String os = System.getProperty("os.name").toLowerCase();
+        List<String> command = new ArrayList<>();
+        if (os.contains("win")) {
+            String psCommand = "Add-Type -AssemblyName System.Speech; " +
+                "$speak = New-Object System.Speech.Synthesis.SpeechSynthesizer; " +
+                (voice.isEmpty() ? "" : "$speak.SelectVoice('" + voice.replace("'", "''") + "'); ") +
+                "$speak.SetOutputToWaveFile('" + wav.toAbsolutePath().toString().replace("'", "''") + "'); " +
+                "$speak.Speak('" + text.replace("'", "''") + "'); $speak.Dispose()";
+            command.add("powershell.exe");
+            command.add("-Command");
+            command.add(psCommand);
+        } else if (os.contains("mac")) {
+            command.add("say");
+            if (!voice.isEmpty()) {
+                command.add("-v");
+                command.add(voice);
+            }
+            command.add("-o");
+            command.add(wav.toAbsolutePath().toString());
+            command.add("--file-format=WAVE");
+            command.add("--data-format=LEI16@22050");
+            command.add(text);
+        } else {
+            command.add("espeak");
+            if (!voice.isEmpty()) {
+                command.add("-v");
+                command.add(voice);
+            }
+            command.add("-w");
+            command.add(wav.toAbsolutePath().toString());
+            command.add(text);
+        }
+        
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                throw new IOException(command.get(0) + " did not finish in 60 s");
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException(command.get(0) + " exited with " + process.exitValue());
+        }
+    }
+    
+    /**
+     * True while a question is being spoken (the microphone may be hearing it)
+     */
+    public boolean isSpeaking() {
+        Thread thread = currentThread;
+        SpeechPipeline resident = pipeline;
+        return (thread != null && thread.isAlive()) || (resident != null && resident.isSpeaking());
     }
     
     /**
      * Stop current speech
      */
     public void stopSpeaking() {
-        if (currentProcess != null && currentProcess.isAlive()) {
-            currentProcess.destroy();
+        SpeechPipeline resident = pipeline;
+        if (resident != null) {
+            resident.cancel();
+        }
+        
+        // Take the speech out under the lock so startProcess cannot launch another for it,
+        // then wait for the process without holding up other callers
+        Process process;
+        synchronized (this) {
+            process = currentProcess;
+            if (currentThread != null && currentThread.isAlive()) {
+                currentThread.interrupt();
+            }
+            currentProcess = null;
+            currentThread = null;
+        }
+        
+        if (process != null && process.isAlive()) {
+            process.destroy();
             try {
-                currentProcess.waitFor(1, java.util.concurrent.TimeUnit.SECONDS);
+                process.waitFor(1, TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
-        
-        if (currentThread != null && currentThread.isAlive()) {
-            currentThread.interrupt();
-        }
-        
-        currentProcess = null;
-        currentThread = null;
     }
     
     private void speakWindows(String text) throws IOException {
@@ -91,47 +258,81 @@ public class JavaTTSService {
             psCommand
         );
         
-        currentProcess = pb.start();
-        
-        // Wait for completion (with timeout)
-        try {
-            currentProcess.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            currentProcess.destroy();
-            Thread.currentThread().interrupt();
-        }
+        runToCompletion(pb);
     }
     
     private void speakMac(String text) throws IOException {
-        ProcessBuilder pb = new ProcessBuilder("say", text);
-        currentProcess = pb.start();
-        
-        try {
-            currentProcess.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            currentProcess.destroy();
-            Thread.currentThread().interrupt();
-        }
+        runToCompletion(new ProcessBuilder("say", text));
     }
     
     private void speakLinux(String text) throws IOException {
         // Try espeak first
         try {
-            ProcessBuilder pb = new ProcessBuilder("espeak", text);
-            currentProcess = pb.start();
-            currentProcess.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
-        } catch (Exception e) {
+            runToCompletion(new ProcessBuilder("espeak", text));
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
             // If espeak not available, try spd-say
             try {
-                ProcessBuilder pb = new ProcessBuilder("spd-say", text);
-                currentProcess = pb.start();
-                currentProcess.waitFor(30, java.util.concurrent.TimeUnit.SECONDS);
-            } catch (Exception ex) {
+                runToCompletion(new ProcessBuilder("spd-say", text));
+            } catch (InterruptedIOException ex) {
+                throw ex;
+            } catch (IOException ex) {
                 log.warn("No Linux TTS available. Install espeak or speech-dispatcher");
             }
         }
     }
     
+    /**
+     * Run a speech command, waiting up to 30 s; stopSpeaking destroys it
+     */
+    private void runToCompletion(ProcessBuilder pb) throws IOException {
+        Process process = startProcess(pb);
+        try {
+            process.waitFor(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                if (currentProcess == process) {
+                    currentProcess = null;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Start a process unless this speech was stopped; under the same lock as stopSpeaking, so a
+     * process is either seen and destroyed by it or never started
+     */
+    private synchronized Process startProcess(ProcessBuilder pb) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Speech stopped");
+        }
+        currentProcess = pb.start();
+        return currentProcess;
+    }
+    
+    /**
+     * Stop speaking and release the pipeline and background synthesis
+     */
+    public void shutdown() {
+        stopSpeaking();
+        SpeechPipeline resident = pipeline;
+        if (resident != null) {
+            SpeechPipeline.Stats stats = resident.getStats();
+            log.info("Speech: {} utterances ({} cancelled), time to first audio {} ms average, {} ms per sentence",
+                stats.getUtterances(), stats.getCancelled(), stats.getAverageTimeToFirstAudioMillis(),
+                stats.getAverageSynthesisMillis());
+            resident.shutdown();
+        }
+        TtsAudioCache cache = audioCache;
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+    
     /**
      * Check if TTS is available on this system
      */
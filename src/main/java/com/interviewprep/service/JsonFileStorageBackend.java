@@ -0,0 +1,160 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.interviewprep.model.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Storage backend keeping one pretty-printed JSON file per record
+ * No database required - this is the default backend
+ */
+@Slf4j
+public class JsonFileStorageBackend implements StorageBackend {
+    private final Gson gson;
+    private final Path sessionsDir;
+    private final Path analyticsDir;
+    private final Path mcpDir;
+    private final Path recordingsDir;
+
+    public JsonFileStorageBackend(String dataDirectory) {
+        this.gson = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .create();
+        this.sessionsDir = Paths.get(dataDirectory, "sessions");
+        this.analyticsDir = Paths.get(dataDirectory, "analytics");
+        this.mcpDir = Paths.get(dataDirectory, "mcp");
+        this.recordingsDir = Paths.get(dataDirectory, "recordings");
+
+        try {
+            Files.createDirectories(sessionsDir);
+            Files.createDirectories(analyticsDir);
+            Files.createDirectories(mcpDir);
+            Files.createDirectories(recordingsDir);
+        } catch (IOException e) {
+            log.error("Failed to create storage directories", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "json-file";
+    }
+
+    @Override
+    public void saveSession(InterviewSession session) throws IOException {
+        write(sessionsDir.resolve(session.getSessionId() + ".json"), session);
+    }
+
+    @Override
+    public InterviewSession loadSession(String sessionId) throws IOException {
+        return read(sessionsDir.resolve(sessionId + ".json"), InterviewSession.class);
+    }
+
+    @Override
+    public List<InterviewSession> listRecentSessions(int limit) throws IOException {
+        if (!Files.exists(sessionsDir)) return new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(sessionsDir)) {
+            return files
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .sorted(Comparator.comparing(JsonFileStorageBackend::lastModified).reversed())
+                    .limit(limit)
+                    .map(path -> readQuietly(path, InterviewSession.class))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public boolean deleteSession(String sessionId) throws IOException {
+        return Files.deleteIfExists(sessionsDir.resolve(sessionId + ".json"));
+    }
+
+    @Override
+    public void saveAnalytics(InterviewAnalytics analytics) throws IOException {
+        write(analyticsDir.resolve(analytics.getSessionId() + "_analytics.json"), analytics);
+    }
+
+    @Override
+    public InterviewAnalytics loadAnalytics(String sessionId) throws IOException {
+        return read(analyticsDir.resolve(sessionId + "_analytics.json"), InterviewAnalytics.class);
+    }
+
+    @Override
+    public List<InterviewAnalytics> listAnalytics() throws IOException {
+        return readAll(analyticsDir, InterviewAnalytics.class);
+    }
+
+    @Override
+    public void saveMCPContext(MCPContext context) throws IOException {
+        write(mcpDir.resolve(context.getUserId() + "_mcp.json"), context);
+    }
+
+    @Override
+    public MCPContext loadMCPContext(String userId) throws IOException {
+        return read(mcpDir.resolve(userId + "_mcp.json"), MCPContext.class);
+    }
+
+    @Override
+    public void saveRecording(InterviewRecording recording) throws IOException {
+        write(recordingsDir.resolve(recording.getRecordingId() + ".json"), recording);
+    }
+
+    @Override
+    public InterviewRecording loadRecording(String recordingId) throws IOException {
+        return read(recordingsDir.resolve(recordingId + ".json"), InterviewRecording.class);
+    }
+
+    @Override
+    public List<InterviewRecording> listRecordings() throws IOException {
+        return readAll(recordingsDir, InterviewRecording.class);
+    }
+
+    private void write(Path filePath, Object value) throws IOException {
+        Files.writeString(filePath, gson.toJson(value));
+    }
+
+    private <T> T read(Path filePath, Class<T> type) throws IOException {
+        if (!Files.exists(filePath)) return null;
+        return gson.fromJson(Files.readString(filePath), type);
+    }
+
+    private <T> T readQuietly(Path filePath, Class<T> type) {
+        try {
+            return read(filePath, type);
+        } catch (IOException e) {
+            log.warn("Failed to read: {}", filePath, e);
+            return null;
+        }
+    }
+
+    private <T> List<T> readAll(Path directory, Class<T> type) throws IOException {
+        if (!Files.exists(directory)) return new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.toString().endsWith(".json"))
+                    .map(path -> readQuietly(path, type))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
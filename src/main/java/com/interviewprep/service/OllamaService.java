@@ -7,7 +7,14 @@ import okhttp3.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Service for interacting with Ollama (local LLM)
@@ -15,11 +22,40 @@ import java.util.List;
  */
 @Slf4j
 public class OllamaService implements AIService {
+    private static final String DEFAULT_CONVERSATION = "default";
+    private static final int MAX_CONVERSATIONS = 64;
+    private static final long CONVERSATION_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    
     private final OkHttpClient client;
     private final Gson gson;
     private final String baseUrl;
     private final String model;
-    private List<Message> conversationHistory;
+    // sessionId -> turns so far, least recently used first; the map is guarded by itself and
+    // each conversation by itself, so a session's turns stay in order
+    private final LinkedHashMap<String, Conversation> conversations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Conversation> eldest) {
+            return size() > MAX_CONVERSATIONS;
+        }
+    };
+    
+    // Calls in progress and the thread waiting on each. Blocking socket reads ignore interrupts,
+    // so a call whose thread has been interrupted (e.g. an API request past its deadline) is
+    // cancelled from here rather than running on until the 300 s read timeout.
+    private static final Map<Call, Thread> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService CANCELLER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ollama-cancel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    static {
+        CANCELLER.scheduleWithFixedDelay(() -> IN_FLIGHT.forEach((call, thread) -> {
+            if (thread.isInterrupted()) {
+                call.cancel();
+            }
+        }), 100, 100, TimeUnit.MILLISECONDS);
+    }
     
     public OllamaService(String baseUrl, String model) {
         this.client = new OkHttpClient.Builder()
@@ -29,7 +65,6 @@ public class OllamaService implements AIService {
         this.gson = new Gson();
         this.baseUrl = baseUrl;
         this.model = model;
-        this.conversationHistory = new ArrayList<>();
     }
     
     /**
@@ -59,7 +94,8 @@ public class OllamaService implements AIService {
                     .post(body)
                     .build();
             
-            try (Response response = client.newCall(request).execute()) {
+            Call call = track(client.newCall(request));
+            try (Response response = call.execute()) {
                 if (!response.isSuccessful()) {
                     log.error("Ollama API Error: {} - {}", response.code(), response.message());
                     String errorBody = response.body() != null ? response.body().string() : "No error details";
@@ -79,30 +115,120 @@ public class OllamaService implements AIService {
                     // Fallback to old format
                     return jsonResponse.get("response").getAsString();
                 }
+            } finally {
+                IN_FLIGHT.remove(call);
             }
         } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                return "Error: " + e.getMessage();
+            }
+            log.error("Error calling Ollama API", e);
+            return "Error: " + e.getMessage();
+        }
+    }
+    
+    /**
+     * Generate a response from Ollama, passing each streamed piece to {@code onChunk}
+     */
+    @Override
+    public String generateStream(String prompt, Consumer<String> onChunk) {
+        try {
+            JsonObject requestBody = new JsonObject();
+            requestBody.addProperty("model", model);
+            requestBody.addProperty("stream", true);
+            
+            com.google.gson.JsonArray messages = new com.google.gson.JsonArray();
+            JsonObject message = new JsonObject();
+            message.addProperty("role", "user");
+            message.addProperty("content", prompt);
+            messages.add(message);
+            requestBody.add("messages", messages);
+            
+            RequestBody body = RequestBody.create(
+                requestBody.toString(),
+                MediaType.parse("application/json")
+            );
+            
+            Request request = new Request.Builder()
+                    .url(baseUrl + "/api/chat")
+                    .post(body)
+                    .build();
+            
+            Call call = track(client.newCall(request));
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful()) {
+                    String errorBody = response.body() != null ? response.body().string() : "No error details";
+                    log.error("Ollama API Error: {} - {}", response.code(), errorBody);
+                    throw new IOException("Ollama request failed: " + response.code() + " - " + errorBody);
+                }
+                
+                // One JSON object per line, each with the next piece of message.content
+                StringBuilder full = new StringBuilder();
+                okio.BufferedSource source = response.body().source();
+                String line;
+                while ((line = source.readUtf8Line()) != null) {
+                    if (line.isBlank()) continue;
+                    JsonObject chunk = gson.fromJson(line, JsonObject.class);
+                    if (chunk.has("error")) {
+                        throw new IOException("Ollama stream failed: " + chunk.get("error").getAsString());
+                    }
+                    if (chunk.has("message")) {
+                        String piece = chunk.getAsJsonObject("message").get("content").getAsString();
+                        if (!piece.isEmpty()) {
+                            full.append(piece);
+                            onChunk.accept(piece);
+                        }
+                    }
+                    if (chunk.has("done") && chunk.get("done").getAsBoolean()) break;
+                }
+                return full.toString();
+            } finally {
+                IN_FLIGHT.remove(call);
+            }
+        } catch (java.io.InterruptedIOException e) {
+            // Caller gave up (e.g. a request deadline); keep the interrupt visible to it
+            Thread.currentThread().interrupt();
+            return "Error: " + e.getMessage();
+        } catch (IOException | com.google.gson.JsonParseException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled because the caller gave up
+                return "Error: " + e.getMessage();
+            }
             log.error("Error calling Ollama API", e);
             return "Error: " + e.getMessage();
         }
     }
     
     /**
-     * Chat with conversation context (MCP-style)
+     * Chat with conversation context (MCP-style), in the default conversation
      */
     public String chat(String userMessage) throws IOException {
-        conversationHistory.add(new Message("user", userMessage));
-        
-        // Build context-aware prompt
-        StringBuilder contextPrompt = new StringBuilder();
-        for (Message msg : conversationHistory) {
-            contextPrompt.append(msg.role).append(": ").append(msg.content).append("\n");
+        return chat(DEFAULT_CONVERSATION, userMessage);
+    }
+    
+    /**
+     * Chat within one session's conversation
+     * Sessions are independent and may chat at once; turns within a session are taken one at a time.
+     * A conversation idle for 30 minutes, or the least recently used past 64, is forgotten.
+     */
+    public String chat(String sessionId, String userMessage) throws IOException {
+        Conversation conversation = conversation(sessionId);
+        List<Message> history = conversation.messages;
+        synchronized (conversation) {
+            history.add(new Message("user", userMessage));
+            
+            // Build context-aware prompt
+            StringBuilder contextPrompt = new StringBuilder();
+            for (Message msg : history) {
+                contextPrompt.append(msg.role).append(": ").append(msg.content).append("\n");
+            }
+            contextPrompt.append("assistant: ");
+            
+            String response = generate(contextPrompt.toString());
+            history.add(new Message("assistant", response));
+            
+            return response;
         }
-        contextPrompt.append("assistant: ");
-        
-        String response = generate(contextPrompt.toString());
-        conversationHistory.add(new Message("assistant", response));
-        
-        return response;
     }
     
     /**
@@ -118,12 +244,38 @@ public class OllamaService implements AIService {
     }
     
     /**
-     * Clear conversation history
+     * Clear the default conversation's history
      */
     public void clearHistory() {
-        conversationHistory.clear();
+        clearHistory(DEFAULT_CONVERSATION);
     }
     
+    /**
+     * Forget a session's conversation, e.g. when the session ends
+     */
+    public void clearHistory(String sessionId) {
+        synchronized (conversations) {
+            conversations.remove(sessionId);
+        }
+    }
+    
+    /**
+     * A session's conversation, started if new; conversations idle too long are dropped first
+     */
+    private Conversation conversation(String sessionId) {
+        long now = currentTimeMillis();
+        synchronized (conversations) {
+            conversations.values().removeIf(conversation -> now - conversation.lastUsed > CONVERSATION_IDLE_MILLIS);
+            Conversation conversation = conversations.computeIfAbsent(sessionId, id -> new Conversation());
+            conversation.lastUsed = now;
+            return conversation;
+        }
+    }
+    
+    // Overridden by tests to age conversations without waiting
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
     
     /**
      * Test the model with a simple prompt
@@ -187,6 +339,22 @@ public class OllamaService implements AIService {
         }
     }
     
+    /**
+     * Register a call so it is cancelled if the calling thread is interrupted; remove it when done
+     */
+    private static Call track(Call call) throws java.io.InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new java.io.InterruptedIOException("Interrupted before the request was sent");
+        }
+        IN_FLIGHT.put(call, Thread.currentThread());
+        return call;
+    }
+    
+    private static class Conversation {
+        final List<Message> messages = new ArrayList<>();
+        long lastUsed; // guarded by conversations
+    }
+    
     private static class Message {
         String role;
         String content;
@@ -0,0 +1,125 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One resident PowerShell process with System.Speech loaded, synthesizing sentences on request
+ * Starting PowerShell and loading System.Speech takes seconds, which used to be paid per question.
+ * The host reads one request per line (output path and text, base64 so any text is safe) and
+ * answers "ok" or "err" once the WAV is written. A host that dies or stops answering is killed
+ * and started again on the next request.
+ */
+@Slf4j
+public class PowerShellSpeechHost implements SpeechPipeline.Synthesizer {
+    private static final long REPLY_TIMEOUT_SECONDS = 30;
+    private static final String SCRIPT =
+        "Add-Type -AssemblyName System.Speech; " +
+        "$speak = New-Object System.Speech.Synthesis.SpeechSynthesizer; " +
+        "%s" +
+        "[Console]::Out.WriteLine('ready'); [Console]::Out.Flush(); " +
+        "while (($line = [Console]::In.ReadLine()) -ne $null) { " +
+        "  $parts = $line.Split(\"`t\"); " +
+        "  $path = [Text.Encoding]::UTF8.GetString([Convert]::FromBase64String($parts[0])); " +
+        "  $text = [Text.Encoding]::UTF8.GetString([Convert]::FromBase64String($parts[1])); " +
+        "  try { $speak.SetOutputToWaveFile($path); $speak.Speak($text); $speak.SetOutputToNull(); " +
+        "        [Console]::Out.WriteLine('ok') } " +
+        "  catch { $speak.SetOutputToNull(); [Console]::Out.WriteLine('err ' + $_.Exception.Message) } " +
+        "  [Console]::Out.Flush() " +
+        "}";
+
+    private final String voice;
+    private volatile Process process;
+    private Writer requests;
+    private BlockingQueue<String> replies;
+
+    public PowerShellSpeechHost(String voice) {
+        this.voice = voice != null ? voice : "";
+    }
+
+    @Override
+    public synchronized void warmUp() throws IOException, InterruptedException {
+        if (process == null || !process.isAlive()) {
+            start();
+        }
+    }
+
+    @Override
+    public synchronized void synthesize(String sentence, Path wav) throws IOException, InterruptedException {
+        warmUp();
+        Base64.Encoder base64 = Base64.getEncoder();
+        requests.write(base64.encodeToString(wav.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8))
+            + "\t" + base64.encodeToString(sentence.getBytes(StandardCharsets.UTF_8)) + "\n");
+        requests.flush();
+        String reply = replies.poll(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (reply == null) {
+            close();
+            throw new IOException("Speech host did not answer in " + REPLY_TIMEOUT_SECONDS + " s");
+        }
+        if (!reply.equals("ok")) {
+            throw new IOException("Speech host: " + reply);
+        }
+    }
+
+    /**
+     * Kill the host; not synchronized so it can interrupt a request in progress
+     */
+    @Override
+    public void close() {
+        Process host = process;
+        process = null;
+        if (host != null) {
+            host.destroyForcibly();
+        }
+    }
+
+    private void start() throws IOException, InterruptedException {
+        long begin = System.nanoTime();
+        String selectVoice = voice.isEmpty() ? "" : "$speak.SelectVoice('" + voice.replace("'", "''") + "'); ";
+        process = new ProcessBuilder("powershell.exe", "-NoProfile", "-NonInteractive", "-Command",
+            String.format(SCRIPT, selectVoice))
+            .redirectErrorStream(true)
+            .start();
+        requests = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        replies = lines;
+        Process started = process;
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    line = line.trim();
+                    // Anything else is PowerShell noise on the merged error stream
+                    if (line.equals("ready") || line.equals("ok") || line.startsWith("err")) {
+                        lines.add(line);
+                    } else if (!line.isEmpty()) {
+                        log.debug("Speech host: {}", line);
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Speech host output closed: {}", e.getMessage());
+            }
+        }, "tts-host-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        String ready = lines.poll(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!"ready".equals(ready)) {
+            close();
+            throw new IOException("Speech host did not start" + (ready != null ? ": " + ready : ""));
+        }
+        log.info("Speech host started in {} ms", (System.nanoTime() - begin) / 1_000_000);
+    }
+}
@@ -0,0 +1,346 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.AnswerSegmentIndex;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Single-pass prosody features over 16-bit signed little-endian mono PCM
+ * Works on 10 ms frames of short-time energy: frames above an adaptive noise floor are speech,
+ * silences of 300 ms or more are pauses, and peaks in the energy envelope are counted as
+ * syllable nuclei. Loudness and syllable rate are sampled over fixed stretches of speech to
+ * measure how consistent they are. All state is primitive and allocated up front, so feeding a
+ * block never allocates and an hour of audio is analysed in well under a second.
+ */
+@Slf4j
+public class ProsodyAnalyzer {
+    public static final float SAMPLE_RATE = 16000f;
+    private static final int FRAME_MILLIS = 10;
+    private static final int PAUSE_FRAMES = 30;              // 300 ms of silence between speech
+    private static final int MIN_SYLLABLE_FRAMES = 10;       // at most 10 syllables per second
+    private static final double MARGIN_DB = 10;
+    private static final double ABSOLUTE_MIN_DB = -50;
+    private static final double PEAK_DIP_DB = 3;             // envelope must dip this far between syllables
+    private static final double SMOOTHING = 0.5;             // one-pole smoothing of the envelope
+    private static final int LOUDNESS_WINDOW_FRAMES = 100;   // 1 s of speech
+    private static final int PACE_WINDOW_FRAMES = 300;       // 3 s of speech
+    private static final double SYLLABLES_PER_WORD = 1.5;    // average for conversational English
+    private static final double VOLUME_STD_SCALE_DB = 6;     // loudness spread at which consistency reaches 0
+    private static final long[] PAUSE_BUCKET_MILLIS = {500, 1000, 2000};
+
+    private final int frameSamples;
+
+    // Frame accumulation
+    private long frameSumOfSquares;
+    private int frameCount;
+    private int pendingByte = -1;
+
+    // Speech gating
+    private double noiseFloorDb = -60;
+    private boolean hadSpeech;
+    private int silenceRun;
+
+    // Syllable nuclei
+    private double envelopeDb = Double.NaN;
+    private double peakDb = -96;
+    private double valleyDb;
+    private boolean rising = true;
+    private long lastSyllableFrame = Long.MIN_VALUE / 2;
+
+    // Totals
+    private long frames;
+    private long speakingFrames;
+    private long syllables;
+    private int pauseCount;
+    private long pauseFrames;
+    private long longestPauseFrames;
+    private final int[] pauseHistogram = new int[PAUSE_BUCKET_MILLIS.length + 1];
+    private final RunningStats loudness = new RunningStats();
+
+    // Windowed consistency
+    private double windowLoudnessSum;
+    private int windowLoudnessFrames;
+    private final RunningStats windowLoudness = new RunningStats();
+    private long paceWindowSyllables;
+    private int paceWindowFrames;
+    private final RunningStats windowPace = new RunningStats();
+
+    public ProsodyAnalyzer() {
+        this(SAMPLE_RATE);
+    }
+
+    public ProsodyAnalyzer(float sampleRate) {
+        this.frameSamples = Math.round(sampleRate * FRAME_MILLIS / 1000f);
+    }
+
+    /**
+     * Feed the next block of samples; blocks may have any length, including odd byte counts
+     */
+    public void process(byte[] pcm, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        if (pendingByte >= 0 && i < end) {
+            addSample((short) (pendingByte | (pcm[i++] << 8)));
+            pendingByte = -1;
+        }
+        for (; i + 1 < end; i += 2) {
+            addSample((short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8)));
+        }
+        if (i < end) {
+            pendingByte = pcm[i] & 0xFF;
+        }
+    }
+
+    /**
+     * The next block is not contiguous with the previous one (e.g. the next answer);
+     * silence across the break is not counted as a pause
+     */
+    public void breakStream() {
+        frameSumOfSquares = 0;
+        frameCount = 0;
+        pendingByte = -1;
+        silenceRun = 0;
+        hadSpeech = false;
+        envelopeDb = Double.NaN;
+        peakDb = -96;
+        rising = true;
+    }
+
+    /**
+     * Features of everything processed so far
+     */
+    public ProsodyReport getReport() {
+        ProsodyReport report = new ProsodyReport();
+        double frameSeconds = FRAME_MILLIS / 1000.0;
+        report.setAnalyzedSeconds(frames * frameSeconds);
+        report.setSpeakingSeconds(speakingFrames * frameSeconds);
+        report.setSyllableCount(syllables);
+        if (speakingFrames > 0) {
+            double rate = syllables / (speakingFrames * frameSeconds);
+            report.setSyllablesPerSecond(rate);
+            report.setWordsPerMinute(rate * 60 / SYLLABLES_PER_WORD);
+        }
+        report.setPauseCount(pauseCount);
+        report.setTotalPauseSeconds(pauseFrames * frameSeconds);
+        report.setLongestPauseSeconds(longestPauseFrames * frameSeconds);
+        report.setPauseHistogram(pauseHistogram.clone());
+        report.setLoudnessMeanDb(loudness.count > 0 ? loudness.mean : Double.NaN);
+        report.setLoudnessStdDb(loudness.count > 1 ? loudness.std() : Double.NaN);
+
+        // Consistency needs at least two windows to compare
+        report.setVolumeConsistency(windowLoudness.count > 1
+            ? clamp01(1 - windowLoudness.std() / VOLUME_STD_SCALE_DB) : Double.NaN);
+        report.setPaceConsistency(windowPace.count > 1 && windowPace.mean > 0
+            ? clamp01(1 - windowPace.std() / windowPace.mean) : Double.NaN);
+        return report;
+    }
+
+    /**
+     * Analyse a WAV recording, or its compressed copy; with an index only the answer segments
+     * are read (skipping the interviewer's spoken questions and idle time), otherwise the whole file
+     */
+    public static ProsodyReport analyze(Path wavFile, AnswerSegmentIndex index)
+            throws IOException, UnsupportedAudioFileException {
+        long started = System.nanoTime();
+        ProsodyAnalyzer analyzer = new ProsodyAnalyzer();
+        byte[] buffer = new byte[64 * 1024];
+
+        try (AudioInputStream in = openPcm(wavFile)) {
+            if (index == null || index.getSegments().isEmpty()) {
+                copy(in, buffer, Long.MAX_VALUE, analyzer);
+            } else {
+                long position = 0;
+                for (AnswerSegmentIndex.Segment segment : index.getSegments()) {
+                    if (!segment.hasSpeech()) continue;
+                    long start = segment.getByteOffset() - index.getDataOffset();
+                    if (start < position) continue;
+                    position += skipFully(in, start - position);
+                    analyzer.breakStream();
+                    position += copy(in, buffer, segment.getByteLength(), analyzer);
+                }
+            }
+        }
+
+        ProsodyReport report = analyzer.getReport();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Prosody analysis of {}: {} s of audio in {} ms ({}x real time)", wavFile.getFileName(),
+            Math.round(report.getAnalyzedSeconds()), elapsedMillis,
+            Math.round(report.getAnalyzedSeconds() * 1000 / elapsedMillis));
+        return report;
+    }
+
+    private static AudioInputStream openPcm(Path wavFile) throws IOException, UnsupportedAudioFileException {
+        if (!wavFile.getFileName().toString().toLowerCase(java.util.Locale.ROOT).endsWith(".wav")) {
+            return new AudioInputStream(new DecodedPcmStream(wavFile, (int) SAMPLE_RATE),
+                new AudioFormat(SAMPLE_RATE, 16, 1, true, false), AudioSystem.NOT_SPECIFIED);
+        }
+        AudioInputStream source = AudioSystem.getAudioInputStream(wavFile.toFile());
+        AudioFormat target = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        if (source.getFormat().matches(target)) {
+            return source;
+        }
+        return AudioSystem.getAudioInputStream(target, source);
+    }
+
+    private static long copy(InputStream in, byte[] buffer, long limit, ProsodyAnalyzer analyzer) throws IOException {
+        long total = 0;
+        while (total < limit) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - total));
+            if (read < 0) break;
+            analyzer.process(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private static long skipFully(InputStream in, long bytes) throws IOException {
+        long skipped = 0;
+        while (skipped < bytes) {
+            long step = in.skip(bytes - skipped);
+            if (step <= 0) break;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    private void addSample(int sample) {
+        frameSumOfSquares += (long) sample * sample;
+        if (++frameCount == frameSamples) {
+            processFrame(frameSumOfSquares / (double) frameSamples);
+            frameSumOfSquares = 0;
+            frameCount = 0;
+        }
+    }
+
+    private void processFrame(double meanSquare) {
+        double db = meanSquare > 0 ? 10 * Math.log10(meanSquare / (32768.0 * 32768.0)) : -96;
+        long frame = frames++;
+        boolean speech = db > Math.max(noiseFloorDb + MARGIN_DB, ABSOLUTE_MIN_DB);
+
+        if (speech) {
+            int spoken = 1;
+            if (hadSpeech) {
+                if (silenceRun >= PAUSE_FRAMES) {
+                    recordPause(silenceRun);
+                } else {
+                    spoken += silenceRun;   // gaps between words are part of speaking
+                }
+            }
+            hadSpeech = true;
+            silenceRun = 0;
+            speakingFrames += spoken;
+            loudness.add(db);
+            addToWindows(db, spoken);
+        } else {
+            silenceRun++;
+            noiseFloorDb += (db - noiseFloorDb) * (db < noiseFloorDb ? 0.1 : 0.005);
+        }
+
+        detectSyllable(db, frame);
+    }
+
+    private void detectSyllable(double db, long frame) {
+        envelopeDb = Double.isNaN(envelopeDb) ? db : envelopeDb + SMOOTHING * (db - envelopeDb);
+        if (rising) {
+            if (envelopeDb > peakDb) {
+                peakDb = envelopeDb;
+            } else if (peakDb - envelopeDb >= PEAK_DIP_DB) {
+                // Passed a peak: count it when it stood out from the noise floor
+                if (peakDb > Math.max(noiseFloorDb + MARGIN_DB, ABSOLUTE_MIN_DB)
+                        && frame - lastSyllableFrame >= MIN_SYLLABLE_FRAMES) {
+                    syllables++;
+                    paceWindowSyllables++;
+                    lastSyllableFrame = frame;
+                }
+                rising = false;
+                valleyDb = envelopeDb;
+            }
+        } else {
+            if (envelopeDb < valleyDb) {
+                valleyDb = envelopeDb;
+            } else if (envelopeDb - valleyDb >= PEAK_DIP_DB) {
+                rising = true;
+                peakDb = envelopeDb;
+            }
+        }
+    }
+
+    private void addToWindows(double db, int spokenFrames) {
+        windowLoudnessSum += db;
+        if (++windowLoudnessFrames == LOUDNESS_WINDOW_FRAMES) {
+            windowLoudness.add(windowLoudnessSum / LOUDNESS_WINDOW_FRAMES);
+            windowLoudnessSum = 0;
+            windowLoudnessFrames = 0;
+        }
+        paceWindowFrames += spokenFrames;
+        if (paceWindowFrames >= PACE_WINDOW_FRAMES) {
+            windowPace.add(paceWindowSyllables * 1000.0 / ((double) paceWindowFrames * FRAME_MILLIS));
+            paceWindowSyllables = 0;
+            paceWindowFrames = 0;
+        }
+    }
+
+    private void recordPause(int pauseRun) {
+        pauseCount++;
+        pauseFrames += pauseRun;
+        longestPauseFrames = Math.max(longestPauseFrames, pauseRun);
+        long millis = (long) pauseRun * FRAME_MILLIS;
+        int bucket = 0;
+        while (bucket < PAUSE_BUCKET_MILLIS.length && millis >= PAUSE_BUCKET_MILLIS[bucket]) {
+            bucket++;
+        }
+        pauseHistogram[bucket]++;
+    }
+
+    private static double clamp01(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    /**
+     * Welford running mean and variance
+     */
+    private static final class RunningStats {
+        private long count;
+        private double mean;
+        private double m2;
+
+        void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        double std() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+        }
+    }
+
+    /**
+     * Prosody features of a recording; consistency values are NaN when there was too little speech
+     */
+    @Data
+    public static class ProsodyReport {
+        private double analyzedSeconds;
+        private double speakingSeconds;
+        private long syllableCount;
+        private double syllablesPerSecond;
+        private double wordsPerMinute;
+        private int pauseCount;
+        private double totalPauseSeconds;
+        private double longestPauseSeconds;
+        private int[] pauseHistogram;      // pauses < 0.5 s, < 1 s, < 2 s, >= 2 s
+        private double loudnessMeanDb;
+        private double loudnessStdDb;
+        private double volumeConsistency;  // 0-1
+        private double paceConsistency;    // 0-1
+    }
+}
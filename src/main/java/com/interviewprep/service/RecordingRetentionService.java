@@ -0,0 +1,501 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.interviewprep.model.InterviewRecording;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Background retention for recording directories
+ * Enforces an age limit and a total disk budget (oldest recordings evicted first), and can
+ * transcode ageing videos to a low-bitrate tier. Once a recording has settled, its WAV is
+ * deleted when a compressed copy sits beside it: the compressed copy is the canonical audio,
+ * and the WAV only a working copy for analysis while the interview is fresh. Directory sizes
+ * are kept in a catalog so a run only walks directories that changed since the previous run.
+ * Recording metadata is kept in step: replaced files are relinked and the paths of evicted
+ * files are cleared.
+ */
+@Slf4j
+public class RecordingRetentionService {
+    // Directories touched within this window may still be recording; they are rescanned but never evicted
+    static final long HOT_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(3);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    static final String LOW_TIER_SUFFIX = ".low.mp4";
+    private static final List<String> COMPRESSED_AUDIO_EXTENSIONS = List.of(".m4a", ".ogg");
+
+    private final Path recordingsDir;
+    private final Path catalogFile;
+    private final Policy policy;
+    private final StorageService storageService; // null to leave recording metadata alone
+    private final Gson gson;
+    private Map<String, CatalogEntry> catalog;
+    private ScheduledExecutorService scheduler;
+    private volatile RetentionReport lastReport;
+
+    public RecordingRetentionService(Path recordingsDir, Path catalogFile, Policy policy) {
+        this(recordingsDir, catalogFile, policy, null);
+    }
+
+    public RecordingRetentionService(Path recordingsDir, Path catalogFile, Policy policy,
+                                     StorageService storageService) {
+        this.recordingsDir = recordingsDir;
+        this.catalogFile = catalogFile;
+        this.policy = policy;
+        this.storageService = storageService;
+        this.gson = new Gson();
+        this.catalog = loadCatalog();
+    }
+
+    /**
+     * Build from recordings.* settings in application.properties
+     */
+    public static RecordingRetentionService fromConfig(ConfigurationService config, String dataDirectory,
+                                                       StorageService storageService) {
+        Policy policy = new Policy();
+        policy.setKeepDays(config.getIntProperty("recordings.keep.days", 90));
+        policy.setMaxBytes(config.getIntProperty("recordings.max.disk.mb", 10240) * 1024L * 1024L);
+        policy.setDropWavEnabled(config.getBooleanProperty("recordings.drop.wav.enabled", true));
+        policy.setTranscodeEnabled(config.getBooleanProperty("recordings.transcode.enabled", false));
+        policy.setTranscodeAfterDays(config.getIntProperty("recordings.transcode.after.days", 14));
+        policy.setTranscodeBitrateKbps(config.getIntProperty("recordings.transcode.bitrate.kbps", 300));
+        policy.setIntervalMinutes(config.getIntProperty("recordings.retention.interval.minutes", 360));
+
+        return new RecordingRetentionService(
+            Paths.get(config.getProperty("recordings.path", "recordings")),
+            Paths.get(dataDirectory, "retention", "recordings_catalog.json"),
+            policy, storageService);
+    }
+
+    /**
+     * Schedule periodic runs on a low-priority daemon thread
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "recording-retention");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        // First run is delayed so it never competes with application startup
+        scheduler.scheduleWithFixedDelay(this::runSafely, 2, policy.getIntervalMinutes(), TimeUnit.MINUTES);
+        log.info("Recording retention scheduled every {} minutes (keep {} days, budget {} MB)",
+            policy.getIntervalMinutes(), policy.getKeepDays(), policy.getMaxBytes() / (1024 * 1024));
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public RetentionReport getLastReport() {
+        return lastReport;
+    }
+
+    private void runSafely() {
+        try {
+            runNow();
+        } catch (Exception e) {
+            log.error("Recording retention run failed", e);
+        }
+    }
+
+    /**
+     * Run one retention pass on the calling thread
+     */
+    public synchronized RetentionReport runNow() throws IOException {
+        long started = System.currentTimeMillis();
+        RetentionReport report = new RetentionReport();
+        if (!Files.isDirectory(recordingsDir)) {
+            lastReport = report;
+            return report;
+        }
+
+        Map<String, CatalogEntry> current = scan(started, report);
+
+        List<Map.Entry<String, CatalogEntry>> byAge = new ArrayList<>(current.entrySet());
+        byAge.sort(Comparator.comparingLong(e -> e.getValue().getRecordedMillis()));
+
+        long totalBytes = current.values().stream().mapToLong(CatalogEntry::getBytes).sum();
+        long ageCutoff = started - policy.getKeepDays() * DAY_MILLIS;
+        long transcodeCutoff = started - policy.getTranscodeAfterDays() * DAY_MILLIS;
+        List<Path> evicted = new ArrayList<>();
+        Map<Path, Path> replaced = new HashMap<>();
+
+        for (Map.Entry<String, CatalogEntry> entry : byAge) {
+            if (Thread.currentThread().isInterrupted()) break;
+            CatalogEntry value = entry.getValue();
+            if (started - value.getModifiedMillis() < HOT_WINDOW_MILLIS) continue;
+
+            boolean expired = value.getRecordedMillis() < ageCutoff;
+            boolean overBudget = totalBytes > policy.getMaxBytes();
+            if (expired || overBudget) {
+                long freed = deleteDirectory(recordingsDir.resolve(entry.getKey()));
+                evicted.add(recordingsDir.resolve(entry.getKey()));
+                current.remove(entry.getKey());
+                totalBytes -= value.getBytes();
+                report.directoriesDeleted++;
+                report.bytesReclaimed += freed;
+                log.info("Evicted recording {} ({} KB, {})", entry.getKey(), freed / 1024,
+                    expired ? "expired" : "over budget");
+                continue;
+            }
+            if (policy.isDropWavEnabled() && !value.isWavDropped()) {
+                long saved = dropWavCopies(recordingsDir.resolve(entry.getKey()), replaced, report);
+                value.setWavDropped(true);
+                value.setBytes(value.getBytes() - saved);
+                totalBytes -= saved;
+                report.bytesReclaimed += saved;
+            }
+            if (policy.isTranscodeEnabled() && !value.isTranscoded()
+                    && value.getRecordedMillis() < transcodeCutoff) {
+                long saved = transcodeDirectory(recordingsDir.resolve(entry.getKey()), replaced, report);
+                value.setTranscoded(true);
+                value.setBytes(value.getBytes() - saved);
+                totalBytes -= saved;
+                report.bytesReclaimed += saved;
+            }
+        }
+
+        catalog = current;
+        saveCatalog();
+        updateRecordings(evicted, replaced);
+
+        report.bytesRemaining = totalBytes;
+        report.durationMillis = System.currentTimeMillis() - started;
+        lastReport = report;
+        log.info("Recording retention: {}", report);
+        return report;
+    }
+
+    /**
+     * List recording directories, reusing catalogued sizes for directories that have settled
+     */
+    private Map<String, CatalogEntry> scan(long now, RetentionReport report) throws IOException {
+        Map<String, CatalogEntry> current = new HashMap<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(recordingsDir, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                String name = dir.getFileName().toString();
+                long modified = Files.getLastModifiedTime(dir).toMillis();
+                CatalogEntry entry = catalog.get(name);
+
+                // Files keep growing after the directory mtime is set, so sizes are
+                // re-measured until the directory has been quiet for the hot window
+                if (entry == null || entry.getModifiedMillis() != modified
+                        || entry.getScannedMillis() < modified + HOT_WINDOW_MILLIS) {
+                    CatalogEntry updated = new CatalogEntry();
+                    updated.setModifiedMillis(modified);
+                    updated.setScannedMillis(now);
+                    updated.setBytes(sizeOf(dir));
+                    // Age is fixed when a directory is first seen; transcoding rewrites files and bumps the mtime
+                    updated.setRecordedMillis(entry != null ? entry.getRecordedMillis() : modified);
+                    updated.setTranscoded(entry != null && entry.isTranscoded());
+                    updated.setWavDropped(entry != null && entry.isWavDropped());
+                    entry = updated;
+                    report.directoriesMeasured++;
+                }
+                current.put(name, entry);
+                report.directoriesScanned++;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Delete WAVs that have a compressed copy beside them
+     * @return bytes saved
+     */
+    private long dropWavCopies(Path dir, Map<Path, Path> replaced, RetentionReport report) {
+        long saved = 0;
+        try (DirectoryStream<Path> wavs = Files.newDirectoryStream(dir, "*.wav")) {
+            for (Path wav : wavs) {
+                Path compressed = compressedCopyOf(wav);
+                if (compressed == null) continue;
+                long bytes = Files.size(wav);
+                Files.delete(wav);
+                replaced.put(normalize(wav), normalize(compressed));
+                saved += bytes;
+                report.wavFilesDropped++;
+                log.info("Dropped {} ({} KB); {} is kept", wav.getFileName(), bytes / 1024, compressed.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to drop WAV copies in {}: {}", dir, e.getMessage());
+        }
+        return saved;
+    }
+
+    private static Path compressedCopyOf(Path wav) throws IOException {
+        String base = wav.getFileName().toString().replaceFirst("\\.wav$", "");
+        for (String extension : COMPRESSED_AUDIO_EXTENSIONS) {
+            Path candidate = wav.resolveSibling(base + extension);
+            if (Files.isRegularFile(candidate) && Files.size(candidate) > 0) return candidate;
+        }
+        return null;
+    }
+
+    private long transcodeDirectory(Path dir, Map<Path, Path> transcoded, RetentionReport report) {
+        long saved = 0;
+        try (DirectoryStream<Path> videos = Files.newDirectoryStream(dir, "*.mp4")) {
+            for (Path video : videos) {
+                if (video.getFileName().toString().endsWith(LOW_TIER_SUFFIX)) continue;
+                long fileSaved = transcode(video);
+                if (fileSaved > 0) {
+                    transcoded.put(normalize(video), normalize(lowTierPath(video)));
+                }
+                saved += fileSaved;
+                report.filesTranscoded++;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to transcode recordings in {}: {}", dir, e.getMessage());
+        }
+        return saved;
+    }
+
+    /**
+     * Re-encode a video at the low-bitrate tier, keeping it only if it is smaller
+     * @return bytes saved
+     */
+    private long transcode(Path video) throws IOException {
+        Path target = lowTierPath(video);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        long originalBytes = Files.size(video);
+
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(video.toFile())) {
+            grabber.start();
+            try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(tmp.toFile(),
+                    grabber.getImageWidth(), grabber.getImageHeight(), grabber.getAudioChannels())) {
+                recorder.setFormat("mp4");
+                recorder.setVideoCodec(org.bytedeco.ffmpeg.global.avcodec.AV_CODEC_ID_H264);
+                recorder.setPixelFormat(org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUV420P);
+                recorder.setFrameRate(grabber.getFrameRate());
+                recorder.setVideoBitrate(policy.getTranscodeBitrateKbps() * 1000);
+                recorder.setVideoOption("preset", "slow");
+                if (grabber.getAudioChannels() > 0) {
+                    recorder.setAudioCodec(org.bytedeco.ffmpeg.global.avcodec.AV_CODEC_ID_AAC);
+                    recorder.setSampleRate(grabber.getSampleRate());
+                    recorder.setAudioBitrate(48_000);
+                }
+                recorder.start();
+
+                Frame frame;
+                while ((frame = grabber.grab()) != null) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IOException("Transcode interrupted");
+                    }
+                    recorder.record(frame);
+                }
+                recorder.stop();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        } catch (Exception e) {
+            Files.deleteIfExists(tmp);
+            throw new IOException("Transcode failed for " + video.getFileName(), e);
+        }
+
+        long transcodedBytes = Files.size(tmp);
+        if (transcodedBytes >= originalBytes) {
+            Files.delete(tmp);
+            return 0;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(video);
+        log.info("Transcoded {} ({} KB -> {} KB)", video.getFileName(), originalBytes / 1024, transcodedBytes / 1024);
+        return originalBytes - transcodedBytes;
+    }
+
+    private static Path lowTierPath(Path video) {
+        return video.resolveSibling(video.getFileName().toString().replaceFirst("\\.mp4$", LOW_TIER_SUFFIX));
+    }
+
+    /**
+     * Point recording metadata at replacement files and clear paths to files that were evicted
+     */
+    private void updateRecordings(List<Path> evicted, Map<Path, Path> replaced) {
+        if (storageService == null || (evicted.isEmpty() && replaced.isEmpty())) return;
+        List<Path> evictedDirs = new ArrayList<>();
+        evicted.forEach(dir -> evictedDirs.add(normalize(dir)));
+
+        for (InterviewRecording recording : storageService.getAllRecordings()) {
+            boolean changed = false;
+            for (PathField field : PATH_FIELDS) {
+                String value = field.getter.apply(recording);
+                if (value == null) continue;
+                Path path = normalize(Paths.get(value));
+                String updated = value;
+                if (evictedDirs.stream().anyMatch(path::startsWith)) {
+                    updated = null;
+                } else if (replaced.containsKey(path)) {
+                    // Same form (relative or absolute) as the stored path
+                    updated = Paths.get(value).resolveSibling(replaced.get(path).getFileName()).toString();
+                }
+                if (!Objects.equals(value, updated)) {
+                    field.setter.accept(recording, updated);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                storageService.saveRecording(recording);
+                log.info("Updated recording {} after retention", recording.getRecordingId());
+            }
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        long[] total = {0};
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                total[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return total[0];
+    }
+
+    /**
+     * @return bytes actually freed
+     */
+    private static long deleteDirectory(Path dir) throws IOException {
+        long[] freed = {0};
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                try {
+                    Files.delete(file);
+                    freed[0] += attrs.size();
+                } catch (IOException e) {
+                    log.warn("Failed to delete: {}", file, e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exc) {
+                try {
+                    Files.delete(directory);
+                } catch (IOException e) {
+                    log.warn("Failed to delete directory: {}", directory, e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return freed[0];
+    }
+
+    private Map<String, CatalogEntry> loadCatalog() {
+        try {
+            if (Files.exists(catalogFile)) {
+                Map<String, CatalogEntry> loaded = gson.fromJson(Files.readString(catalogFile),
+                    new TypeToken<Map<String, CatalogEntry>>() {}.getType());
+                if (loaded != null) return loaded;
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read recordings catalog, rescanning: {}", e.getMessage());
+        }
+        return new HashMap<>();
+    }
+
+    private void saveCatalog() {
+        try {
+            Files.createDirectories(catalogFile.getParent());
+            Path tmp = catalogFile.resolveSibling(catalogFile.getFileName() + ".tmp");
+            Files.writeString(tmp, gson.toJson(catalog));
+            Files.move(tmp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save recordings catalog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retention limits
+     */
+    @Data
+    public static class Policy {
+        private int keepDays = 90;
+        private long maxBytes = 10L * 1024 * 1024 * 1024;
+        private boolean dropWavEnabled = true;
+        private boolean transcodeEnabled;
+        private int transcodeAfterDays = 14;
+        private int transcodeBitrateKbps = 300;
+        private int intervalMinutes = 360;
+    }
+
+    /**
+     * Outcome of one retention pass
+     */
+    @Data
+    public static class RetentionReport {
+        private int directoriesScanned;
+        private int directoriesMeasured;
+        private int directoriesDeleted;
+        private int filesTranscoded;
+        private int wavFilesDropped;
+        private long bytesReclaimed;
+        private long bytesRemaining;
+        private long durationMillis;
+
+        @Override
+        public String toString() {
+            return String.format("%d dirs (%d measured), %d deleted, %d transcoded, %d WAVs dropped, %.1f MB reclaimed, %.1f MB kept, %d ms",
+                directoriesScanned, directoriesMeasured, directoriesDeleted, filesTranscoded, wavFilesDropped,
+                bytesReclaimed / 1048576.0, bytesRemaining / 1048576.0, durationMillis);
+        }
+    }
+
+    private static final List<PathField> PATH_FIELDS = List.of(
+        new PathField(InterviewRecording::getVideoFilePath, InterviewRecording::setVideoFilePath),
+        new PathField(InterviewRecording::getVideoSegmentIndexFilePath, InterviewRecording::setVideoSegmentIndexFilePath),
+        new PathField(InterviewRecording::getAudioFilePath, InterviewRecording::setAudioFilePath),
+        new PathField(InterviewRecording::getCompressedAudioFilePath, InterviewRecording::setCompressedAudioFilePath),
+        new PathField(InterviewRecording::getTranscriptFilePath, InterviewRecording::setTranscriptFilePath),
+        new PathField(InterviewRecording::getSegmentIndexFilePath, InterviewRecording::setSegmentIndexFilePath),
+        new PathField(InterviewRecording::getEngagementFilePath, InterviewRecording::setEngagementFilePath));
+
+    private static final class PathField {
+        final Function<InterviewRecording, String> getter;
+        final BiConsumer<InterviewRecording, String> setter;
+
+        PathField(Function<InterviewRecording, String> getter, BiConsumer<InterviewRecording, String> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    @Data
+    private static class CatalogEntry {
+        private long bytes;
+        private long recordedMillis;
+        private long modifiedMillis;
+        private long scannedMillis;
+        private boolean transcoded;
+        private boolean wavDropped;
+    }
+}
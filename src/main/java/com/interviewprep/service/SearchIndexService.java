@@ -0,0 +1,471 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.interviewprep.model.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded inverted index over questions, answers and feedback
+ * Supports ranked (BM25) term, prefix and quoted phrase queries.
+ * The index is updated incrementally on save and persisted so startup never rebuilds it:
+ * each change appends the documents it added or removed to a journal beside the index file,
+ * so a save costs the size of the change rather than the corpus. On load the journal is replayed
+ * over the last snapshot, and once it reaches half the corpus it is folded into a new snapshot.
+ */
+@Slf4j
+public class SearchIndexService {
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern QUERY_PART = Pattern.compile("\"([^\"]+)\"|(\\S+)");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int MIN_JOURNAL_BEFORE_SNAPSHOT = 256;
+
+    private final Path indexFile;
+    private final Path journalFile;
+    private final Gson gson;
+    private IndexData data;
+    private int journalLines;
+    private List<JournalEntry> pending; // changes of the update in progress; null while loading
+
+    public SearchIndexService(Path indexFile) {
+        this.indexFile = indexFile;
+        this.journalFile = indexFile.resolveSibling(indexFile.getFileName() + ".journal");
+        this.gson = new Gson();
+        this.data = load();
+    }
+
+    /**
+     * Whether a persisted index was found on disk
+     */
+    public synchronized boolean isPersisted() {
+        return Files.exists(indexFile) || Files.exists(journalFile);
+    }
+
+    public synchronized int getDocumentCount() {
+        return data.documents.size();
+    }
+
+    /**
+     * (Re)index every question of a session, replacing earlier entries for it
+     */
+    public synchronized void indexSession(InterviewSession session) {
+        pending = new ArrayList<>();
+        addSession(session);
+        persist();
+    }
+
+    /**
+     * (Re)index the detailed feedback of a session's analytics
+     */
+    public synchronized void indexAnalytics(InterviewAnalytics analytics) {
+        pending = new ArrayList<>();
+        addAnalytics(analytics);
+        persist();
+    }
+
+    /**
+     * Drop every document belonging to a session
+     */
+    public synchronized void removeSession(String sessionId) {
+        List<String> docIds = data.sessionDocuments.get(sessionId);
+        if (docIds == null) return;
+        pending = new ArrayList<>();
+        new ArrayList<>(docIds).forEach(this::removeDocument);
+        persist();
+    }
+
+    /**
+     * Rebuild the whole index from stored data (used once when no index file exists yet)
+     */
+    public synchronized void rebuild(Collection<InterviewSession> sessions, Collection<InterviewAnalytics> analytics) {
+        data = new IndexData();
+        pending = null;
+        sessions.forEach(this::addSession);
+        analytics.forEach(this::addAnalytics);
+        snapshot();
+        log.info("Search index rebuilt with {} documents", data.documents.size());
+    }
+
+    /**
+     * Ranked search; all terms must match, each word also matches as a prefix, "quoted text" is a phrase
+     */
+    public synchronized List<SearchResult> search(String query, int limit) {
+        if (query == null || query.isBlank() || data.documents.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> terms = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher matcher = QUERY_PART.matcher(query.toLowerCase());
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                List<String> phrase = tokenize(matcher.group(1));
+                if (phrase.size() == 1) terms.addAll(phrase);
+                else if (!phrase.isEmpty()) phrases.add(phrase);
+            } else {
+                terms.addAll(tokenize(matcher.group(2)));
+            }
+        }
+        if (terms.isEmpty() && phrases.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Double> scores = null;
+        for (String term : terms) {
+            scores = intersect(scores, scoreTerm(term));
+        }
+        for (List<String> phrase : phrases) {
+            scores = intersect(scores, scorePhrase(phrase));
+        }
+
+        String highlight = !terms.isEmpty() ? terms.get(0) : phrases.get(0).get(0);
+        List<SearchResult> results = new ArrayList<>();
+        scores.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+            .limit(limit)
+            .forEach(e -> results.add(toResult(data.documents.get(e.getKey()), e.getValue(), highlight)));
+        return results;
+    }
+
+    private Map<String, Double> scoreTerm(String term) {
+        Map<String, Double> scores = new HashMap<>();
+        // Exact term plus every indexed term it is a prefix of
+        SortedMap<String, Map<String, int[]>> matches = data.postings.subMap(term, term + Character.MAX_VALUE);
+        matches.forEach((indexedTerm, postings) -> {
+            double weight = indexedTerm.equals(term) ? 1.0 : PREFIX_WEIGHT;
+            double idf = idf(postings.size());
+            postings.forEach((docId, positions) ->
+                scores.merge(docId, weight * idf * bm25(positions.length, docId), Double::sum));
+        });
+        return scores;
+    }
+
+    private Map<String, Double> scorePhrase(List<String> phrase) {
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, int[]> first = data.postings.get(phrase.get(0));
+        if (first == null) return scores;
+
+        double idfSum = 0;
+        for (String token : phrase) {
+            Map<String, int[]> postings = data.postings.get(token);
+            if (postings == null) return scores;
+            idfSum += idf(postings.size());
+        }
+
+        for (Map.Entry<String, int[]> entry : first.entrySet()) {
+            String docId = entry.getKey();
+            int occurrences = 0;
+            for (int start : entry.getValue()) {
+                if (phraseAt(phrase, docId, start)) occurrences++;
+            }
+            if (occurrences > 0) {
+                scores.put(docId, 2 * idfSum * bm25(occurrences, docId));
+            }
+        }
+        return scores;
+    }
+
+    private boolean phraseAt(List<String> phrase, String docId, int start) {
+        for (int i = 1; i < phrase.size(); i++) {
+            int[] positions = data.postings.get(phrase.get(i)).get(docId);
+            if (positions == null || Arrays.binarySearch(positions, start + i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Double> intersect(Map<String, Double> current, Map<String, Double> next) {
+        if (current == null) return next;
+        Map<String, Double> result = new HashMap<>();
+        current.forEach((docId, score) -> {
+            Double other = next.get(docId);
+            if (other != null) result.put(docId, score + other);
+        });
+        return result;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = data.documents.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(int termFrequency, String docId) {
+        double avgLength = data.documents.isEmpty() ? 1 : Math.max(1.0, data.totalLength / (double) data.documents.size());
+        int length = data.documents.get(docId).length;
+        return termFrequency * (K1 + 1) / (termFrequency + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private void addSession(InterviewSession session) {
+        if (session == null || session.getSessionId() == null) return;
+        String sessionId = session.getSessionId();
+
+        // Drop this session's previous answer documents, keep its analytics document
+        List<String> existing = data.sessionDocuments.getOrDefault(sessionId, new ArrayList<>());
+        for (String docId : new ArrayList<>(existing)) {
+            if (!docId.equals(analyticsDocId(sessionId))) {
+                removeDocument(docId);
+            }
+        }
+
+        String date = session.getStartTime() != null ? session.getStartTime().toString() : null;
+        for (InterviewQuestion question : session.getQuestions()) {
+            StringBuilder text = new StringBuilder();
+            appendLine(text, question.getQuestion());
+            appendLine(text, session.getUserAnswers().get(question.getId()));
+            appendLine(text, question.getFeedback());
+            appendLine(text, session.getFeedback().get(question.getId()));
+            if (text.length() == 0) continue;
+
+            IndexedDocument doc = new IndexedDocument();
+            doc.docId = sessionId + ":" + question.getId();
+            doc.sessionId = sessionId;
+            doc.questionId = question.getId();
+            doc.kind = "Answer";
+            doc.title = question.getQuestion();
+            doc.date = date;
+            doc.text = text.toString();
+            addDocument(doc);
+        }
+    }
+
+    private void addAnalytics(InterviewAnalytics analytics) {
+        if (analytics == null || analytics.getSessionId() == null) return;
+        String docId = analyticsDocId(analytics.getSessionId());
+        removeDocument(docId);
+
+        String feedback = analytics.getDetailedFeedback();
+        if (feedback == null || feedback.isBlank()) return;
+
+        LocalDateTime when = analytics.getSessionDate() != null ? analytics.getSessionDate() : analytics.getGeneratedAt();
+        IndexedDocument doc = new IndexedDocument();
+        doc.docId = docId;
+        doc.sessionId = analytics.getSessionId();
+        doc.kind = "Analytics";
+        doc.title = "Session feedback";
+        doc.date = when != null ? when.toString() : null;
+        doc.text = feedback;
+        addDocument(doc);
+    }
+
+    private void addDocument(IndexedDocument doc) {
+        List<String> tokens = tokenize(doc.text);
+        doc.length = tokens.size();
+
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            positions.computeIfAbsent(tokens.get(i), k -> new ArrayList<>()).add(i);
+        }
+        positions.forEach((term, list) -> data.postings
+            .computeIfAbsent(term, k -> new HashMap<>())
+            .put(doc.docId, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        data.documents.put(doc.docId, doc);
+        data.sessionDocuments.computeIfAbsent(doc.sessionId, k -> new ArrayList<>()).add(doc.docId);
+        data.totalLength += doc.length;
+        if (pending != null) {
+            pending.add(JournalEntry.add(doc));
+        }
+    }
+
+    private void removeDocument(String docId) {
+        IndexedDocument doc = data.documents.remove(docId);
+        if (doc == null) return;
+
+        for (String term : new HashSet<>(tokenize(doc.text))) {
+            Map<String, int[]> postings = data.postings.get(term);
+            if (postings != null) {
+                postings.remove(docId);
+                if (postings.isEmpty()) data.postings.remove(term);
+            }
+        }
+        List<String> sessionDocs = data.sessionDocuments.get(doc.sessionId);
+        if (sessionDocs != null) {
+            sessionDocs.remove(docId);
+            if (sessionDocs.isEmpty()) data.sessionDocuments.remove(doc.sessionId);
+        }
+        data.totalLength -= doc.length;
+        if (pending != null) {
+            pending.add(JournalEntry.remove(docId));
+        }
+    }
+
+    private SearchResult toResult(IndexedDocument doc, double score, String highlight) {
+        SearchResult result = new SearchResult();
+        result.setSessionId(doc.sessionId);
+        result.setQuestionId(doc.questionId);
+        result.setKind(doc.kind);
+        result.setTitle(doc.title);
+        result.setScore(score);
+        result.setDate(doc.date != null ? LocalDateTime.parse(doc.date) : null);
+        result.setSnippet(snippet(doc.text, highlight));
+        return result;
+    }
+
+    private static String snippet(String text, String highlight) {
+        String flat = text.replaceAll("\\s+", " ").trim();
+        int at = Math.max(0, flat.toLowerCase().indexOf(highlight));
+        int start = Math.max(0, at - SNIPPET_LENGTH / 4);
+        int end = Math.min(flat.length(), start + SNIPPET_LENGTH);
+        return (start > 0 ? "…" : "") + flat.substring(start, end) + (end < flat.length() ? "…" : "");
+    }
+
+    private static String analyticsDocId(String sessionId) {
+        return sessionId + ":analytics";
+    }
+
+    private static void appendLine(StringBuilder text, String line) {
+        if (line != null && !line.isBlank()) {
+            text.append(line).append('\n');
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        Matcher matcher = TOKEN.matcher(text.toLowerCase());
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private IndexData load() {
+        IndexData loaded = null;
+        try {
+            if (Files.exists(indexFile)) {
+                loaded = gson.fromJson(Files.readString(indexFile), IndexData.class);
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read search index, starting empty: {}", e.getMessage());
+        }
+        data = loaded != null ? loaded : new IndexData();
+        replayJournal();
+        log.info("Search index loaded with {} documents", data.documents.size());
+        return data;
+    }
+
+    /**
+     * Apply changes saved since the last snapshot; replaying one twice is harmless
+     */
+    private void replayJournal() {
+        if (!Files.exists(journalFile)) return;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                journalLines++;
+                try {
+                    JournalEntry entry = gson.fromJson(line, JournalEntry.class);
+                    if (entry == null) continue;
+                    if (entry.docId != null) {
+                        removeDocument(entry.docId);
+                    }
+                    if (entry.doc != null) {
+                        removeDocument(entry.doc.docId);
+                        addDocument(entry.doc);
+                    }
+                } catch (JsonParseException e) {
+                    // A line torn by a crash mid-append; that session is indexed again on its next save
+                    log.warn("Skipping unreadable search journal line {}", journalLines);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read search journal: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Append the current update's changes to the journal, or fold everything into a new
+     * snapshot once the journal is large
+     */
+    private void persist() {
+        List<JournalEntry> changes = pending;
+        pending = null;
+        if (changes == null || changes.isEmpty()) return;
+        // Half the corpus: snapshots grow geometrically, so rewriting them stays amortized O(1) per change
+        if (journalLines + changes.size() > Math.max(MIN_JOURNAL_BEFORE_SNAPSHOT, data.documents.size() / 2)) {
+            snapshot();
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (JournalEntry change : changes) {
+            lines.append(gson.toJson(change)).append('\n');
+        }
+        try {
+            Files.createDirectories(journalFile.getParent());
+            Files.writeString(journalFile, lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journalLines += changes.size();
+        } catch (IOException e) {
+            log.error("Error saving search index", e);
+        }
+    }
+
+    private void snapshot() {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            Files.writeString(tmp, gson.toJson(data));
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // A crash before this line only leaves changes that are replayed harmlessly
+            Files.deleteIfExists(journalFile);
+            journalLines = 0;
+        } catch (IOException e) {
+            log.error("Error saving search index", e);
+        }
+    }
+
+    /**
+     * One journal line: a document added (doc) or removed (docId)
+     */
+    private static class JournalEntry {
+        IndexedDocument doc;
+        String docId;
+
+        static JournalEntry add(IndexedDocument doc) {
+            JournalEntry entry = new JournalEntry();
+            entry.doc = doc;
+            return entry;
+        }
+
+        static JournalEntry remove(String docId) {
+            JournalEntry entry = new JournalEntry();
+            entry.docId = docId;
+            return entry;
+        }
+    }
+
+    /**
+     * Persisted index state
+     */
+    private static class IndexData {
+        TreeMap<String, Map<String, int[]>> postings = new TreeMap<>(); // term -> docId -> positions
+        Map<String, IndexedDocument> documents = new HashMap<>();
+        Map<String, List<String>> sessionDocuments = new HashMap<>();  // sessionId -> docIds
+        long totalLength;
+    }
+
+    private static class IndexedDocument {
+        String docId;
+        String sessionId;
+        String questionId;
+        String kind;
+        String title;
+        String date;
+        String text;
+        int length;
+    }
+}
@@ -0,0 +1,93 @@
+package com.interviewprep.service;
+
+import org.bytedeco.javacv.Frame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pooled, reference-counted copy of one captured frame
+ * The {@link FrameBus} copies each grabbed frame into one of these once and hands the same
+ * buffer to every subscriber. Each holder calls {@link #release()} when done; the buffer goes
+ * back to the pool when the last reference is released. Subscribers must treat it as read-only.
+ */
+public final class SharedFrame {
+    private final FrameBus owner;
+    private final AtomicInteger references = new AtomicInteger();
+    private Frame frame;
+    private long captureNanos;
+    private long sequence;
+    private boolean key;
+
+    SharedFrame(FrameBus owner) {
+        this.owner = owner;
+    }
+
+    public Frame getFrame() {
+        return frame;
+    }
+
+    public long getCaptureNanos() {
+        return captureNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Whether the frame opens a new GOP interval (see {@link VideoFrameQueue.DropPolicy#SKIP_NON_KEY})
+     */
+    public boolean isKey() {
+        return key;
+    }
+
+    public void retain() {
+        references.incrementAndGet();
+    }
+
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0 && owner != null) {
+            owner.recycle(this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Frame " + sequence + " released more often than retained");
+        }
+    }
+
+    int getReferenceCount() {
+        return references.get();
+    }
+
+    /**
+     * Fill from a grabbed frame; the caller holds the only reference afterwards
+     */
+    void fill(Frame src, long captureNanos, long sequence, boolean key) {
+        this.frame = copy(src, frame);
+        this.captureNanos = captureNanos;
+        this.sequence = sequence;
+        this.key = key;
+        references.set(1);
+    }
+
+    /**
+     * Copy image data into {@code dst}, allocating only when the geometry changes
+     */
+    static Frame copy(Frame src, Frame dst) {
+        if (dst == null || dst.imageWidth != src.imageWidth || dst.imageHeight != src.imageHeight
+                || dst.imageDepth != src.imageDepth || dst.imageChannels != src.imageChannels
+                || dst.imageStride != src.imageStride || !(src.image[0] instanceof ByteBuffer)) {
+            return src.clone();
+        }
+        for (int i = 0; i < src.image.length; i++) {
+            ByteBuffer from = ((ByteBuffer) src.image[i]).duplicate();
+            ByteBuffer to = (ByteBuffer) dst.image[i];
+            from.rewind();
+            to.clear();
+            to.put(from);
+            to.flip();
+        }
+        dst.timestamp = src.timestamp;
+        return dst;
+    }
+}
@@ -0,0 +1,384 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Long-lived speech worker: one synthesizer thread and one playback thread fed by a queue
+ * Text is split into sentences. Sentence N+1 is synthesized while sentence N plays, so the first
+ * audio is heard after one sentence is synthesized, not the whole question. A new utterance or
+ * {@link #cancel()} silences playback at once and drops queued and in-progress sentences. Each
+ * utterance's time to first audio (request to first sample written) is measured.
+ */
+@Slf4j
+public class SpeechPipeline {
+
+    /**
+     * Writes one sentence to a WAV file; called from the synthesizer thread only
+     */
+    public interface Synthesizer {
+        void synthesize(String sentence, Path wav) throws IOException, InterruptedException;
+
+        /**
+         * Get ready before the first sentence arrives (e.g. start a resident process)
+         */
+        default void warmUp() throws IOException, InterruptedException {
+        }
+
+        /**
+         * False when each call starts a process; the whole utterance is then synthesized in one
+         * call, since a process per sentence costs more than the overlap saves
+         */
+        default boolean isResident() {
+            return true;
+        }
+
+        default void close() {
+        }
+    }
+
+    /**
+     * Audio output; play and drain are called from the playback thread, stop from any thread
+     */
+    public interface Player {
+        /**
+         * Play a WAV, returning once it is written out or cancelled
+         * @param started run when the first audio is written
+         * @param cancelled checked between chunks; {@link #stop()} unblocks a pending write
+         */
+        void play(Path wav, Runnable started, BooleanSupplier cancelled) throws IOException, InterruptedException;
+
+        /**
+         * Wait until everything written has been heard, or until cancelled
+         */
+        void drain(BooleanSupplier cancelled) throws InterruptedException;
+
+        /**
+         * Silence playback now and discard what is buffered
+         */
+        void stop();
+
+        void close();
+    }
+
+    private final Synthesizer synthesizer;
+    private final Player player;
+    private final Path workDirectory;
+    private final BlockingQueue<Job> sentences = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Job> ready;
+    private final Thread synthesizerThread;
+    private final Thread playerThread;
+
+    // guarded by this
+    private long generation;
+    private int remaining;
+    private final Stats stats = new Stats();
+    private long synthesisNanos;
+    private long firstAudioNanos;
+
+    /**
+     * @param lookahead sentences synthesized ahead of the one playing
+     */
+    public SpeechPipeline(Synthesizer synthesizer, Player player, Path workDirectory, int lookahead) {
+        this.synthesizer = synthesizer;
+        this.player = player;
+        this.workDirectory = workDirectory;
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, lookahead));
+        this.synthesizerThread = new Thread(this::synthesizeLoop, "tts-synthesizer");
+        this.playerThread = new Thread(this::playLoop, "tts-player");
+        for (Thread thread : new Thread[] {synthesizerThread, playerThread}) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Pipeline using the tts.* settings: a resident PowerShell host on Windows, otherwise the
+     * system command (espeak or say) once per utterance, played through javax.sound
+     * @return the pipeline, or null when tts.engine is not "resident" or it cannot start
+     */
+    public static SpeechPipeline fromConfig(ConfigurationService config, JavaTTSService tts) {
+        if (!config.getBooleanProperty("tts.enabled", true)) return null;
+        if (!"resident".equalsIgnoreCase(config.getProperty("tts.engine", "resident").trim())) return null;
+        String voice = config.getProperty("tts.voice", "").trim();
+        try {
+            Path workDirectory = Files.createTempDirectory("tts-pipeline");
+            workDirectory.toFile().deleteOnExit();
+            Synthesizer synthesizer = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")
+                ? new PowerShellSpeechHost(voice)
+                : new CommandSynthesizer(tts, voice);
+            return new SpeechPipeline(synthesizer, new AudioLinePlayer(), workDirectory,
+                config.getIntProperty("tts.pipeline.lookahead", 1));
+        } catch (IOException e) {
+            log.warn("Speech pipeline unavailable, speaking with one process per question: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Speak text, replacing anything being spoken
+     */
+    public void speak(String text) {
+        long requested = System.nanoTime();
+        List<String> parts = synthesizer.isResident() ? sentences(text)
+            : text == null || text.isBlank() ? List.of() : List.of(text.strip());
+        if (parts.isEmpty()) return;
+        synchronized (this) {
+            long current = cancelLocked();
+            remaining = parts.size();
+            stats.utterances++;
+            for (int i = 0; i < parts.size(); i++) {
+                sentences.add(new Job(current, i, i == parts.size() - 1, parts.get(i),
+                    workDirectory.resolve(current + "-" + i + ".wav"), false, requested));
+            }
+        }
+    }
+
+    /**
+     * Play an already synthesized WAV (e.g. from the audio cache), replacing anything being spoken
+     */
+    public synchronized void play(Path wav) {
+        long current = cancelLocked();
+        remaining = 1;
+        stats.utterances++;
+        Job job = new Job(current, 0, true, null, wav, true, System.nanoTime());
+        // Straight to the player; only a stale sentence can be in the way
+        while (!ready.offer(job)) {
+            discardReady();
+        }
+    }
+
+    /**
+     * Stop speaking now; queued sentences are dropped and a sentence being synthesized is discarded
+     */
+    public synchronized void cancel() {
+        cancelLocked();
+    }
+
+    public synchronized boolean isSpeaking() {
+        return remaining > 0;
+    }
+
+    public synchronized Stats getStats() {
+        Stats copy = new Stats();
+        copy.utterances = stats.utterances;
+        copy.cancelled = stats.cancelled;
+        copy.sentencesSynthesized = stats.sentencesSynthesized;
+        copy.averageSynthesisMillis = stats.sentencesSynthesized > 0
+            ? synthesisNanos / stats.sentencesSynthesized / 1_000_000 : 0;
+        copy.firstAudioCount = stats.firstAudioCount;
+        copy.lastTimeToFirstAudioMillis = stats.lastTimeToFirstAudioMillis;
+        copy.averageTimeToFirstAudioMillis = stats.firstAudioCount > 0
+            ? firstAudioNanos / stats.firstAudioCount / 1_000_000 : 0;
+        return copy;
+    }
+
+    public void shutdown() {
+        cancel();
+        synthesizerThread.interrupt();
+        playerThread.interrupt();
+        synthesizer.close();
+        player.close();
+    }
+
+    /**
+     * Split text into sentences, keeping their punctuation
+     */
+    static List<String> sentences(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) return result;
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ENGLISH);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).strip();
+            if (!sentence.isEmpty()) {
+                result.add(sentence);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Start a new generation, dropping the current one's work
+     * @return the new generation
+     */
+    private long cancelLocked() {
+        if (remaining > 0) {
+            stats.cancelled++;
+        }
+        generation++;
+        remaining = 0;
+        sentences.clear();
+        discardReady();
+        player.stop();
+        return generation;
+    }
+
+    private void discardReady() {
+        List<Job> dropped = new ArrayList<>();
+        ready.drainTo(dropped);
+        for (Job job : dropped) {
+            discard(job);
+        }
+    }
+
+    private synchronized boolean isCurrent(Job job) {
+        return job.generation == generation;
+    }
+
+    private synchronized void finished(Job job) {
+        if (job.generation == generation && remaining > 0) {
+            remaining--;
+        }
+    }
+
+    private void synthesizeLoop() {
+        try {
+            try {
+                synthesizer.warmUp();
+            } catch (IOException e) {
+                log.warn("Speech synthesizer did not start: {}", e.getMessage());
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                Job job = sentences.take();
+                if (!isCurrent(job)) continue;
+                long start = System.nanoTime();
+                try {
+                    synthesizer.synthesize(job.text, job.wav);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not synthesize speech: {}", e.getMessage());
+                    discard(job);
+                    finished(job);
+                    continue;
+                }
+                synchronized (this) {
+                    synthesisNanos += System.nanoTime() - start;
+                    stats.sentencesSynthesized++;
+                }
+                if (!isCurrent(job)) {
+                    discard(job);
+                    continue;
+                }
+                // Blocks while the lookahead is full, i.e. until the player catches up
+                ready.put(job);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void playLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Job job = ready.take();
+                try {
+                    if (isCurrent(job)) {
+                        BooleanSupplier cancelled = () -> !isCurrent(job);
+                        player.play(job.wav, () -> firstAudio(job), cancelled);
+                        if (job.last) {
+                            player.drain(cancelled);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not play speech: {}", e.getMessage());
+                } finally {
+                    discard(job);
+                    finished(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void firstAudio(Job job) {
+        if (job.index != 0) return;
+        long nanos = System.nanoTime() - job.requestedNanos;
+        synchronized (this) {
+            if (job.generation != generation) return;
+            firstAudioNanos += nanos;
+            stats.firstAudioCount++;
+            stats.lastTimeToFirstAudioMillis = nanos / 1_000_000;
+        }
+        log.info("Time to first audio: {} ms{}", nanos / 1_000_000, job.keep ? " (cached)" : "");
+    }
+
+    private static void discard(Job job) {
+        if (job.keep) return;
+        try {
+            Files.deleteIfExists(job.wav);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", job.wav.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * The system speech command, one process per call
+     */
+    private static final class CommandSynthesizer implements Synthesizer {
+        private final JavaTTSService tts;
+        private final String voice;
+
+        CommandSynthesizer(JavaTTSService tts, String voice) {
+            this.tts = tts;
+            this.voice = voice;
+        }
+
+        @Override
+        public void synthesize(String utterance, Path wav) throws IOException, InterruptedException {
+            tts.synthesizeToFile(utterance, voice, wav);
+        }
+
+        @Override
+        public boolean isResident() {
+            return false;
+        }
+    }
+
+    /**
+     * One sentence of one utterance
+     */
+    private static final class Job {
+        final long generation;
+        final int index;
+        final boolean last;
+        final String text;
+        final Path wav;
+        final boolean keep;             // cached audio, not ours to delete
+        final long requestedNanos;
+
+        Job(long generation, int index, boolean last, String text, Path wav, boolean keep, long requestedNanos) {
+            this.generation = generation;
+            this.index = index;
+            this.last = last;
+            this.text = text;
+            this.wav = wav;
+            this.keep = keep;
+            this.requestedNanos = requestedNanos;
+        }
+    }
+
+    @Data
+    public static class Stats {
+        private long utterances;
+        private long cancelled;
+        private long sentencesSynthesized;
+        private long averageSynthesisMillis;
+        private long firstAudioCount;
+        private long lastTimeToFirstAudioMillis;
+        private long averageTimeToFirstAudioMillis;
+    }
+}
@@ -0,0 +1,41 @@
+package com.interviewprep.service;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+
+/**
+ * Speech-to-text backend used by {@link StreamingTranscriber}
+ * Engines receive self-contained chunks of PCM audio and may be called from several worker
+ * threads at once, so implementations must be thread-safe (or stateless per call).
+ */
+public interface SpeechToTextEngine {
+
+    String getName();
+
+    /**
+     * Whether the engine can run on this machine (binary and model present, etc.)
+     */
+    boolean isAvailable();
+
+    /**
+     * Transcribe one chunk of audio
+     * @return the recognized text, or an empty string for no speech
+     */
+    String transcribe(byte[] pcm, int offset, int length, AudioFormat format) throws IOException;
+
+    /**
+     * Engine selected by stt.* settings, or null when speech-to-text is disabled or unavailable
+     */
+    static SpeechToTextEngine fromConfig(ConfigurationService config) {
+        if (!config.getBooleanProperty("stt.enabled", false)) return null;
+
+        String name = config.getProperty("stt.engine", WhisperCppEngine.NAME);
+        SpeechToTextEngine engine;
+        if (WhisperCppEngine.NAME.equals(name)) {
+            engine = WhisperCppEngine.fromConfig(config);
+        } else {
+            throw new IllegalArgumentException("Unknown stt.engine: " + name);
+        }
+        return engine.isAvailable() ? engine : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.*;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage SPI for sessions, analytics, MCP context and recording metadata
+ * Implementations must be safe for concurrent use.
+ */
+public interface StorageBackend {
+    
+    /**
+     * Get the name of the backend (for logs and benchmarks)
+     */
+    String getName();
+    
+    void saveSession(InterviewSession session) throws IOException;
+    
+    /**
+     * @return the session, or null if it does not exist
+     */
+    InterviewSession loadSession(String sessionId) throws IOException;
+    
+    /**
+     * Most recently saved sessions first
+     */
+    List<InterviewSession> listRecentSessions(int limit) throws IOException;
+    
+    /**
+     * @return true if a session was deleted
+     */
+    boolean deleteSession(String sessionId) throws IOException;
+    
+    void saveAnalytics(InterviewAnalytics analytics) throws IOException;
+    
+    /**
+     * @return the analytics, or null if none were saved for the session
+     */
+    InterviewAnalytics loadAnalytics(String sessionId) throws IOException;
+    
+    /**
+     * All analytics, in no particular order
+     */
+    List<InterviewAnalytics> listAnalytics() throws IOException;
+    
+    void saveMCPContext(MCPContext context) throws IOException;
+    
+    /**
+     * @return the stored context, or null if the user has none yet
+     */
+    MCPContext loadMCPContext(String userId) throws IOException;
+    
+    void saveRecording(InterviewRecording recording) throws IOException;
+    
+    /**
+     * @return the recording metadata, or null if it does not exist
+     */
+    InterviewRecording loadRecording(String recordingId) throws IOException;
+    
+    List<InterviewRecording> listRecordings() throws IOException;
+}
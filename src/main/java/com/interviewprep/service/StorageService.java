@@ -1,56 +1,80 @@
 package com.interviewprep.service;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.interviewprep.model.*;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
 import java.nio.file.*;
-import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * File-based storage service using JSON
- * No database required - all data stored as JSON files
+ * Storage service for sessions, analytics, MCP context and recordings
+ * Persistence is delegated to a pluggable StorageBackend (JSON files by default);
+ * analytics rollups, the search index and the document blob store are maintained on top of it.
  */
 @Slf4j
 public class StorageService {
-    private final Gson gson;
+    private final StorageBackend backend;
     private final String dataDirectory;
+    private final AnalyticsRollupService rollupService;
+    private final SearchIndexService searchIndex;
+    private final DocumentBlobStore documentStore;
     
     public StorageService(String dataDirectory) {
+        this(new JsonFileStorageBackend(dataDirectory), dataDirectory);
+    }
+    
+    /**
+     * @param backend persistence backend for records
+     * @param dataDirectory where derived data (rollups, search index) is kept
+     */
+    public StorageService(StorageBackend backend, String dataDirectory) {
+        this.backend = backend;
         this.dataDirectory = dataDirectory;
-        this.gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .create();
         initializeDirectories();
+        
+        this.rollupService = new AnalyticsRollupService(
+            Paths.get(dataDirectory, "rollups", "analytics_contributions.jsonl"));
+        if (!rollupService.isPersisted()) {
+            rollupService.rebuild(getAllAnalytics());
+        }
+        
+        this.searchIndex = new SearchIndexService(
+            Paths.get(dataDirectory, "index", "search_index.json"));
+        if (!searchIndex.isPersisted()) {
+            searchIndex.rebuild(getRecentSessions(Integer.MAX_VALUE), getAllAnalytics());
+        }
+        
+        this.documentStore = new DocumentBlobStore(dataDirectory);
     }
     
     private void initializeDirectories() {
         try {
             Files.createDirectories(Paths.get(dataDirectory));
-            Files.createDirectories(Paths.get(dataDirectory, "sessions"));
-            Files.createDirectories(Paths.get(dataDirectory, "analytics"));
-            Files.createDirectories(Paths.get(dataDirectory, "mcp"));
-            log.info("Storage directories initialized: {}", dataDirectory);
+            Files.createDirectories(Paths.get(dataDirectory, "rollups"));
+            Files.createDirectories(Paths.get(dataDirectory, "index"));
+            log.info("Storage directories initialized: {} (backend: {})", dataDirectory, backend.getName());
         } catch (IOException e) {
             log.error("Failed to create storage directories", e);
         }
     }
     
+    public StorageBackend getBackend() {
+        return backend;
+    }
+    
+    public DocumentBlobStore getDocumentStore() {
+        return documentStore;
+    }
+    
     /**
      * Save interview session
      */
     public void saveSession(InterviewSession session) {
         try {
-            String fileName = session.getSessionId() + ".json";
-            Path filePath = Paths.get(dataDirectory, "sessions", fileName);
-            String json = gson.toJson(session);
-            Files.writeString(filePath, json);
+            backend.saveSession(session);
+            searchIndex.indexSession(session);
             log.info("Session saved: {}", session.getSessionId());
         } catch (IOException e) {
             log.error("Error saving session", e);
@@ -62,11 +86,7 @@ public class StorageService {
      */
     public InterviewSession loadSession(String sessionId) {
         try {
-            Path filePath = Paths.get(dataDirectory, "sessions", sessionId + ".json");
-            if (Files.exists(filePath)) {
-                String json = Files.readString(filePath);
-                return gson.fromJson(json, InterviewSession.class);
-            }
+            return backend.loadSession(sessionId);
         } catch (IOException e) {
             log.error("Error loading session: {}", sessionId, e);
         }
@@ -78,44 +98,38 @@ public class StorageService {
      */
     public List<InterviewSession> getRecentSessions(int limit) {
         try {
-            Path sessionsDir = Paths.get(dataDirectory, "sessions");
-            if (!Files.exists(sessionsDir)) return new ArrayList<>();
-            
-            return Files.list(sessionsDir)
-                    .filter(path -> path.toString().endsWith(".json"))
-                    .sorted(Comparator.comparing((Path path) -> {
-                        try {
-                            return Files.getLastModifiedTime(path);
-                        } catch (IOException e) {
-                            return FileTime.fromMillis(0);
-                        }
-                    }).reversed())
-                    .limit(limit)
-                    .map(path -> {
-                        try {
-                            String json = Files.readString(path);
-                            return gson.fromJson(json, InterviewSession.class);
-                        } catch (IOException e) {
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            return backend.listRecentSessions(limit);
         } catch (IOException e) {
             log.error("Error loading recent sessions", e);
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Delete a session and its search entries
+     */
+    public boolean deleteSession(String sessionId) {
+        try {
+            boolean deleted = backend.deleteSession(sessionId);
+            if (deleted) {
+                searchIndex.removeSession(sessionId);
+                log.info("Session deleted: {}", sessionId);
+            }
+            return deleted;
+        } catch (IOException e) {
+            log.error("Error deleting session: {}", sessionId, e);
+            return false;
+        }
+    }
+    
     /**
      * Save analytics
      */
     public void saveAnalytics(InterviewAnalytics analytics) {
         try {
-            String fileName = analytics.getSessionId() + "_analytics.json";
-            Path filePath = Paths.get(dataDirectory, "analytics", fileName);
-            String json = gson.toJson(analytics);
-            Files.writeString(filePath, json);
+            backend.saveAnalytics(analytics);
+            rollupService.record(analytics);
+            searchIndex.indexAnalytics(analytics);
             log.info("Analytics saved: {}", analytics.getSessionId());
         } catch (IOException e) {
             log.error("Error saving analytics", e);
@@ -127,11 +141,7 @@ public class StorageService {
      */
     public InterviewAnalytics loadAnalytics(String sessionId) {
         try {
-            Path filePath = Paths.get(dataDirectory, "analytics", sessionId + "_analytics.json");
-            if (Files.exists(filePath)) {
-                String json = Files.readString(filePath);
-                return gson.fromJson(json, InterviewAnalytics.class);
-            }
+            return backend.loadAnalytics(sessionId);
         } catch (IOException e) {
             log.error("Error loading analytics: {}", sessionId, e);
         }
@@ -143,37 +153,36 @@ public class StorageService {
      */
     public List<InterviewAnalytics> getAllAnalytics() {
         try {
-            Path analyticsDir = Paths.get(dataDirectory, "analytics");
-            if (!Files.exists(analyticsDir)) return new ArrayList<>();
-            
-            return Files.list(analyticsDir)
-                    .filter(path -> path.toString().endsWith(".json"))
-                    .map(path -> {
-                        try {
-                            String json = Files.readString(path);
-                            return gson.fromJson(json, InterviewAnalytics.class);
-                        } catch (IOException e) {
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .sorted(Comparator.comparing(InterviewAnalytics::getSessionDate).reversed())
-                    .collect(Collectors.toList());
+            List<InterviewAnalytics> all = new ArrayList<>(backend.listAnalytics());
+            all.sort(Comparator.comparing(InterviewAnalytics::getSessionDate,
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed());
+            return all;
         } catch (IOException e) {
             log.error("Error loading all analytics", e);
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Get pre-aggregated analytics rollups for trend views
+     */
+    public AnalyticsRollup getAnalyticsRollup() {
+        return rollupService.getRollup();
+    }
+    
+    /**
+     * Full-text search over questions, answers and feedback
+     */
+    public List<SearchResult> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+    
     /**
      * Save MCP context
      */
     public void saveMCPContext(MCPContext context) {
         try {
-            String fileName = context.getUserId() + "_mcp.json";
-            Path filePath = Paths.get(dataDirectory, "mcp", fileName);
-            String json = gson.toJson(context);
-            Files.writeString(filePath, json);
+            backend.saveMCPContext(context);
             log.info("MCP context saved: {}", context.getUserId());
         } catch (IOException e) {
             log.error("Error saving MCP context", e);
@@ -185,10 +194,9 @@ public class StorageService {
      */
     public MCPContext loadMCPContext(String userId) {
         try {
-            Path filePath = Paths.get(dataDirectory, "mcp", userId + "_mcp.json");
-            if (Files.exists(filePath)) {
-                String json = Files.readString(filePath);
-                return gson.fromJson(json, MCPContext.class);
+            MCPContext context = backend.loadMCPContext(userId);
+            if (context != null) {
+                return context;
             }
         } catch (IOException e) {
             log.error("Error loading MCP context: {}", userId, e);
@@ -197,71 +205,50 @@ public class StorageService {
     }
     
     /**
-     * Delete old recordings (cleanup)
+     * Save recording metadata
      */
-    public void cleanupOldRecordings(int daysToKeep) {
+    public void saveRecording(InterviewRecording recording) {
         try {
-            Path recordingsDir = Paths.get("recordings");
-            if (!Files.exists(recordingsDir)) return;
-            
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-            
-            Files.list(recordingsDir)
-                    .filter(Files::isDirectory)
-                    .filter(dir -> {
-                        try {
-                            FileTime fileTime = Files.getLastModifiedTime(dir);
-                            LocalDateTime modifiedDate = LocalDateTime.ofInstant(
-                                fileTime.toInstant(), 
-                                java.time.ZoneId.systemDefault()
-                            );
-                            return modifiedDate.isBefore(cutoffDate);
-                        } catch (IOException e) {
-                            return false;
-                        }
-                    })
-                    .forEach(dir -> {
-                        try {
-                            deleteDirectory(dir);
-                            log.info("Deleted old recording: {}", dir.getFileName());
-                        } catch (IOException e) {
-                            log.warn("Failed to delete directory: {}", dir, e);
-                        }
-                    });
+            backend.saveRecording(recording);
+            log.info("Recording metadata saved: {}", recording.getRecordingId());
         } catch (IOException e) {
-            log.error("Error cleaning up recordings", e);
+            log.error("Error saving recording metadata", e);
         }
     }
     
-    private void deleteDirectory(Path directory) throws IOException {
-        Files.walk(directory)
-                .sorted(Comparator.reverseOrder())
-                .forEach(path -> {
-                    try {
-                        Files.delete(path);
-                    } catch (IOException e) {
-                        log.warn("Failed to delete: {}", path, e);
-                    }
-                });
+    /**
+     * Load recording metadata
+     */
+    public InterviewRecording loadRecording(String recordingId) {
+        try {
+            return backend.loadRecording(recordingId);
+        } catch (IOException e) {
+            log.error("Error loading recording metadata: {}", recordingId, e);
+        }
+        return null;
     }
     
     /**
-     * LocalDateTime adapter for Gson
+     * Recording metadata for a session, or null if it was not recorded
      */
-    private static class LocalDateTimeAdapter implements com.google.gson.JsonSerializer<LocalDateTime>,
-            com.google.gson.JsonDeserializer<LocalDateTime> {
-        
-        @Override
-        public com.google.gson.JsonElement serialize(LocalDateTime src, java.lang.reflect.Type typeOfSrc,
-                                                      com.google.gson.JsonSerializationContext context) {
-            return new com.google.gson.JsonPrimitive(src.toString());
+    public InterviewRecording findRecordingForSession(String sessionId) {
+        for (InterviewRecording recording : getAllRecordings()) {
+            if (sessionId.equals(recording.getSessionId())) {
+                return recording;
+            }
         }
-        
-        @Override
-        public LocalDateTime deserialize(com.google.gson.JsonElement json, java.lang.reflect.Type typeOfT,
-                                        com.google.gson.JsonDeserializationContext context) {
-            return LocalDateTime.parse(json.getAsString());
+        return null;
+    }
+    
+    /**
+     * Get all recording metadata
+     */
+    public List<InterviewRecording> getAllRecordings() {
+        try {
+            return backend.listRecordings();
+        } catch (IOException e) {
+            log.error("Error loading recording metadata", e);
+            return new ArrayList<>();
         }
     }
 }
-
@@ -0,0 +1,322 @@
+package com.interviewprep.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Live transcription of the capture stream in overlapping chunks
+ * A reader thread cuts the tap into chunks of {@code chunkMillis} new audio, each prefixed with
+ * {@code overlapMillis} of the previous one so words on a boundary are heard whole. Chunks are
+ * recognized on a worker pool; results are re-ordered, the words repeated by the overlap are
+ * dropped, and each new piece of text is passed to the listener while the user keeps talking.
+ * Audio read while {@code suppressed} is true (the interviewer's question playing through the
+ * speakers) is replaced by silence, so the question is not transcribed as part of the answer.
+ */
+@Slf4j
+public class StreamingTranscriber {
+    public static final String TRANSCRIPT_FILE_NAME = "transcript.txt";
+    private static final double SILENCE_DBFS = -50;     // chunks quieter than this are not sent to the engine
+    private static final int MAX_OVERLAP_WORDS = 12;
+    private static final long READ_TIMEOUT_MILLIS = 100;
+
+    private final AudioRingBuffer.Tap tap;
+    private final SpeechToTextEngine engine;
+    private final AudioFormat format;
+    private final int bytesPerSecond;
+    private final int chunkBytes;
+    private final int overlapBytes;
+    private final ExecutorService workers;
+    private final Consumer<TranscriptChunk> listener;
+    private final BooleanSupplier suppressed;
+
+    // Reordering and merging, guarded by this
+    private final Map<Long, TranscriptChunk> completed = new HashMap<>();
+    private final List<TranscriptChunk> transcript = new ArrayList<>();
+    private final List<String> recentWords = new ArrayList<>();
+    private long nextToEmit;
+    private long submitted;
+
+    private Thread reader;
+
+    public StreamingTranscriber(AudioRingBuffer.Tap tap, AudioFormat format, SpeechToTextEngine engine,
+                                int chunkMillis, int overlapMillis, int workerCount,
+                                Consumer<TranscriptChunk> listener) {
+        this(tap, format, engine, chunkMillis, overlapMillis, workerCount, listener, () -> false);
+    }
+
+    /**
+     * @param suppressed true while the microphone is expected to hear our own playback
+     */
+    public StreamingTranscriber(AudioRingBuffer.Tap tap, AudioFormat format, SpeechToTextEngine engine,
+                                int chunkMillis, int overlapMillis, int workerCount,
+                                Consumer<TranscriptChunk> listener, BooleanSupplier suppressed) {
+        this.tap = tap;
+        this.suppressed = suppressed;
+        this.engine = engine;
+        this.format = format;
+        int frameSize = format.getFrameSize();
+        this.bytesPerSecond = (int) format.getFrameRate() * frameSize;
+        this.chunkBytes = align((long) chunkMillis * bytesPerSecond / 1000, frameSize);
+        this.overlapBytes = align((long) overlapMillis * bytesPerSecond / 1000, frameSize);
+        this.listener = listener;
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "stt-worker");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Transcribe an active recording using the stt.* settings
+     * @return the running transcriber, or null when the service is not recording
+     */
+    public static StreamingTranscriber start(AudioRecordingService audioService, SpeechToTextEngine engine,
+                                             ConfigurationService config, Consumer<TranscriptChunk> listener,
+                                             BooleanSupplier suppressed) {
+        AudioRingBuffer.Tap tap = audioService.openTap();
+        if (tap == null) return null;
+        StreamingTranscriber transcriber = new StreamingTranscriber(tap, audioService.getAudioFormat(), engine,
+            config.getIntProperty("stt.chunk.ms", 4000),
+            config.getIntProperty("stt.overlap.ms", 1000),
+            config.getIntProperty("stt.workers", 2),
+            listener, suppressed);
+        transcriber.start();
+        return transcriber;
+    }
+
+    public synchronized void start() {
+        if (reader != null) return;
+        reader = new Thread(this::readLoop, "stt-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Wait for the stream to end (the recording must be stopped first) and for every chunk to
+     * be recognized
+     * @return the merged transcript in stream order
+     */
+    public List<TranscriptChunk> finish(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        Thread thread;
+        synchronized (this) {
+            thread = reader;
+        }
+        if (thread != null) {
+            thread.join(timeoutMillis);
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+            log.warn("Transcription did not finish in {} ms; transcript may be incomplete", timeoutMillis);
+            workers.shutdownNow();
+        }
+        synchronized (this) {
+            return new ArrayList<>(transcript);
+        }
+    }
+
+    /**
+     * Plain text of everything merged so far
+     */
+    public synchronized String getText() {
+        return joinText(transcript);
+    }
+
+    /**
+     * Write the transcript with stream timestamps, atomically
+     */
+    public static Path writeTranscript(List<TranscriptChunk> chunks, Path recordingDir) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (TranscriptChunk chunk : chunks) {
+            if (chunk.getText().isEmpty()) continue;
+            text.append(String.format("[%s - %s] %s%n",
+                formatTime(chunk.getStartMillis()), formatTime(chunk.getEndMillis()), chunk.getText()));
+        }
+        Files.createDirectories(recordingDir);
+        Path target = recordingDir.resolve(TRANSCRIPT_FILE_NAME);
+        Path tmp = recordingDir.resolve(TRANSCRIPT_FILE_NAME + ".tmp");
+        Files.writeString(tmp, text.toString());
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    public static String joinText(List<TranscriptChunk> chunks) {
+        StringBuilder text = new StringBuilder();
+        for (TranscriptChunk chunk : chunks) {
+            if (chunk.getText().isEmpty()) continue;
+            if (text.length() > 0) text.append(' ');
+            text.append(chunk.getText());
+        }
+        return text.toString();
+    }
+
+    private void readLoop() {
+        // window holds [overlap | new audio]; the tail is carried into the next chunk
+        byte[] window = new byte[overlapBytes + chunkBytes];
+        int filled = 0;
+        int carried = 0;
+        long windowStart = tap.getPosition();
+        try {
+            while (true) {
+                int read = tap.read(window, filled, window.length - filled, READ_TIMEOUT_MILLIS);
+                if (read < 0) break;
+                if (suppressed.getAsBoolean()) {
+                    // Reads return within READ_TIMEOUT_MILLIS of capture, close enough to blank the playback
+                    Arrays.fill(window, filled, filled + read, (byte) 0);
+                }
+                if (tap.getPosition() != windowStart + filled + read) {
+                    // The tap skipped ahead (we fell a buffer behind); restart the window after the gap
+                    System.arraycopy(window, filled, window, 0, read);
+                    windowStart = tap.getPosition() - read;
+                    filled = 0;
+                    carried = 0;
+                }
+                filled += read;
+                if (filled == window.length) {
+                    submit(window, filled, windowStart, carried);
+                    System.arraycopy(window, filled - overlapBytes, window, 0, overlapBytes);
+                    windowStart += filled - overlapBytes;
+                    carried = overlapBytes;
+                    filled = overlapBytes;
+                }
+            }
+            // Flush the tail if it holds any new audio worth recognizing
+            if (filled - carried >= bytesPerSecond / 2) {
+                submit(window, filled, windowStart, carried);
+            }
+        } catch (RuntimeException e) {
+            log.error("Transcription reader stopped", e);
+        }
+    }
+
+    private void submit(byte[] window, int length, long windowStartByte, int overlapLength) {
+        long sequence;
+        synchronized (this) {
+            sequence = submitted++;
+        }
+        long startMillis = windowStartByte * 1000 / bytesPerSecond;
+        long endMillis = (windowStartByte + length) * 1000 / bytesPerSecond;
+        long newAudioStartMillis = (windowStartByte + overlapLength) * 1000 / bytesPerSecond;
+
+        if (rmsDecibels(window, length) < SILENCE_DBFS) {
+            complete(sequence, new TranscriptChunk(sequence, newAudioStartMillis, endMillis, ""));
+            return;
+        }
+
+        byte[] audio = Arrays.copyOf(window, length);
+        try {
+            workers.execute(() -> {
+                String text;
+                try {
+                    text = engine.transcribe(audio, 0, audio.length, format);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("{} failed on chunk {} ({} ms): {}", engine.getName(), sequence, startMillis, e.getMessage());
+                    text = "";
+                }
+                complete(sequence, new TranscriptChunk(sequence, newAudioStartMillis, endMillis, text == null ? "" : text.trim()));
+            });
+        } catch (RejectedExecutionException e) {
+            complete(sequence, new TranscriptChunk(sequence, newAudioStartMillis, endMillis, ""));
+        }
+    }
+
+    /**
+     * Accept a recognized chunk, then emit every chunk that is now next in stream order
+     * The listener is called under the lock so text always arrives in order; it must not block.
+     */
+    private synchronized void complete(long sequence, TranscriptChunk chunk) {
+        completed.put(sequence, chunk);
+        TranscriptChunk next;
+        while ((next = completed.remove(nextToEmit)) != null) {
+            next.setText(dropOverlap(next.getText()));
+            transcript.add(next);
+            nextToEmit++;
+            if (listener != null && !next.getText().isEmpty()) {
+                listener.accept(next);
+            }
+        }
+    }
+
+    /**
+     * Remove the leading words that repeat the end of the transcript (heard twice due to overlap)
+     */
+    private String dropOverlap(String text) {
+        if (text.isEmpty()) return text;
+        String[] words = text.split("\\s+");
+        int longest = 0;
+        int max = Math.min(Math.min(MAX_OVERLAP_WORDS, words.length), recentWords.size());
+        for (int k = max; k > 0; k--) {
+            boolean match = true;
+            for (int i = 0; i < k && match; i++) {
+                match = normalize(recentWords.get(recentWords.size() - k + i)).equals(normalize(words[i]));
+            }
+            if (match) {
+                longest = k;
+                break;
+            }
+        }
+
+        StringBuilder kept = new StringBuilder();
+        for (int i = longest; i < words.length; i++) {
+            if (kept.length() > 0) kept.append(' ');
+            kept.append(words[i]);
+            recentWords.add(words[i]);
+        }
+        if (recentWords.size() > MAX_OVERLAP_WORDS) {
+            recentWords.subList(0, recentWords.size() - MAX_OVERLAP_WORDS).clear();
+        }
+        return kept.toString();
+    }
+
+    private static String normalize(String word) {
+        return word.replaceAll("[^\\p{L}\\p{N}']", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static double rmsDecibels(byte[] pcm, int length) {
+        long sumOfSquares = 0;
+        int samples = length / 2;
+        for (int i = 0; i + 1 < length; i += 2) {
+            int sample = (short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8));
+            sumOfSquares += (long) sample * sample;
+        }
+        if (samples == 0 || sumOfSquares == 0) return -96;
+        return 20 * Math.log10(Math.sqrt((double) sumOfSquares / samples) / 32768.0);
+    }
+
+    private static int align(long bytes, int frameSize) {
+        return (int) (bytes - bytes % frameSize);
+    }
+
+    private static String formatTime(long millis) {
+        return String.format("%02d:%02d.%d", millis / 60000, (millis / 1000) % 60, (millis % 1000) / 100);
+    }
+
+    /**
+     * Text recognized for one chunk, after overlap removal; times are of the chunk's new audio
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TranscriptChunk {
+        private long sequence;
+        private long startMillis;
+        private long endMillis;
+        private String text;
+    }
+}
@@ -0,0 +1,179 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spoken questions synthesized ahead of time to WAV files, keyed by text and voice
+ * Starting a synthesizer (PowerShell and System.Speech in particular) takes seconds, so questions
+ * are synthesized on a background thread as soon as they are generated, first question first.
+ * Playing a cached file then starts at once. Files are named by the SHA-256 of voice and text, so
+ * a question asked again in a later session is not synthesized again. The least recently played
+ * files are removed once the cache grows past its size limit.
+ */
+@Slf4j
+public class TtsAudioCache {
+    public static final String DIRECTORY_NAME = "tts_cache";
+    private static final String EXTENSION = ".wav";
+
+    /**
+     * Writes {@code text} spoken in {@code voice} (empty for the system default) to a WAV file
+     */
+    @FunctionalInterface
+    public interface Synthesizer {
+        void synthesize(String text, String voice, Path wav) throws IOException, InterruptedException;
+    }
+
+    private final Path directory;
+    private final String voice;
+    private final Synthesizer synthesizer;
+    private final long maxBytes;
+    private final ExecutorService worker;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public TtsAudioCache(Path directory, String voice, Synthesizer synthesizer, long maxBytes) {
+        this.directory = directory;
+        this.voice = voice != null ? voice.strip() : "";
+        this.synthesizer = synthesizer;
+        this.maxBytes = maxBytes;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "tts-prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Cache using the tts.* settings, synthesizing with the system voice
+     * @return the cache, or null when disabled
+     */
+    public static TtsAudioCache fromConfig(ConfigurationService config, JavaTTSService tts, String storagePath) {
+        if (!config.getBooleanProperty("tts.cache.enabled", true)) return null;
+        return new TtsAudioCache(Paths.get(storagePath, DIRECTORY_NAME), config.getProperty("tts.voice", ""),
+            tts::synthesizeToFile, config.getIntProperty("tts.cache.max.mb", 50) * 1024L * 1024L);
+    }
+
+    /**
+     * Synthesize texts in order in the background, skipping those already cached or queued
+     */
+    public void prefetch(List<String> texts) {
+        for (String text : texts) {
+            prefetch(text);
+        }
+    }
+
+    /**
+     * @return the cached file once synthesized, or null if synthesis failed
+     */
+    public CompletableFuture<Path> prefetch(String text) {
+        Path cached = lookup(text);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        String key = key(text);
+        return inFlight.computeIfAbsent(key, k -> {
+            CompletableFuture<Path> future = CompletableFuture.supplyAsync(() -> synthesize(text, k), worker);
+            future.whenComplete((path, error) -> inFlight.remove(k));
+            return future;
+        });
+    }
+
+    /**
+     * The cached audio for a text, or null if it has not been synthesized (yet)
+     */
+    public Path lookup(String text) {
+        Path file = directory.resolve(key(text) + EXTENSION);
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            // Modification time doubles as last use, for pruning
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Could not touch {}: {}", file.getFileName(), e.getMessage());
+        }
+        return file;
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    String key(String text) {
+        String normalized = text.strip().replaceAll("\\s+", " ");
+        return DocumentBlobStore.sha256Hex((voice + "\n" + normalized).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path synthesize(String text, String key) {
+        Path target = directory.resolve(key + EXTENSION);
+        Path tmp = directory.resolve(key + ".tmp" + EXTENSION);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            synthesizer.synthesize(text, voice, tmp);
+            // Reject empty or truncated output rather than caching it
+            AudioSystem.getAudioFileFormat(tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Synthesized question audio {} in {} ms ({} chars)", key.substring(0, 12),
+                (System.nanoTime() - start) / 1_000_000, text.length());
+            prune();
+            return target;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            log.warn("Could not synthesize question audio: {}", e.getMessage());
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                log.debug("Could not delete {}: {}", tmp.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently used files until the cache fits its size limit
+     */
+    void prune() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+                .filter(p -> !p.getFileName().toString().endsWith(".tmp" + EXTENSION))
+                .collect(Collectors.toCollection(ArrayList::new));
+        }
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        if (total <= maxBytes) return;
+
+        files.sort(Comparator.comparing(TtsAudioCache::lastModified));
+        for (Path file : files) {
+            if (total <= maxBytes) break;
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            total -= size;
+            log.debug("Pruned cached question audio {}", file.getFileName());
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
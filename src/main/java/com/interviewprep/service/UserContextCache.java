@@ -0,0 +1,257 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.MCPContext;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Each user's MCP context, kept in memory for the users seen most recently
+ * A context is loaded from storage on first use and changed in memory; changes are written
+ * back every few seconds, when the context is evicted to make room, and on shutdown.
+ * Access to one user's context is serialized by a lock chosen by user id from a fixed set of
+ * stripes, so different users rarely wait for each other and loading one user's context from
+ * disk does not hold up the rest. MCPContext itself is not thread-safe: use it only inside
+ * {@link #read} and {@link #update}, and don't keep references to its collections.
+ */
+@Slf4j
+public class UserContextCache {
+    private final StorageService storageService;
+    private final int maxUsers;
+    private final long writeBackSeconds;
+    private final ReentrantLock[] stripes;
+    // guarded by itself; access order, so the first key is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private ScheduledExecutorService writer;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+
+    /**
+     * @param maxUsers contexts kept in memory before the least recently used is written back and dropped
+     * @param lockStripes number of locks user ids are spread over
+     * @param writeBackSeconds how often changed contexts are saved; 0 to save only on eviction and shutdown
+     */
+    public UserContextCache(StorageService storageService, int maxUsers, int lockStripes, long writeBackSeconds) {
+        this.storageService = storageService;
+        this.maxUsers = Math.max(1, maxUsers);
+        this.writeBackSeconds = writeBackSeconds;
+        this.stripes = new ReentrantLock[Math.max(1, lockStripes)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Cache using the mcp.cache.* settings
+     */
+    public static UserContextCache fromConfig(ConfigurationService config, StorageService storageService) {
+        return new UserContextCache(storageService,
+            config.getIntProperty("mcp.cache.max.users", 256),
+            config.getIntProperty("mcp.cache.lock.stripes", 32),
+            config.getIntProperty("mcp.cache.writeback.seconds", 30));
+    }
+
+    /**
+     * Start saving changed contexts in the background
+     */
+    public synchronized void start() {
+        if (writer != null || writeBackSeconds <= 0) return;
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mcp-writeback");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flush, writeBackSeconds, writeBackSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Look at a user's context while holding its lock; copy out what you need
+     */
+    public <T> T read(String userId, Function<MCPContext, T> reader) {
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            return reader.apply(entry(userId).context);
+        } finally {
+            lock.unlock();
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Change a user's context while holding its lock; the change is saved by the next write-back
+     * The callback must not use the cache for another user.
+     */
+    public void update(String userId, Consumer<MCPContext> change) {
+        ReentrantLock lock = stripe(userId);
+        lock.lock();
+        try {
+            Entry entry = entry(userId);
+            change.accept(entry.context);
+            entry.dirty = true;
+        } finally {
+            lock.unlock();
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Save every changed context now
+     */
+    public void flush() {
+        List<Map.Entry<String, Entry>> snapshot;
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries.entrySet());
+        }
+        for (Map.Entry<String, Entry> cached : snapshot) {
+            ReentrantLock lock = stripe(cached.getKey());
+            lock.lock();
+            try {
+                if (cached.getValue().dirty) {
+                    save(cached.getValue());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stop the background writer and save every changed context
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (writer != null) {
+                writer.shutdownNow();
+                writer = null;
+            }
+        }
+        flush();
+        log.info("User context cache: {}", getStats());
+    }
+
+    public Stats getStats() {
+        Stats stats = new Stats();
+        synchronized (entries) {
+            stats.users = entries.size();
+        }
+        stats.maxUsers = maxUsers;
+        stats.hits = hits.get();
+        stats.misses = misses.get();
+        stats.evictions = evictions.get();
+        stats.writes = writes.get();
+        stats.writeFailures = writeFailures.get();
+        return stats;
+    }
+
+    /**
+     * The cached entry for a user, loading it on a miss; caller holds the user's stripe
+     */
+    private Entry entry(String userId) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry;
+            }
+        }
+        // Only the user's stripe is held while reading from disk
+        misses.incrementAndGet();
+        Entry entry = new Entry(storageService.loadMCPContext(userId));
+        synchronized (entries) {
+            entries.put(userId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Drop least recently used contexts past the limit, saving them first if changed
+     * Called with no stripe held, so the victim's stripe can be taken without deadlock.
+     */
+    private void evictOverflow() {
+        while (true) {
+            String victim;
+            synchronized (entries) {
+                if (entries.size() <= maxUsers) return;
+                victim = entries.keySet().iterator().next();
+            }
+            ReentrantLock lock = stripe(victim);
+            lock.lock();
+            try {
+                Entry entry;
+                synchronized (entries) {
+                    if (entries.size() <= maxUsers) return;
+                    entry = entries.remove(victim);
+                }
+                if (entry == null) continue;
+                evictions.incrementAndGet();
+                if (entry.dirty && !save(entry)) {
+                    // Keep it rather than lose the change; the next write-back retries
+                    synchronized (entries) {
+                        entries.put(victim, entry);
+                    }
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Write a context through to storage; caller holds its stripe
+     */
+    private boolean save(Entry entry) {
+        try {
+            storageService.getBackend().saveMCPContext(entry.context);
+            entry.dirty = false;
+            writes.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            writeFailures.incrementAndGet();
+            log.error("Error saving MCP context: {}", entry.context.getUserId(), e);
+            return false;
+        }
+    }
+
+    private ReentrantLock stripe(String userId) {
+        return stripes[(userId.hashCode() & 0x7fffffff) % stripes.length];
+    }
+
+    private static final class Entry {
+        final MCPContext context;
+        boolean dirty; // guarded by the user's stripe
+
+        Entry(MCPContext context) {
+            this.context = context;
+        }
+    }
+
+    @Data
+    public static class Stats {
+        private int users;
+        private int maxUsers;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long writes;
+        private long writeFailures;
+    }
+}
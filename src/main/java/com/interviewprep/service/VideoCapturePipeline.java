@@ -0,0 +1,180 @@
+package com.interviewprep.service;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FrameRecorder;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Encoding side of video capture: drains one {@link FrameBus} subscription into a recorder
+ * The bus thread only grabs, stamps and shares frames; the encoder thread takes them from its
+ * bounded queue at its own pace. Each frame is encoded at the position of its capture time, so
+ * frames lost to a slow encoder leave a gap instead of shifting later video.
+ */
+@Slf4j
+public class VideoCapturePipeline {
+    private static final long TAKE_TIMEOUT_MILLIS = 100;
+
+    private final VideoFrameQueue queue;
+    private final FrameRecorder recorder;
+    private final double frameRate;
+    private volatile boolean running;
+    private Thread encoderThread;
+    private long startNanos;
+    private volatile long stopNanos;
+    private LongConsumer encodeTimeListener;
+
+    // Encoder statistics, guarded by this
+    private long encoded;
+    private long late;
+    private long totalEncodeNanos;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private volatile Exception failure;
+
+    /**
+     * @param queue the encoder's subscription on the frame bus
+     * @param recorder started recorder
+     */
+    public VideoCapturePipeline(VideoFrameQueue queue, FrameRecorder recorder, double frameRate) {
+        this.queue = queue;
+        this.recorder = recorder;
+        this.frameRate = frameRate;
+    }
+
+    /**
+     * Receives the time spent in the encoder for each frame, on the encoder thread
+     */
+    public void setEncodeTimeListener(LongConsumer listener) {
+        this.encodeTimeListener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        startNanos = System.nanoTime();
+        encoderThread = new Thread(this::encodeLoop, "video-encoder");
+        encoderThread.start();
+    }
+
+    /**
+     * Stop taking new frames, then let the encoder finish what is queued
+     * @return final statistics
+     */
+    public VideoPipelineStats stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        stopNanos = System.nanoTime();
+        queue.close();
+        if (encoderThread != null) {
+            encoderThread.join(timeoutMillis);
+            if (encoderThread.isAlive()) {
+                log.warn("Video encoder still has {} frames queued after {} ms", queue.size(), timeoutMillis);
+            }
+        }
+        return getStats();
+    }
+
+    public synchronized VideoPipelineStats getStats() {
+        VideoPipelineStats stats = new VideoPipelineStats();
+        stats.setPolicy(queue.getPolicy());
+        stats.setQueueCapacity(queue.getCapacity());
+        stats.setCaptured(queue.getOfferedCount());
+        stats.setDropped(queue.getDroppedCount());
+        stats.setEncoded(encoded);
+        stats.setLate(late);
+        stats.setQueued(queue.size());
+        stats.setMaxQueueDepth(queue.getMaxDepth());
+        stats.setMeanEncodeMillis(encoded > 0 ? totalEncodeNanos / encoded / 1e6 : 0);
+        stats.setMeanLatencyMillis(encoded > 0 ? totalLatencyNanos / encoded / 1e6 : 0);
+        stats.setMaxLatencyMillis(maxLatencyNanos / 1e6);
+        stats.setDurationMillis(((stopNanos > 0 ? stopNanos : System.nanoTime()) - startNanos) / 1_000_000);
+        return stats;
+    }
+
+    /**
+     * Capture time that encoded position zero corresponds to
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Error that stopped the encoder, or null
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    private void encodeLoop() {
+        try {
+            while (!queue.isDrained()) {
+                SharedFrame frame = queue.take(TAKE_TIMEOUT_MILLIS);
+                if (frame == null) continue;
+                try {
+                    encode(frame);
+                } finally {
+                    frame.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Video encoding stopped", e);
+            failure = e;
+            running = false;
+            queue.discard();
+        }
+    }
+
+    private void encode(SharedFrame slot) throws FrameRecorder.Exception {
+        long micros = Math.max(0, slot.getCaptureNanos() - startNanos) / 1000;
+        int frameNumber = (int) Math.round(micros * frameRate / 1_000_000);
+        boolean onTime = frameNumber >= recorder.getFrameNumber();
+        if (onTime) {
+            // Leave a gap for frames that were dropped; timing stays tied to capture
+            recorder.setFrameNumber(frameNumber);
+        }
+        // else capture jitter put two frames in one slot: take the next free position
+        long started = System.nanoTime();
+        recorder.record(slot.getFrame());
+        long finished = System.nanoTime();
+        if (encodeTimeListener != null) {
+            encodeTimeListener.accept(finished - started);
+        }
+
+        long latency = finished - slot.getCaptureNanos();
+        synchronized (this) {
+            encoded++;
+            if (!onTime) late++;
+            totalEncodeNanos += finished - started;
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+    }
+
+    /**
+     * Frame counters, time in the encoder and capture-to-encoded latency
+     */
+    @Data
+    public static class VideoPipelineStats {
+        private VideoFrameQueue.DropPolicy policy;
+        private int queueCapacity;
+        private long captured;
+        private long encoded;
+        private long dropped;
+        private long late;          // encoded one position after their capture slot
+        private int queued;
+        private int maxQueueDepth;
+        private double meanEncodeMillis;
+        private double meanLatencyMillis;
+        private double maxLatencyMillis;
+        private long durationMillis;
+
+        @Override
+        public String toString() {
+            return String.format("%d captured, %d encoded, %d dropped (%s, queue %d/%d max), encode %.1f ms/frame, latency %.1f ms mean / %.1f ms max",
+                captured, encoded, dropped, policy, maxQueueDepth, queueCapacity, meanEncodeMillis, meanLatencyMillis, maxLatencyMillis);
+        }
+    }
+}
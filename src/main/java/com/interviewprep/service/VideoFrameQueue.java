@@ -0,0 +1,190 @@
+package com.interviewprep.service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * One subscriber's bounded queue of frames from the {@link FrameBus}
+ * Holds references to shared frames rather than copies. When the queue is full the
+ * {@link DropPolicy} decides which frame this subscriber loses; the capture thread never waits,
+ * and a slow subscriber never costs another subscriber frames. An optional frame-rate cap
+ * (e.g. 15 fps for a preview) makes the bus skip the subscriber for frames it does not want.
+ */
+public class VideoFrameQueue {
+
+    public enum DropPolicy {
+        /** Evict the oldest queued frame: keeps latency low, video jumps forward */
+        DROP_OLDEST,
+        /** Discard the incoming frame: keeps what is queued, newest motion is lost */
+        DROP_NEWEST,
+        /**
+         * Discard incoming frames except those starting a new GOP interval, which evict the
+         * oldest other frame: under load the encoder still gets one frame per interval
+         */
+        SKIP_NON_KEY;
+
+        public static DropPolicy fromName(String name) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "oldest":
+                    return DROP_OLDEST;
+                case "newest":
+                    return DROP_NEWEST;
+                case "skip-non-key":
+                    return SKIP_NON_KEY;
+                default:
+                    throw new IllegalArgumentException("Unknown video.queue.drop.policy: " + name);
+            }
+        }
+    }
+
+    private final String name;
+    private final DropPolicy policy;
+    private final int capacity;
+    private final long minIntervalNanos;
+    private final ArrayDeque<SharedFrame> ready = new ArrayDeque<>();
+    private boolean closed;
+    private long lastAcceptedNanos = Long.MIN_VALUE;
+    private long offered;
+    private long dropped;
+    private int maxDepth;
+
+    public VideoFrameQueue(int capacity, DropPolicy policy) {
+        this("queue", capacity, policy, 0);
+    }
+
+    /**
+     * @param maxFps frames per second this subscriber wants at most; 0 for every frame
+     */
+    public VideoFrameQueue(String name, int capacity, DropPolicy policy, double maxFps) {
+        this.name = name;
+        this.capacity = Math.max(1, capacity);
+        this.policy = policy;
+        // Accept a frame slightly early so capture jitter does not halve the rate
+        this.minIntervalNanos = maxFps > 0 ? (long) (0.9e9 / maxFps) : 0;
+    }
+
+    /**
+     * Whether a frame captured at this time should be offered; lets the bus skip work
+     */
+    public synchronized boolean wants(long captureNanos) {
+        return !closed && (minIntervalNanos == 0 || lastAcceptedNanos == Long.MIN_VALUE
+            || captureNanos - lastAcceptedNanos >= minIntervalNanos);
+    }
+
+    /**
+     * Queue a reference to the frame (retained on success); never blocks
+     * @return false if this subscriber dropped the frame
+     */
+    public synchronized boolean offer(SharedFrame frame) {
+        if (closed) return false;
+        offered++;
+        lastAcceptedNanos = frame.getCaptureNanos();
+        if (ready.size() >= capacity && !evictFor(frame)) {
+            dropped++;
+            return false;
+        }
+        frame.retain();
+        ready.addLast(frame);
+        maxDepth = Math.max(maxDepth, ready.size());
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Next frame in capture order; call {@link SharedFrame#release()} once done with it
+     * @return the frame, or null on timeout or once closed and drained
+     */
+    public synchronized SharedFrame take(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (ready.isEmpty() && !closed) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return null;
+            wait(remaining);
+        }
+        return ready.pollFirst();
+    }
+
+    /**
+     * Stop accepting frames; queued frames can still be taken
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Close and release everything still queued
+     */
+    public synchronized void discard() {
+        close();
+        SharedFrame frame;
+        while ((frame = ready.pollFirst()) != null) {
+            frame.release();
+        }
+    }
+
+    public synchronized boolean isDrained() {
+        return closed && ready.isEmpty();
+    }
+
+    public synchronized int size() {
+        return ready.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public DropPolicy getPolicy() {
+        return policy;
+    }
+
+    public synchronized long getOfferedCount() {
+        return offered;
+    }
+
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    public synchronized int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Make room for an incoming frame if the policy allows; false drops the incoming frame
+     */
+    private boolean evictFor(SharedFrame incoming) {
+        SharedFrame evicted = null;
+        switch (policy) {
+            case DROP_OLDEST:
+                evicted = ready.pollFirst();
+                break;
+            case SKIP_NON_KEY:
+                if (!incoming.isKey()) return false;
+                for (Iterator<SharedFrame> it = ready.iterator(); it.hasNext(); ) {
+                    SharedFrame queued = it.next();
+                    if (!queued.isKey()) {
+                        it.remove();
+                        evicted = queued;
+                        break;
+                    }
+                }
+                if (evicted == null) {
+                    evicted = ready.pollFirst();
+                }
+                break;
+            case DROP_NEWEST:
+            default:
+                return false;
+        }
+        dropped++;
+        evicted.release();
+        return true;
+    }
+}
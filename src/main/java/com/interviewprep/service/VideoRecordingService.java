@@ -1,26 +1,78 @@
 package com.interviewprep.service;
 
+import com.interviewprep.model.VideoSegmentIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.bytedeco.javacv.*;
 import org.bytedeco.opencv.global.opencv_imgproc;
 import org.bytedeco.opencv.opencv_core.*;
 
+import javax.sound.sampled.AudioFormat;
 import java.io.File;
 
 /**
  * Service for video recording using JavaCV
+ * A single {@link FrameBus} thread owns the webcam and shares each frame with the encoder
+ * ({@link VideoCapturePipeline}) and any other subscriber such as the preview, so a slow
+ * consumer drops its own frames by policy instead of stalling the webcam or the recording.
+ * With segmentation on, output is a series of short MP4 files indexed by question
+ * ({@link VideoSegmentTracker}), so a crash loses at most one segment; the index then stands
+ * for the recording wherever a video path is stored.
  */
 @Slf4j
 public class VideoRecordingService {
     private FrameGrabber grabber;
     private FFmpegFrameRecorder recorder;
-    private boolean isRecording = false;
-    private Thread recordingThread;
+    private volatile boolean isRecording = false;
+    private volatile FrameBus frameBus;
+    private VideoCapturePipeline pipeline;
+    private VideoCapturePipeline.VideoPipelineStats lastStats;
+    private int queueFrames = 8;
+    private VideoFrameQueue.DropPolicy dropPolicy = VideoFrameQueue.DropPolicy.DROP_OLDEST;
+    private AdaptiveEncoderProfile encoderProfile = new AdaptiveEncoderProfile(
+        new EncoderProfile(EncoderProfile.HIGH_QUALITY_CRF, "veryfast", "zerolatency", 0), true);
+    private EncoderProfile activeProfile;
+    private AudioFormat audioTrackFormat;
+    private int audioTrackBitrateKbps;
+    private AudioVideoMuxer muxer;
+    private AudioVideoMuxer.MuxReport lastMuxReport;
+    private int segmentSeconds;
+    private VideoSegmentTracker segmentTracker;
+    private VideoSegmentIndex lastSegmentIndex;
     private String outputPath;
     private int frameRate = 30;
     private int width = 640;
     private int height = 480;
     
+    /**
+     * Frames buffered between capture and the encoder, and what to drop when it is full
+     */
+    public void setFrameQueue(int frames, VideoFrameQueue.DropPolicy policy) {
+        this.queueFrames = frames;
+        this.dropPolicy = policy;
+    }
+    
+    /**
+     * Encoder settings, adapted across recordings to what this machine can sustain
+     */
+    public void setEncoderProfile(AdaptiveEncoderProfile encoderProfile) {
+        this.encoderProfile = encoderProfile;
+    }
+    
+    /**
+     * Give the next recording an AAC audio track fed by {@link #attachAudio}; null for video only
+     */
+    public void setAudioTrack(AudioFormat format, int bitrateKbps) {
+        this.audioTrackFormat = format;
+        this.audioTrackBitrateKbps = bitrateKbps;
+    }
+    
+    /**
+     * Write recordings as segments of this many seconds; 0 for a single MP4
+     */
+    public void setSegmentation(int segmentSeconds) {
+        this.segmentSeconds = Math.max(0, segmentSeconds);
+    }
+    
     /**
      * Initialize video recording
      */
@@ -37,6 +89,12 @@ public class VideoRecordingService {
         String timestamp = java.time.LocalDateTime.now()
                 .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         outputPath = outputDirectory + "/video_" + timestamp + ".mp4";
+        segmentTracker = null;
+        lastSegmentIndex = null;
+        if (segmentSeconds > 0) {
+            segmentTracker = new VideoSegmentTracker(dir.toPath(), "video_" + timestamp, segmentSeconds);
+            outputPath = segmentTracker.getOutputPattern();
+        }
         
         log.info("Initializing video recording to: {}", outputPath);
         
@@ -48,15 +106,26 @@ public class VideoRecordingService {
         grabber.start();
         
         // Initialize recorder
-        recorder = new FFmpegFrameRecorder(outputPath, width, height);
+        if (audioTrackFormat != null) {
+            recorder = new FFmpegFrameRecorder(outputPath, width, height, audioTrackFormat.getChannels());
+            recorder.setAudioCodec(org.bytedeco.ffmpeg.global.avcodec.AV_CODEC_ID_AAC);
+            recorder.setSampleRate((int) audioTrackFormat.getSampleRate());
+            recorder.setAudioBitrate(audioTrackBitrateKbps * 1000);
+        } else {
+            recorder = new FFmpegFrameRecorder(outputPath, width, height);
+        }
         recorder.setVideoCodec(org.bytedeco.ffmpeg.global.avcodec.AV_CODEC_ID_H264);
         recorder.setFormat("mp4");
         recorder.setFrameRate(frameRate);
         recorder.setPixelFormat(org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUV420P);
-        recorder.setVideoQuality(0); // Highest quality
+        activeProfile = encoderProfile.begin(width, height, frameRate, EncoderProfile.h264EncoderName());
+        activeProfile.applyTo(recorder);
+        if (segmentTracker != null) {
+            segmentTracker.applyTo(recorder);
+        }
         recorder.start();
         
-        log.info("Video recording initialized successfully");
+        log.info("Video recording initialized successfully ({}, {})", recorder.getVideoCodecName(), activeProfile);
     }
     
     /**
@@ -71,31 +140,41 @@ public class VideoRecordingService {
         }
         
         isRecording = true;
-        recordingThread = new Thread(() -> {
-            try {
-                log.info("Recording started");
-                while (isRecording) {
-                    Frame frame = grabber.grab();
-                    if (frame != null && frame.image != null) {
-                        recorder.record(frame);
-                    }
-                }
-                log.info("Recording stopped");
-            } catch (Exception e) {
-                log.error("Error during recording", e);
-            }
-        });
-        recordingThread.start();
+        lastStats = null;
+        lastMuxReport = null;
+        FrameBus bus = new FrameBus(grabber, 1.0);
+        pipeline = new VideoCapturePipeline(bus.subscribe("encoder", queueFrames, dropPolicy, 0), recorder, frameRate);
+        pipeline.setEncodeTimeListener(encoderProfile::recordEncodeTime);
+        pipeline.start();
+        bus.start();
+        frameBus = bus;
+        log.info("Recording started ({} frame queue, {})", queueFrames, dropPolicy);
     }
     
     /**
      * Stop recording
+     * @return the MP4, or for a segmented recording its segment index; null if nothing was saved
      */
     public String stopRecording() throws Exception {
         isRecording = false;
         
-        if (recordingThread != null) {
-            recordingThread.join(5000);
+        FrameBus bus = frameBus;
+        frameBus = null;
+        if (bus != null) {
+            bus.stop(2000);
+        }
+        if (pipeline != null) {
+            lastStats = pipeline.stop(5000);
+            log.info("Video pipeline: {}", lastStats);
+            pipeline = null;
+        }
+        if (muxer != null) {
+            lastMuxReport = muxer.stop(2000);
+            log.info("A/V sync: {}", lastMuxReport);
+            muxer = null;
+        }
+        if (bus != null) {
+            logBusStats(bus);
         }
         
         if (recorder != null) {
@@ -108,14 +187,125 @@ public class VideoRecordingService {
             grabber.release();
         }
         
+        String savedPath = outputPath;
+        if (segmentTracker != null) {
+            lastSegmentIndex = segmentTracker.finish();
+            log.info("Video saved as {} segments, index {}", lastSegmentIndex.getSegments().size(),
+                segmentTracker.getIndexFile());
+            // The index, which lists every segment in order, is the recording's video file
+            savedPath = lastSegmentIndex.getSegments().isEmpty() ? null : segmentTracker.getIndexFile().toString();
+        }
+        logAchievedBitrate();
         log.info("Video saved to: {}", outputPath);
-        return outputPath;
+        return savedPath;
+    }
+    
+    private void logAchievedBitrate() {
+        long bytes = 0;
+        if (lastSegmentIndex != null) {
+            File dir = new File(outputPath).getParentFile();
+            for (VideoSegmentIndex.Segment segment : lastSegmentIndex.getSegments()) {
+                bytes += new File(dir, segment.getFileName()).length();
+            }
+        } else {
+            bytes = new File(outputPath).length();
+        }
+        if (lastStats == null || lastStats.getDurationMillis() <= 0 || bytes == 0) return;
+        long kbps = bytes * 8 / lastStats.getDurationMillis();
+        log.info("Video encoded with {}: {} kbps over {} s, {} ms/frame at {} fps",
+            activeProfile, kbps, lastStats.getDurationMillis() / 1000,
+            String.format("%.1f", lastStats.getMeanEncodeMillis()), frameRate);
     }
     
     /**
-     * Get preview frame
+     * Start writing the microphone into this recording's audio track, on the video clock
+     * @return false if the recording has no audio track or either side is not recording
+     */
+    public boolean attachAudio(AudioRecordingService audioService) {
+        VideoCapturePipeline current = pipeline;
+        if (!isRecording || current == null || audioTrackFormat == null || muxer != null) return false;
+        AudioRingBuffer.Tap tap = audioService.openTap();
+        if (tap == null) return false;
+        muxer = new AudioVideoMuxer(tap, audioService.getAudioFormat(), recorder, current.getStartNanos(),
+            audioService::captureNanosAt);
+        muxer.start();
+        log.info("Muxing audio into {}", outputPath);
+        return true;
+    }
+    
+    /**
+     * Note in the segment index that a question is now on screen (segmented recordings only)
+     */
+    public void markQuestion(String questionId, int questionIndex) {
+        VideoCapturePipeline current = pipeline;
+        VideoSegmentTracker tracker = segmentTracker;
+        if (!isRecording || current == null || tracker == null) return;
+        tracker.markQuestion(questionId, questionIndex, (System.nanoTime() - current.getStartNanos()) / 1_000_000);
+    }
+    
+    /**
+     * Segment index file of the current or last recording, or null when not segmented
+     */
+    public String getSegmentIndexPath() {
+        VideoSegmentTracker tracker = segmentTracker;
+        return tracker != null ? tracker.getIndexFile().toString() : null;
+    }
+    
+    /**
+     * Audio alignment and drift of the last recording with an audio track, or null
+     */
+    public AudioVideoMuxer.MuxReport getMuxReport() {
+        return lastMuxReport;
+    }
+    
+    private static void logBusStats(FrameBus bus) {
+        StringBuilder subscribers = new StringBuilder();
+        for (VideoFrameQueue queue : bus.getSubscribers()) {
+            subscribers.append(String.format(", %s %d/%d dropped", queue.getName(),
+                queue.getDroppedCount(), queue.getOfferedCount()));
+        }
+        log.info("Frame bus: {} captured, {} unwanted, {} pool misses, {} buffers{}", bus.getCapturedCount(),
+            bus.getSkippedCount(), bus.getPoolExhaustedCount(), bus.getAllocatedFrames(), subscribers);
+    }
+    
+    /**
+     * Receive webcam frames while recording (preview, vision analysis)
+     * Release each frame taken from the queue; call {@link #unsubscribe} when done.
+     * @param maxFps frames per second wanted at most; 0 for every frame
+     * @return the subscription, or null when not recording
+     */
+    public VideoFrameQueue subscribe(String name, int capacity, VideoFrameQueue.DropPolicy policy, double maxFps) {
+        FrameBus bus = frameBus;
+        return bus != null ? bus.subscribe(name, capacity, policy, maxFps) : null;
+    }
+    
+    public void unsubscribe(VideoFrameQueue queue) {
+        FrameBus bus = frameBus;
+        if (bus != null) {
+            bus.unsubscribe(queue);
+        } else if (queue != null) {
+            queue.discard();
+        }
+    }
+    
+    /**
+     * Get preview frame (a private copy; taken from the frame bus while recording)
      */
     public Frame captureFrame() throws Exception {
+        VideoFrameQueue snapshot = subscribe("snapshot", 1, VideoFrameQueue.DropPolicy.DROP_OLDEST, 0);
+        if (snapshot != null) {
+            try {
+                SharedFrame frame = snapshot.take(1000);
+                if (frame == null) return null;
+                try {
+                    return frame.getFrame().clone();
+                } finally {
+                    frame.release();
+                }
+            } finally {
+                unsubscribe(snapshot);
+            }
+        }
         if (grabber != null) {
             return grabber.grab();
         }
@@ -139,6 +329,14 @@ public class VideoRecordingService {
         }
     }
     
+    /**
+     * Live frame counters while recording, else those of the last recording (null if none)
+     */
+    public VideoCapturePipeline.VideoPipelineStats getPipelineStats() {
+        VideoCapturePipeline current = pipeline;
+        return current != null ? current.getStats() : lastStats;
+    }
+    
     public boolean isRecording() {
         return isRecording;
     }
@@ -0,0 +1,183 @@
+package com.interviewprep.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.interviewprep.model.VideoSegmentIndex;
+import com.interviewprep.model.VideoSegmentIndex.Answer;
+import com.interviewprep.model.VideoSegmentIndex.Segment;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records video as fixed-duration MP4 segments and indexes where each question starts
+ * FFmpeg's segment muxer closes a complete, playable MP4 every few seconds and appends it to a
+ * CSV list, so a crash only loses the segment being written. The index maps each question to a
+ * segment and an offset inside it, so review opens one short file instead of decoding the whole
+ * session. It is rewritten whenever a question is marked and read back together with the CSV,
+ * so segments closed after the last write are still found.
+ */
+@Slf4j
+public class VideoSegmentTracker {
+    public static final String INDEX_FILE_NAME = "video_segments.json";
+    static final String SEGMENT_LIST_NAME = "video_segments.csv";
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentSeconds;
+    private final VideoSegmentIndex index = new VideoSegmentIndex();   // guarded by this
+
+    /**
+     * @param baseName segment files are named {@code <baseName>_000.mp4}, {@code _001} and so on
+     */
+    public VideoSegmentTracker(Path directory, String baseName, int segmentSeconds) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentSeconds = Math.max(1, segmentSeconds);
+        index.setSegmentSeconds(this.segmentSeconds);
+    }
+
+    /**
+     * Output name to create the recorder with
+     */
+    public String getOutputPattern() {
+        return directory.resolve(baseName + "_%03d.mp4").toString();
+    }
+
+    public Path getIndexFile() {
+        return directory.resolve(INDEX_FILE_NAME);
+    }
+
+    /**
+     * Switch a recorder to segmented output; call after its format and frame rate are set
+     */
+    public void applyTo(FFmpegFrameRecorder recorder) {
+        recorder.setFormat("segment");
+        recorder.setOption("segment_format", "mp4");
+        recorder.setOption("segment_time", Integer.toString(segmentSeconds));
+        recorder.setOption("segment_list", directory.resolve(SEGMENT_LIST_NAME).toString());
+        recorder.setOption("segment_list_type", "csv");
+        recorder.setOption("reset_timestamps", "1");
+        // Segments can only be cut at key frames: one a second keeps them close to segmentSeconds
+        recorder.setGopSize((int) Math.max(1, Math.round(recorder.getFrameRate())));
+    }
+
+    /**
+     * A question was shown this far into the recording
+     */
+    public synchronized void markQuestion(String questionId, int questionIndex, long videoMillis) {
+        Answer answer = new Answer();
+        answer.setQuestionId(questionId);
+        answer.setQuestionIndex(questionIndex);
+        answer.setVideoMillis(Math.max(0, videoMillis));
+        index.getAnswers().add(answer);
+        save();
+    }
+
+    /**
+     * Index the segments written; call once the recorder has been stopped
+     */
+    public synchronized VideoSegmentIndex finish() {
+        index.setComplete(true);
+        save();
+        return index;
+    }
+
+    /**
+     * Index of a recording directory, including segments closed after it was last written
+     * @return the index, or null if the directory has none
+     */
+    public static VideoSegmentIndex readIndex(Path recordingDir) {
+        Path file = recordingDir.resolve(INDEX_FILE_NAME);
+        if (!Files.exists(file)) return null;
+        try {
+            VideoSegmentIndex index = new Gson().fromJson(Files.readString(file), VideoSegmentIndex.class);
+            if (!index.isComplete()) {
+                refresh(index, recordingDir);
+            }
+            return index;
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not read video segment index {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether a stored video path is a segment index rather than a single MP4
+     */
+    public static boolean isIndex(Path videoPath) {
+        return videoPath.getFileName() != null && INDEX_FILE_NAME.equals(videoPath.getFileName().toString());
+    }
+
+    /**
+     * File holding a segment, also after retention has moved it to the low-bitrate tier
+     */
+    public static Path resolveFile(Path recordingDir, String fileName) {
+        Path file = recordingDir.resolve(fileName);
+        if (!Files.exists(file)) {
+            Path lowTier = recordingDir.resolve(fileName.replaceFirst("\\.mp4$", RecordingRetentionService.LOW_TIER_SUFFIX));
+            if (Files.exists(lowTier)) return lowTier;
+        }
+        return file;
+    }
+
+    /**
+     * Closed segments from FFmpeg's CSV list ({@code file,start,end} in seconds)
+     */
+    static List<Segment> readSegmentList(Path listFile) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (!Files.exists(listFile)) return segments;
+        for (String line : Files.readAllLines(listFile)) {
+            String[] fields = line.trim().split(",");
+            if (fields.length < 3) continue;   // a line still being written when we crashed
+            try {
+                Segment segment = new Segment();
+                segment.setFileName(fields[0]);
+                segment.setStartMillis(Math.round(Double.parseDouble(fields[1]) * 1000));
+                segment.setEndMillis(Math.round(Double.parseDouble(fields[2]) * 1000));
+                segments.add(segment);
+            } catch (NumberFormatException e) {
+                log.debug("Skipping segment list line: {}", line);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Point every question at the segment holding it
+     */
+    static void resolve(VideoSegmentIndex index) {
+        for (Answer answer : index.getAnswers()) {
+            Segment segment = index.findSegment(answer.getVideoMillis());
+            if (segment == null && !index.getSegments().isEmpty()) {
+                // Shown in the last instant of the recording, after the final segment's end
+                Segment last = index.getSegments().get(index.getSegments().size() - 1);
+                if (index.isComplete() && answer.getVideoMillis() >= last.getEndMillis()) segment = last;
+            }
+            answer.setFileName(segment != null ? segment.getFileName() : null);
+            answer.setOffsetMillis(segment != null
+                ? Math.min(answer.getVideoMillis(), segment.getEndMillis()) - segment.getStartMillis() : 0);
+        }
+    }
+
+    private static void refresh(VideoSegmentIndex index, Path recordingDir) throws IOException {
+        index.setSegments(readSegmentList(recordingDir.resolve(SEGMENT_LIST_NAME)));
+        resolve(index);
+    }
+
+    private void save() {
+        try {
+            refresh(index, directory);
+            Files.createDirectories(directory);
+            Path tmp = directory.resolve(INDEX_FILE_NAME + ".tmp");
+            Files.writeString(tmp, new Gson().toJson(index));
+            Files.move(tmp, getIndexFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write video segment index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.AnswerSegmentIndex.Span;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming energy-based voice activity detector for 16-bit signed little-endian mono PCM
+ * Audio is judged in fixed frames against an adaptive noise floor. A span opens after a short
+ * run of speech frames (so clicks are ignored) and closes only after a hangover of silence (so
+ * the gaps between words do not split it). Times are milliseconds from the start of the stream.
+ */
+public class VoiceActivityDetector {
+    public static final int DEFAULT_FRAME_MILLIS = 20;
+    public static final double DEFAULT_MARGIN_DB = 10;
+    public static final int DEFAULT_HANGOVER_MILLIS = 300;
+    public static final int DEFAULT_MIN_SPEECH_MILLIS = 60;
+
+    private static final double ABSOLUTE_MIN_DB = -50;   // never call anything quieter speech
+    private static final double SILENCE_DB = -96;
+    private static final double FLOOR_FALL = 0.1;        // noise floor follows quieter frames quickly...
+    private static final double FLOOR_RISE = 0.005;      // ...and louder non-speech frames slowly
+
+    private final float sampleRate;
+    private final int frameBytes;
+    private final double marginDb;
+    private final int hangoverFrames;
+    private final int minSpeechFrames;
+
+    private final byte[] carry;
+    private int carryLength;
+    private long samplesProcessed;
+    private double noiseFloorDb = -60;
+
+    private boolean speaking;
+    private long runStartSample = -1;   // first frame of the current speech run
+    private int speechRun;
+    private int silenceRun;
+    private long lastSpeechEndSample;
+    private final List<Span> spans = new ArrayList<>();
+
+    public VoiceActivityDetector(float sampleRate) {
+        this(sampleRate, DEFAULT_FRAME_MILLIS, DEFAULT_MARGIN_DB, DEFAULT_HANGOVER_MILLIS, DEFAULT_MIN_SPEECH_MILLIS);
+    }
+
+    public VoiceActivityDetector(float sampleRate, int frameMillis, double marginDb,
+                                 int hangoverMillis, int minSpeechMillis) {
+        this.sampleRate = sampleRate;
+        this.frameBytes = Math.max(2, Math.round(sampleRate * frameMillis / 1000f) * 2);
+        this.marginDb = marginDb;
+        this.hangoverFrames = Math.max(1, hangoverMillis / frameMillis);
+        this.minSpeechFrames = Math.max(1, minSpeechMillis / frameMillis);
+        this.carry = new byte[frameBytes];
+    }
+
+    /**
+     * Feed the next block of the stream
+     */
+    public void process(byte[] pcm, int offset, int length) {
+        process(pcm, offset, length, false);
+    }
+
+    /**
+     * Feed the next block of the stream
+     * @param suppressed treat the block as non-speech regardless of level (e.g. while our own
+     *                   text-to-speech is playing into the microphone)
+     */
+    public void process(byte[] pcm, int offset, int length, boolean suppressed) {
+        int end = offset + length;
+        if (carryLength > 0) {
+            int take = Math.min(frameBytes - carryLength, length);
+            System.arraycopy(pcm, offset, carry, carryLength, take);
+            carryLength += take;
+            offset += take;
+            if (carryLength < frameBytes) return;
+            processFrame(carry, 0, suppressed);
+            carryLength = 0;
+        }
+        while (end - offset >= frameBytes) {
+            processFrame(pcm, offset, suppressed);
+            offset += frameBytes;
+        }
+        if (offset < end) {
+            carryLength = end - offset;
+            System.arraycopy(pcm, offset, carry, 0, carryLength);
+        }
+    }
+
+    /**
+     * Account for a gap in the stream (bytes lost upstream); any open span ends at the gap
+     */
+    public void skip(long bytes) {
+        if (bytes <= 0) return;
+        closeSpan();
+        samplesProcessed += (carryLength + bytes) / 2;
+        carryLength = 0;
+        speechRun = 0;
+        runStartSample = -1;
+    }
+
+    /**
+     * Close a span still open at end of stream
+     */
+    public void finish() {
+        closeSpan();
+    }
+
+    /**
+     * Spans closed so far, oldest first
+     */
+    public List<Span> getSpans() {
+        return new ArrayList<>(speaking ? spans.subList(0, spans.size() - 1) : spans);
+    }
+
+    /**
+     * Number of spans getSpans would return, without copying them
+     */
+    public int getClosedSpanCount() {
+        return speaking ? spans.size() - 1 : spans.size();
+    }
+
+    public boolean isSpeaking() {
+        return speaking;
+    }
+
+    public double getNoiseFloorDb() {
+        return noiseFloorDb;
+    }
+
+    public long getPositionMillis() {
+        return toMillis(samplesProcessed + carryLength / 2);
+    }
+
+    private void processFrame(byte[] pcm, int offset, boolean suppressed) {
+        int samples = frameBytes / 2;
+        long sumOfSquares = 0;
+        for (int i = offset, end = offset + frameBytes; i < end; i += 2) {
+            int sample = (short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8));
+            sumOfSquares += (long) sample * sample;
+        }
+        double rms = Math.sqrt((double) sumOfSquares / samples) / 32768.0;
+        double db = rms > 0 ? 20 * Math.log10(rms) : SILENCE_DB;
+
+        boolean speech = !suppressed && db > Math.max(noiseFloorDb + marginDb, ABSOLUTE_MIN_DB);
+        if (!speech && !suppressed) {
+            noiseFloorDb += (db - noiseFloorDb) * (db < noiseFloorDb ? FLOOR_FALL : FLOOR_RISE);
+        }
+
+        long frameStart = samplesProcessed;
+        samplesProcessed += samples;
+
+        if (speech) {
+            if (speechRun++ == 0) runStartSample = frameStart;
+            silenceRun = 0;
+            lastSpeechEndSample = samplesProcessed;
+            if (!speaking && speechRun >= minSpeechFrames) {
+                speaking = true;
+                spans.add(new Span(toMillis(runStartSample), -1));
+            }
+        } else {
+            speechRun = 0;
+            if (speaking && ++silenceRun >= hangoverFrames) {
+                closeSpan();
+            }
+        }
+    }
+
+    private void closeSpan() {
+        if (speaking) {
+            spans.get(spans.size() - 1).setEndMillis(toMillis(lastSpeechEndSample));
+            speaking = false;
+        }
+        silenceRun = 0;
+    }
+
+    private long toMillis(long samples) {
+        return (long) (samples * 1000 / sampleRate);
+    }
+}
@@ -0,0 +1,135 @@
+package com.interviewprep.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline speech-to-text through a local whisper.cpp command line build
+ * Like the system text-to-speech, this shells out instead of adding native dependencies:
+ * each chunk is written to a temporary WAV and recognized by the configured binary and model.
+ */
+@Slf4j
+public class WhisperCppEngine implements SpeechToTextEngine {
+    public static final String NAME = "whisper-cpp";
+
+    private final String command;
+    private final Path model;
+    private final String language;
+    private final int threads;
+    private final long timeoutSeconds;
+    private volatile Boolean available;
+
+    public WhisperCppEngine(String command, Path model, String language, int threads, long timeoutSeconds) {
+        this.command = command;
+        this.model = model;
+        this.language = language;
+        this.threads = threads;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public static WhisperCppEngine fromConfig(ConfigurationService config) {
+        return new WhisperCppEngine(
+            config.getProperty("stt.whisper.command", "whisper-cli"),
+            Paths.get(config.getProperty("stt.whisper.model", "models/ggml-base.en.bin")),
+            config.getProperty("stt.language", "en"),
+            config.getIntProperty("stt.whisper.threads", 2),
+            config.getIntProperty("stt.whisper.timeout.seconds", 60));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (available == null) {
+            available = Files.isRegularFile(model) && commandRuns();
+            if (!available) {
+                log.warn("whisper.cpp not available (command '{}', model {})", command, model);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public String transcribe(byte[] pcm, int offset, int length, AudioFormat format) throws IOException {
+        Path wav = Files.createTempFile("stt_chunk_", ".wav");
+        try {
+            try (ChunkedWavWriter writer = new ChunkedWavWriter(wav, format, Long.MAX_VALUE)) {
+                writer.write(pcm, offset, length);
+            }
+
+            List<String> args = new ArrayList<>();
+            args.add(command);
+            args.add("-m");
+            args.add(model.toString());
+            args.add("-f");
+            args.add(wav.toString());
+            args.add("-l");
+            args.add(language);
+            args.add("-t");
+            args.add(String.valueOf(threads));
+            args.add("-nt");   // no timestamps
+            args.add("-np");   // no progress or system info
+            Process process = new ProcessBuilder(args)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            process.getOutputStream().close();
+
+            String output = readAll(process.getInputStream());
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("whisper.cpp timed out after " + timeoutSeconds + " s");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("whisper.cpp exited with " + process.exitValue());
+            }
+            return clean(output);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Transcription interrupted", e);
+        } finally {
+            Files.deleteIfExists(wav);
+        }
+    }
+
+    /**
+     * Join output lines and drop non-speech markers such as [BLANK_AUDIO] or (music)
+     */
+    static String clean(String output) {
+        return output.replaceAll("\\[[^\\]]*\\]|\\([^)]*\\)", " ")
+            .replaceAll("\\s+", " ")
+            .trim();
+    }
+
+    private boolean commandRuns() {
+        try {
+            Process process = new ProcessBuilder(command, "--help").redirectErrorStream(true).start();
+            process.getInputStream().transferTo(java.io.OutputStream.nullOutputStream());
+            return process.waitFor(10, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        in.transferTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -19,6 +19,14 @@ public class AnalyticsDashboardPanel extends JPanel {
     private JTextArea detailsArea;
     private JProgressBar overallScoreBar;
     
+    // Trend charts (fed from pre-aggregated rollups)
+    private TrendChartPanel scoreTrendChart;
+    private TrendChartPanel fillerTrendChart;
+    private TrendChartPanel paceTrendChart;
+    private JTextArea modeSummaryArea;
+    
+    private static final int TREND_WEEKS = 12;
+    
     public AnalyticsDashboardPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.storageService = mainFrame.getStorageService();
@@ -98,7 +106,11 @@ public class AnalyticsDashboardPanel extends JPanel {
         detailsScroll.setBorder(BorderFactory.createTitledBorder("Session Details"));
         detailsPanel.add(detailsScroll, BorderLayout.CENTER);
         
-        splitPane.setRightComponent(detailsPanel);
+        JTabbedPane rightTabs = new JTabbedPane();
+        rightTabs.addTab("Session Details", detailsPanel);
+        rightTabs.addTab("Progress Trends", createTrendsPanel());
+        
+        splitPane.setRightComponent(rightTabs);
         splitPane.setDividerLocation(300);
         
         add(splitPane, BorderLayout.CENTER);
@@ -109,7 +121,63 @@ public class AnalyticsDashboardPanel extends JPanel {
         add(backButton, BorderLayout.SOUTH);
     }
     
+    private JPanel createTrendsPanel() {
+        JPanel trendsPanel = new JPanel(new BorderLayout(10, 10));
+        
+        JPanel chartsPanel = new JPanel(new GridLayout(3, 1, 5, 5));
+        scoreTrendChart = new TrendChartPanel("Weekly Average Score", new Color(0, 123, 255));
+        fillerTrendChart = new TrendChartPanel("Weekly Filler Words per Session", Color.ORANGE);
+        paceTrendChart = new TrendChartPanel("Weekly Speaking Pace (words/min)", new Color(40, 167, 69));
+        chartsPanel.add(scoreTrendChart);
+        chartsPanel.add(fillerTrendChart);
+        chartsPanel.add(paceTrendChart);
+        trendsPanel.add(chartsPanel, BorderLayout.CENTER);
+        
+        modeSummaryArea = new JTextArea(6, 30);
+        modeSummaryArea.setEditable(false);
+        modeSummaryArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        modeSummaryArea.setMargin(new Insets(5, 5, 5, 5));
+        JScrollPane summaryScroll = new JScrollPane(modeSummaryArea);
+        summaryScroll.setBorder(BorderFactory.createTitledBorder("Averages by Mode and Category"));
+        trendsPanel.add(summaryScroll, BorderLayout.SOUTH);
+        
+        return trendsPanel;
+    }
+    
+    /**
+     * Render trend charts from the rollups; cost is bounded by TREND_WEEKS, not history size
+     */
+    private void loadTrends() {
+        AnalyticsRollup rollup = storageService.getAnalyticsRollup();
+        
+        List<String> labels = new java.util.ArrayList<>();
+        List<Double> scores = new java.util.ArrayList<>();
+        List<Double> fillers = new java.util.ArrayList<>();
+        List<Double> paces = new java.util.ArrayList<>();
+        for (java.util.Map.Entry<String, AnalyticsRollup.Bucket> week : rollup.getRecentWeeks(TREND_WEEKS)) {
+            labels.add(week.getKey());
+            scores.add(week.getValue().getAverageScore());
+            fillers.add(week.getValue().getAverageFillerWords());
+            paces.add(week.getValue().getAverageWordsPerMinute());
+        }
+        scoreTrendChart.setData(labels, scores, 10.0);
+        fillerTrendChart.setData(labels, fillers, 0);
+        paceTrendChart.setData(labels, paces, 0);
+        
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Overall: %.1f/10 across %d sessions%n%n",
+            rollup.getOverall().getAverageScore(), rollup.getOverall().getCount()));
+        rollup.getByMode().forEach((mode, bucket) -> summary.append(String.format("%-18s %.1f/10 (%d)%n",
+            mode, bucket.getAverageScore(), bucket.getCount())));
+        summary.append("\n");
+        rollup.getByCategory().forEach((category, bucket) -> summary.append(String.format("%-18s %.1f/10%n",
+            category, bucket.getAverageScore())));
+        modeSummaryArea.setText(summary.toString());
+        modeSummaryArea.setCaretPosition(0);
+    }
+    
     private void loadSessions() {
+        loadTrends();
         listModel.clear();
         List<InterviewSession> sessions = storageService.getRecentSessions(20);
         
@@ -174,6 +242,23 @@ public class AnalyticsDashboardPanel extends JPanel {
             details.append(String.format("Communication: %.1f/10\n", analytics.getCommunicationScore()));
             details.append(String.format("Confidence: %.1f/10\n\n", analytics.getConfidenceScore()));
             
+            if (analytics.getWordsPerMinute() > 0) {
+                details.append("🗣️ DELIVERY:\n");
+                details.append(String.format("Pace: %.0f words/min\n", analytics.getWordsPerMinute()));
+                details.append(String.format("Pace consistency: %.0f%%\n", analytics.getPaceConsistency() * 100));
+                details.append(String.format("Volume consistency: %.0f%%\n\n", analytics.getVolumeConsistency() * 100));
+            }
+            
+            if (analytics.getEngagementScore() > 0) {
+                details.append("👀 ON CAMERA:\n");
+                details.append(String.format("Engagement: %.1f/10\n", analytics.getEngagementScore()));
+                details.append(String.format("Facing the camera: %.0f%%\n", analytics.getFacingCameraRatio() * 100));
+                if (analytics.getEyeContactRatio() >= 0) {
+                    details.append(String.format("Eye contact: %.0f%%\n", analytics.getEyeContactRatio() * 100));
+                }
+                details.append("\n");
+            }
+            
             if (!analytics.getStrengths().isEmpty()) {
                 details.append("✅ STRENGTHS:\n");
                 for (String strength : analytics.getStrengths()) {
@@ -257,6 +342,7 @@ public class AnalyticsDashboardPanel extends JPanel {
                     
                     // Refresh the display
                     loadSelectedSession();
+                    loadTrends();
                     
                     JOptionPane.showMessageDialog(AnalyticsDashboardPanel.this,
                         "Analytics generated successfully!",
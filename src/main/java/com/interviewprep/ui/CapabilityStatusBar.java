@@ -0,0 +1,63 @@
+package com.interviewprep.ui;
+
+import com.interviewprep.service.CapabilityProber;
+import com.interviewprep.service.CapabilityProber.ProbeResult;
+import com.interviewprep.util.IconProvider;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One line along the bottom of the window showing each startup check as it finishes
+ * Results arrive on the probe threads and are handed to the EDT, so the window is usable while
+ * slow checks (an LLM round trip, opening the webcam) are still running.
+ */
+public class CapabilityStatusBar extends JPanel {
+    private static final Color PENDING = Color.GRAY;
+    private static final Color AVAILABLE = new Color(0, 140, 0);
+    private static final Color UNAVAILABLE = new Color(190, 0, 0);
+    private static final Color TIMED_OUT = new Color(200, 110, 0);
+
+    private final Map<String, JLabel> labels = new LinkedHashMap<>();     // EDT only
+
+    public CapabilityStatusBar(CapabilityProber prober) {
+        super(new FlowLayout(FlowLayout.LEFT, 12, 2));
+        setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, Color.LIGHT_GRAY));
+        for (ProbeResult result : prober.getResults()) {
+            show(result);
+        }
+        prober.addListener(result -> SwingUtilities.invokeLater(() -> show(result)));
+    }
+
+    private void show(ProbeResult result) {
+        JLabel label = labels.computeIfAbsent(result.getName(), name -> {
+            JLabel created = new JLabel();
+            add(created);
+            revalidate();
+            return created;
+        });
+        switch (result.getState()) {
+            case AVAILABLE:
+                label.setText(IconProvider.getStatusMessage("CHECK", result.getName()));
+                label.setForeground(AVAILABLE);
+                break;
+            case UNAVAILABLE:
+                label.setText(IconProvider.getStatusMessage("WARNING", result.getName()));
+                label.setForeground(UNAVAILABLE);
+                break;
+            case TIMED_OUT:
+                label.setText(IconProvider.getStatusMessage("WARNING", result.getName() + " (no answer)"));
+                label.setForeground(TIMED_OUT);
+                break;
+            default:
+                label.setText(result.getName() + "...");
+                label.setForeground(PENDING);
+                label.setToolTipText("Checking...");
+                return;
+        }
+        String detail = result.getDetail() != null ? result.getDetail() + ", " : "";
+        label.setToolTipText(detail + "checked in " + result.getMillis() + " ms");
+    }
+}
@@ -11,6 +11,7 @@ import java.awt.*;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class InterviewPanel extends JPanel {
@@ -20,6 +21,8 @@ public class InterviewPanel extends JPanel {
     private JLabel statusLabel;
     private JLabel timerLabel;
     private JProgressBar progressBar;
+    private JProgressBar micLevelBar;
+    private WebcamPreview webcamPreview;
     private JButton generateQuestionsButton;
     private JButton startButton;
     private JButton stopButton;
@@ -31,6 +34,11 @@ public class InterviewPanel extends JPanel {
     private int currentQuestionIndex = 0;
     private LocalDateTime questionStartTime;
     private Timer countdownTimer;
+    private Timer micLevelTimer;
+    private AnswerSegmentTracker segmentTracker;
+    private StreamingTranscriber transcriber;
+    private EngagementAnalyzer engagementAnalyzer;
+    private volatile long questionStartAudioMillis;
     
     public InterviewPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -105,6 +113,7 @@ public class InterviewPanel extends JPanel {
         
         JScrollPane answerScroll = new JScrollPane(answerArea);
         answerScroll.setBorder(BorderFactory.createTitledBorder("Your Answer (Type or speak)"));
+        answerScroll.setToolTipText("Spoken answers are transcribed here when speech-to-text is enabled");
         answerPanel.add(answerScroll, BorderLayout.CENTER);
         
         splitPane.setBottomComponent(answerPanel);
@@ -187,6 +196,18 @@ public class InterviewPanel extends JPanel {
         playbackButton.addActionListener(e -> showPlayback());
         recordingPanel.add(playbackButton);
         
+        // Live microphone level (RMS from the capture thread, peak in the tooltip)
+        micLevelBar = new JProgressBar(0, 100);
+        micLevelBar.setPreferredSize(new Dimension(120, 12));
+        micLevelBar.setToolTipText("Microphone level");
+        recordingPanel.add(new JLabel("Mic"));
+        recordingPanel.add(micLevelBar);
+        
+        // Live webcam thumbnail, fed from the recording's frame bus
+        webcamPreview = new WebcamPreview();
+        recordingPanel.add(webcamPreview);
+        micLevelTimer = new Timer(100, e -> updateMicLevel());
+        
         // Add recording panel above controls
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.add(recordingPanel, BorderLayout.NORTH);
@@ -197,6 +218,27 @@ public class InterviewPanel extends JPanel {
         add(bottomPanel, BorderLayout.SOUTH);
     }
     
+    /**
+     * Poll the microphone level while audio is recording; the timer stops itself afterwards
+     */
+    private void startMicLevel() {
+        micLevelTimer.start();
+    }
+    
+    private void updateMicLevel() {
+        AudioRecordingService audioService = mainFrame.getAudioService();
+        if (audioService == null || !audioService.isRecording()) {
+            micLevelTimer.stop();
+            micLevelBar.setValue(0);
+            return;
+        }
+        // Scale -60..0 dBFS onto the bar so normal speech sits mid-range
+        double db = 20 * Math.log10(Math.max(audioService.getAudioLevel(), 1e-6));
+        micLevelBar.setValue((int) Math.max(0, Math.min(100, (db + 60) * 100 / 60)));
+        micLevelBar.setToolTipText(String.format("Microphone level (peak %.0f%%, encoder lag %d ms)",
+            audioService.getPeakLevel() * 100, audioService.getCompressionLagMillis()));
+    }
+    
     private void startInterview() {
         try {
             List<InterviewQuestion> questions = mainFrame.getCurrentQuestions();
@@ -209,6 +251,12 @@ public class InterviewPanel extends JPanel {
             currentSession = new InterviewSession();
             currentSession.setMode(mainFrame.getSelectedMode());
             currentSession.setQuestions(questions);
+            if (mainFrame.getCurrentResume() != null) {
+                currentSession.setResumeHash(mainFrame.getCurrentResume().getContentHash());
+            }
+            if (mainFrame.getCurrentJobDescription() != null) {
+                currentSession.setJobDescriptionHash(mainFrame.getCurrentJobDescription().getContentHash());
+            }
             
             currentRecording = new InterviewRecording();
             currentRecording.setSession(currentSession);
@@ -251,7 +299,14 @@ public class InterviewPanel extends JPanel {
         SwingWorker<List<InterviewQuestion>, Void> worker = new SwingWorker<>() {
             @Override
             protected List<InterviewQuestion> doInBackground() throws Exception {
-                return mainFrame.getInterviewService().generateQuestions(resume, jobDesc, mode, 5);
+                List<InterviewQuestion> questions = mainFrame.getInterviewService().generateQuestions(resume, jobDesc, mode, 5);
+                // Synthesize the spoken questions while the user reads the first one
+                if (mainFrame.getConfig().getBooleanProperty("tts.enabled", true) && mainFrame.getTtsService() != null) {
+                    mainFrame.getTtsService().prefetch(questions.stream()
+                        .map(InterviewQuestion::getQuestion)
+                        .collect(Collectors.toList()));
+                }
+                return questions;
             }
             
             @Override
@@ -283,26 +338,85 @@ public class InterviewPanel extends JPanel {
     }
     
     private void startRecording(String recordingDir) {
+        segmentTracker = null;
+        transcriber = null;
+        engagementAnalyzer = null;
         try {
-            if (mainFrame.getConfig().getBooleanProperty("video.enabled", true) &&
-                mainFrame.getVideoService().isWebcamAvailable()) {
+            // Devices were checked at startup; don't reopen them here on the EDT
+            boolean audio = mainFrame.getConfig().getBooleanProperty("audio.enabled", true) &&
+                mainFrame.isCapabilityAvailable(MainFrame.MICROPHONE);
+            boolean video = mainFrame.getConfig().getBooleanProperty("video.enabled", true) &&
+                mainFrame.isCapabilityAvailable(MainFrame.WEBCAM);
+            // Optionally one A/V file too: the microphone also goes into the video's audio track
+            boolean unified = audio && video && mainFrame.getConfig().getBooleanProperty("recordings.unified.enabled", false);
+            mainFrame.getVideoService().setAudioTrack(unified ? mainFrame.getAudioService().getAudioFormat() : null,
+                mainFrame.getConfig().getIntProperty("recordings.unified.audio.bitrate.kbps", 64));
+            
+            if (video) {
                 int width = mainFrame.getConfig().getIntProperty("video.width", 640);
                 int height = mainFrame.getConfig().getIntProperty("video.height", 480);
                 int fps = mainFrame.getConfig().getIntProperty("video.fps", 30);
                 mainFrame.getVideoService().initialize(recordingDir, width, height, fps);
                 mainFrame.getVideoService().startRecording();
+                startPreview();
+                startEngagementAnalysis(fps);
             }
             
-            if (mainFrame.getConfig().getBooleanProperty("audio.enabled", true) &&
-                mainFrame.getAudioService().isMicrophoneAvailable()) {
+            if (audio) {
                 mainFrame.getAudioService().initialize(recordingDir);
                 mainFrame.getAudioService().startRecording();
+                startMicLevel();
+                if (unified) {
+                    mainFrame.getVideoService().attachAudio(mainFrame.getAudioService());
+                }
+                JavaTTSService tts = mainFrame.getTtsService();
+                segmentTracker = AnswerSegmentTracker.start(mainFrame.getAudioService(), mainFrame.getConfig(),
+                    () -> tts != null && tts.isSpeaking());
+                startTranscription();
             }
         } catch (Exception e) {
             log.warn("Could not start recording: " + e.getMessage());
         }
     }
     
+    private void startPreview() {
+        if (mainFrame.getConfig().getBooleanProperty("video.preview.enabled", true)) {
+            webcamPreview.start(mainFrame.getVideoService(), mainFrame.getConfig().getIntProperty("video.preview.fps", 15));
+        }
+    }
+    
+    /**
+     * Measure face presence, head pose and gaze on sampled frames while recording
+     */
+    private void startEngagementAnalysis(int fps) {
+        EngagementAnalyzer analyzer = EngagementAnalyzer.fromConfig(mainFrame.getConfig());
+        if (analyzer != null && analyzer.startLive(mainFrame.getVideoService(), fps)) {
+            engagementAnalyzer = analyzer;
+        }
+    }
+    
+    /**
+     * Transcribe the answer while the user speaks, when a speech-to-text engine is available
+     */
+    private void startTranscription() {
+        SpeechToTextEngine engine = mainFrame.getSpeechEngine();
+        if (engine == null || !mainFrame.getConfig().getBooleanProperty("recordings.auto.transcribe", true)) {
+            return;
+        }
+        JavaTTSService tts = mainFrame.getTtsService();
+        transcriber = StreamingTranscriber.start(mainFrame.getAudioService(), engine, mainFrame.getConfig(),
+            chunk -> SwingUtilities.invokeLater(() -> appendTranscript(chunk)),
+            () -> tts != null && tts.isSpeaking());
+    }
+    
+    private void appendTranscript(StreamingTranscriber.TranscriptChunk chunk) {
+        // Ignore text from before the current question (the previous answer); audio heard while
+        // the question is being read is blanked by the transcriber
+        if (!answerArea.isEnabled() || chunk.getStartMillis() < questionStartAudioMillis) return;
+        String text = answerArea.getText();
+        answerArea.append(text.isEmpty() || text.endsWith(" ") || text.endsWith("\n") ? chunk.getText() : " " + chunk.getText());
+    }
+    
     private void displayCurrentQuestion() {
         if (currentQuestionIndex < currentSession.getQuestions().size()) {
             InterviewQuestion question = currentSession.getQuestions().get(currentQuestionIndex);
@@ -326,6 +440,15 @@ public class InterviewPanel extends JPanel {
             progressBar.setString((currentQuestionIndex + 1) + " / " + currentSession.getQuestions().size());
             
             questionStartTime = LocalDateTime.now();
+            questionStartAudioMillis = mainFrame.getAudioService().getCapturedBytes() * 1000
+                / audioBytesPerSecond(mainFrame.getAudioService());
+            if (segmentTracker != null) {
+                segmentTracker.beginQuestion(question.getId(), currentQuestionIndex);
+            }
+            mainFrame.getVideoService().markQuestion(question.getId(), currentQuestionIndex);
+            if (engagementAnalyzer != null) {
+                engagementAnalyzer.beginQuestion(question.getId(), currentQuestionIndex);
+            }
             startQuestionTimer(question);
             
             // Optional: Speak question
@@ -380,6 +503,9 @@ public class InterviewPanel extends JPanel {
         long duration = Duration.between(questionStartTime, LocalDateTime.now()).getSeconds();
         
         currentSession.addQuestionAnswer(question, answer, duration);
+        if (segmentTracker != null) {
+            segmentTracker.endQuestion();
+        }
         
         submitAnswerButton.setEnabled(false);
         nextQuestionButton.setEnabled(true);
@@ -420,6 +546,7 @@ public class InterviewPanel extends JPanel {
         try {
             VideoRecordingService videoService = mainFrame.getVideoService();
             if (videoService.isRecording()) {
+                webcamPreview.stop();
                 videoService.stopRecording();
                 log.info("Video recording stopped");
             } else {
@@ -431,6 +558,7 @@ public class InterviewPanel extends JPanel {
                     videoService.initialize(sessionDir, 640, 480, 30);
                 }
                 videoService.startRecording();
+                startPreview();
                 log.info("Video recording started");
             }
         } catch (Exception e) {
@@ -454,6 +582,7 @@ public class InterviewPanel extends JPanel {
                     audioService.initialize(sessionDir);
                 }
                 audioService.startRecording();
+                startMicLevel();
                 log.info("Audio recording started");
             }
         } catch (Exception e) {
@@ -474,64 +603,174 @@ public class InterviewPanel extends JPanel {
     }
     
     private void stopInterview() {
-        try {
-            // Stop current speech when stopping interview
-            if (mainFrame.getTtsService() != null) {
-                mainFrame.getTtsService().stopSpeaking();
-            }
-            
-            currentSession.complete();
-            
-            // Stop recordings
-            if (mainFrame.getVideoService().isRecording()) {
-                String videoPath = mainFrame.getVideoService().stopRecording();
-                currentRecording.setVideoFilePath(videoPath);
+        // Stop current speech when stopping interview
+        if (mainFrame.getTtsService() != null) {
+            mainFrame.getTtsService().stopSpeaking();
+        }
+        
+        currentSession.complete();
+        mainFrame.getAIServiceManager().endConversation(currentSession.getSessionId());
+        
+        // Hand the finishing work to a background thread; waiting for the encoders, speech
+        // recognition and analysis to drain can take many seconds
+        InterviewSession session = currentSession;
+        InterviewRecording recording = currentRecording;
+        AnswerSegmentTracker tracker = segmentTracker;
+        StreamingTranscriber stt = transcriber;
+        EngagementAnalyzer analyzer = engagementAnalyzer;
+        segmentTracker = null;
+        transcriber = null;
+        engagementAnalyzer = null;
+        
+        if (mainFrame.getVideoService().isRecording()) {
+            webcamPreview.stop();
+        }
+        
+        generateQuestionsButton.setEnabled(false);
+        startButton.setEnabled(false);
+        stopButton.setEnabled(false);
+        submitAnswerButton.setEnabled(false);
+        nextQuestionButton.setEnabled(false);
+        answerArea.setEnabled(false);
+        statusLabel.setText("Saving interview...");
+        
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                finishRecording(session, recording, tracker, stt, analyzer);
+                return null;
             }
             
-            if (mainFrame.getAudioService().isRecording()) {
-                String audioPath = mainFrame.getAudioService().stopRecording();
-                currentRecording.setAudioFilePath(audioPath);
+            @Override
+            protected void done() {
+                generateQuestionsButton.setEnabled(true);
+                startButton.setEnabled(false); // Disable until new questions are generated
+                try {
+                    get();
+                } catch (Exception e) {
+                    log.error("Error stopping interview", e);
+                    statusLabel.setText("Interview could not be saved");
+                    JOptionPane.showMessageDialog(InterviewPanel.this, "Error: " + e.getMessage());
+                    return;
+                }
+                
+                statusLabel.setText("Interview completed!");
+                statusLabel.setForeground(new Color(40, 167, 69));
+                
+                // Create custom dialog with options
+                Object[] options = {"View Analytics", "Generate Analytics", "Close"};
+                int choice = JOptionPane.showOptionDialog(InterviewPanel.this,
+                    "Interview saved successfully!\n\nWhat would you like to do?",
+                    "Interview Complete",
+                    JOptionPane.YES_NO_CANCEL_OPTION,
+                    JOptionPane.QUESTION_MESSAGE,
+                    null,
+                    options,
+                    options[0]);
+                
+                if (choice == 0) { // View Analytics
+                    mainFrame.switchToTab(5); // Analytics tab
+                } else if (choice == 1) { // Generate Analytics
+                    generateAnalyticsForCurrentSession();
+                }
+                
+                log.info("Interview stopped and saved");
             }
-            
-            currentRecording.setDurationSeconds(currentSession.getTotalDurationSeconds());
-            
-            // Save session
-            mainFrame.getStorageService().saveSession(currentSession);
-            
-            statusLabel.setText("Interview completed!");
-            statusLabel.setForeground(new Color(40, 167, 69));
-            
-            // Reset button states
-            generateQuestionsButton.setEnabled(true);
-            startButton.setEnabled(false); // Disable until new questions are generated
-            stopButton.setEnabled(false);
-            submitAnswerButton.setEnabled(false);
-            nextQuestionButton.setEnabled(false);
-            
-            // Create custom dialog with options
-            Object[] options = {"View Analytics", "Generate Analytics", "Close"};
-            int choice = JOptionPane.showOptionDialog(this,
-                "Interview saved successfully!\n\nWhat would you like to do?",
-                "Interview Complete",
-                JOptionPane.YES_NO_CANCEL_OPTION,
-                JOptionPane.QUESTION_MESSAGE,
-                null,
-                options,
-                options[0]);
-            
-            if (choice == 0) { // View Analytics
-                mainFrame.switchToTab(5); // Analytics tab
-            } else if (choice == 1) { // Generate Analytics
-                generateAnalyticsForCurrentSession();
+        };
+        worker.execute();
+    }
+    
+    /**
+     * Stop the recorders, wait for analysis to finish and save the session; runs off the EDT
+     */
+    private void finishRecording(InterviewSession session, InterviewRecording recording,
+                                 AnswerSegmentTracker tracker, StreamingTranscriber stt,
+                                 EngagementAnalyzer analyzer) throws Exception {
+        if (mainFrame.getVideoService().isRecording()) {
+            String videoPath = mainFrame.getVideoService().stopRecording();
+            recording.setVideoFilePath(videoPath);
+            recording.setVideoSegmentIndexFilePath(mainFrame.getVideoService().getSegmentIndexPath());
+            saveEngagement(analyzer, recording);
+        }
+        
+        if (mainFrame.getAudioService().isRecording()) {
+            String audioPath = mainFrame.getAudioService().stopRecording();
+            recording.setAudioFilePath(audioPath);
+            recording.setCompressedAudioFilePath(mainFrame.getAudioService().getCompressedOutputPath());
+            saveAnswerSegments(tracker, session, recording, audioPath);
+            saveTranscript(stt, recording);
+        }
+        
+        recording.setDurationSeconds(session.getTotalDurationSeconds());
+        
+        // Save session and recording metadata
+        mainFrame.getStorageService().saveSession(session);
+        mainFrame.getStorageService().saveRecording(recording);
+    }
+    
+    /**
+     * Finish voice activity detection and store the per-answer index beside the audio
+     */
+    private void saveAnswerSegments(AnswerSegmentTracker tracker, InterviewSession session,
+                                    InterviewRecording recording, String audioPath) {
+        if (tracker == null) return;
+        try {
+            AnswerSegmentIndex index = tracker.finish(session.getSessionId(), audioPath, 2000);
+            java.nio.file.Path indexFile = AnswerSegmentTracker.writeIndex(index,
+                java.nio.file.Paths.get(recording.getRecordingDirectory()));
+            recording.setSegmentIndexFilePath(indexFile.toString());
+            for (AnswerSegmentIndex.Segment segment : index.getSegments()) {
+                session.getSpeakingMillis().put(segment.getQuestionId(), segment.getSpeakingMillis());
             }
-            
-            log.info("Interview stopped and saved");
+            log.info("Answer segments saved: {} ({} answers)", indexFile, index.getSegments().size());
         } catch (Exception e) {
-            log.error("Error stopping interview", e);
-            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage());
+            log.warn("Could not save answer segments: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Store the on-camera engagement measured during the interview beside the video
+     */
+    private void saveEngagement(EngagementAnalyzer analyzer, InterviewRecording recording) {
+        if (analyzer == null) return;
+        try {
+            EngagementReport report = analyzer.finish(2000);
+            java.nio.file.Path reportFile = EngagementAnalyzer.writeReport(report,
+                java.nio.file.Paths.get(recording.getRecordingDirectory()));
+            recording.setEngagementFilePath(reportFile.toString());
+            log.info("Engagement saved: {} ({} frames, {}% CPU)", reportFile, report.getSampledFrames(),
+                Math.round(report.getCpuShare() * 100));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not save engagement: {}", e.getMessage());
         }
     }
     
+    /**
+     * Wait for the last chunks to be recognized and store the transcript beside the audio
+     */
+    private void saveTranscript(StreamingTranscriber stt, InterviewRecording recording) {
+        if (stt == null) return;
+        try {
+            List<StreamingTranscriber.TranscriptChunk> chunks = stt.finish(
+                mainFrame.getConfig().getIntProperty("stt.finish.timeout.ms", 10000));
+            java.nio.file.Path transcriptFile = StreamingTranscriber.writeTranscript(chunks,
+                java.nio.file.Paths.get(recording.getRecordingDirectory()));
+            recording.setTranscriptFilePath(transcriptFile.toString());
+            log.info("Transcript saved: {} ({} chunks)", transcriptFile, chunks.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not save transcript: {}", e.getMessage());
+        }
+    }
+    
+    private static long audioBytesPerSecond(AudioRecordingService audioService) {
+        javax.sound.sampled.AudioFormat format = audioService.getAudioFormat();
+        return (long) format.getFrameRate() * format.getFrameSize();
+    }
+    
     private void generateAnalyticsForCurrentSession() {
         if (currentSession == null) {
             JOptionPane.showMessageDialog(this, "No session to analyze!", "Error", JOptionPane.ERROR_MESSAGE);
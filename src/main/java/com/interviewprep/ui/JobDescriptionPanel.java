@@ -1,6 +1,7 @@
 package com.interviewprep.ui;
 
 import com.interviewprep.model.JobDescription;
+import com.interviewprep.service.DocumentBlobStore;
 import com.interviewprep.service.DocumentService;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,6 +14,7 @@ import java.io.File;
 public class JobDescriptionPanel extends JPanel {
     private final MainFrame mainFrame;
     private final DocumentService documentService;
+    private final DocumentBlobStore documentStore;
     private JTextArea jobDescriptionArea;
     private JButton uploadButton;
     private JButton saveButton;
@@ -22,6 +24,7 @@ public class JobDescriptionPanel extends JPanel {
     public JobDescriptionPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.documentService = mainFrame.getDocumentService();
+        this.documentStore = mainFrame.getStorageService().getDocumentStore();
         initializeUI();
     }
     
@@ -117,7 +120,7 @@ public class JobDescriptionPanel extends JPanel {
         SwingWorker<String, Void> worker = new SwingWorker<>() {
             @Override
             protected String doInBackground() throws Exception {
-                return documentService.extractText(file);
+                return documentStore.get(documentStore.importFile(file, documentService));
             }
             
             @Override
@@ -144,10 +147,23 @@ public class JobDescriptionPanel extends JPanel {
         }
         
         JobDescription jobDescription = new JobDescription("manual_entry.txt", content);
+        try {
+            jobDescription.setContentHash(documentStore.put(content));
+        } catch (java.io.IOException e) {
+            log.warn("Could not store job description: {}", e.getMessage());
+        }
         mainFrame.setCurrentJobDescription(jobDescription);
         
         JOptionPane.showMessageDialog(this, "Job description saved!", "Success",
             JOptionPane.INFORMATION_MESSAGE);
     }
+    
+    /**
+     * Display a job description that is already loaded (e.g. restored from the last session)
+     */
+    public void showJobDescription(JobDescription jobDescription) {
+        jobDescriptionArea.setText(jobDescription.getContent());
+        jobDescriptionArea.setCaretPosition(0);
+    }
 }
 
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -16,6 +17,14 @@ import java.util.List;
 @Slf4j
 @Getter
 public class MainFrame extends JFrame {
+    // Startup checks, by the name shown in the status bar
+    public static final String AI_SERVICE = "AI service";
+    public static final String TEXT_TO_SPEECH = "Text-to-speech";
+    public static final String WEBCAM = "Webcam";
+    public static final String MICROPHONE = "Microphone";
+    public static final String SPEECH_TO_TEXT = "Speech-to-text";
+    public static final String FACE_ANALYSIS = "Face analysis";
+    
     private JTabbedPane tabbedPane;
     
     // Panels
@@ -26,6 +35,7 @@ public class MainFrame extends JFrame {
     private InterviewPanel interviewPanel;
     private AnalyticsDashboardPanel analyticsPanel;
     private AIServiceSelectorPanel aiServicePanel;
+    private SearchPanel searchPanel;
     
     // Services
     private final ConfigurationService config;
@@ -36,13 +46,17 @@ public class MainFrame extends JFrame {
     private final InterviewService interviewService;
     private final VideoRecordingService videoService;
     private final AudioRecordingService audioService;
+    private final RecordingRetentionService retentionService;
+    private final CapabilityProber capabilities;
+    private volatile SpeechToTextEngine speechEngine;
     
     // Current data
     private Resume currentResume;
     private JobDescription currentJobDescription;
     private InterviewMode selectedMode;
     private List<InterviewQuestion> currentQuestions;
-    private MCPContext mcpContext;
+    private final UserContextCache userContexts;
+    private final String userId;
     
     // Keyboard shortcuts
     private KeyboardShortcutManager shortcutManager;
@@ -57,23 +71,85 @@ public class MainFrame extends JFrame {
         boolean ttsEnabled = config.getBooleanProperty("tts.enabled", true);
         ttsService = new JavaTTSService(ttsEnabled);
         
-        documentService = new DocumentService();
-        
         String storagePath = config.getProperty("storage.path", "data");
+        ttsService.setAudioCache(TtsAudioCache.fromConfig(config, ttsService, storagePath));
+        documentService = createDocumentService(storagePath);
+        
         storageService = new StorageService(storagePath);
         
         interviewService = new InterviewService(aiServiceManager, ttsService, storageService);
+        interviewService.setVoiceTracking(config.getBooleanProperty("analytics.track.pace", true),
+            config.getBooleanProperty("analytics.track.confidence", true));
+        if (config.getBooleanProperty("vision.offline.enabled", true)) {
+            interviewService.setOfflineEngagementAnalysis(() -> EngagementAnalyzer.fromConfig(config));
+        }
         videoService = new VideoRecordingService();
+        configureVideoQueue();
         audioService = new AudioRecordingService();
+        configureAudioCompression();
+        retentionService = RecordingRetentionService.fromConfig(config, storagePath, storageService);
+        capabilities = new CapabilityProber(config.getIntProperty("startup.probe.threads", 6));
         
-        // Load MCP context
-        mcpContext = storageService.loadMCPContext("default_user");
+        // Per-user MCP contexts, loaded on first use and written back in the background
+        userContexts = UserContextCache.fromConfig(config, storageService);
+        userId = config.getProperty("mcp.user.id", "default_user");
+        userContexts.start();
         
         // Initialize UI
         initializeUI();
+        restoreDocuments();
         
         // Check service availability
         checkServiceAvailability();
+        
+        // Age out and compact recordings in the background
+        retentionService.start();
+    }
+    
+    private String resolveSpeechEngine() {
+        try {
+            speechEngine = SpeechToTextEngine.fromConfig(config);
+        } catch (IllegalArgumentException e) {
+            log.warn("Speech-to-text disabled: {}", e.getMessage());
+        }
+        return speechEngine != null ? speechEngine.getName() : null;
+    }
+    
+    private void configureVideoQueue() {
+        try {
+            videoService.setEncoderProfile(AdaptiveEncoderProfile.fromConfig(config));
+        } catch (IllegalArgumentException e) {
+            log.warn("Using default video encoder profile: {}", e.getMessage());
+        }
+        try {
+            videoService.setFrameQueue(config.getIntProperty("video.queue.frames", 8),
+                VideoFrameQueue.DropPolicy.fromName(config.getProperty("video.queue.drop.policy", "oldest")));
+        } catch (IllegalArgumentException e) {
+            log.warn("Using default video frame queue: {}", e.getMessage());
+        }
+        videoService.setSegmentation(config.getIntProperty("video.segment.seconds", 10));
+    }
+    
+    private void configureAudioCompression() {
+        if (!config.getBooleanProperty("audio.compression.enabled", true)) return;
+        try {
+            audioService.setCompression(
+                AudioCompressor.Codec.fromName(config.getProperty("audio.compression.codec", "aac")),
+                config.getIntProperty("audio.compression.bitrate.kbps", 32));
+        } catch (IllegalArgumentException e) {
+            log.warn("Audio compression disabled: {}", e.getMessage());
+        }
+    }
+    
+    private DocumentService createDocumentService(String storagePath) {
+        DocumentParserRegistry parsers = DocumentParserRegistry.fromConfig(config);
+        if (!config.getBooleanProperty("performance.cache.enabled", true)) {
+            return new DocumentService(parsers, null);
+        }
+        DocumentExtractionCache cache = new DocumentExtractionCache(
+            Paths.get(storagePath, "cache", "extraction"),
+            config.getIntProperty("documents.cache.memory.entries", 32));
+        return new DocumentService(parsers, cache);
     }
     
     private void initializeUI() {
@@ -102,6 +178,7 @@ public class MainFrame extends JFrame {
         interviewPanel = new InterviewPanel(this);
         analyticsPanel = new AnalyticsDashboardPanel(this);
         aiServicePanel = new AIServiceSelectorPanel(this);
+        searchPanel = new SearchPanel(this);
         
         // Add tabs with icons
         tabbedPane.addTab(IconProvider.getTitle("DOCUMENT", "Resume"), resumePanel);
@@ -111,8 +188,10 @@ public class MainFrame extends JFrame {
         tabbedPane.addTab(IconProvider.getTitle("MICROPHONE", "Interview"), interviewPanel);
         tabbedPane.addTab(IconProvider.getTitle("CHART", "Analytics"), analyticsPanel);
         tabbedPane.addTab(IconProvider.getTitle("ROBOT", "AI Service"), aiServicePanel);
+        tabbedPane.addTab(IconProvider.getTitle("SEARCH", "Search"), searchPanel);
         
         add(tabbedPane);
+        add(new CapabilityStatusBar(capabilities), BorderLayout.SOUTH);
         
         // Initialize keyboard shortcuts
         if (config.getBooleanProperty("ui.keyboard.shortcuts", true)) {
@@ -121,6 +200,12 @@ public class MainFrame extends JFrame {
         
         // Add window listener for cleanup
         addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowOpened(java.awt.event.WindowEvent windowEvent) {
+                // Parsers are loaded lazily; warm them once the window is on screen
+                documentService.prewarm();
+            }
+            
             @Override
             public void windowClosing(java.awt.event.WindowEvent windowEvent) {
                 cleanup();
@@ -128,45 +213,100 @@ public class MainFrame extends JFrame {
         });
     }
     
+    /**
+     * Reload the last used resume and job description from the document store
+     */
+    private void restoreDocuments() {
+        DocumentBlobStore documentStore = storageService.getDocumentStore();
+        MCPContext last = userContexts.read(userId, context -> {
+            MCPContext documents = new MCPContext(context.getUserId());
+            documents.setLastResumeHash(context.getLastResumeHash());
+            documents.setLastResumeFileName(context.getLastResumeFileName());
+            documents.setLastJobDescriptionHash(context.getLastJobDescriptionHash());
+            return documents;
+        });
+        
+        String resumeText = documentStore.get(last.getLastResumeHash());
+        if (resumeText != null) {
+            Resume resume = new Resume(last.getLastResumeFileName(), resumeText);
+            resume.setContentHash(last.getLastResumeHash());
+            DocumentSegmenter.segment(resume);
+            currentResume = resume;
+            resumePanel.showResume(resume);
+        }
+        
+        String jobText = documentStore.get(last.getLastJobDescriptionHash());
+        if (jobText != null) {
+            JobDescription jobDescription = new JobDescription("manual_entry.txt", jobText);
+            jobDescription.setContentHash(last.getLastJobDescriptionHash());
+            DocumentSegmenter.segment(jobDescription);
+            currentJobDescription = jobDescription;
+            jobDescriptionPanel.showJobDescription(jobDescription);
+        }
+        
+        if (currentResume != null || currentJobDescription != null) {
+            reviewPanel.onDataUpdated();
+            log.info("Restored documents from last session");
+        }
+    }
+    
+    /**
+     * Check services and devices in parallel off the EDT; each result shows in the status bar as it arrives
+     * Probes that open the camera or call the LLM can take seconds, so nothing here waits for them.
+     */
     private void checkServiceAvailability() {
-        SwingUtilities.invokeLater(() -> {
+        log.info("Platform Info: {}", IconProvider.getPlatformInfo());
+        
+        capabilities.probe(AI_SERVICE, probeTimeout("ai", 8000), () ->
+            aiServiceManager.isCurrentServiceAvailable() ? aiServiceManager.getCurrentServiceName() : null);
+        // The speech pipeline's synthesizer starts warming up as soon as TTS is known to work
+        capabilities.probe(TEXT_TO_SPEECH, probeTimeout("tts", 3000), () -> {
+            if (!ttsService.isAvailable()) return null;
+            ttsService.setPipeline(SpeechPipeline.fromConfig(config, ttsService));
+            return ttsService.getPipeline() != null ? "resident synthesizer" : "process per question";
+        });
+        capabilities.probe(WEBCAM, probeTimeout("webcam", 5000), () ->
+            videoService.isWebcamAvailable() ? "camera 0" : null);
+        capabilities.probe(MICROPHONE, probeTimeout("microphone", 3000), () ->
+            audioService.isMicrophoneAvailable() ? (int) audioService.getAudioFormat().getSampleRate() + " Hz" : null);
+        // Runs the recognizer binary to check it
+        capabilities.probe(SPEECH_TO_TEXT, probeTimeout("stt", 10000), this::resolveSpeechEngine);
+        capabilities.probe(FACE_ANALYSIS, probeTimeout("vision", 5000), () ->
+            config.getBooleanProperty("vision.enabled", true) && FaceEngagementDetector.create() != null
+                ? "OpenCV cascades" : null);
+        
+        capabilities.whenAllDone().thenAccept(results -> {
             StringBuilder status = new StringBuilder("Service Status:\n\n");
-            
-            // Add platform debugging information
-            log.info("Platform Info: {}", IconProvider.getPlatformInfo());
             status.append("Platform: " + IconProvider.getPlatformInfo() + "\n\n");
-            
-            // Test all AI services
-            aiServiceManager.testAllServices();
-            
-            if (!aiServiceManager.isCurrentServiceAvailable()) {
-                status.append(IconProvider.getStatusMessage("WARNING", "AI service not available. Check Ollama or Bedrock configuration.") + "\n");
-            } else {
-                status.append(IconProvider.getStatusMessage("CHECK", "AI service is available (" + aiServiceManager.getCurrentServiceName() + ")") + "\n");
-            }
-            
-            if (ttsService.isAvailable()) {
-                status.append(IconProvider.getStatusMessage("CHECK", "Text-to-speech is available") + "\n");
-            } else {
-                status.append(IconProvider.getStatusMessage("WARNING", "Text-to-speech not available on this system.") + "\n");
-            }
-            
-            if (!videoService.isWebcamAvailable()) {
-                status.append(IconProvider.getStatusMessage("WARNING", "Webcam not detected.") + "\n");
-            } else {
-                status.append(IconProvider.getStatusMessage("CHECK", "Webcam is available") + "\n");
+            for (CapabilityProber.ProbeResult result : results) {
+                String icon = result.getState() == CapabilityProber.State.AVAILABLE ? "CHECK" : "WARNING";
+                status.append(IconProvider.getStatusMessage(icon, String.format("%s: %s in %d ms (done at %d ms)%s",
+                    result.getName(), result.getState(), result.getMillis(), result.getSinceStartMillis(),
+                    result.getDetail() != null ? " - " + result.getDetail() : ""))).append("\n");
             }
-            
-            if (!audioService.isMicrophoneAvailable()) {
-                status.append(IconProvider.getStatusMessage("WARNING", "Microphone not detected.") + "\n");
-            } else {
-                status.append(IconProvider.getStatusMessage("CHECK", "Microphone is available") + "\n");
-            }
-            
             log.info(status.toString());
         });
     }
     
+    private long probeTimeout(String name, long defaultMillis) {
+        return config.getIntProperty("startup.probe.timeout." + name + ".ms", (int) defaultMillis);
+    }
+    
+    /**
+     * Whether a startup check found the capability, waiting briefly for one still running
+     * A check that timed out counts as unavailable rather than being repeated here.
+     */
+    public boolean isCapabilityAvailable(String name) {
+        try {
+            CapabilityProber.ProbeResult result = capabilities.await(name,
+                config.getIntProperty("startup.probe.await.ms", 1500));
+            return result != null && result.getState() == CapabilityProber.State.AVAILABLE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
     public void switchToTab(int index) {
         tabbedPane.setSelectedIndex(index);
     }
@@ -201,10 +341,8 @@ public class MainFrame extends JFrame {
     
     private void cleanup() {
         try {
-            // Save MCP context
-            if (mcpContext != null) {
-                storageService.saveMCPContext(mcpContext);
-            }
+            // Save MCP contexts
+            userContexts.shutdown();
             
             // Stop any recording
             if (videoService.isRecording()) {
@@ -213,6 +351,9 @@ public class MainFrame extends JFrame {
             if (audioService.isRecording()) {
                 audioService.stopRecording();
             }
+            retentionService.stop();
+            capabilities.shutdown();
+            ttsService.shutdown();
             
             log.info("Application cleanup completed");
         } catch (Exception e) {
@@ -222,12 +363,24 @@ public class MainFrame extends JFrame {
     
     // Setters for current data
     public void setCurrentResume(Resume resume) {
+        DocumentSegmenter.segment(resume);
         this.currentResume = resume;
+        if (resume.getContentHash() != null) {
+            userContexts.update(userId, context -> {
+                context.setLastResumeHash(resume.getContentHash());
+                context.setLastResumeFileName(resume.getFileName());
+            });
+        }
         reviewPanel.onDataUpdated();
     }
     
     public void setCurrentJobDescription(JobDescription jobDescription) {
+        DocumentSegmenter.segment(jobDescription);
         this.currentJobDescription = jobDescription;
+        if (jobDescription.getContentHash() != null) {
+            userContexts.update(userId, context ->
+                context.setLastJobDescriptionHash(jobDescription.getContentHash()));
+        }
         reviewPanel.onDataUpdated();
     }
     
@@ -268,6 +421,13 @@ public class MainFrame extends JFrame {
         return ttsService;
     }
     
+    /**
+     * Speech-to-text engine, or null while probing or when disabled/unavailable
+     */
+    public SpeechToTextEngine getSpeechEngine() {
+        return speechEngine;
+    }
+    
     public ConfigurationService getConfig() {
         return config;
     }
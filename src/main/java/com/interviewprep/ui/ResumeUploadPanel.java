@@ -1,6 +1,10 @@
 package com.interviewprep.ui;
 
 import com.interviewprep.model.Resume;
+import com.interviewprep.service.DocumentBlobStore;
+import com.interviewprep.service.DocumentIngestionService;
+import com.interviewprep.service.DocumentIngestionService.IngestionReport;
+import com.interviewprep.service.DocumentIngestionService.Status;
 import com.interviewprep.service.DocumentService;
 import lombok.extern.slf4j.Slf4j;
 
@@ -8,6 +12,12 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Panel for uploading and previewing resume
@@ -16,16 +26,19 @@ import java.io.File;
 public class ResumeUploadPanel extends JPanel {
     private final MainFrame mainFrame;
     private final DocumentService documentService;
+    private final DocumentBlobStore documentStore;
     
     private JTextArea resumePreview;
     private JLabel fileNameLabel;
     private JLabel statusLabel;
     private JButton uploadButton;
+    private JButton importFolderButton;
     private JButton nextButton;
     
     public ResumeUploadPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.documentService = mainFrame.getDocumentService();
+        this.documentStore = mainFrame.getStorageService().getDocumentStore();
         initializeUI();
     }
     
@@ -59,7 +72,18 @@ public class ResumeUploadPanel extends JPanel {
         uploadButton.setPreferredSize(new Dimension(150, 40));
         uploadButton.setFocusPainted(false);
         uploadButton.addActionListener(e -> chooseFile());
-        headerPanel.add(uploadButton, BorderLayout.EAST);
+        
+        importFolderButton = new JButton("Import Folder");
+        importFolderButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        importFolderButton.setPreferredSize(new Dimension(150, 40));
+        importFolderButton.setFocusPainted(false);
+        importFolderButton.setToolTipText("Extract and store every PDF, DOCX and TXT file in a folder");
+        importFolderButton.addActionListener(e -> chooseFolder());
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.add(importFolderButton);
+        buttonPanel.add(uploadButton);
+        headerPanel.add(buttonPanel, BorderLayout.EAST);
         
         add(headerPanel, BorderLayout.NORTH);
         
@@ -131,23 +155,18 @@ public class ResumeUploadPanel extends JPanel {
         SwingWorker<String, Void> worker = new SwingWorker<>() {
             @Override
             protected String doInBackground() throws Exception {
-                return documentService.extractText(file);
+                // Identical uploads resolve to the stored text without re-parsing
+                return documentStore.importFile(file, documentService);
             }
             
             @Override
             protected void done() {
                 try {
-                    String content = get();
-                    Resume resume = new Resume(file.getName(), content);
+                    String hash = get();
+                    Resume resume = new Resume(file.getName(), documentStore.get(hash));
+                    resume.setContentHash(hash);
                     mainFrame.setCurrentResume(resume);
-                    
-                    fileNameLabel.setText("📄 " + file.getName());
-                    fileNameLabel.setForeground(new Color(40, 167, 69));
-                    resumePreview.setText(content);
-                    nextButton.setEnabled(true);
-                    
-                    statusLabel.setText("✓ Loaded successfully");
-                    statusLabel.setForeground(new Color(40, 167, 69));
+                    showResume(resume);
                     
                     log.info("Resume loaded: {}", file.getName());
                 } catch (Exception e) {
@@ -167,5 +186,100 @@ public class ResumeUploadPanel extends JPanel {
         };
         worker.execute();
     }
+    
+    private void chooseFolder() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            importFolder(fileChooser.getSelectedFile().toPath());
+        }
+    }
+    
+    /**
+     * Bulk-extract a folder of documents into the document store, listing per-file status in the preview
+     */
+    private void importFolder(Path folder) {
+        List<File> files;
+        try (Stream<Path> paths = Files.list(folder)) {
+            files = paths.filter(Files::isRegularFile)
+                .filter(p -> p.getFileName().toString().toLowerCase().matches(".*\\.(pdf|docx|txt)$"))
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Error listing folder", e);
+            statusLabel.setText("✗ Could not read folder");
+            statusLabel.setForeground(Color.RED);
+            return;
+        }
+        
+        DocumentIngestionService ingestion = DocumentIngestionService.fromConfig(mainFrame.getConfig(), documentService);
+        uploadButton.setEnabled(false);
+        importFolderButton.setEnabled(false);
+        resumePreview.setText("Importing " + files.size() + " documents from " + folder + "\n\n");
+        statusLabel.setText("Importing...");
+        statusLabel.setForeground(Color.BLUE);
+        
+        SwingWorker<IngestionReport, String> worker = new SwingWorker<>() {
+            @Override
+            protected IngestionReport doInBackground() throws Exception {
+                return ingestion.ingest(files, result -> {
+                    String line = result.getStatus() + "  " + result.getFile().getName();
+                    if (result.getStatus() == Status.OK) {
+                        try {
+                            // Only the hash is kept; the text lives in the document store
+                            String hash = documentStore.put(result.getText());
+                            line += "  (" + result.getMillis() + " ms, " + hash.substring(0, 12) + ")";
+                        } catch (IOException e) {
+                            line += "  (not stored: " + e.getMessage() + ")";
+                        }
+                    } else {
+                        line += "  - " + result.getError();
+                    }
+                    publish(line);
+                });
+            }
+            
+            @Override
+            protected void process(List<String> lines) {
+                for (String line : lines) {
+                    resumePreview.append(line + "\n");
+                }
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    IngestionReport report = get();
+                    resumePreview.append("\n" + report + "\n");
+                    statusLabel.setText(String.format("✓ Imported %d of %d (%.1f files/s)",
+                        report.getSucceeded(), report.getTotal(), report.getFilesPerSecond()));
+                    statusLabel.setForeground(report.getSucceeded() == report.getTotal()
+                        ? new Color(40, 167, 69) : new Color(255, 140, 0));
+                } catch (Exception e) {
+                    log.error("Error importing folder", e);
+                    statusLabel.setText("✗ Import failed");
+                    statusLabel.setForeground(Color.RED);
+                } finally {
+                    uploadButton.setEnabled(true);
+                    importFolderButton.setEnabled(true);
+                }
+            }
+        };
+        worker.execute();
+    }
+    
+    /**
+     * Display a resume that is already loaded (e.g. restored from the last session)
+     */
+    public void showResume(Resume resume) {
+        fileNameLabel.setText("📄 " + resume.getFileName());
+        fileNameLabel.setForeground(new Color(40, 167, 69));
+        resumePreview.setText(resume.getContent());
+        resumePreview.setCaretPosition(0);
+        nextButton.setEnabled(true);
+        
+        statusLabel.setText("✓ Loaded successfully");
+        statusLabel.setForeground(new Color(40, 167, 69));
+    }
 }
 
@@ -0,0 +1,161 @@
+package com.interviewprep.ui;
+
+import com.interviewprep.model.*;
+import com.interviewprep.service.StorageService;
+import com.interviewprep.util.IconProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Panel for searching past questions, answers and feedback
+ */
+@Slf4j
+public class SearchPanel extends JPanel {
+    private static final int MAX_RESULTS = 50;
+
+    private final MainFrame mainFrame;
+    private final StorageService storageService;
+
+    private JTextField queryField;
+    private JLabel statusLabel;
+    private DefaultListModel<String> resultModel;
+    private JList<String> resultList;
+    private JTextArea detailsArea;
+    private List<SearchResult> currentResults = new ArrayList<>();
+    private Timer debounceTimer;
+
+    public SearchPanel(MainFrame mainFrame) {
+        this.mainFrame = mainFrame;
+        this.storageService = mainFrame.getStorageService();
+        initializeUI();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(15, 15));
+        setBorder(new EmptyBorder(30, 30, 30, 30));
+
+        // Header
+        JPanel headerPanel = new JPanel(new BorderLayout(10, 10));
+
+        JLabel titleLabel = new JLabel(IconProvider.getTitle("SEARCH", "Search Past Interviews"));
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 28));
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
+
+        queryField = new JTextField();
+        queryField.setFont(new Font("Arial", Font.PLAIN, 16));
+        queryField.setToolTipText("Words match as prefixes; use \"quotes\" for exact phrases");
+        headerPanel.add(queryField, BorderLayout.CENTER);
+
+        statusLabel = new JLabel("Type to search questions, answers and feedback");
+        statusLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        statusLabel.setForeground(Color.GRAY);
+        headerPanel.add(statusLabel, BorderLayout.SOUTH);
+
+        add(headerPanel, BorderLayout.NORTH);
+
+        // Search as the user types, debounced to one query per pause
+        debounceTimer = new Timer(150, e -> runSearch());
+        debounceTimer.setRepeats(false);
+        queryField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            public void removeUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            public void changedUpdate(DocumentEvent e) { debounceTimer.restart(); }
+        });
+        queryField.addActionListener(e -> runSearch());
+
+        // Center - results and details
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+
+        resultModel = new DefaultListModel<>();
+        resultList = new JList<>(resultModel);
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedResult();
+            }
+        });
+        JScrollPane resultScroll = new JScrollPane(resultList);
+        resultScroll.setBorder(BorderFactory.createTitledBorder("Results"));
+        splitPane.setLeftComponent(resultScroll);
+
+        detailsArea = new JTextArea();
+        detailsArea.setEditable(false);
+        detailsArea.setLineWrap(true);
+        detailsArea.setWrapStyleWord(true);
+        detailsArea.setFont(new Font("Arial", Font.PLAIN, 13));
+        detailsArea.setMargin(new Insets(10, 10, 10, 10));
+        JScrollPane detailsScroll = new JScrollPane(detailsArea);
+        detailsScroll.setBorder(BorderFactory.createTitledBorder("Details"));
+        splitPane.setRightComponent(detailsScroll);
+        splitPane.setDividerLocation(450);
+
+        add(splitPane, BorderLayout.CENTER);
+    }
+
+    private void runSearch() {
+        String query = queryField.getText().trim();
+        resultModel.clear();
+        detailsArea.setText("");
+
+        if (query.isEmpty()) {
+            currentResults = new ArrayList<>();
+            statusLabel.setText("Type to search questions, answers and feedback");
+            return;
+        }
+
+        long start = System.nanoTime();
+        currentResults = storageService.search(query, MAX_RESULTS);
+        long micros = (System.nanoTime() - start) / 1000;
+
+        for (SearchResult result : currentResults) {
+            resultModel.addElement(String.format("%s  [%s]  %s",
+                result.getDate() != null ? result.getDate().toLocalDate() : "—",
+                result.getKind(),
+                result.getSnippet()));
+        }
+        statusLabel.setText(String.format("%d results in %.1f ms", currentResults.size(), micros / 1000.0));
+    }
+
+    private void showSelectedResult() {
+        int index = resultList.getSelectedIndex();
+        if (index < 0 || index >= currentResults.size()) return;
+        SearchResult result = currentResults.get(index);
+
+        StringBuilder details = new StringBuilder();
+        details.append("📅 Date: ").append(result.getDate()).append("\n\n");
+
+        InterviewSession session = storageService.loadSession(result.getSessionId());
+        if (session != null && result.getQuestionId() != null) {
+            session.getQuestions().stream()
+                .filter(q -> result.getQuestionId().equals(q.getId()))
+                .findFirst()
+                .ifPresent(q -> {
+                    details.append("❓ Question (").append(q.getCategory()).append("):\n")
+                           .append(q.getQuestion()).append("\n\n");
+                    details.append("💬 Your Answer:\n")
+                           .append(session.getUserAnswers().getOrDefault(q.getId(), "[Not answered]")).append("\n\n");
+                    String feedback = session.getFeedback().get(q.getId());
+                    if (feedback != null) {
+                        details.append("📝 Feedback:\n").append(feedback).append("\n");
+                    }
+                });
+        } else {
+            InterviewAnalytics analytics = storageService.loadAnalytics(result.getSessionId());
+            if (analytics != null) {
+                details.append("📊 Detailed Feedback:\n").append(analytics.getDetailedFeedback()).append("\n");
+            } else {
+                details.append(result.getSnippet());
+            }
+        }
+
+        detailsArea.setText(details.toString());
+        detailsArea.setCaretPosition(0);
+    }
+}
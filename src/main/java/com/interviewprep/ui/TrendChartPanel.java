@@ -0,0 +1,85 @@
+package com.interviewprep.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal line chart for pre-aggregated trend data
+ */
+public class TrendChartPanel extends JPanel {
+    private final String title;
+    private final Color lineColor;
+    private List<String> labels = new ArrayList<>();
+    private List<Double> values = new ArrayList<>();
+    private double maxValue = 10.0;
+
+    public TrendChartPanel(String title, Color lineColor) {
+        this.title = title;
+        this.lineColor = lineColor;
+        setPreferredSize(new Dimension(400, 160));
+    }
+
+    /**
+     * Replace the plotted points; a maxValue of 0 scales to the largest value
+     */
+    public void setData(List<String> labels, List<Double> values, double maxValue) {
+        this.labels = new ArrayList<>(labels);
+        this.values = new ArrayList<>(values);
+        double largest = values.stream().mapToDouble(Double::doubleValue).max().orElse(1.0);
+        this.maxValue = maxValue > 0 ? maxValue : Math.max(1.0, largest * 1.1);
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int left = 40, right = 15, top = 25, bottom = 25;
+        int w = getWidth() - left - right;
+        int h = getHeight() - top - bottom;
+
+        g2.setColor(getForeground());
+        g2.setFont(new Font("Arial", Font.BOLD, 12));
+        g2.drawString(title, left, 15);
+
+        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setColor(Color.GRAY);
+        g2.drawLine(left, top + h, left + w, top + h);
+        g2.drawLine(left, top, left, top + h);
+        g2.drawString(String.format("%.0f", maxValue), 5, top + 10);
+        g2.drawString("0", 5, top + h);
+
+        if (values.isEmpty()) {
+            g2.drawString("No data yet", left + w / 2 - 25, top + h / 2);
+            g2.dispose();
+            return;
+        }
+
+        int n = values.size();
+        int prevX = -1, prevY = -1;
+        for (int i = 0; i < n; i++) {
+            int x = left + (n == 1 ? w / 2 : i * w / (n - 1));
+            int y = top + h - (int) (Math.min(values.get(i), maxValue) / maxValue * h);
+
+            g2.setColor(lineColor);
+            if (prevX >= 0) {
+                g2.setStroke(new BasicStroke(2f));
+                g2.drawLine(prevX, prevY, x, y);
+            }
+            g2.fillOval(x - 3, y - 3, 6, 6);
+
+            // Label first, last and a few in between to avoid clutter
+            if (i == 0 || i == n - 1 || n <= 8 || i % (n / 4) == 0) {
+                g2.setColor(Color.GRAY);
+                g2.drawString(labels.get(i), x - 20, top + h + 15);
+            }
+            prevX = x;
+            prevY = y;
+        }
+        g2.dispose();
+    }
+}
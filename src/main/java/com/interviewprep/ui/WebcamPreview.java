@@ -0,0 +1,97 @@
+package com.interviewprep.ui;
+
+import com.interviewprep.service.SharedFrame;
+import com.interviewprep.service.VideoFrameQueue;
+import com.interviewprep.service.VideoRecordingService;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.Java2DFrameConverter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Small live thumbnail of the webcam while recording
+ * Subscribes to the recording's frame bus at a capped frame rate with a one-frame queue, so the
+ * preview only ever shows the latest frame and never takes frames from the encoder. Conversion
+ * to an image happens here, on the preview thread, not on the capture path.
+ */
+@Slf4j
+public class WebcamPreview extends JLabel {
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 120;
+
+    // Two thumbnails: one on screen, one being drawn
+    private final BufferedImage[] thumbnails = {
+        new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB),
+        new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)
+    };
+    private volatile boolean running;
+    private Thread worker;
+    private VideoFrameQueue subscription;
+    private VideoRecordingService videoService;
+
+    public WebcamPreview() {
+        setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        setBorder(BorderFactory.createLineBorder(Color.GRAY));
+        setHorizontalAlignment(CENTER);
+        setToolTipText("Webcam preview");
+    }
+
+    /**
+     * Start showing frames from an active recording
+     */
+    public void start(VideoRecordingService videoService, double fps) {
+        stop();
+        VideoFrameQueue queue = videoService.subscribe("preview", 1, VideoFrameQueue.DropPolicy.DROP_OLDEST, fps);
+        if (queue == null) return;
+        this.videoService = videoService;
+        this.subscription = queue;
+        running = true;
+        worker = new Thread(() -> previewLoop(queue), "video-preview");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (subscription != null) {
+            videoService.unsubscribe(subscription);
+            subscription = null;
+        }
+        worker = null;
+        setIcon(null);
+    }
+
+    private void previewLoop(VideoFrameQueue queue) {
+        Java2DFrameConverter converter = new Java2DFrameConverter();
+        int next = 0;
+        try {
+            while (running && !queue.isDrained()) {
+                SharedFrame frame = queue.take(200);
+                if (frame == null) continue;
+                BufferedImage thumbnail = thumbnails[next];
+                try {
+                    BufferedImage image = converter.convert(frame.getFrame());
+                    Graphics2D g = thumbnail.createGraphics();
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.drawImage(image, 0, 0, WIDTH, HEIGHT, null);
+                    g.dispose();
+                } finally {
+                    frame.release();
+                }
+                next = 1 - next;
+                SwingUtilities.invokeLater(() -> {
+                    if (running) {
+                        setIcon(new ImageIcon(thumbnail));
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Webcam preview stopped: {}", e.getMessage());
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class IconProvider {
             ICONS.put("STOP", "■");              // Stop symbol
             ICONS.put("VIDEO", "📹");            // Video emoji (usually works)
             ICONS.put("RECORDING", "●");         // Recording dot
+            ICONS.put("SEARCH", "🔍");           // Search emoji (usually works)
         } else {
             // macOS/Linux - use full emojis
             ICONS.put("TARGET", "🎯");
@@ -54,6 +55,7 @@ public class IconProvider {
             ICONS.put("STOP", "■");
             ICONS.put("VIDEO", "📹");
             ICONS.put("RECORDING", "●");
+            ICONS.put("SEARCH", "🔍");
         }
     }
     
@@ -0,0 +1,181 @@
+package com.interviewprep.server;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testRequestsBeyondWorkersAndQueueAreTurnedAway() throws Exception {
+        // Arrange: 2 workers + 2 queued, each request taking 300 ms
+        server = start(2, 2, 10_000);
+        server.route("GET", "/api/slow", exchange -> {
+            Thread.sleep(300);
+            exchange.json(200, Map.of("ok", true));
+        });
+
+        // Act: 12 clients at once
+        LoadGenerator.Report report = new LoadGenerator(uri("/api/slow"), "GET", null, 12, 12,
+            Duration.ofSeconds(10)).run();
+
+        // Assert: at most 4 admitted, the rest rejected at once rather than waiting
+        assertEquals(12, report.getRequests());
+        assertTrue(report.count(200) >= 2 && report.count(200) <= 4, "Admitted: " + report.getStatuses());
+        assertEquals(12 - report.count(200), report.count(503), "Rejected: " + report.getStatuses());
+        ApiServer.Stats stats = server.getStats();
+        assertEquals(report.count(503), stats.getRejected());
+        assertEquals(0, stats.getBusyWorkers());
+    }
+
+    @Test
+    void testRequestPastItsDeadlineIsCancelled() throws Exception {
+        // Arrange
+        server = start(1, 0, 200);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        server.route("GET", "/api/stuck", exchange -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        // Act
+        HttpResponse<String> response = get("/api/stuck");
+
+        // Assert
+        assertEquals(504, response.statusCode());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "Worker should be interrupted");
+        assertEquals(1, server.getStats().getTimedOut());
+    }
+
+    @Test
+    void testHandlerIgnoringItsDeadlineKeepsItsPlaceUntilItReturns() throws Exception {
+        // Arrange: one worker, no queue, and a handler that ignores interrupts until released
+        server = start(1, 0, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        server.route("GET", "/api/stubborn", exchange -> {
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    // like a blocking socket read, which does not see the interrupt
+                }
+            }
+        });
+        server.route("GET", "/api/quick", exchange -> exchange.json(200, Map.of("ok", true)));
+
+        // Act
+        HttpResponse<String> stuck = get("/api/stubborn");
+        HttpResponse<String> whileStuck = get("/api/quick");
+        release.countDown();
+        HttpResponse<String> afterwards = null;
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            afterwards = get("/api/quick");
+            if (afterwards.statusCode() != 503) break;
+            Thread.sleep(20);
+        }
+
+        // Assert: the deadline answered the client, but no second request ran beside the stuck one
+        assertEquals(504, stuck.statusCode());
+        assertEquals(503, whileStuck.statusCode());
+        assertEquals(200, afterwards.statusCode());
+    }
+
+    @Test
+    void testStreamedLinesArriveBeforeTheReplyEnds() throws Exception {
+        // Arrange
+        server = start(1, 0, 10_000);
+        CountDownLatch firstLineRead = new CountDownLatch(1);
+        server.route("POST", "/api/stream", exchange -> {
+            exchange.streamLine(Map.of("chunk", "Hello"));
+            assertTrue(firstLineRead.await(5, TimeUnit.SECONDS), "Client never saw the first line");
+            exchange.streamLine(Map.of("result", "Hello world"));
+        });
+
+        // Act
+        HttpResponse<java.io.InputStream> response = client.send(
+            HttpRequest.newBuilder(uri("/api/stream")).POST(HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.ofInputStream());
+        String first;
+        String second;
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            first = lines.readLine();
+            firstLineRead.countDown();
+            second = lines.readLine();
+        }
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+        assertEquals("{\"chunk\":\"Hello\"}", first);
+        assertEquals("{\"result\":\"Hello world\"}", second);
+    }
+
+    @Test
+    void testRoutingAndBadRequests() throws Exception {
+        // Arrange
+        server = start(1, 0, 10_000);
+        server.route("GET", "/api/sessions/{id}", exchange ->
+            exchange.json(200, Map.of("id", exchange.pathParam("id"))));
+        server.route("POST", "/api/echo", exchange -> exchange.json(200, exchange.body(JsonObject.class)));
+
+        // Act
+        HttpResponse<String> found = get("/api/sessions/abc-123");
+        HttpResponse<String> missing = get("/api/nothing");
+        HttpResponse<String> wrongMethod = client.send(HttpRequest.newBuilder(uri("/api/sessions/abc"))
+            .DELETE().build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> malformed = client.send(HttpRequest.newBuilder(uri("/api/echo"))
+            .POST(HttpRequest.BodyPublishers.ofString("{not json")).build(), HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(200, found.statusCode());
+        assertEquals("{\"id\":\"abc-123\"}", found.body());
+        assertEquals(404, missing.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals(400, malformed.statusCode());
+        assertTrue(malformed.body().contains("\"error\""));
+    }
+
+    private ApiServer start(int workers, int queue, long timeoutMillis) throws Exception {
+        ApiServer apiServer = new ApiServer(new InetSocketAddress("127.0.0.1", 0), workers, queue, timeoutMillis, 64 * 1024);
+        apiServer.start();
+        return apiServer;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
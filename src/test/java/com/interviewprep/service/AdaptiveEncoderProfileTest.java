@@ -0,0 +1,130 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveEncoderProfileTest {
+    private static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 30;
+
+    @Test
+    void testSlowEncoderStepsToFasterPresetOncePerRecording() {
+        // Arrange
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(28, "medium", "zerolatency", 0), true);
+        assertEquals("medium", profile.begin(30).getPreset());
+
+        // Act: encoding takes the whole frame budget for several windows
+        feed(profile, 300, FRAME_BUDGET_NANOS);
+
+        // Assert: one step, applied from the next encoder on
+        assertEquals("fast", profile.getCurrent().getPreset());
+        EncoderProfile next = profile.begin(30);
+        assertEquals("fast", next.getPreset());
+        assertEquals(28, next.getCrf());
+        assertEquals("zerolatency", next.getTune());
+    }
+
+    @Test
+    void testHeadroomReturnsTowardConfiguredPresetButNotBeyond() {
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(28, "veryfast", null, 0), true);
+        profile.begin(30);
+        feed(profile, 60, FRAME_BUDGET_NANOS);
+        profile.begin(30);
+        assertEquals("superfast", profile.getCurrent().getPreset());
+
+        feed(profile, 60, FRAME_BUDGET_NANOS / 10);
+        assertEquals("veryfast", profile.begin(30).getPreset());
+        feed(profile, 60, FRAME_BUDGET_NANOS / 10);
+        assertEquals("veryfast", profile.getCurrent().getPreset());
+    }
+
+    @Test
+    void testSteadyLoadKeepsProfile() {
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(23, "fast", null, 0), true);
+        profile.begin(30);
+
+        feed(profile, 300, FRAME_BUDGET_NANOS / 2);
+
+        assertEquals("fast", profile.getCurrent().getPreset());
+    }
+
+    @Test
+    void testNonAdaptiveProfileNeverChanges() {
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(28, "medium", null, 0), false);
+        profile.begin(30);
+
+        feed(profile, 300, FRAME_BUDGET_NANOS * 3);
+
+        assertEquals(profile.getConfigured(), profile.begin(30));
+    }
+
+    @Test
+    void testSlowBitrateEncoderIsReopenedAtALowerBitrate() {
+        // Arrange
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(28, "veryfast", null, 1000), true);
+        assertEquals(1000, profile.begin(640, 480, 30, "libopenh264").getBitrateKbps());
+
+        // Act: far too slow for many windows, then plenty of headroom on the next encoder
+        feed(profile, 60 * 3, FRAME_BUDGET_NANOS * 2);
+        EncoderProfile reopened = profile.begin(640, 480, 30, "libopenh264");
+        feed(profile, 60 * 10, FRAME_BUDGET_NANOS * 2);
+        int lowest = profile.begin(640, 480, 30, "libopenh264").getBitrateKbps();
+        feed(profile, 60 * 10, FRAME_BUDGET_NANOS / 10);
+
+        // Assert: stepped down a fifth per window to the floor, applied from the next encoder on
+        assertEquals(512, reopened.getBitrateKbps());
+        assertEquals(250, lowest);
+        assertEquals(1000, profile.getCurrent().getBitrateKbps());
+    }
+
+    @Test
+    void testX264EncodesAtTheCrfAndOthersAtADerivedBitrate() {
+        AdaptiveEncoderProfile profile = new AdaptiveEncoderProfile(
+            new EncoderProfile(28, "veryfast", null, 0), true);
+
+        EncoderProfile x264 = profile.begin(640, 480, 30, "libx264");
+        EncoderProfile openh264 = profile.begin(640, 480, 30, "libopenh264");
+        EncoderProfile x264Again = profile.begin(640, 480, 30, "libx264");
+
+        assertEquals(0, x264.getBitrateKbps(), "x264 is rate-controlled by CRF");
+        assertEquals(28, x264.getCrf());
+        assertEquals(922, openh264.getBitrateKbps());
+        assertEquals(0, x264Again.getBitrateKbps());
+        assertEquals(500, new AdaptiveEncoderProfile(new EncoderProfile(28, "veryfast", null, 500), true)
+            .begin(640, 480, 30, "libx264").getBitrateKbps(), "A configured bitrate is used by every encoder");
+    }
+
+    @Test
+    void testBitrateDefaultsFromFrameSizeRateAndQuality() {
+        EncoderProfile unset = new EncoderProfile(28, "veryfast", null, 0);
+
+        assertEquals(922, unset.withDefaultBitrate(640, 480, 30).getBitrateKbps());
+        assertEquals(3686, unset.withDefaultBitrate(1280, 960, 30).getBitrateKbps());
+        assertEquals(1843, new EncoderProfile(22, "veryfast", null, 0)
+            .withDefaultBitrate(640, 480, 30).getBitrateKbps(), "Six CRF steps double it");
+        assertEquals(500, new EncoderProfile(28, "veryfast", null, 500)
+            .withDefaultBitrate(640, 480, 30).getBitrateKbps(), "A configured bitrate wins");
+        assertEquals(922, new AdaptiveEncoderProfile(unset, true).begin(640, 480, 30, "libopenh264").getBitrateKbps());
+    }
+
+    @Test
+    void testPresetLadderIsClamped() {
+        EncoderProfile fastest = new EncoderProfile(28, "ultrafast", null, 0);
+
+        assertEquals("ultrafast", fastest.withPresetStep(-1).getPreset());
+        assertEquals("slow", fastest.withPresetStep(20).getPreset());
+        assertEquals(51, new EncoderProfile(80, "fast", null, 0).getCrf());
+        assertThrows(IllegalArgumentException.class, () -> new EncoderProfile(28, "turbo", null, 0));
+    }
+
+    private static void feed(AdaptiveEncoderProfile profile, int frames, long nanosPerFrame) {
+        for (int i = 0; i < frames; i++) {
+            profile.recordEncodeTime(nanosPerFrame);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsRollupServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path rollupFile;
+    private AnalyticsRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupFile = tempDir.resolve("rollups").resolve("analytics_contributions.jsonl");
+        rollupService = new AnalyticsRollupService(rollupFile);
+    }
+
+    @Test
+    void testRecordUpdatesAllDimensions() {
+        // Arrange
+        InterviewAnalytics first = createAnalytics(InterviewMode.PRACTICE, 6.0, 4, 120);
+        InterviewAnalytics second = createAnalytics(InterviewMode.FAANG, 8.0, 2, 140);
+
+        // Act
+        rollupService.record(first);
+        rollupService.record(second);
+        AnalyticsRollup rollup = rollupService.getRollup();
+
+        // Assert
+        assertEquals(2, rollup.getOverall().getCount());
+        assertEquals(7.0, rollup.getOverall().getAverageScore(), 0.001);
+        assertEquals(3.0, rollup.getOverall().getAverageFillerWords(), 0.001);
+        assertEquals(130.0, rollup.getOverall().getAverageWordsPerMinute(), 0.001);
+        assertEquals(1, rollup.getByMode().get(InterviewMode.FAANG.getDisplayName()).getCount());
+        assertEquals(1, rollup.getByDay().size());
+        assertEquals(1, rollup.getByWeek().size());
+        assertTrue(rollup.getByCategory().containsKey("Technical"));
+    }
+
+    @Test
+    void testReRecordingSameSessionReplacesContribution() {
+        // Arrange
+        InterviewAnalytics analytics = createAnalytics(InterviewMode.PRACTICE, 5.0, 10, 0);
+        rollupService.record(analytics);
+
+        // Act
+        analytics.setOverallScore(9.0);
+        rollupService.record(analytics);
+
+        // Assert
+        AnalyticsRollup rollup = rollupService.getRollup();
+        assertEquals(1, rollup.getOverall().getCount());
+        assertEquals(9.0, rollup.getOverall().getAverageScore(), 0.001);
+        assertEquals(0.0, rollup.getOverall().getAverageWordsPerMinute(), 0.001);
+    }
+
+    @Test
+    void testRollupIsPersistedAndReloaded() {
+        // Arrange
+        rollupService.record(createAnalytics(InterviewMode.TIMED, 7.5, 1, 110));
+
+        // Act
+        AnalyticsRollupService reloaded = new AnalyticsRollupService(rollupFile);
+
+        // Assert
+        assertTrue(reloaded.isPersisted());
+        assertEquals(1, reloaded.getRollup().getOverall().getCount());
+        assertEquals(7.5, reloaded.getRollup().getByMode()
+            .get(InterviewMode.TIMED.getDisplayName()).getAverageScore(), 0.001);
+    }
+
+    @Test
+    void testRollupIsASnapshot() {
+        // Arrange
+        rollupService.record(createAnalytics(InterviewMode.PRACTICE, 6.0, 0, 0));
+        AnalyticsRollup snapshot = rollupService.getRollup();
+
+        // Act
+        rollupService.record(createAnalytics(InterviewMode.FAANG, 8.0, 0, 0));
+
+        // Assert
+        assertEquals(1, snapshot.getOverall().getCount());
+        assertFalse(snapshot.getByMode().containsKey(InterviewMode.FAANG.getDisplayName()));
+        assertEquals(2, rollupService.getRollup().getOverall().getCount());
+    }
+
+    @Test
+    void testSavesAppendToTheLogAndCompact() throws Exception {
+        // Arrange
+        InterviewAnalytics analytics = createAnalytics(InterviewMode.PRACTICE, 5.0, 0, 0);
+
+        // Act: one line per save until superseded lines dominate
+        rollupService.record(analytics);
+        rollupService.record(createAnalytics(InterviewMode.PRACTICE, 7.0, 0, 0));
+        long linesAfterTwo = Files.readAllLines(rollupFile).size();
+        for (int i = 0; i < 100; i++) {
+            analytics.setOverallScore(i % 10);
+            rollupService.record(analytics);
+        }
+
+        // Assert
+        assertEquals(2, linesAfterTwo);
+        assertTrue(Files.readAllLines(rollupFile).size() < 70, "Log should have been compacted");
+        AnalyticsRollupService reloaded = new AnalyticsRollupService(rollupFile);
+        assertEquals(2, reloaded.getRollup().getOverall().getCount());
+        assertEquals((9.0 + 7.0) / 2, reloaded.getRollup().getOverall().getAverageScore(), 0.001);
+    }
+
+    @Test
+    void testLegacyRollupFileIsMigrated() throws Exception {
+        // Arrange: the old single-file format kept contributions beside the aggregates
+        Path legacy = rollupFile.resolveSibling(AnalyticsRollupService.LEGACY_FILE_NAME);
+        Files.createDirectories(legacy.getParent());
+        Files.writeString(legacy, "{\"overall\":{\"count\":1},\"contributions\":{\"s1\":{\"mode\":\"Practice\","
+            + "\"day\":\"2026-03-10\",\"week\":\"2026-W11\",\"overallScore\":6.5,\"categoryScores\":{}}}}");
+
+        // Act
+        AnalyticsRollupService migrated = new AnalyticsRollupService(rollupFile);
+
+        // Assert
+        assertEquals(1, migrated.getRollup().getOverall().getCount());
+        assertEquals(6.5, migrated.getRollup().getOverall().getAverageScore(), 0.001);
+        assertTrue(Files.exists(rollupFile));
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void testRebuildFromExistingAnalytics() {
+        // Act
+        rollupService.rebuild(List.of(
+            createAnalytics(InterviewMode.PRACTICE, 6.0, 0, 0),
+            createAnalytics(InterviewMode.PRACTICE, 8.0, 0, 0)));
+
+        // Assert
+        assertEquals(2, rollupService.getRollup().getByMode()
+            .get(InterviewMode.PRACTICE.getDisplayName()).getCount());
+        assertEquals(1, rollupService.getRollup().getRecentWeeks(12).size());
+    }
+
+    private InterviewAnalytics createAnalytics(InterviewMode mode, double score, int fillers, double wpm) {
+        InterviewAnalytics analytics = new InterviewAnalytics();
+        analytics.setSessionId(UUID.randomUUID().toString());
+        analytics.setSessionDate(LocalDateTime.of(2026, 3, 10, 14, 0));
+        analytics.setMode(mode);
+        analytics.setOverallScore(score);
+        analytics.setTechnicalScore(score);
+        analytics.setBehavioralScore(score);
+        analytics.setCommunicationScore(score);
+        analytics.setConfidenceScore(score);
+        analytics.setFillerWordCount(fillers);
+        analytics.setWordsPerMinute(wpm);
+        return analytics;
+    }
+}
@@ -0,0 +1,169 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.AnswerSegmentIndex;
+import com.interviewprep.model.AnswerSegmentIndex.Segment;
+import com.interviewprep.model.AnswerSegmentIndex.Span;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.interviewprep.service.VoiceActivityDetectorTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerSegmentTrackerTest {
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+    private static final int BYTES_PER_SECOND = 32000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFillComputesSpeakingTimeAndPauses() {
+        // Arrange: window 1000..9000, first span starts before the window
+        Segment segment = window("q1", 1000, 9000);
+
+        // Act
+        AnswerSegmentTracker.fill(segment, Arrays.asList(
+            new Span(500, 2000), new Span(2500, 4000), new Span(5000, 6000), new Span(9500, 9800)),
+            BYTES_PER_SECOND, 2, 44);
+
+        // Assert
+        assertEquals(1000, segment.getSpeechOnsetMillis());
+        assertEquals(6000, segment.getSpeechOffsetMillis());
+        assertEquals(3500, segment.getSpeakingMillis());
+        assertEquals(2, segment.getPauseCount());
+        assertEquals(1500, segment.getTotalPauseMillis());
+        assertEquals(1000, segment.getLongestPauseMillis());
+        assertEquals(750.0, segment.getMeanPauseMillis());
+        assertEquals(0, segment.getResponseLatencyMillis());
+        assertEquals(44 + 32000, segment.getByteOffset());
+        assertEquals(5 * 32000, segment.getByteLength());
+    }
+
+    @Test
+    void testFillWithoutSpeechCoversWholeWindow() {
+        Segment segment = window("q1", 2000, 3000);
+
+        AnswerSegmentTracker.fill(segment, Arrays.asList(new Span(0, 1500)), BYTES_PER_SECOND, 2, 44);
+
+        assertFalse(segment.hasSpeech());
+        assertEquals(0, segment.getSpeakingMillis());
+        assertEquals(-1, segment.getResponseLatencyMillis());
+        assertEquals(44 + 64000, segment.getByteOffset());
+        assertEquals(32000, segment.getByteLength());
+    }
+
+    @Test
+    void testSegmentsLiveStreamPerQuestion() throws Exception {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(BYTES_PER_SECOND * 4, 2);
+        AtomicLong captured = new AtomicLong();
+        AnswerSegmentTracker tracker = new AnswerSegmentTracker(ring.newTap(), FORMAT,
+            new VoiceActivityDetector(16000), captured::get, () -> false);
+        tracker.start();
+
+        // Act: question 1 is answered after a 1 s delay, question 2 gets two phrases
+        tracker.beginQuestion("q1", 0);
+        feed(ring, captured, concat(noise(1000), tone(1500, 0.3), noise(500)));
+        tracker.endQuestion();
+        feed(ring, captured, noise(500));
+        tracker.beginQuestion("q2", 1);
+        feed(ring, captured, concat(noise(300), tone(800, 0.3), noise(900), tone(600, 0.3), noise(400)));
+        ring.close();
+        AnswerSegmentIndex index = tracker.finish("session", "audio.wav", 5000);
+
+        // Assert
+        assertEquals(2, index.getSegments().size());
+        Segment first = index.getSegment("q1");
+        assertEquals(1000, first.getResponseLatencyMillis(), 40);
+        assertEquals(1500, first.getSpeakingMillis(), 60);
+        assertEquals(0, first.getPauseCount());
+
+        Segment second = index.getSegment("q2");
+        assertEquals(1, second.getQuestionIndex());
+        assertEquals(3500, second.getStartMillis());
+        assertEquals(2, second.getSpans().size());
+        assertEquals(1400, second.getSpeakingMillis(), 80);
+        assertEquals(1, second.getPauseCount());
+        assertEquals(900, second.getLongestPauseMillis(), 60);
+    }
+
+    @Test
+    void testStuckWorkerStillYieldsPublishedSpans() throws Exception {
+        // Arrange: detection hangs once it is past the first answer, so finish has to give up on it
+        AudioRingBuffer ring = new AudioRingBuffer(BYTES_PER_SECOND * 4, 2);
+        AtomicLong captured = new AtomicLong();
+        CountDownLatch hung = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AnswerSegmentTracker tracker = new AnswerSegmentTracker(ring.newTap(), FORMAT,
+            new VoiceActivityDetector(16000), captured::get, () -> {
+                if (captured.get() > BYTES_PER_SECOND * 5L / 2) {
+                    hung.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return false;
+            });
+        tracker.start();
+        tracker.beginQuestion("q1", 0);
+        feed(ring, captured, concat(noise(500), tone(1000, 0.3), noise(1000)));
+        feed(ring, captured, noise(200));
+        assertTrue(hung.await(5, TimeUnit.SECONDS));
+
+        // Act
+        AnswerSegmentIndex index = tracker.finish("session", "audio.wav", 100);
+        release.countDown();
+
+        // Assert
+        Segment first = index.getSegment("q1");
+        assertEquals(1, first.getSpans().size());
+        assertEquals(1000, first.getSpeakingMillis(), 60);
+    }
+
+    @Test
+    void testIndexRoundTripsThroughDisk() throws Exception {
+        // Arrange
+        AnswerSegmentIndex index = new AnswerSegmentIndex();
+        index.setSessionId("s1");
+        index.setBytesPerSecond(BYTES_PER_SECOND);
+        Segment segment = window("q1", 0, 4000);
+        AnswerSegmentTracker.fill(segment, Arrays.asList(new Span(500, 3000)), BYTES_PER_SECOND, 2, 44);
+        index.getSegments().add(segment);
+
+        // Act
+        AnswerSegmentTracker.writeIndex(index, tempDir);
+        AnswerSegmentIndex loaded = AnswerSegmentTracker.readIndex(tempDir);
+
+        // Assert
+        assertNotNull(loaded);
+        assertEquals(index, loaded);
+        assertNull(AnswerSegmentTracker.readIndex(tempDir.resolve("missing")));
+    }
+
+    private static Segment window(String questionId, long start, long end) {
+        Segment segment = new Segment();
+        segment.setQuestionId(questionId);
+        segment.setStartMillis(start);
+        segment.setEndMillis(end);
+        return segment;
+    }
+
+    private static void feed(AudioRingBuffer ring, AtomicLong captured, byte[] pcm) throws InterruptedException {
+        // Real-time-ish: 100 ms blocks, so the detector keeps up the way it does with a microphone
+        for (int offset = 0; offset < pcm.length; offset += 3200) {
+            int length = Math.min(3200, pcm.length - offset);
+            ring.write(pcm, offset, length);
+            captured.addAndGet(length);
+            Thread.sleep(2);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.AudioCompressor.Codec;
+import com.interviewprep.service.AudioCompressor.CompressionReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.interviewprep.service.VoiceActivityDetectorTest.concat;
+import static com.interviewprep.service.VoiceActivityDetectorTest.noise;
+import static com.interviewprep.service.VoiceActivityDetectorTest.tone;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioCompressorTest {
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAacIsMuchSmallerThanPcm() throws Exception {
+        CompressionReport report = compress(Codec.AAC, 32, tempDir.resolve("answer.m4a"));
+
+        assertFalse(report.isFailed());
+        assertEquals(10 * 32000, report.getPcmBytes());
+        assertEquals(Files.size(tempDir.resolve("answer.m4a")), report.getEncodedBytes());
+        // 256 kbps PCM at 32 kbps is ~8x, less container overhead
+        assertTrue(report.getCompressionRatio() > 5, report.toString());
+        assertEquals(0, report.getDroppedBytes());
+    }
+
+    @Test
+    void testOpusOutput() throws Exception {
+        CompressionReport report = compress(Codec.OPUS, 24, tempDir.resolve("answer.ogg"));
+
+        assertFalse(report.isFailed());
+        assertTrue(report.getCompressionRatio() > 5, report.toString());
+    }
+
+    @Test
+    void testCompressedCopyCanBeAnalysedInPlaceOfTheWav() throws Exception {
+        // Arrange
+        Path output = tempDir.resolve("answer.m4a");
+        compress(Codec.AAC, 32, output);
+
+        // Act
+        ProsodyAnalyzer.ProsodyReport report = ProsodyAnalyzer.analyze(output, null);
+
+        // Assert: the whole 10 s decoded (AAC pads a frame or two at each end)
+        assertEquals(10.0, report.getAnalyzedSeconds(), 0.3);
+    }
+
+    @Test
+    void testUnknownCodecIsRejected() {
+        assertEquals(Codec.OPUS, Codec.fromName(" Opus "));
+        assertThrows(IllegalArgumentException.class, () -> Codec.fromName("mp3"));
+    }
+
+    private CompressionReport compress(Codec codec, int kbps, Path output) throws Exception {
+        // Arrange: 10 s of alternating speech-like tone and background noise
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        AudioCompressor compressor = new AudioCompressor(ring.newTap(), FORMAT, output, codec, kbps,
+            ring::getWritePosition);
+        compressor.start();
+        byte[] pcm = concat(tone(2000, 0.3), noise(3000), tone(2000, 0.2), noise(3000));
+
+        // Act
+        for (int offset = 0; offset < pcm.length; offset += 1024) {
+            ring.write(pcm, offset, Math.min(1024, pcm.length - offset));
+        }
+        ring.close();
+        CompressionReport report = compressor.finish(30_000);
+
+        // Assert
+        assertNotNull(report);
+        return report;
+    }
+}
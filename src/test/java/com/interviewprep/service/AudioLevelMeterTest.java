@@ -0,0 +1,53 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioLevelMeterTest {
+
+    @Test
+    void testSilenceIsZero() {
+        AudioLevelMeter meter = new AudioLevelMeter();
+
+        meter.update(new byte[1024], 0, 1024);
+
+        assertEquals(0f, meter.getRms());
+        assertEquals(0f, meter.getPeak());
+    }
+
+    @Test
+    void testSineWaveRmsIsPeakOverRootTwo() {
+        // Arrange
+        AudioLevelMeter meter = new AudioLevelMeter();
+        byte[] pcm = sine(16000, 440, 0.5, 1600);
+
+        // Act
+        meter.update(pcm, 0, pcm.length);
+
+        // Assert
+        assertEquals(0.5, meter.getPeak(), 0.01);
+        assertEquals(0.5 / Math.sqrt(2), meter.getRms(), 0.01);
+    }
+
+    @Test
+    void testFullScaleNegativeSampleIsHandled() {
+        AudioLevelMeter meter = new AudioLevelMeter();
+        byte[] pcm = {0x00, (byte) 0x80, 0x00, (byte) 0x80}; // -32768, -32768
+
+        meter.update(pcm, 0, pcm.length);
+
+        assertEquals(1.0f, meter.getPeak());
+        assertEquals(1.0f, meter.getRms());
+    }
+
+    private static byte[] sine(int sampleRate, double frequency, double amplitude, int samples) {
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short value = (short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * frequency * i / sampleRate));
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+}
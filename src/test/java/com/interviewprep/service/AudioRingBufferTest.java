@@ -0,0 +1,171 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedToPowerOfTwo() {
+        assertEquals(2048, new AudioRingBuffer(1500, 2).getCapacity());
+        assertEquals(4096, new AudioRingBuffer(4096, 2).getCapacity());
+    }
+
+    @Test
+    void testReadReturnsWrittenBytesAcrossWrap() {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2);
+        AudioRingBuffer.Tap tap = ring.newTap();
+        byte[] out = new byte[700];
+
+        // Act & Assert
+        for (int round = 0; round < 5; round++) {
+            byte[] block = pattern(700, round);
+            ring.write(block, 0, block.length);
+            assertEquals(700, tap.read(out, 0, out.length, 0));
+            assertArrayEquals(block, out);
+        }
+        assertEquals(0, tap.getDroppedBytes());
+    }
+
+    @Test
+    void testTapsAreIndependent() {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2);
+        AudioRingBuffer.Tap first = ring.newTap();
+        ring.write(pattern(100, 1), 0, 100);
+        AudioRingBuffer.Tap second = ring.newTap();
+        ring.write(pattern(100, 2), 0, 100);
+
+        // Act & Assert
+        assertEquals(200, first.read(new byte[512], 0, 512, 0));
+        assertEquals(100, second.read(new byte[512], 0, 512, 0));
+        assertEquals(200, second.getPosition());
+    }
+
+    @Test
+    void testSlowTapSkipsAheadAndCountsDroppedBytes() {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2);
+        AudioRingBuffer.Tap tap = ring.newTap();
+        for (int i = 0; i < 10; i++) {
+            ring.write(pattern(512, i), 0, 512);
+        }
+
+        // Act
+        int read = tap.read(new byte[4096], 0, 4096, 0);
+
+        // Assert
+        assertTrue(tap.getDroppedBytes() > 0);
+        assertEquals(ring.getWritePosition(), tap.getPosition());
+        assertEquals(ring.getWritePosition() - tap.getDroppedBytes(), read);
+        assertEquals(0, tap.getPosition() % 2);
+    }
+
+    @Test
+    void testTapWithinOneWriteOfBeingLappedIsOverrun() {
+        // Arrange: 1024-byte ring written 256 bytes at a time, so a tap may lag at most 768
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2, 256);
+        AudioRingBuffer.Tap tap = ring.newTap();
+
+        // Act: at 770 behind, the next write would overwrite the oldest unread bytes as they are copied
+        ring.write(pattern(768, 1), 0, 768);
+        int atLimit = tap.read(new byte[1024], 0, 1024, 0);
+        long droppedAtLimit = tap.getDroppedBytes();
+        ring.write(pattern(770, 2), 0, 770);
+        int pastLimit = tap.read(new byte[1024], 0, 1024, 0);
+
+        // Assert
+        assertEquals(768, atLimit);
+        assertEquals(0, droppedAtLimit);
+        assertTrue(tap.getDroppedBytes() > 0, "Lagging 770 bytes should count as overrun");
+        assertEquals(770 - tap.getDroppedBytes(), pastLimit);
+        assertEquals(ring.getWritePosition(), tap.getPosition());
+    }
+
+    @Test
+    void testClosedRingDrainsThenReturnsEndOfStream() {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2);
+        AudioRingBuffer.Tap tap = ring.newTap();
+        ring.write(pattern(64, 0), 0, 64);
+        ring.close();
+
+        // Act & Assert
+        assertEquals(64, tap.read(new byte[128], 0, 128, 0));
+        assertEquals(-1, tap.read(new byte[128], 0, 128, 0));
+    }
+
+    @Test
+    void testReadsReturnWholeFramesOnly() {
+        // Arrange: 4-byte frames, with half a frame written past the first
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 4);
+        AudioRingBuffer.Tap tap = ring.newTap();
+        ring.write(pattern(6, 0), 0, 6);
+
+        // Act & Assert
+        assertEquals(4, tap.read(new byte[6], 0, 6, 0));
+        assertEquals(0, tap.read(new byte[6], 0, 6, 0));
+        ring.write(pattern(2, 6), 0, 2);
+        assertEquals(4, tap.read(new byte[6], 0, 6, 0));
+        assertThrows(IllegalArgumentException.class, () -> tap.read(new byte[3], 0, 3, 0));
+    }
+
+    @Test
+    void testReadTimesOutWithoutData() {
+        AudioRingBuffer ring = new AudioRingBuffer(1024, 2);
+
+        assertEquals(0, ring.newTap().read(new byte[16], 0, 16, 20));
+    }
+
+    @Test
+    void testConcurrentConsumersSeeTheWholeStream() throws Exception {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 16, 2);
+        int consumers = 3;
+        byte[] expected = pattern(200_000, 7);
+        ExecutorService pool = Executors.newFixedThreadPool(consumers);
+        CountDownLatch ready = new CountDownLatch(consumers);
+        java.util.List<Future<byte[]>> results = new java.util.ArrayList<>();
+
+        for (int c = 0; c < consumers; c++) {
+            AudioRingBuffer.Tap tap = ring.newTap();
+            results.add(pool.submit(() -> {
+                ready.countDown();
+                ByteArrayOutputStream received = new ByteArrayOutputStream();
+                byte[] chunk = new byte[4096];
+                int read;
+                while ((read = tap.read(chunk, 0, chunk.length, 100)) >= 0) {
+                    received.write(chunk, 0, read);
+                }
+                return received.toByteArray();
+            }));
+        }
+
+        // Act
+        ready.await();
+        for (int offset = 0; offset < expected.length; offset += 1000) {
+            ring.write(expected, offset, Math.min(1000, expected.length - offset));
+            if (offset % 20_000 == 0) Thread.sleep(1);
+        }
+        ring.close();
+
+        // Assert
+        for (Future<byte[]> result : results) {
+            assertArrayEquals(expected, result.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+    }
+
+    private static byte[] pattern(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,171 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.AudioVideoMuxer.MuxReport;
+import com.interviewprep.service.VideoCapturePipelineTest.PacedGrabber;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.Buffer;
+import java.nio.file.Path;
+
+import static com.interviewprep.service.VoiceActivityDetectorTest.tone;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioVideoMuxerTest {
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+    private static final long START = 1_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAudioIsAlignedToVideoStartAndDriftMeasured() throws Exception {
+        // Arrange: audio joins 200 ms after video; the sound card delivers 1% fewer samples than nominal
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        SampleCounter recorder = new SampleCounter();
+        AudioVideoMuxer muxer = new AudioVideoMuxer(ring.newTap(), FORMAT, recorder, START,
+            position -> START + 200_000_000L + position * 1_010_000_000L / 32000);
+        muxer.start();
+
+        // Act: 3 s of audio
+        byte[] pcm = tone(3000, 0.2);
+        for (int offset = 0; offset < pcm.length; offset += 1024) {
+            ring.write(pcm, offset, Math.min(1024, pcm.length - offset));
+        }
+        Thread.sleep(200);
+        MuxReport report = muxer.stop(2000);
+
+        // Assert
+        assertFalse(report.isFailed());
+        assertEquals(200, report.getStartOffsetMillis());
+        assertEquals(3200 + 48000, report.getSamplesWritten());
+        assertEquals(report.getSamplesWritten(), recorder.samples);
+        // 3.2 s of audio written for 3.23 s of capture time
+        assertEquals(-30, report.getDriftMillis(), 2);
+        assertEquals(-30, report.getMaxDriftMillis(), 2);
+    }
+
+    @Test
+    void testAudioLostByTheTapIsPaddedWithSilence() throws Exception {
+        // Arrange: a small ring the muxer cannot keep up with while its recorder is stalled
+        AudioRingBuffer ring = new AudioRingBuffer(8192, 2);
+        SampleCounter recorder = new SampleCounter();
+        recorder.stallMillis = 300;
+        AudioVideoMuxer muxer = new AudioVideoMuxer(ring.newTap(), FORMAT, recorder, START,
+            position -> START + position * 1_000_000_000L / 32000);
+        muxer.start();
+
+        // Act: 2 s of audio written at once
+        byte[] pcm = tone(2000, 0.2);
+        Thread.sleep(50);
+        ring.write(pcm, 0, 4096);
+        Thread.sleep(50);
+        for (int offset = 4096; offset < pcm.length; offset += 1024) {
+            ring.write(pcm, offset, Math.min(1024, pcm.length - offset));
+        }
+        Thread.sleep(600);
+        MuxReport report = muxer.stop(2000);
+
+        // Assert: the track still spans the whole capture
+        assertTrue(report.getPaddedMillis() > 0, report.toString());
+        assertEquals(32000, report.getSamplesWritten());
+        assertEquals(0, report.getDriftMillis(), 1);
+    }
+
+    @Test
+    void testMuxedFileContainsSynchronizedAudioAndVideo() throws Exception {
+        // Arrange
+        Path output = tempDir.resolve("interview.mp4");
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(output.toFile(), 8, 4, 1);
+        recorder.setFormat("mp4");
+        recorder.setVideoCodec(avcodec.AV_CODEC_ID_MPEG4);
+        recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+        recorder.setFrameRate(30);
+        recorder.setAudioCodec(avcodec.AV_CODEC_ID_AAC);
+        recorder.setSampleRate(16000);
+        recorder.setAudioBitrate(64_000);
+        recorder.start();
+
+        FrameBus bus = new FrameBus(new PacedGrabber(33), 1.0);
+        VideoCapturePipeline video = new VideoCapturePipeline(
+            bus.subscribe("encoder", 8, VideoFrameQueue.DropPolicy.DROP_OLDEST, 0), recorder, 30);
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 16, 2);
+        long[] clock = new long[2];   // position, nanos of the latest audio block
+        video.start();
+        bus.start();
+        AudioVideoMuxer muxer = new AudioVideoMuxer(ring.newTap(), FORMAT, recorder, video.getStartNanos(),
+            position -> {
+                synchronized (clock) {
+                    return clock[1] - (clock[0] - position) * 1_000_000_000L / 32000;
+                }
+            });
+        synchronized (clock) {
+            clock[1] = System.nanoTime();
+        }
+        muxer.start();
+
+        // Act: real-time audio in 32 ms blocks for 2 s
+        byte[] pcm = tone(2000, 0.2);
+        for (int offset = 0; offset < pcm.length; offset += 1024) {
+            ring.write(pcm, offset, Math.min(1024, pcm.length - offset));
+            synchronized (clock) {
+                clock[0] = offset + 1024;
+                clock[1] = System.nanoTime();
+            }
+            Thread.sleep(32);
+        }
+        bus.stop(1000);
+        video.stop(2000);
+        MuxReport report = muxer.stop(2000);
+        recorder.stop();
+        recorder.release();
+
+        // Assert
+        assertFalse(report.isFailed());
+        assertTrue(Math.abs(report.getMaxDriftMillis()) < 100, report.toString());
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(output.toFile())) {
+            grabber.start();
+            assertEquals(1, grabber.getAudioChannels());
+            assertTrue(grabber.getLengthInVideoFrames() > 30);
+            double videoSeconds = grabber.getLengthInVideoFrames() / grabber.getFrameRate();
+            double audioSeconds = grabber.getLengthInAudioFrames() * 1024.0 / grabber.getSampleRate();
+            assertEquals(videoSeconds, audioSeconds, 0.25);
+            grabber.stop();
+        }
+    }
+
+    /**
+     * Counts audio samples recorded, optionally stalling on the first call
+     */
+    private static class SampleCounter extends FrameRecorder {
+        long samples;
+        long stallMillis;
+
+        @Override
+        public void record(Frame frame) {
+            if (stallMillis > 0) {
+                try {
+                    Thread.sleep(stallMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                stallMillis = 0;
+            }
+            for (Buffer buffer : frame.samples) {
+                samples += buffer.remaining() / frame.audioChannels;
+            }
+        }
+
+        @Override public void start() { }
+        @Override public void flush() { }
+        @Override public void stop() { }
+        @Override public void release() { }
+    }
+}
@@ -0,0 +1,103 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.CapabilityProber.ProbeResult;
+import com.interviewprep.service.CapabilityProber.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapabilityProberTest {
+
+    private final CapabilityProber prober = new CapabilityProber(4);
+
+    @AfterEach
+    void tearDown() {
+        prober.shutdown();
+    }
+
+    @Test
+    void testProbesRunInParallelAndAreCached() throws Exception {
+        // Arrange: three 300 ms checks
+        AtomicInteger runs = new AtomicInteger();
+        CapabilityProber.Probe slow = () -> {
+            runs.incrementAndGet();
+            Thread.sleep(300);
+            return "ok";
+        };
+
+        // Act
+        long start = System.nanoTime();
+        prober.probe("a", 5000, slow);
+        prober.probe("b", 5000, slow);
+        prober.probe("c", 5000, () -> null);
+        List<ProbeResult> results = prober.whenAllDone().get(5, TimeUnit.SECONDS);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        ProbeResult again = prober.probe("a", 5000, slow).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(elapsedMillis < 550, "Checks should overlap, took " + elapsedMillis + " ms");
+        assertEquals(3, results.size());
+        assertEquals(State.AVAILABLE, results.get(0).getState());
+        assertEquals("ok", results.get(0).getDetail());
+        assertTrue(results.get(0).getMillis() >= 300);
+        assertEquals(State.UNAVAILABLE, results.get(2).getState());
+        assertEquals(State.AVAILABLE, again.getState());
+        assertEquals(2, runs.get(), "A finished probe is not run again");
+        assertTrue(prober.isAvailable("b"));
+        assertFalse(prober.isAvailable("c"));
+        assertNull(prober.get("never"));
+    }
+
+    @Test
+    void testHungProbeTimesOutAndIsInterrupted() throws Exception {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<ProbeResult> heard = new CopyOnWriteArrayList<>();
+        prober.addListener(heard::add);
+
+        // Act
+        prober.probe("camera", 100, () -> {
+            try {
+                Thread.sleep(10_000);
+                return "too late";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+        ProbeResult pending = prober.await("camera", 0);
+        ProbeResult result = prober.await("camera", 2000);
+
+        // Assert
+        assertEquals(State.PENDING, pending.getState());
+        assertEquals(State.TIMED_OUT, result.getState());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "The probe thread should be interrupted");
+        assertEquals(State.TIMED_OUT, prober.get("camera").getState(), "A late answer does not replace the timeout");
+        assertEquals(2, heard.size());
+        assertEquals(State.PENDING, heard.get(0).getState());
+        assertEquals(State.TIMED_OUT, heard.get(1).getState());
+    }
+
+    @Test
+    void testFailingProbeIsUnavailable() throws Exception {
+        // Act
+        ProbeResult thrown = prober.probe("engine", 1000, () -> {
+            throw new IllegalStateException("binary missing");
+        }).get(1, TimeUnit.SECONDS);
+        ProbeResult linkage = prober.probe("natives", 1000, () -> {
+            throw new UnsatisfiedLinkError("no opencv");
+        }).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(State.UNAVAILABLE, thrown.getState());
+        assertEquals("binary missing", thrown.getDetail());
+        assertEquals(State.UNAVAILABLE, linkage.getState());
+    }
+}
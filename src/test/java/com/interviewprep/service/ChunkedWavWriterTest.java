@@ -0,0 +1,68 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedWavWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChunkedWavWriterProducesReadableFile() throws Exception {
+        // Arrange
+        AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+        Path file = tempDir.resolve("audio.wav");
+        byte[] pcm = sine(16000, 440, 0.3, 16000);
+
+        // Act: header checkpoints every 4 KB, written in uneven chunks
+        try (ChunkedWavWriter writer = new ChunkedWavWriter(file, format, 4096)) {
+            for (int offset = 0; offset < pcm.length; offset += 3000) {
+                writer.write(pcm, offset, Math.min(3000, pcm.length - offset));
+            }
+        }
+
+        // Assert
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(file.toFile())) {
+            assertEquals(16000, in.getFrameLength());
+            assertEquals(16000f, in.getFormat().getSampleRate());
+            assertArrayEquals(pcm, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testHeaderIsPatchedAtCheckpointBeforeClose() throws Exception {
+        // Arrange
+        AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+        Path file = tempDir.resolve("partial.wav");
+
+        try (ChunkedWavWriter writer = new ChunkedWavWriter(file, format, 1000)) {
+            // Act
+            writer.write(new byte[1200], 0, 1200);
+
+            // Assert: an abandoned file is still readable up to the checkpoint
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(file.toFile())) {
+                assertEquals(600, in.getFrameLength());
+            }
+            assertEquals(44 + 1200, Files.size(file));
+        }
+    }
+
+    private static byte[] sine(int sampleRate, double frequency, double amplitude, int samples) {
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short value = (short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * frequency * i / sampleRate));
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+}
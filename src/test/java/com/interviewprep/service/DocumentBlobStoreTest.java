@@ -0,0 +1,126 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.ResumeAnalysis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DocumentBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DocumentBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DocumentBlobStore(tempDir.toString());
+    }
+
+    @Test
+    void testEquivalentTextSharesOneHash() throws Exception {
+        // Arrange
+        String original = "Jane Doe\r\nSenior Engineer   \r\n\r\n\r\n\r\nJava, Kotlin\r\n";
+        String cleaned = "Jane Doe\nSenior Engineer\n\nJava, Kotlin";
+
+        // Act
+        String first = store.put(original);
+        String second = store.put(cleaned);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(cleaned, store.get(first));
+        assertEquals(64, first.length());
+    }
+
+    @Test
+    void testDifferentTextGetsDifferentHash() throws Exception {
+        assertNotEquals(store.put("Resume A"), store.put("Resume B"));
+    }
+
+    @Test
+    void testUnknownHashReturnsNull() {
+        assertNull(store.get("0".repeat(64)));
+        assertFalse(store.contains("0".repeat(64)));
+        assertNull(store.get(null));
+    }
+
+    @Test
+    void testIdenticalUploadSkipsExtraction() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "raw bytes").toFile();
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.fingerprint(any(File.class))).thenCallRealMethod();
+        when(documentService.extractText(any(File.class))).thenReturn("Extracted resume text");
+
+        // Act
+        String first = store.importFile(file, documentService);
+        String second = new DocumentBlobStore(tempDir.toString()).importFile(file, documentService);
+
+        // Assert
+        assertEquals(first, second);
+        verify(documentService, times(1)).extractText(any(File.class));
+    }
+
+    @Test
+    void testImportUsesTheExtractionCacheFingerprint() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "raw bytes").toFile();
+        DocumentService documentService = spy(new DocumentService(
+            new DocumentExtractionCache(tempDir.resolve("extraction"), 2)));
+        doReturn("Extracted resume text").when(documentService).extractText(any(File.class));
+        String first = store.importFile(file, documentService);
+        long modified = file.lastModified();
+
+        // Act: same size and mtime, so the cached fingerprint is trusted without reading the bytes
+        Files.writeString(file.toPath(), "new bytes");
+        file.setLastModified(modified);
+        String second = store.importFile(file, documentService);
+
+        // Assert
+        assertEquals(first, second);
+        verify(documentService, times(1)).extractText(any(File.class));
+    }
+
+    @Test
+    void testImportFileStoresExtractedText() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "raw bytes").toFile();
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.fingerprint(any(File.class))).thenCallRealMethod();
+        when(documentService.extractText(any(File.class))).thenReturn("Extracted resume text\r\n");
+
+        // Act
+        String hash = store.importFile(file, documentService);
+
+        // Assert
+        assertEquals("Extracted resume text", store.get(hash));
+        assertEquals(hash, store.put("Extracted resume text"));
+    }
+
+    @Test
+    void testDerivedDataIsCachedPerHash() throws Exception {
+        // Arrange
+        String hash = store.put("Resume text");
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setMatchScore(82);
+        analysis.getStrengths().add("Distributed systems");
+
+        // Act
+        store.putDerived(hash, "analysis_abc", analysis);
+        ResumeAnalysis cached = store.getDerived(hash, "analysis_abc", ResumeAnalysis.class);
+
+        // Assert
+        assertEquals(82, cached.getMatchScore());
+        assertEquals(analysis.getStrengths(), cached.getStrengths());
+        assertNull(store.getDerived(hash, "analysis_other", ResumeAnalysis.class));
+    }
+}
@@ -0,0 +1,100 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.DocumentExtractionCache.CachedDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentExtractionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path cacheDir;
+    private DocumentExtractionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tempDir.resolve("cache");
+        cache = new DocumentExtractionCache(cacheDir, 2);
+    }
+
+    @Test
+    void testFingerprintIsStableForUnchangedFile() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "Jane Doe, Engineer").toFile();
+
+        // Act & Assert
+        assertEquals(cache.fingerprint(file), cache.fingerprint(file));
+    }
+
+    @Test
+    void testFingerprintChangesWithContent() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "Version one").toFile();
+        String before = cache.fingerprint(file);
+
+        // Act
+        Files.writeString(file.toPath(), "Version two, longer");
+        String after = cache.fingerprint(file);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testIdenticalFilesShareAnEntry() throws Exception {
+        // Arrange
+        File first = Files.writeString(tempDir.resolve("a.txt"), "same content").toFile();
+        File second = Files.writeString(tempDir.resolve("b.txt"), "same content").toFile();
+        cache.put(cache.fingerprint(first), new CachedDocument("text/plain", "same content"));
+
+        // Act
+        CachedDocument cached = cache.get(cache.fingerprint(second));
+
+        // Assert
+        assertEquals("same content", cached.getText());
+    }
+
+    @Test
+    void testEvictedEntriesAreServedFromDisk() {
+        // Arrange
+        cache.put("h1", new CachedDocument("application/pdf", "one"));
+        cache.put("h2", new CachedDocument("text/plain", "two"));
+        cache.put("h3", new CachedDocument("text/plain", "three"));
+
+        // Act
+        CachedDocument first = cache.get("h1");
+
+        // Assert
+        assertEquals("application/pdf", first.getMimeType());
+        assertEquals("one", first.getText());
+    }
+
+    @Test
+    void testEntriesSurviveRestart() throws Exception {
+        // Arrange
+        File file = Files.writeString(tempDir.resolve("jd.txt"), "Senior Java role").toFile();
+        String hash = cache.fingerprint(file);
+        cache.put(hash, new CachedDocument("text/plain", "Senior Java role"));
+
+        // Act
+        DocumentExtractionCache restarted = new DocumentExtractionCache(cacheDir, 2);
+        CachedDocument cached = restarted.get(restarted.fingerprint(file));
+
+        // Assert
+        assertEquals(hash, restarted.fingerprint(file));
+        assertEquals("Senior Java role", cached.getText());
+    }
+
+    @Test
+    void testMissReturnsNull() {
+        assertNull(cache.get("unknown"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.DocumentIngestionService.IngestionReport;
+import com.interviewprep.service.DocumentIngestionService.IngestionResult;
+import com.interviewprep.service.DocumentIngestionService.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DocumentIngestionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEveryFileGetsExactlyOneResult() throws Exception {
+        // Arrange
+        List<File> files = createFiles(20, 10);
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.extractText(any(File.class))).thenAnswer(inv -> "text of " + inv.<File>getArgument(0).getName());
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 4, 5_000, 1_000_000);
+        List<IngestionResult> results = new ArrayList<>();
+
+        // Act
+        IngestionReport report = ingestion.ingest(files, results::add);
+
+        // Assert
+        assertEquals(20, results.size());
+        assertEquals(20, report.getSucceeded());
+        assertEquals(200, report.getBytes());
+        Set<File> seen = new HashSet<>();
+        results.forEach(r -> seen.add(r.getFile()));
+        assertEquals(new HashSet<>(files), seen);
+    }
+
+    @Test
+    void testFailuresAreReportedPerFile() throws Exception {
+        // Arrange
+        List<File> files = createFiles(3, 10);
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.extractText(any(File.class))).thenReturn("ok");
+        when(documentService.extractText(files.get(1))).thenThrow(new IOException("corrupt PDF"));
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 2, 5_000, 1_000_000);
+        Map<File, IngestionResult> results = new HashMap<>();
+
+        // Act
+        IngestionReport report = ingestion.ingest(files, r -> results.put(r.getFile(), r));
+
+        // Assert
+        assertEquals(2, report.getSucceeded());
+        assertEquals(1, report.getFailed());
+        assertEquals(Status.FAILED, results.get(files.get(1)).getStatus());
+        assertEquals("corrupt PDF", results.get(files.get(1)).getError());
+    }
+
+    @Test
+    void testSlowParseTimesOutWithoutBlockingTheBatch() throws Exception {
+        // Arrange
+        List<File> files = createFiles(3, 10);
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.extractText(any(File.class))).thenReturn("ok");
+        when(documentService.extractText(files.get(0))).thenAnswer(inv -> {
+            Thread.sleep(10_000);
+            return "never";
+        });
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 1, 200, 1_000_000);
+
+        // Act
+        long start = System.currentTimeMillis();
+        IngestionReport report = ingestion.ingest(files, r -> { });
+
+        // Assert
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        assertEquals(1, report.getTimedOut());
+        assertEquals(2, report.getSucceeded());
+    }
+
+    @Test
+    void testStuckParseKeepsItsWorkerAndLaterFilesFailFast() throws Exception {
+        // Arrange: the first parse ignores interrupts until released
+        List<File> files = createFiles(3, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger parses = new AtomicInteger();
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.extractText(any(File.class))).thenAnswer(inv -> {
+            parses.incrementAndGet();
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    // a parser that does not honour interrupts
+                }
+            }
+            return "late";
+        });
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 1, 200, 1_000_000);
+
+        try {
+            // Act
+            IngestionReport first = ingestion.ingest(files, r -> { });
+            IngestionReport second = ingestion.ingest(files.subList(0, 1), r -> { });
+
+            // Assert: no second thread was started while the first was stuck
+            assertEquals(1, first.getTimedOut());
+            assertEquals(2, first.getFailed());
+            assertEquals(1, second.getFailed());
+            assertEquals(1, parses.get());
+        } finally {
+            release.countDown();
+        }
+
+        // Once the stuck parse returns, its worker is available again
+        long deadline = System.currentTimeMillis() + 5_000;
+        IngestionReport after;
+        do {
+            Thread.sleep(20);
+            after = ingestion.ingest(files.subList(1, 2), r -> { });
+        } while (after.getSucceeded() == 0 && System.currentTimeMillis() < deadline);
+        assertEquals(1, after.getSucceeded());
+    }
+
+    @Test
+    void testOversizedFilesAreSkipped() throws Exception {
+        // Arrange
+        List<File> files = createFiles(2, 100);
+        DocumentService documentService = mock(DocumentService.class);
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 2, 5_000, 50);
+
+        // Act
+        IngestionReport report = ingestion.ingest(files, r -> { });
+
+        // Assert
+        assertEquals(2, report.getSkipped());
+        verify(documentService, never()).extractText(any(File.class));
+    }
+
+    @Test
+    void testConcurrencyIsBounded() throws Exception {
+        // Arrange
+        List<File> files = createFiles(30, 10);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        DocumentService documentService = mock(DocumentService.class);
+        when(documentService.extractText(any(File.class))).thenAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return "ok";
+        });
+        DocumentIngestionService ingestion = new DocumentIngestionService(documentService, 3, 5_000, 1_000_000);
+
+        // Act
+        ingestion.ingest(files, r -> { });
+
+        // Assert
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    private List<File> createFiles(int count, int bytes) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(Files.write(tempDir.resolve("doc" + i + ".txt"), new byte[bytes]).toFile());
+        }
+        return files;
+    }
+}
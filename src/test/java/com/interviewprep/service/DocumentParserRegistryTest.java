@@ -0,0 +1,72 @@
+package com.interviewprep.service;
+
+import org.apache.tika.metadata.Metadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentParserRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParsesPlainText() throws Exception {
+        // Arrange
+        DocumentParserRegistry registry = new DocumentParserRegistry();
+        File file = Files.writeString(tempDir.resolve("resume.txt"), "Jane Doe\nSenior Java Engineer").toFile();
+        Metadata metadata = new Metadata();
+
+        // Act
+        String text = registry.parseToString(file, metadata);
+
+        // Assert
+        assertTrue(text.contains("Senior Java Engineer"));
+        assertTrue(metadata.get(Metadata.CONTENT_TYPE).startsWith("text/plain"));
+    }
+
+    @Test
+    void testTextIsTruncatedAtCharacterLimit() throws Exception {
+        // Arrange
+        DocumentParserRegistry registry = new DocumentParserRegistry(List.of("txt"), 50);
+        File file = Files.writeString(tempDir.resolve("long.txt"), "word ".repeat(1000)).toFile();
+
+        // Act
+        String text = registry.parseToString(file, new Metadata());
+
+        // Assert
+        assertTrue(text.length() <= 50);
+    }
+
+    @Test
+    void testDisabledFormatIsRejected() throws Exception {
+        // Arrange
+        DocumentParserRegistry registry = new DocumentParserRegistry(List.of("pdf"), 1000);
+        File file = Files.writeString(tempDir.resolve("notes.txt"), "plain text").toFile();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> registry.parseToString(file, new Metadata()));
+        assertFalse(registry.supports("text/plain"));
+        assertTrue(registry.supports("application/pdf"));
+    }
+
+    @Test
+    void testUnknownFormatInConfigurationFailsFast() {
+        assertThrows(IllegalArgumentException.class, () -> new DocumentParserRegistry(List.of("pdf", "xlsx"), 1000));
+    }
+
+    @Test
+    void testSubtypesOfEnabledTypesAreSupported() {
+        DocumentParserRegistry registry = new DocumentParserRegistry(List.of("txt"), 1000);
+
+        assertTrue(registry.supports("text/plain; charset=UTF-8"));
+        assertTrue(registry.supports("text/x-web-markdown"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.JobDescription;
+import com.interviewprep.model.Resume;
+import com.interviewprep.service.DocumentSegmenter.ResumeSection;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentSegmenterTest {
+
+    private static final String RESUME =
+        "Jane Doe\n" +
+        "jane@example.com | +1 555 0100\n\n" +
+        "PROFESSIONAL EXPERIENCE\n" +
+        "Senior Engineer, Acme Corp (2019 - Present)\n" +
+        "• Led migration of the billing plat-\n" +
+        "form to event sourcing\n\n" +
+        "Education:\n" +
+        "B.Sc. Computer Science, State University\n\n" +
+        "Technical Skills\n" +
+        "• Java • Kotlin • PostgreSQL\n" +
+        "- Kafka\n\n" +
+        "Projects\n" +
+        "Open-source rate limiter library\n";
+
+    private static final String JOB =
+        "Backend Engineer at Globex\n\n" +
+        "About Globex\n" +
+        "We build logistics software.\n\n" +
+        "Responsibilities:\n" +
+        "- Design APIs\n\n" +
+        "Requirements:\n" +
+        "- 5+ years of Java\n" +
+        "- Experience with Kafka\n\n" +
+        "Nice to have:\n" +
+        "- Go\n";
+
+    @Test
+    void testResumeSectionsAreDetected() {
+        // Act
+        Map<ResumeSection, String> sections = DocumentSegmenter.segmentResume(RESUME);
+
+        // Assert
+        assertTrue(sections.get(ResumeSection.SUMMARY).startsWith("Jane Doe"));
+        assertTrue(sections.get(ResumeSection.EXPERIENCE).contains("Acme Corp"));
+        assertTrue(sections.get(ResumeSection.EDUCATION).contains("State University"));
+        assertTrue(sections.get(ResumeSection.PROJECTS).contains("rate limiter"));
+    }
+
+    @Test
+    void testHyphenatedLineBreaksAreJoined() {
+        assertEquals("billing platform to event sourcing",
+            DocumentSegmenter.clean("billing plat-\nform to   event sourcing"));
+        assertEquals("end-to-end", DocumentSegmenter.clean("end-to-end"));
+    }
+
+    @Test
+    void testSegmentPopulatesResumeFields() {
+        // Arrange
+        Resume resume = new Resume("resume.pdf", RESUME);
+
+        // Act
+        DocumentSegmenter.segment(resume);
+
+        // Assert
+        assertEquals("Java\nKotlin\nPostgreSQL\nKafka", resume.getExtractedSkills());
+        assertTrue(resume.getExtractedExperience().contains("billing platform to event sourcing"));
+        assertFalse(resume.getExtractedExperience().contains("State University"));
+        assertNotNull(resume.getExtractedEducation());
+        assertNotNull(resume.getExtractedProjects());
+    }
+
+    @Test
+    void testSegmentPopulatesJobDescriptionFields() {
+        // Arrange
+        JobDescription job = new JobDescription("manual_entry.txt", JOB);
+
+        // Act
+        DocumentSegmenter.segment(job);
+
+        // Assert
+        assertEquals("Backend Engineer", job.getJobTitle());
+        assertEquals("Globex", job.getCompany());
+        assertEquals("5+ years of Java\nExperience with Kafka", job.getRequiredSkills());
+        assertEquals("Design APIs", job.getResponsibilities());
+        assertEquals("Go", job.getPreferredSkills());
+    }
+
+    @Test
+    void testLabelledJobDescriptionFields() {
+        // Arrange
+        JobDescription job = new JobDescription("jd.txt",
+            "Position: Staff Data Engineer\nCompany: Initech\n\nQualifications\nSQL\nSpark\n");
+
+        // Act
+        DocumentSegmenter.segment(job);
+
+        // Assert
+        assertEquals("Staff Data Engineer", job.getJobTitle());
+        assertEquals("Initech", job.getCompany());
+        assertEquals("SQL\nSpark", job.getRequiredSkills());
+    }
+
+    @Test
+    void testUnstructuredTextLeavesFieldsEmpty() {
+        // Arrange
+        Resume resume = new Resume("notes.txt", "Just a paragraph of text without any headings at all.");
+
+        // Act
+        DocumentSegmenter.segment(resume);
+
+        // Assert
+        assertNull(resume.getExtractedSkills());
+        assertNull(resume.getExtractedExperience());
+    }
+}
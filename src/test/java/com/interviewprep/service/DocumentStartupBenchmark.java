@@ -0,0 +1,190 @@
+package com.interviewprep.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.tika.Tika;
+import org.apache.tika.metadata.Metadata;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Startup and first-parse comparison: eager Tika facade vs lazy DocumentParserRegistry
+ * Each variant runs in fresh JVMs so class loading is measured cold, and each times its
+ * first parse of a real PDF and DOCX, where the parsers' own classes get loaded.
+ *
+ * The facade has to run against the dependency set it shipped with, the full
+ * tika-parsers-standard-package; on today's classpath it would only find the pdf, microsoft
+ * and text modules and look cheaper than it was. That baseline is
+ * org.apache.tika:tika-parsers-standard-package:2.9.1 with its transitive dependencies
+ * (tika-core included). Resolve it from a scratch pom declaring only that artifact and pass it in:
+ *   mvn -f /tmp/facade-pom.xml dependency:build-classpath -Dmdep.outputFile=/tmp/facade.cp
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.interviewprep.service.DocumentStartupBenchmark \
+ *       -Dbenchmark.facade.classpath="$(cat /tmp/facade.cp)" [-Dbenchmark.runs=5]
+ * The registry runs against the current test classpath unless -Dbenchmark.registry.classpath
+ * is given. Not part of the unit test run.
+ */
+public class DocumentStartupBenchmark {
+    private static final String RESUME_LINE = "Jane Doe - Senior Java Engineer - Spring, Kafka, PostgreSQL";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].startsWith("--child=")) {
+            runChild(args[0].substring("--child=".length()), new File(args[1]), new File(args[2]));
+            return;
+        }
+
+        Path dir = Files.createTempDirectory("startup-bench");
+        dir.toFile().deleteOnExit();
+        File pdf = writePdf(dir.resolve("resume.pdf"));
+        File docx = writeDocx(dir.resolve("resume.docx"));
+        int runs = Integer.getInteger("benchmark.runs", 5);
+        String facadeClassPath = System.getProperty("benchmark.facade.classpath");
+        if (facadeClassPath == null) {
+            System.out.println("warning: no -Dbenchmark.facade.classpath, so the facade runs against the "
+                + "current dependencies and understates its cost");
+        }
+
+        System.out.printf("Document startup benchmark (median of %d cold JVMs)%n%n", runs);
+        System.out.printf("%-10s %11s %13s %14s %11s %9s%n",
+            "variant", "startup ms", "first pdf ms", "first docx ms", "to text ms", "heap MB");
+        fork("facade", classPath(facadeClassPath), pdf, docx, runs);
+        fork("registry", classPath(System.getProperty("benchmark.registry.classpath")), pdf, docx, runs);
+    }
+
+    private static void fork(String variant, String classPath, File pdf, File docx, int runs) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<double[]> results = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            Process process = new ProcessBuilder(java, "-cp", classPath, DocumentStartupBenchmark.class.getName(),
+                    "--child=" + variant, pdf.getAbsolutePath(), docx.getAbsolutePath())
+                .redirectErrorStream(true)
+                .start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("RESULT ")) {
+                        results.add(Arrays.stream(line.substring("RESULT ".length()).trim().split("\\s+"))
+                            .mapToDouble(Double::parseDouble).toArray());
+                    } else if (line.startsWith("WARNING ")) {
+                        System.out.println(variant + ": " + line.substring("WARNING ".length()));
+                    }
+                }
+            }
+            process.waitFor();
+        }
+        if (results.isEmpty()) {
+            System.out.printf("%-10s failed to run%n", variant);
+            return;
+        }
+        System.out.printf("%-10s %11.1f %13.1f %14.1f %11.1f %9.1f%n", variant,
+            median(results, 0), median(results, 1), median(results, 2), median(results, 3), median(results, 4));
+    }
+
+    private static double median(List<double[]> results, int column) {
+        double[] values = results.stream().mapToDouble(result -> result[column]).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    /**
+     * The given dependency classpath, or the current one, plus the directories holding this
+     * benchmark and the service classes
+     */
+    private static String classPath(String dependencies) throws Exception {
+        if (dependencies == null || dependencies.isBlank()) {
+            return currentClassPath();
+        }
+        StringJoiner path = new StringJoiner(File.pathSeparator);
+        path.add(new File(DocumentStartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+        path.add(new File(DocumentParserRegistry.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+        path.add(dependencies.trim());
+        return path.toString();
+    }
+
+    // exec:java runs inside the Maven JVM, so the test classpath lives in our class loader
+    private static String currentClassPath() throws Exception {
+        ClassLoader loader = DocumentStartupBenchmark.class.getClassLoader();
+        if (!(loader instanceof URLClassLoader)) {
+            return System.getProperty("java.class.path");
+        }
+        StringJoiner path = new StringJoiner(File.pathSeparator);
+        for (URL url : ((URLClassLoader) loader).getURLs()) {
+            path.add(new File(url.toURI()).getPath());
+        }
+        return path.toString();
+    }
+
+    private static File writePdf(Path path) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 0; p < 2; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (int i = 0; i < 45; i++) {
+                        content.showText(RESUME_LINE);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(path.toFile());
+        }
+        path.toFile().deleteOnExit();
+        return path.toFile();
+    }
+
+    private static File writeDocx(Path path) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(path)) {
+            for (int i = 0; i < 90; i++) {
+                document.createParagraph().createRun().setText(RESUME_LINE);
+            }
+            document.write(out);
+        }
+        path.toFile().deleteOnExit();
+        return path.toFile();
+    }
+
+    private static void runChild(String variant, File pdf, File docx) throws Exception {
+        long start = System.nanoTime();
+        Tika tika = null;
+        DocumentParserRegistry registry = null;
+        if ("facade".equals(variant)) {
+            tika = new Tika();
+        } else {
+            registry = new DocumentParserRegistry();
+        }
+        long constructed = System.nanoTime();
+        String pdfText = tika != null ? tika.parseToString(pdf) : registry.parseToString(pdf, new Metadata());
+        long pdfParsed = System.nanoTime();
+        String docxText = tika != null ? tika.parseToString(docx) : registry.parseToString(docx, new Metadata());
+        long docxParsed = System.nanoTime();
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        double heapMb = (runtime.totalMemory() - runtime.freeMemory()) / 1048576.0;
+
+        System.out.printf("RESULT %.1f %.1f %.1f %.1f %.1f%n", (constructed - start) / 1e6,
+            (pdfParsed - constructed) / 1e6, (docxParsed - pdfParsed) / 1e6, (pdfParsed - start) / 1e6, heapMb);
+        if (!pdfText.contains("Jane Doe") || !docxText.contains("Jane Doe")) {
+            System.out.println("WARNING no text extracted");
+        }
+    }
+}
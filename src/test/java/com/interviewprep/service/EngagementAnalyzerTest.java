@@ -0,0 +1,155 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.EngagementReport;
+import com.interviewprep.model.EngagementReport.Metrics;
+import com.interviewprep.service.FaceEngagementDetector.Observation;
+import com.interviewprep.service.VideoCapturePipelineTest.PacedGrabber;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngagementAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSummarizeComputesSharesAndMovement() {
+        // Arrange: absent, then three frontal frames moving right, one with eye contact and one turned away
+        List<EngagementAnalyzer.Sample> samples = new ArrayList<>();
+        samples.add(new EngagementAnalyzer.Sample(0, Observation.absent()));
+        samples.add(new EngagementAnalyzer.Sample(100, face(0.40, true, true, true)));
+        samples.add(new EngagementAnalyzer.Sample(200, face(0.45, true, true, false)));
+        samples.add(new EngagementAnalyzer.Sample(300, face(0.50, false, false, false)));
+
+        // Act
+        Metrics metrics = EngagementAnalyzer.summarize(samples, 0, Long.MAX_VALUE);
+
+        // Assert
+        assertEquals(4, metrics.getSamples());
+        assertEquals(0.75, metrics.getFacePresence(), 1e-9);
+        assertEquals(0.5, metrics.getFacingCamera(), 1e-9);
+        assertEquals(0.5, metrics.getEyeContact(), 1e-9, "Of the two frames with measured gaze");
+        assertEquals(0.05, metrics.getHeadMovement(), 1e-9);
+        assertEquals(10 * (0.3 * 0.75 + 0.35 * 0.5 + 0.35 * 0.5), metrics.getEngagementScore(), 1e-9);
+        assertEquals(0, EngagementAnalyzer.summarize(samples, 1000, 2000).getEngagementScore());
+    }
+
+    @Test
+    void testSavedVideoIsSampledAndSplitPerQuestion() throws Exception {
+        // Arrange: 6 s at 10 fps; the face looks at the camera for the first 3 s only
+        Path video = tempDir.resolve("video.mp4");
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(video.toFile(), 32, 32);
+        recorder.setFormat("mp4");
+        recorder.setVideoCodec(avcodec.AV_CODEC_ID_MPEG4);
+        recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+        recorder.setFrameRate(10);
+        recorder.start();
+        Frame frame = new Frame(32, 32, Frame.DEPTH_UBYTE, 3);
+        for (int i = 0; i < 60; i++) {
+            recorder.record(frame);
+        }
+        recorder.stop();
+        recorder.release();
+
+        AtomicInteger calls = new AtomicInteger();
+        EngagementAnalyzer analyzer = new EngagementAnalyzer(f -> {
+            calls.incrementAndGet();
+            boolean early = f.timestamp < 3_000_000;
+            return face(0.5, early, early, early);
+        }, 5, 1.0);
+        analyzer.beginQuestion("q2", 1, 3000);
+        analyzer.beginQuestion("q1", 0, 0);
+
+        // Act
+        long analyzed = analyzer.analyzeVideo(video, 0);
+        EngagementReport report = analyzer.buildReport();
+
+        // Assert
+        assertEquals(12, analyzed);
+        assertEquals(12, calls.get());
+        assertEquals(12, report.getSampledFrames());
+        assertEquals(2, report.getQuestions().size());
+        assertEquals("q1", report.getQuestions().get(0).getQuestionId());
+        assertEquals(3000, report.getQuestions().get(0).getEndMillis());
+        assertEquals(1.0, report.getQuestion("q1").getMetrics().getEyeContact(), 1e-9);
+        assertEquals(0.0, report.getQuestion("q2").getMetrics().getFacingCamera(), 1e-9);
+        assertEquals(6, report.getQuestion("q2").getMetrics().getSamples());
+
+        assertEquals(report, EngagementAnalyzer.readReport(EngagementAnalyzer.writeReport(report, tempDir)));
+    }
+
+    @Test
+    void testLiveAnalysisStaysWithinCpuShareWithoutSlowingCapture() throws Exception {
+        // Arrange: 100 fps capture, a detector that takes 20 ms, at most 25% of a core
+        FrameBus bus = new FrameBus(new PacedGrabber(10), 1.0);
+        VideoFrameQueue encoder = bus.subscribe("encoder", 64, VideoFrameQueue.DropPolicy.DROP_OLDEST, 0);
+        VideoFrameQueue vision = bus.subscribe("vision", 1, VideoFrameQueue.DropPolicy.DROP_OLDEST, 50);
+        EngagementAnalyzer analyzer = new EngagementAnalyzer(f -> {
+            sleep(20);
+            return face(0.5, true, true, true);
+        }, 2, 0.25);
+        analyzer.startLive(vision, () -> bus.unsubscribe(vision));
+        analyzer.beginQuestion("q1", 0);
+
+        // Act
+        bus.start();
+        Thread consumer = drain(encoder);
+        Thread.sleep(1500);
+        bus.stop(1000);
+        consumer.join(1000);
+        EngagementReport report = analyzer.finish(1000);
+
+        // Assert: about 1.5 s * 25% / 20 ms = 19 frames; the rest were dropped for vision only
+        assertTrue(report.getSampledFrames() >= 10 && report.getSampledFrames() <= 25, report.toString());
+        assertEquals(0.25, report.getCpuShare(), 0.05);
+        assertTrue(vision.getDroppedCount() > 0);
+        assertEquals(0, encoder.getDroppedCount());
+        assertEquals(report.getSampledFrames(), report.getQuestion("q1").getMetrics().getSamples());
+    }
+
+    private static Thread drain(VideoFrameQueue queue) {
+        Thread thread = new Thread(() -> {
+            try {
+                SharedFrame frame;
+                while ((frame = queue.take(500)) != null) {
+                    frame.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Observation face(double x, boolean facing, boolean gaze, boolean contact) {
+        Observation o = new Observation();
+        o.setFacePresent(true);
+        o.setFrontal(facing);
+        o.setFacingCamera(facing);
+        o.setGazeMeasured(gaze);
+        o.setEyeContact(contact);
+        o.setFaceX(x);
+        o.setFaceY(0.5);
+        return o;
+    }
+}
@@ -0,0 +1,69 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.FaceEngagementDetector.Observation;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.junit.jupiter.api.Test;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgproc.circle;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaceEngagementDetectorTest {
+
+    @Test
+    void testPupilPositionFindsDarkestSpot() {
+        try (Mat left = eye(12); Mat centre = eye(30); Mat right = eye(48)) {
+            assertEquals(0.2, FaceEngagementDetector.pupilPosition(left), 0.05);
+            assertEquals(0.5, FaceEngagementDetector.pupilPosition(centre), 0.05);
+            assertEquals(0.8, FaceEngagementDetector.pupilPosition(right), 0.05);
+        }
+    }
+
+    @Test
+    void testLevelEyesWithCentredPupilsAreEyeContact() {
+        // Face 100 px wide, eyes level and symmetric
+        Observation o = FaceEngagementDetector.fromDetections(new Rect(110, 70, 100, 100),
+            new Rect[] {new Rect(20, 30, 20, 14), new Rect(60, 30, 20, 14)}, new double[] {0.5, 0.55},
+            false, 320, 240);
+
+        assertTrue(o.isFacePresent());
+        assertTrue(o.isFacingCamera());
+        assertTrue(o.isEyeContact());
+        assertEquals(0.5, o.getFaceX(), 1e-9);
+        assertEquals(0, o.getRollDegrees(), 1e-9);
+        assertEquals(0, o.getYaw(), 1e-9);
+    }
+
+    @Test
+    void testTurnedTiltedOrGlancingFaceIsNotEyeContact() {
+        Rect face = new Rect(0, 0, 100, 100);
+        // Eyes shifted right in the face box: head turned
+        Observation turned = FaceEngagementDetector.fromDetections(face,
+            new Rect[] {new Rect(40, 30, 20, 14), new Rect(75, 30, 20, 14)}, new double[] {0.5, 0.5}, false, 320, 240);
+        // Eye line at 45 degrees: head tilted
+        Observation tilted = FaceEngagementDetector.fromDetections(face,
+            new Rect[] {new Rect(20, 10, 20, 14), new Rect(60, 50, 20, 14)}, new double[] {0.5, 0.5}, false, 320, 240);
+        // Head straight, pupils in the corners
+        Observation glancing = FaceEngagementDetector.fromDetections(face,
+            new Rect[] {new Rect(20, 30, 20, 14), new Rect(60, 30, 20, 14)}, new double[] {0.1, 0.15}, false, 320, 240);
+        Observation profile = FaceEngagementDetector.fromDetections(face, new Rect[0], new double[0], true, 320, 240);
+
+        assertFalse(turned.isFacingCamera());
+        assertFalse(tilted.isFacingCamera());
+        assertEquals(45, tilted.getRollDegrees(), 1e-9);
+        assertTrue(glancing.isFacingCamera());
+        assertFalse(glancing.isEyeContact());
+        assertTrue(profile.isFacePresent());
+        assertFalse(profile.isFrontal());
+        assertFalse(profile.isGazeMeasured());
+    }
+
+    private static Mat eye(int pupilX) {
+        Mat eye = new Mat(40, 60, CV_8UC1, new Scalar(220));
+        circle(eye, new Point(pupilX, 20), 5, new Scalar(20), -1, 8, 0);
+        return eye;
+    }
+}
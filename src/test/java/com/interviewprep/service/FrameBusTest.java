@@ -0,0 +1,139 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.VideoCapturePipelineTest.PacedGrabber;
+import com.interviewprep.service.VideoFrameQueue.DropPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameBusTest {
+
+    @Test
+    void testSlowPreviewDoesNotCostEncoderFrames() throws Exception {
+        // Arrange: 100 fps camera, quick encoder, 15 fps preview that takes 100 ms per frame
+        FrameBus bus = new FrameBus(new PacedGrabber(10), 1.0);
+        VideoFrameQueue encoder = bus.subscribe("encoder", 8, DropPolicy.DROP_OLDEST, 0);
+        VideoFrameQueue preview = bus.subscribe("preview", 1, DropPolicy.DROP_OLDEST, 15);
+        AtomicInteger encoded = new AtomicInteger();
+        AtomicInteger previewed = new AtomicInteger();
+        Thread encoderThread = consume(encoder, 1, encoded);
+        Thread previewThread = consume(preview, 100, previewed);
+
+        // Act
+        bus.start();
+        Thread.sleep(1000);
+        bus.stop(1000);
+        encoderThread.join(2000);
+        previewThread.join(2000);
+
+        // Assert
+        assertEquals(0, encoder.getDroppedCount());
+        assertEquals(bus.getCapturedCount(), encoder.getOfferedCount());
+        assertEquals(bus.getCapturedCount(), encoded.get());
+        assertTrue(preview.getOfferedCount() >= 10 && preview.getOfferedCount() <= 17,
+            "preview offered " + preview.getOfferedCount());
+        assertEquals(0, bus.getPoolExhaustedCount());
+    }
+
+    @Test
+    void testPoolIsBoundedAndEveryFrameReturns() throws Exception {
+        // Arrange: a subscriber that never reads holds its whole queue
+        FrameBus bus = new FrameBus(new PacedGrabber(2), 1.0);
+        VideoFrameQueue stalled = bus.subscribe("stalled", 4, DropPolicy.DROP_OLDEST, 0);
+        VideoFrameQueue reader = bus.subscribe("reader", 2, DropPolicy.DROP_OLDEST, 0);
+        AtomicInteger read = new AtomicInteger();
+        Thread readerThread = consume(reader, 0, read);
+
+        // Act
+        bus.start();
+        Thread.sleep(400);
+        bus.stop(1000);
+        readerThread.join(2000);
+
+        // Assert: buffers stay within the subscribers' needs and come back once released
+        assertTrue(bus.getCapturedCount() > 50);
+        assertTrue(bus.getAllocatedFrames() <= 4 + 1 + 2 + 1 + 1, bus.getAllocatedFrames() + " allocated");
+        assertEquals(4, stalled.size());
+        bus.unsubscribe(stalled);
+        assertEquals(bus.getAllocatedFrames(), bus.getFreeFrames());
+    }
+
+    @Test
+    void testFramesNobodyWantsAreNotCopied() throws Exception {
+        FrameBus bus = new FrameBus(new PacedGrabber(5), 1.0);
+        VideoFrameQueue analyzer = bus.subscribe("analyzer", 1, DropPolicy.DROP_OLDEST, 5);
+        AtomicInteger analyzed = new AtomicInteger();
+        Thread analyzerThread = consume(analyzer, 0, analyzed);
+
+        bus.start();
+        Thread.sleep(600);
+        bus.stop(1000);
+        analyzerThread.join(2000);
+
+        assertTrue(analyzed.get() >= 2 && analyzed.get() <= 4, analyzed.get() + " analyzed");
+        assertEquals(bus.getCapturedCount() - analyzer.getOfferedCount(), bus.getSkippedCount());
+        assertTrue(bus.getAllocatedFrames() <= 2);
+    }
+
+    @Test
+    void testUnsubscribedConsumerStopsReceiving() throws Exception {
+        FrameBus bus = new FrameBus(new PacedGrabber(5), 1.0);
+        VideoFrameQueue encoder = bus.subscribe("encoder", 4, DropPolicy.DROP_OLDEST, 0);
+        VideoFrameQueue snapshot = bus.subscribe("snapshot", 1, DropPolicy.DROP_OLDEST, 0);
+        AtomicInteger encoded = new AtomicInteger();
+        Thread encoderThread = consume(encoder, 0, encoded);
+        bus.start();
+
+        SharedFrame frame = snapshot.take(1000);
+        assertNotNull(frame);
+        frame.release();
+        bus.unsubscribe(snapshot);
+        long offeredAtUnsubscribe = snapshot.getOfferedCount();
+        Thread.sleep(100);
+        bus.stop(1000);
+        encoderThread.join(2000);
+
+        assertEquals(offeredAtUnsubscribe, snapshot.getOfferedCount());
+        assertTrue(snapshot.isDrained());
+        assertEquals(1, bus.getSubscribers().size());
+    }
+
+    @Test
+    void testPoolLimitReturnsToBaselineAfterResubscribing() {
+        // Arrange
+        FrameBus bus = new FrameBus(new PacedGrabber(5), 1.0);
+        int baseline = bus.getPoolLimit();
+
+        // Act: the last subscriber leaving and a new one arriving, over and over
+        for (int i = 0; i < 10; i++) {
+            bus.unsubscribe(bus.subscribe("snapshot", 2, DropPolicy.DROP_OLDEST, 0));
+        }
+        VideoFrameQueue encoder = bus.subscribe("encoder", 4, DropPolicy.DROP_OLDEST, 0);
+
+        // Assert
+        assertEquals(1, baseline);
+        assertEquals(baseline + encoder.getCapacity() + 1, bus.getPoolLimit());
+        bus.unsubscribe(encoder);
+        assertEquals(baseline, bus.getPoolLimit());
+    }
+
+    private static Thread consume(VideoFrameQueue queue, long delayMillis, AtomicInteger count) {
+        Thread thread = new Thread(() -> {
+            try {
+                while (!queue.isDrained()) {
+                    SharedFrame frame = queue.take(50);
+                    if (frame == null) continue;
+                    if (delayMillis > 0) Thread.sleep(delayMillis);
+                    count.incrementAndGet();
+                    frame.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,9 @@
+package com.interviewprep.service;
+
+class InMemoryStorageBackendTest extends StorageBackendConformance {
+
+    @Override
+    protected StorageBackend createBackend() {
+        return new InMemoryStorageBackend();
+    }
+}
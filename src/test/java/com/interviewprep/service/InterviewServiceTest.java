@@ -4,6 +4,7 @@ import com.interviewprep.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -67,6 +68,54 @@ class InterviewServiceTest {
         });
     }
 
+    @Test
+    void testQuestionPromptCarriesOnlyTheSegmentedJobDescription() throws IOException {
+        // Arrange
+        Resume resume = new Resume("resume.txt", "Experienced Java developer");
+        JobDescription segmented = new JobDescription("jd.txt", "Backend Engineer\n\n"
+            + "About us\nWe sell shoes and love our culture.\n\n"
+            + "What you'll do\n- Build order APIs\n\n"
+            + "Requirements\n- Java\n- Kafka\n\n"
+            + "Nice to have\n- Go\n\n"
+            + "Benefits\n- Free shoes");
+        DocumentSegmenter.segment(segmented);
+        when(mockAIServiceManager.generate(anyString())).thenReturn("1. Tell me about Kafka");
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        interviewService.generateQuestions(resume, segmented, InterviewMode.PRACTICE, 1);
+
+        // Assert
+        verify(mockAIServiceManager).generate(prompt.capture());
+        assertTrue(prompt.getValue().contains("Role: Backend Engineer"));
+        assertTrue(prompt.getValue().contains("RESPONSIBILITIES:\nBuild order APIs"));
+        assertTrue(prompt.getValue().contains("REQUIRED SKILLS:\nJava\nKafka"));
+        assertTrue(prompt.getValue().contains("NICE TO HAVE:\nGo"));
+        assertFalse(prompt.getValue().contains("sell shoes"), "Boilerplate outside the sections should be left out");
+        assertFalse(prompt.getValue().contains("Free shoes"));
+    }
+
+    @Test
+    void testJobDescriptionWithoutRequirementsIsSentInFull() throws IOException {
+        // Arrange: the first line becomes the title, but there is no Requirements heading
+        Resume resume = new Resume("resume.txt", "Experienced Java developer");
+        JobDescription unsectioned = new JobDescription("jd.txt", "Backend Engineer\n"
+            + "We sell shoes online and need someone who knows Kafka and has run Java services in production.");
+        DocumentSegmenter.segment(unsectioned);
+        when(mockAIServiceManager.generate(anyString())).thenReturn("1. Tell me about Kafka");
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        interviewService.generateQuestions(resume, unsectioned, InterviewMode.PRACTICE, 1);
+
+        // Assert
+        verify(mockAIServiceManager).generate(prompt.capture());
+        assertEquals("Backend Engineer", unsectioned.getJobTitle());
+        assertTrue(prompt.getValue().contains("Role: Backend Engineer"));
+        assertTrue(prompt.getValue().contains("need someone who knows Kafka and has run Java services in production"),
+            "No requirements section was found, so the whole posting is sent");
+    }
+
     @Test
     void testAnalyzeResume_Success() throws IOException {
         // Arrange
@@ -0,0 +1,16 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+class JsonFileStorageBackendTest extends StorageBackendConformance {
+
+    @TempDir
+    Path tempDir;
+
+    @Override
+    protected StorageBackend createBackend() {
+        return new JsonFileStorageBackend(tempDir.toString());
+    }
+}
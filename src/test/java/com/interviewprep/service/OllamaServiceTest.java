@@ -10,7 +10,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,7 +42,7 @@ class OllamaServiceTest {
         ollamaService = new OllamaService("llama3.2:latest", "http://localhost:11434");
         // Use reflection to inject mock client for testing
         try {
-            var field = OllamaService.class.getDeclaredField("httpClient");
+            var field = OllamaService.class.getDeclaredField("client");
             field.setAccessible(true);
             field.set(ollamaService, mockHttpClient);
         } catch (Exception e) {
@@ -171,4 +175,152 @@ class OllamaServiceTest {
         assertNotNull(models);
         assertTrue(models.contains("llama3.2:latest"));
     }
+
+    @Test
+    void testSessionsKeepSeparateHistories() throws IOException {
+        // Arrange
+        ScriptedOllama ollama = new ScriptedOllama();
+
+        // Act
+        ollama.chat("a", "I am candidate A");
+        ollama.chat("b", "I am candidate B");
+        ollama.chat("a", "What did I say?");
+
+        // Assert
+        String prompt = ollama.lastPrompt();
+        assertTrue(prompt.contains("user: I am candidate A\nassistant: reply to I am candidate A\n"));
+        assertFalse(prompt.contains("candidate B"));
+    }
+
+    @Test
+    void testConcurrentTurnsInOneSessionStayInOrder() throws Exception {
+        // Arrange
+        ScriptedOllama ollama = new ScriptedOllama();
+        ollama.delayMillis = 5;
+        int callers = 8;
+        CountDownLatch ready = new CountDownLatch(callers);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String message = "turn " + i;
+            threads.add(new Thread(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                    ollama.chat("s", message);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        ollama.chat("s", "done");
+
+        // Assert: every turn is a user line followed by the reply to that same line
+        String[] lines = ollama.lastPrompt().split("\n");
+        assertEquals(2 * callers + 2, lines.length);
+        for (int i = 0; i < 2 * callers; i += 2) {
+            assertTrue(lines[i].startsWith("user: turn "), lines[i]);
+            assertEquals("assistant: reply to " + lines[i].substring("user: ".length()), lines[i + 1]);
+        }
+        assertEquals(callers + 1, ollama.prompts.size());
+    }
+
+    @Test
+    void testClearHistoryForgetsOnlyThatSession() throws IOException {
+        // Arrange
+        ScriptedOllama ollama = new ScriptedOllama();
+        ollama.chat("a", "first answer");
+        ollama.chat("b", "other answer");
+
+        // Act
+        ollama.clearHistory("a");
+        ollama.chat("a", "second answer");
+        String promptA = ollama.lastPrompt();
+        ollama.chat("b", "follow up");
+
+        // Assert
+        assertEquals("user: second answer\nassistant: ", promptA);
+        assertTrue(ollama.lastPrompt().contains("other answer"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedConversationIsEvictedPastTheCap() throws IOException {
+        // Arrange: 64 sessions, with s0 used again so s1 is the least recent
+        ScriptedOllama ollama = new ScriptedOllama();
+        for (int i = 0; i < 64; i++) {
+            ollama.chat("s" + i, "hello from s" + i);
+        }
+        ollama.chat("s0", "still here");
+
+        // Act
+        ollama.chat("s64", "hello from s64");
+        ollama.chat("s1", "back again");
+        String promptS1 = ollama.lastPrompt();
+        ollama.chat("s0", "and again");
+
+        // Assert
+        assertFalse(promptS1.contains("hello from s1"));
+        assertTrue(ollama.lastPrompt().contains("hello from s0"));
+    }
+
+    @Test
+    void testIdleConversationIsForgotten() throws IOException {
+        // Arrange
+        ScriptedOllama ollama = new ScriptedOllama();
+        ollama.chat("active", "first");
+        ollama.chat("idle", "first");
+
+        // Act: "active" is used at 29 minutes, then both are looked at after 31
+        ollama.now += TimeUnit.MINUTES.toMillis(29);
+        ollama.chat("active", "second");
+        ollama.now += TimeUnit.MINUTES.toMillis(2);
+        ollama.chat("idle", "second");
+        String promptIdle = ollama.lastPrompt();
+        ollama.chat("active", "third");
+
+        // Assert
+        assertEquals("user: second\nassistant: ", promptIdle);
+        assertTrue(ollama.lastPrompt().startsWith("user: first\n"));
+    }
+
+    /**
+     * Answers every prompt with "reply to <last user line>" instead of calling Ollama, on a settable clock
+     */
+    private static class ScriptedOllama extends OllamaService {
+        final List<String> prompts = Collections.synchronizedList(new ArrayList<>());
+        volatile long delayMillis;
+        long now = 1_000_000;
+
+        ScriptedOllama() {
+            super("http://localhost:11434", "llama3.2:latest");
+        }
+
+        @Override
+        public String generate(String prompt) {
+            prompts.add(prompt);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String user = prompt.substring(prompt.lastIndexOf("user: ") + "user: ".length());
+            return "reply to " + user.substring(0, user.indexOf('\n'));
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return now;
+        }
+
+        String lastPrompt() {
+            return prompts.get(prompts.size() - 1);
+        }
+    }
 }
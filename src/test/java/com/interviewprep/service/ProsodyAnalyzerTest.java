@@ -0,0 +1,177 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.AnswerSegmentIndex;
+import com.interviewprep.service.ProsodyAnalyzer.ProsodyReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProsodyAnalyzerTest {
+    private static final int RATE = 16000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSyllableRateAndWordsPerMinute() {
+        // Arrange: three 3 s phrases at 4 syllables/s separated by 1 s pauses
+        byte[] pcm = concat(silence(500), phrase(3000, 4, 0.3), silence(1000), phrase(3000, 4, 0.3),
+            silence(1000), phrase(3000, 4, 0.3), silence(500));
+
+        // Act
+        ProsodyReport report = analyze(pcm);
+
+        // Assert
+        assertEquals(4.0, report.getSyllablesPerSecond(), 0.5);
+        assertEquals(160, report.getWordsPerMinute(), 20);
+        assertEquals(9.0, report.getSpeakingSeconds(), 0.5);
+        assertEquals(2, report.getPauseCount());
+        assertEquals(1.0, report.getLongestPauseSeconds(), 0.2);
+        assertArrayEquals(new int[]{0, 0, 2, 0}, report.getPauseHistogram());
+    }
+
+    @Test
+    void testSteadyDeliveryIsConsistent() {
+        byte[] pcm = concat(silence(300), phrase(6000, 4, 0.3), silence(600), phrase(6000, 4, 0.3));
+
+        ProsodyReport report = analyze(pcm);
+
+        assertTrue(report.getVolumeConsistency() > 0.8, "volume " + report.getVolumeConsistency());
+        assertTrue(report.getPaceConsistency() > 0.8, "pace " + report.getPaceConsistency());
+    }
+
+    @Test
+    void testVaryingLoudnessAndPaceLowerConsistency() {
+        // Arrange: alternate loud/fast and quiet/slow phrases
+        byte[] pcm = concat(silence(300), phrase(3000, 5, 0.4), silence(600), phrase(3000, 2, 0.04),
+            silence(600), phrase(3000, 5, 0.4), silence(600), phrase(3000, 2, 0.04));
+
+        // Act
+        ProsodyReport report = analyze(pcm);
+
+        // Assert
+        assertTrue(report.getVolumeConsistency() < 0.5, "volume " + report.getVolumeConsistency());
+        assertTrue(report.getPaceConsistency() < 0.7, "pace " + report.getPaceConsistency());
+    }
+
+    @Test
+    void testTooLittleSpeechLeavesConsistencyUndefined() {
+        ProsodyReport report = analyze(concat(silence(500), phrase(800, 4, 0.3), silence(500)));
+
+        assertTrue(Double.isNaN(report.getVolumeConsistency()));
+        assertTrue(Double.isNaN(report.getPaceConsistency()));
+    }
+
+    @Test
+    void testBlockSizeDoesNotChangeResult() {
+        // Arrange
+        byte[] pcm = concat(silence(300), phrase(4000, 3, 0.3), silence(800), phrase(2000, 4, 0.2));
+        ProsodyAnalyzer chunked = new ProsodyAnalyzer();
+
+        // Act: odd-sized blocks split samples across calls
+        for (int offset = 0; offset < pcm.length; offset += 1001) {
+            chunked.process(pcm, offset, Math.min(1001, pcm.length - offset));
+        }
+
+        // Assert
+        ProsodyReport whole = analyze(pcm);
+        assertEquals(whole.getSyllableCount(), chunked.getReport().getSyllableCount());
+        assertEquals(whole.getPauseCount(), chunked.getReport().getPauseCount());
+        assertEquals(whole.getSpeakingSeconds(), chunked.getReport().getSpeakingSeconds(), 1e-9);
+    }
+
+    @Test
+    void testIndexLimitsAnalysisToAnswers() throws Exception {
+        // Arrange: a 2 s "question" followed by a 3 s answer
+        byte[] pcm = concat(phrase(2000, 6, 0.3), silence(1000), phrase(3000, 3, 0.3), silence(500));
+        Path wav = tempDir.resolve("audio.wav");
+        try (ChunkedWavWriter writer = new ChunkedWavWriter(wav, new AudioFormat(RATE, 16, 1, true, false), 1 << 20)) {
+            writer.write(pcm, 0, pcm.length);
+        }
+        AnswerSegmentIndex index = new AnswerSegmentIndex();
+        index.setDataOffset(44);
+        AnswerSegmentIndex.Segment answer = new AnswerSegmentIndex.Segment();
+        answer.setQuestionId("q1");
+        answer.setStartMillis(2000);
+        answer.setEndMillis(6500);
+        AnswerSegmentTracker.fill(answer, java.util.Collections.singletonList(
+            new AnswerSegmentIndex.Span(3000, 6000)), RATE * 2, 2, 44);
+        index.getSegments().add(answer);
+
+        // Act
+        ProsodyReport whole = ProsodyAnalyzer.analyze(wav, null);
+        ProsodyReport answersOnly = ProsodyAnalyzer.analyze(wav, index);
+
+        // Assert
+        assertEquals(6.5, whole.getAnalyzedSeconds(), 0.05);
+        assertEquals(3.0, answersOnly.getAnalyzedSeconds(), 0.05);
+        assertEquals(3.0, answersOnly.getSyllablesPerSecond(), 0.5);
+    }
+
+    @Test
+    void testAnalysisRunsManyTimesFasterThanRealTime() {
+        // Arrange: ten minutes of speech-like audio
+        byte[] minute = concat(phrase(20000, 4, 0.3), silence(1000), phrase(25000, 3, 0.2),
+            silence(2000), phrase(12000, 5, 0.25));
+        ProsodyAnalyzer analyzer = new ProsodyAnalyzer();
+
+        // Act
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            analyzer.process(minute, 0, minute.length);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert: 600 s of audio in well under two seconds (> 300x real time)
+        assertEquals(600, analyzer.getReport().getAnalyzedSeconds(), 1);
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+    }
+
+    private static ProsodyReport analyze(byte[] pcm) {
+        ProsodyAnalyzer analyzer = new ProsodyAnalyzer();
+        analyzer.process(pcm, 0, pcm.length);
+        return analyzer.getReport();
+    }
+
+    /**
+     * Voiced tone whose loudness rises and falls once per syllable
+     */
+    private static byte[] phrase(int millis, double syllablesPerSecond, double amplitude) {
+        int samples = RATE * millis / 1000;
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            double t = (double) i / RATE;
+            double envelope = 0.5 - 0.5 * Math.cos(2 * Math.PI * syllablesPerSecond * t);
+            short value = (short) Math.round(amplitude * envelope * 32767 * Math.sin(2 * Math.PI * 180 * t));
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+
+    private static byte[] silence(int millis) {
+        Random random = new Random(millis);
+        int samples = RATE * millis / 1000;
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short value = (short) Math.round(random.nextGaussian() * 20);
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+}
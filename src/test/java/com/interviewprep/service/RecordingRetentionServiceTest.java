@@ -0,0 +1,178 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.InterviewRecording;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingRetentionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path recordingsDir;
+    private Path catalogFile;
+    private RecordingRetentionService.Policy policy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recordingsDir = Files.createDirectories(tempDir.resolve("recordings"));
+        catalogFile = tempDir.resolve("data").resolve("retention").resolve("catalog.json");
+        policy = new RecordingRetentionService.Policy();
+        policy.setKeepDays(30);
+        policy.setMaxBytes(1_000_000);
+    }
+
+    @Test
+    void testExpiredRecordingsAreDeleted() throws Exception {
+        // Arrange
+        createRecording("old", 1000, 45);
+        createRecording("recent", 1000, 5);
+
+        // Act
+        RecordingRetentionService.RetentionReport report = service().runNow();
+
+        // Assert
+        assertFalse(Files.exists(recordingsDir.resolve("old")));
+        assertTrue(Files.exists(recordingsDir.resolve("recent")));
+        assertEquals(1, report.getDirectoriesDeleted());
+        assertEquals(1000, report.getBytesReclaimed());
+        assertEquals(1000, report.getBytesRemaining());
+    }
+
+    @Test
+    void testOldestRecordingsAreEvictedToMeetBudget() throws Exception {
+        // Arrange
+        policy.setMaxBytes(2500);
+        createRecording("a", 1000, 3);
+        createRecording("b", 1000, 2);
+        createRecording("c", 1000, 1);
+
+        // Act
+        RecordingRetentionService.RetentionReport report = service().runNow();
+
+        // Assert
+        assertFalse(Files.exists(recordingsDir.resolve("a")));
+        assertTrue(Files.exists(recordingsDir.resolve("b")));
+        assertTrue(Files.exists(recordingsDir.resolve("c")));
+        assertEquals(2000, report.getBytesRemaining());
+    }
+
+    @Test
+    void testRecordingInProgressIsNeverEvicted() throws Exception {
+        // Arrange
+        policy.setMaxBytes(10);
+        Path active = Files.createDirectories(recordingsDir.resolve("active"));
+        Files.write(active.resolve("video.mp4"), new byte[500]);
+
+        // Act
+        RecordingRetentionService.RetentionReport report = service().runNow();
+
+        // Assert
+        assertTrue(Files.exists(active));
+        assertEquals(0, report.getDirectoriesDeleted());
+    }
+
+    @Test
+    void testSettledDirectoriesAreNotRemeasured() throws Exception {
+        // Arrange
+        createRecording("a", 1000, 3);
+        createRecording("b", 1000, 2);
+        service().runNow();
+
+        // Act
+        RecordingRetentionService.RetentionReport report = service().runNow();
+
+        // Assert
+        assertEquals(2, report.getDirectoriesScanned());
+        assertEquals(0, report.getDirectoriesMeasured());
+        assertEquals(2000, report.getBytesRemaining());
+    }
+
+    @Test
+    void testEvictedRecordingsNoLongerReferenceTheirFiles() throws Exception {
+        // Arrange
+        createRecording("old", 1000, 45);
+        createRecording("recent", 1000, 5);
+        StorageService storage = new StorageService(new InMemoryStorageBackend(), tempDir.toString());
+        InterviewRecording evicted = recording(storage, "old");
+        InterviewRecording kept = recording(storage, "recent");
+
+        // Act
+        new RecordingRetentionService(recordingsDir, catalogFile, policy, storage).runNow();
+
+        // Assert
+        InterviewRecording evictedAfter = storage.loadRecording(evicted.getRecordingId());
+        assertNull(evictedAfter.getVideoFilePath());
+        assertNull(evictedAfter.getAudioFilePath());
+        assertEquals(evicted.getSessionId(), evictedAfter.getSessionId(), "Metadata outlives the media");
+        assertEquals(kept.getVideoFilePath(), storage.loadRecording(kept.getRecordingId()).getVideoFilePath());
+    }
+
+    @Test
+    void testWavIsDroppedOnceItsCompressedCopyIsCanonical() throws Exception {
+        // Arrange
+        Path dir = createRecording("settled", 1000, 5);
+        Files.write(dir.resolve("audio_1.wav"), new byte[4000]);
+        Files.write(dir.resolve("audio_1.m4a"), new byte[500]);
+        Files.write(dir.resolve("audio_2.wav"), new byte[4000]); // compression failed: only copy
+        setAge(dir, 5);
+        StorageService storage = new StorageService(new InMemoryStorageBackend(), tempDir.toString());
+        InterviewRecording recording = new InterviewRecording();
+        recording.setAudioFilePath(dir.resolve("audio_1.wav").toString());
+        recording.setCompressedAudioFilePath(dir.resolve("audio_1.m4a").toString());
+        storage.saveRecording(recording);
+
+        // Act
+        RecordingRetentionService.RetentionReport report =
+            new RecordingRetentionService(recordingsDir, catalogFile, policy, storage).runNow();
+
+        // Assert
+        assertFalse(Files.exists(dir.resolve("audio_1.wav")));
+        assertTrue(Files.exists(dir.resolve("audio_2.wav")));
+        assertEquals(1, report.getWavFilesDropped());
+        assertEquals(4000, report.getBytesReclaimed());
+        assertEquals(dir.resolve("audio_1.m4a").toString(),
+            storage.loadRecording(recording.getRecordingId()).getAudioFilePath());
+    }
+
+    @Test
+    void testMissingRecordingsDirectoryIsANoOp() throws Exception {
+        RecordingRetentionService service = new RecordingRetentionService(
+            tempDir.resolve("absent"), catalogFile, policy);
+
+        assertEquals(0, service.runNow().getDirectoriesScanned());
+    }
+
+    private RecordingRetentionService service() {
+        return new RecordingRetentionService(recordingsDir, catalogFile, policy);
+    }
+
+    private InterviewRecording recording(StorageService storage, String name) {
+        InterviewRecording recording = new InterviewRecording();
+        recording.setSessionId("session-" + name);
+        recording.setVideoFilePath(recordingsDir.resolve(name).resolve("video.mp4").toString());
+        recording.setAudioFilePath(recordingsDir.resolve(name).resolve("audio.wav").toString());
+        storage.saveRecording(recording);
+        return recording;
+    }
+
+    private Path createRecording(String name, int bytes, int daysOld) throws Exception {
+        Path dir = Files.createDirectories(recordingsDir.resolve(name));
+        Files.write(dir.resolve("video.mp4"), new byte[bytes]);
+        setAge(dir, daysOld);
+        return dir;
+    }
+
+    private static void setAge(Path dir, int daysOld) throws Exception {
+        long millis = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(daysOld);
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(millis));
+    }
+}
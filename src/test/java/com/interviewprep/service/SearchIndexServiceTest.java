@@ -0,0 +1,163 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path indexFile;
+    private SearchIndexService searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        indexFile = tempDir.resolve("index").resolve("search_index.json");
+        searchIndex = new SearchIndexService(indexFile);
+    }
+
+    @Test
+    void testTermAndPrefixSearch() {
+        // Arrange
+        InterviewSession session = createSession(
+            "How would you design a URL shortener?",
+            "I would use consistent hashing and a distributed key value store");
+        searchIndex.indexSession(session);
+
+        // Act
+        List<SearchResult> exact = searchIndex.search("hashing", 10);
+        List<SearchResult> prefix = searchIndex.search("distrib", 10);
+        List<SearchResult> none = searchIndex.search("kubernetes", 10);
+
+        // Assert
+        assertEquals(1, exact.size());
+        assertEquals(session.getSessionId(), exact.get(0).getSessionId());
+        assertEquals(1, prefix.size());
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    void testPhraseSearchRequiresAdjacency() {
+        // Arrange
+        searchIndex.indexSession(createSession("Describe system design tradeoffs", "Latency versus cost"));
+        searchIndex.indexSession(createSession("Describe a design of a system", "It depends"));
+
+        // Act
+        List<SearchResult> results = searchIndex.search("\"system design\"", 10);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getTitle().contains("system design"));
+    }
+
+    @Test
+    void testRankingPrefersMoreRelevantDocument() {
+        // Arrange
+        InterviewSession strong = createSession("Explain caching", "Caching caching caching with a cache layer");
+        InterviewSession weak = createSession("Explain databases", "Indexes and maybe caching");
+        searchIndex.indexSession(weak);
+        searchIndex.indexSession(strong);
+
+        // Act
+        List<SearchResult> results = searchIndex.search("caching", 10);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(strong.getSessionId(), results.get(0).getSessionId());
+    }
+
+    @Test
+    void testReindexingReplacesOldAnswers() {
+        // Arrange
+        InterviewSession session = createSession("Tell me about a conflict", "Old answer about mentoring");
+        searchIndex.indexSession(session);
+
+        // Act
+        String questionId = session.getQuestions().get(0).getId();
+        session.getUserAnswers().put(questionId, "New answer about negotiation");
+        searchIndex.indexSession(session);
+
+        // Assert
+        assertTrue(searchIndex.search("mentoring", 10).isEmpty());
+        assertEquals(1, searchIndex.search("negotiation", 10).size());
+        assertEquals(1, searchIndex.getDocumentCount());
+    }
+
+    @Test
+    void testAnalyticsFeedbackIsIndexedAndPersisted() {
+        // Arrange
+        InterviewAnalytics analytics = new InterviewAnalytics();
+        analytics.setSessionId(UUID.randomUUID().toString());
+        analytics.setDetailedFeedback("Strong structure but rushed the STAR conclusion");
+        searchIndex.indexAnalytics(analytics);
+
+        // Act
+        SearchIndexService reloaded = new SearchIndexService(indexFile);
+        List<SearchResult> results = reloaded.search("rushed", 10);
+
+        // Assert
+        assertTrue(reloaded.isPersisted());
+        assertEquals(1, results.size());
+        assertEquals("Analytics", results.get(0).getKind());
+        assertNull(results.get(0).getQuestionId());
+    }
+
+    @Test
+    void testSavesAppendToAJournalReplayedOnLoad() throws Exception {
+        // Arrange: a corpus already in the snapshot
+        searchIndex.rebuild(List.of(createSession("Explain caching", "Write-through versus write-back")), List.of());
+        long snapshotSize = Files.size(indexFile);
+        Path journal = indexFile.resolveSibling(indexFile.getFileName() + ".journal");
+
+        // Act
+        InterviewSession session = createSession("Tell me about a conflict", "Old answer about mentoring");
+        searchIndex.indexSession(session);
+        session.getUserAnswers().put(session.getQuestions().get(0).getId(), "New answer about negotiation");
+        searchIndex.indexSession(session);
+        SearchIndexService reloaded = new SearchIndexService(indexFile);
+
+        // Assert: the snapshot is untouched, the journal holds only the changes
+        assertEquals(snapshotSize, Files.size(indexFile));
+        assertEquals(3, Files.readAllLines(journal).size(), "add, then remove + add");
+        assertEquals(2, reloaded.getDocumentCount());
+        assertTrue(reloaded.search("mentoring", 10).isEmpty());
+        assertEquals(1, reloaded.search("negotiation", 10).size());
+        assertEquals(1, reloaded.search("caching", 10).size());
+    }
+
+    @Test
+    void testJournalIsFoldedIntoASnapshotOnceLarge() throws Exception {
+        // Arrange
+        Path journal = indexFile.resolveSibling(indexFile.getFileName() + ".journal");
+
+        // Act
+        for (int i = 0; i < 300; i++) {
+            searchIndex.indexSession(createSession("Question " + i, "Answer number " + i));
+        }
+        SearchIndexService reloaded = new SearchIndexService(indexFile);
+
+        // Assert
+        assertTrue(Files.exists(indexFile), "snapshot written");
+        assertTrue(!Files.exists(journal) || Files.readAllLines(journal).size() < 300, "journal folded");
+        assertEquals(300, reloaded.getDocumentCount());
+    }
+
+    private InterviewSession createSession(String questionText, String answer) {
+        InterviewSession session = new InterviewSession();
+        session.setMode(InterviewMode.PRACTICE);
+        InterviewQuestion question = new InterviewQuestion(questionText, "Technical", "Medium");
+        session.getQuestions().add(question);
+        session.addQuestionAnswer(question, answer, 60);
+        return session;
+    }
+}
@@ -0,0 +1,191 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeechPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SpeechPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void testSentencesKeepTheirPunctuation() {
+        // Act
+        List<String> sentences = SpeechPipeline.sentences("Tell me about a project.  What was your role? "
+            + "Be specific!");
+
+        // Assert
+        assertEquals(List.of("Tell me about a project.", "What was your role?", "Be specific!"), sentences);
+        assertTrue(SpeechPipeline.sentences("   ").isEmpty());
+    }
+
+    @Test
+    void testNextSentenceIsSynthesizedWhileOnePlays() throws Exception {
+        // Arrange: 150 ms to synthesize and 150 ms to play each sentence
+        FakePlayer player = new FakePlayer(150);
+        pipeline = new SpeechPipeline(slowSynthesizer(150), player, tempDir, 1);
+
+        // Act
+        long start = System.nanoTime();
+        pipeline.speak("One. Two. Three.");
+        waitUntilQuiet();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert: 3 x 150 synthesis overlapped with playback is ~600 ms, not 900
+        assertEquals(List.of("One.", "Two.", "Three."), player.played);
+        assertTrue(elapsedMillis < 820, "Synthesis and playback should overlap, took " + elapsedMillis + " ms");
+        SpeechPipeline.Stats stats = pipeline.getStats();
+        assertEquals(1, stats.getFirstAudioCount());
+        assertTrue(stats.getLastTimeToFirstAudioMillis() >= 140 && stats.getLastTimeToFirstAudioMillis() < 400,
+            "First audio after one sentence, was " + stats.getLastTimeToFirstAudioMillis() + " ms");
+        assertEquals(3, stats.getSentencesSynthesized());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Played sentences are deleted");
+        }
+    }
+
+    @Test
+    void testProcessPerCallSynthesizerGetsTheWholeUtterance() throws Exception {
+        // Arrange: a synthesizer that starts a process per call
+        FakePlayer player = new FakePlayer(10);
+        SpeechPipeline.Synthesizer sentences = slowSynthesizer(0);
+        pipeline = new SpeechPipeline(new SpeechPipeline.Synthesizer() {
+            @Override
+            public void synthesize(String text, Path wav) throws IOException, InterruptedException {
+                sentences.synthesize(text, wav);
+            }
+
+            @Override
+            public boolean isResident() {
+                return false;
+            }
+        }, player, tempDir, 1);
+
+        // Act
+        pipeline.speak("One. Two. Three.");
+        waitFor(() -> player.played.size() == 1);
+        waitUntilQuiet();
+
+        // Assert
+        assertEquals(List.of("One. Two. Three."), player.played);
+        assertEquals(1, pipeline.getStats().getSentencesSynthesized());
+    }
+
+    @Test
+    void testCancelSilencesAtOnceAndDropsTheRest() throws Exception {
+        // Arrange: long sentences so the first is still playing when cancelled
+        FakePlayer player = new FakePlayer(2000);
+        pipeline = new SpeechPipeline(slowSynthesizer(20), player, tempDir, 1);
+        pipeline.speak("First question. It has more. And more.");
+        waitFor(() -> !player.played.isEmpty());
+
+        // Act
+        long start = System.nanoTime();
+        pipeline.cancel();
+        waitUntilQuiet();
+        long stopMillis = (System.nanoTime() - start) / 1_000_000;
+        pipeline.speak("Second question.");
+        waitFor(() -> player.played.size() == 2);
+        waitUntilQuiet();
+
+        // Assert
+        assertTrue(stopMillis < 200, "Cancel should be prompt, took " + stopMillis + " ms");
+        assertEquals(List.of("First question.", "Second question."), player.played);
+        assertEquals(1, pipeline.getStats().getCancelled());
+        assertEquals(2, pipeline.getStats().getUtterances());
+    }
+
+    @Test
+    void testCachedAudioIsPlayedAndKept() throws Exception {
+        // Arrange
+        FakePlayer player = new FakePlayer(10);
+        pipeline = new SpeechPipeline(slowSynthesizer(0), player, tempDir, 1);
+        Path cached = Files.writeString(tempDir.resolve("cached.wav"), "Cached question.");
+
+        // Act
+        pipeline.play(cached);
+        waitFor(() -> player.played.size() == 1);
+        waitUntilQuiet();
+
+        // Assert
+        assertEquals(List.of("Cached question."), player.played);
+        assertTrue(Files.exists(cached), "Cache files are not ours to delete");
+        assertEquals(0, pipeline.getStats().getSentencesSynthesized());
+    }
+
+    private void waitUntilQuiet() throws InterruptedException {
+        waitFor(() -> !pipeline.isSpeaking());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Writes the sentence itself as the "audio"
+     */
+    private static SpeechPipeline.Synthesizer slowSynthesizer(long millis) {
+        return (sentence, wav) -> {
+            Thread.sleep(millis);
+            Files.writeString(wav, sentence);
+        };
+    }
+
+    /**
+     * Records what was played; playing takes a fixed time unless cancelled
+     */
+    static class FakePlayer implements SpeechPipeline.Player {
+        final List<String> played = new CopyOnWriteArrayList<>();
+        private final long millis;
+
+        FakePlayer(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public void play(Path wav, Runnable started, BooleanSupplier cancelled)
+                throws IOException, InterruptedException {
+            played.add(Files.readString(wav));
+            started.run();
+            long end = System.currentTimeMillis() + millis;
+            while (!cancelled.getAsBoolean() && System.currentTimeMillis() < end) {
+                Thread.sleep(5);
+            }
+        }
+
+        @Override
+        public void drain(BooleanSupplier cancelled) {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shared contract every StorageBackend must satisfy
+ * Subclasses only provide the backend under test.
+ */
+abstract class StorageBackendConformance {
+
+    protected StorageBackend backend;
+
+    protected abstract StorageBackend createBackend() throws Exception;
+
+    @BeforeEach
+    void setUpBackend() throws Exception {
+        backend = createBackend();
+    }
+
+    @Test
+    void testSaveAndLoadSession() throws Exception {
+        // Arrange
+        InterviewSession session = createSession();
+
+        // Act
+        backend.saveSession(session);
+        InterviewSession loaded = backend.loadSession(session.getSessionId());
+
+        // Assert
+        assertNotNull(loaded);
+        assertEquals(session.getSessionId(), loaded.getSessionId());
+        assertEquals(session.getMode(), loaded.getMode());
+        assertEquals(session.getStartTime(), loaded.getStartTime());
+        assertEquals(session.getUserAnswers(), loaded.getUserAnswers());
+        assertEquals(session.getQuestions().get(0).getQuestion(), loaded.getQuestions().get(0).getQuestion());
+    }
+
+    @Test
+    void testLoadedSessionIsASnapshot() throws Exception {
+        // Arrange
+        InterviewSession session = createSession();
+        backend.saveSession(session);
+
+        // Act
+        session.setOverallFeedback("changed after save");
+        InterviewSession loaded = backend.loadSession(session.getSessionId());
+
+        // Assert
+        assertNull(loaded.getOverallFeedback());
+    }
+
+    @Test
+    void testMissingRecordsReturnNull() throws Exception {
+        assertNull(backend.loadSession("missing"));
+        assertNull(backend.loadAnalytics("missing"));
+        assertNull(backend.loadMCPContext("missing"));
+        assertNull(backend.loadRecording("missing"));
+        assertFalse(backend.deleteSession("missing"));
+    }
+
+    @Test
+    void testListRecentSessionsHonoursLimit() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            backend.saveSession(createSession());
+        }
+
+        // Act & Assert
+        assertEquals(3, backend.listRecentSessions(3).size());
+        assertEquals(5, backend.listRecentSessions(10).size());
+    }
+
+    @Test
+    void testResavingSessionDoesNotDuplicate() throws Exception {
+        // Arrange
+        InterviewSession session = createSession();
+        backend.saveSession(session);
+
+        // Act
+        session.setOverallFeedback("updated");
+        backend.saveSession(session);
+
+        // Assert
+        List<InterviewSession> sessions = backend.listRecentSessions(10);
+        assertEquals(1, sessions.size());
+        assertEquals("updated", sessions.get(0).getOverallFeedback());
+    }
+
+    @Test
+    void testDeleteSession() throws Exception {
+        // Arrange
+        InterviewSession session = createSession();
+        backend.saveSession(session);
+
+        // Act
+        boolean deleted = backend.deleteSession(session.getSessionId());
+
+        // Assert
+        assertTrue(deleted);
+        assertNull(backend.loadSession(session.getSessionId()));
+        assertTrue(backend.listRecentSessions(10).isEmpty());
+    }
+
+    @Test
+    void testSaveLoadAndListAnalytics() throws Exception {
+        // Arrange
+        InterviewAnalytics analytics = new InterviewAnalytics();
+        analytics.setSessionId(UUID.randomUUID().toString());
+        analytics.setSessionDate(LocalDateTime.of(2026, 1, 5, 9, 30));
+        analytics.setOverallScore(8.5);
+        analytics.setStrengths(List.of("Clear structure"));
+
+        // Act
+        backend.saveAnalytics(analytics);
+        InterviewAnalytics loaded = backend.loadAnalytics(analytics.getSessionId());
+
+        // Assert
+        assertEquals(8.5, loaded.getOverallScore());
+        assertEquals(analytics.getSessionDate(), loaded.getSessionDate());
+        assertEquals(List.of("Clear structure"), loaded.getStrengths());
+        assertEquals(1, backend.listAnalytics().size());
+    }
+
+    @Test
+    void testSaveAndLoadMCPContext() throws Exception {
+        // Arrange
+        MCPContext context = new MCPContext("candidate-1");
+        context.getSkillLevels().put("Java", 7.5);
+        context.setCurrentDifficultyLevel(4);
+
+        // Act
+        backend.saveMCPContext(context);
+        MCPContext loaded = backend.loadMCPContext("candidate-1");
+
+        // Assert
+        assertEquals("candidate-1", loaded.getUserId());
+        assertEquals(7.5, loaded.getSkillLevels().get("Java"));
+        assertEquals(4, loaded.getCurrentDifficultyLevel());
+    }
+
+    @Test
+    void testRecordingMetadataReferencesSessionById() throws Exception {
+        // Arrange
+        InterviewSession session = createSession();
+        InterviewRecording recording = new InterviewRecording();
+        recording.setSession(session);
+        recording.setVideoFilePath("recordings/x/video.mp4");
+        recording.setDurationSeconds(300);
+
+        // Act
+        backend.saveRecording(recording);
+        InterviewRecording loaded = backend.loadRecording(recording.getRecordingId());
+
+        // Assert
+        assertEquals(session.getSessionId(), loaded.getSessionId());
+        assertNull(loaded.getSession());
+        assertEquals("recordings/x/video.mp4", loaded.getVideoFilePath());
+        assertEquals(300, loaded.getDurationSeconds());
+        assertEquals(1, backend.listRecordings().size());
+    }
+
+    @Test
+    void testConcurrentSavesAreAllVisible() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    backend.saveSession(createSession());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread, backend.listRecentSessions(Integer.MAX_VALUE).size());
+    }
+
+    protected static InterviewSession createSession() {
+        InterviewSession session = new InterviewSession();
+        session.setMode(InterviewMode.PRACTICE);
+        InterviewQuestion question = new InterviewQuestion("Describe a hard bug you fixed", "Behavioral", "Medium");
+        session.getQuestions().add(question);
+        session.addQuestionAnswer(question, "A race condition in our cache layer", 90);
+        return session;
+    }
+}
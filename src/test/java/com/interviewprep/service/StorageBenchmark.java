@@ -0,0 +1,104 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Save/load/list throughput benchmark for each StorageBackend
+ *
+ * Not part of the unit test run. Execute with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.interviewprep.service.StorageBenchmark -Dexec.args="10000"
+ */
+public class StorageBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Path workDir = Files.createTempDirectory("storage-bench");
+
+        Map<String, Supplier<StorageBackend>> backends = new LinkedHashMap<>();
+        backends.put("in-memory", InMemoryStorageBackend::new);
+        backends.put("json-file", () -> new JsonFileStorageBackend(workDir.resolve("json").toString()));
+
+        System.out.printf("Storage benchmark: %d sessions per backend%n%n", sessions);
+        System.out.printf("%-12s %14s %14s %14s %14s%n", "backend", "save ops/s", "load ops/s", "list20 ops/s", "listAll ms");
+
+        for (Map.Entry<String, Supplier<StorageBackend>> entry : backends.entrySet()) {
+            run(entry.getKey(), entry.getValue().get(), sessions);
+        }
+
+        deleteRecursively(workDir);
+    }
+
+    private static void run(String name, StorageBackend backend, int count) throws IOException {
+        List<InterviewSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(createSession(i));
+        }
+
+        // Warm up serialization paths before timing
+        for (int i = 0; i < Math.min(200, count); i++) {
+            backend.saveSession(sessions.get(i));
+            backend.loadSession(sessions.get(i).getSessionId());
+        }
+
+        long start = System.nanoTime();
+        for (InterviewSession session : sessions) {
+            backend.saveSession(session);
+        }
+        double saveSeconds = seconds(start);
+
+        Random random = new Random(42);
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            backend.loadSession(sessions.get(random.nextInt(count)).getSessionId());
+        }
+        double loadSeconds = seconds(start);
+
+        int listIterations = 50;
+        start = System.nanoTime();
+        for (int i = 0; i < listIterations; i++) {
+            backend.listRecentSessions(20);
+        }
+        double listSeconds = seconds(start);
+
+        start = System.nanoTime();
+        int all = backend.listRecentSessions(Integer.MAX_VALUE).size();
+        double listAllMillis = seconds(start) * 1000;
+
+        if (all != count) {
+            throw new IllegalStateException(name + " listed " + all + " sessions, expected " + count);
+        }
+
+        System.out.printf("%-12s %14.0f %14.0f %14.1f %14.1f%n", name,
+            count / saveSeconds, count / loadSeconds, listIterations / listSeconds, listAllMillis);
+    }
+
+    private static InterviewSession createSession(int i) {
+        InterviewSession session = new InterviewSession();
+        session.setMode(InterviewMode.values()[i % InterviewMode.values().length]);
+        for (int q = 0; q < 5; q++) {
+            InterviewQuestion question = new InterviewQuestion(
+                "Question " + q + " for session " + i + ": describe a system you designed", "Technical", "Medium");
+            session.getQuestions().add(question);
+            session.addQuestionAnswer(question, "A representative answer of moderate length for benchmarking. ".repeat(4), 90);
+            session.addFeedback(question.getId(), "Good structure, add more metrics.");
+        }
+        session.complete();
+        return session;
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (var paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
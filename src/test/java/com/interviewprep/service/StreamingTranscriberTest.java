@@ -0,0 +1,152 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.StreamingTranscriber.TranscriptChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingTranscriberTest {
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOverlappingChunksMergeIntoOrderedTranscript() throws Exception {
+        // Arrange: 30 words over 9 s, 3 s chunks with 0.9 s (three words) of overlap
+        int[] words = new int[30];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (i * 7) % ToneSpeechEngine.VOCABULARY.length;
+        }
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        ToneSpeechEngine engine = new ToneSpeechEngine(40);
+        List<TranscriptChunk> received = Collections.synchronizedList(new ArrayList<>());
+        StreamingTranscriber transcriber = new StreamingTranscriber(ring.newTap(), FORMAT, engine,
+            3000, 900, 3, received::add);
+        transcriber.start();
+
+        // Act
+        feed(ring, ToneSpeechEngine.speak(words));
+        ring.close();
+        List<TranscriptChunk> transcript = transcriber.finish(10_000);
+
+        // Assert
+        assertEquals(expectedText(words), StreamingTranscriber.joinText(transcript));
+        assertEquals(StreamingTranscriber.joinText(transcript), transcriber.getText());
+        for (int i = 1; i < transcript.size(); i++) {
+            assertEquals(i, transcript.get(i).getSequence());
+            assertTrue(transcript.get(i).getStartMillis() >= transcript.get(i - 1).getStartMillis());
+        }
+        assertEquals(StreamingTranscriber.joinText(transcript), StreamingTranscriber.joinText(received));
+    }
+
+    @Test
+    void testPartialTextArrivesWhileStillSpeaking() throws Exception {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        CountDownLatch firstText = new CountDownLatch(1);
+        StreamingTranscriber transcriber = new StreamingTranscriber(ring.newTap(), FORMAT,
+            new ToneSpeechEngine(0), 1500, 300, 2, chunk -> firstText.countDown());
+        transcriber.start();
+
+        // Act: two seconds of speech, then the stream stays open
+        feed(ring, ToneSpeechEngine.speak(0, 1, 2, 3, 4, 5, 6));
+
+        // Assert
+        assertTrue(firstText.await(5, TimeUnit.SECONDS));
+        assertTrue(transcriber.getText().startsWith("alpha bravo"));
+        ring.close();
+        transcriber.finish(5000);
+    }
+
+    @Test
+    void testSilentChunksAreNotSentToTheEngine() throws Exception {
+        // Arrange: 6 s of silence then 1.5 s of speech
+        int[] words = new int[25];
+        Arrays.fill(words, -1);
+        words[20] = 3;
+        words[21] = 4;
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        ToneSpeechEngine engine = new ToneSpeechEngine(0);
+        StreamingTranscriber transcriber = new StreamingTranscriber(ring.newTap(), FORMAT, engine,
+            1500, 300, 2, null);
+        transcriber.start();
+
+        // Act
+        feed(ring, ToneSpeechEngine.speak(words));
+        ring.close();
+        List<TranscriptChunk> transcript = transcriber.finish(5000);
+
+        // Assert
+        assertEquals("delta echo", StreamingTranscriber.joinText(transcript));
+        assertTrue(engine.calls.get() <= 2, "engine called " + engine.calls.get() + " times");
+    }
+
+    @Test
+    void testAudioHeardWhilePlaybackIsSuppressedIsNotTranscribed() throws Exception {
+        // Arrange
+        AudioRingBuffer ring = new AudioRingBuffer(1 << 20, 2);
+        AudioRingBuffer.Tap tap = ring.newTap();
+        AtomicBoolean questionPlaying = new AtomicBoolean(true);
+        StreamingTranscriber transcriber = new StreamingTranscriber(tap, FORMAT, new ToneSpeechEngine(0),
+            1500, 300, 2, null, questionPlaying::get);
+        transcriber.start();
+
+        // Act: the question is heard through the microphone, then the answer
+        byte[] question = ToneSpeechEngine.speak(0, 1, 2, 3, 4);
+        feed(ring, question);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (tap.getPosition() < question.length && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        questionPlaying.set(false);
+        feed(ring, ToneSpeechEngine.speak(5, 6, 7, 8, 9));
+        ring.close();
+        List<TranscriptChunk> transcript = transcriber.finish(5000);
+
+        // Assert
+        assertEquals(expectedText(new int[] {5, 6, 7, 8, 9}), StreamingTranscriber.joinText(transcript));
+    }
+
+    @Test
+    void testTranscriptFileHasTimestampedLines() throws Exception {
+        List<TranscriptChunk> chunks = Arrays.asList(
+            new TranscriptChunk(0, 0, 3900, "tell me about yourself"),
+            new TranscriptChunk(1, 3900, 6900, ""),
+            new TranscriptChunk(2, 6900, 65_400, "I have five years"));
+
+        Path file = StreamingTranscriber.writeTranscript(chunks, tempDir);
+
+        assertEquals(Arrays.asList(
+            "[00:00.0 - 00:03.9] tell me about yourself",
+            "[00:06.9 - 01:05.4] I have five years"), Files.readAllLines(file));
+    }
+
+    private static String expectedText(int[] words) {
+        StringBuilder text = new StringBuilder();
+        for (int word : words) {
+            if (text.length() > 0) text.append(' ');
+            text.append(ToneSpeechEngine.VOCABULARY[word]);
+        }
+        return text.toString();
+    }
+
+    private static void feed(AudioRingBuffer ring, byte[] pcm) throws InterruptedException {
+        for (int offset = 0; offset < pcm.length; offset += 3200) {
+            ring.write(pcm, offset, Math.min(3200, pcm.length - offset));
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.interviewprep.service;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deterministic stand-in for a real recognizer
+ * "Speech" is a sequence of 300 ms slots: a 200 ms tone whose amplitude encodes a word, then
+ * 100 ms of silence. Chunks that start on a slot boundary decode to exactly the words they hold,
+ * so tests can check chunking, ordering and overlap removal without a model.
+ */
+class ToneSpeechEngine implements SpeechToTextEngine {
+    static final int RATE = 16000;
+    static final int SLOT_MILLIS = 300;
+    static final int TONE_MILLIS = 200;
+    static final double AMPLITUDE_STEP = 0.03;
+    static final String[] VOCABULARY = {
+        "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel",
+        "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa"
+    };
+
+    final AtomicInteger calls = new AtomicInteger();
+    private final long delayMillis;
+
+    ToneSpeechEngine(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public String getName() {
+        return "tone";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public String transcribe(byte[] pcm, int offset, int length, AudioFormat format) {
+        int call = calls.incrementAndGet();
+        if (delayMillis > 0) {
+            try {
+                // Vary latency so later chunks can finish before earlier ones
+                Thread.sleep(call % 2 == 1 ? delayMillis : delayMillis / 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int slotBytes = RATE * SLOT_MILLIS / 1000 * 2;
+        int toneSamples = RATE * TONE_MILLIS / 1000;
+        StringBuilder text = new StringBuilder();
+        for (int slot = offset; slot + toneSamples * 2 <= offset + length; slot += slotBytes) {
+            double sumOfSquares = 0;
+            for (int i = 0; i < toneSamples; i++) {
+                int sample = (short) ((pcm[slot + 2 * i] & 0xFF) | (pcm[slot + 2 * i + 1] << 8));
+                sumOfSquares += (double) sample * sample;
+            }
+            double amplitude = Math.sqrt(sumOfSquares / toneSamples) * Math.sqrt(2) / 32767;
+            int word = (int) Math.round(amplitude / AMPLITUDE_STEP) - 1;
+            if (word >= 0 && word < VOCABULARY.length) {
+                if (text.length() > 0) text.append(' ');
+                text.append(VOCABULARY[word]);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Audio that this engine decodes to the given words (indexes into the vocabulary); -1 is a silent slot
+     */
+    static byte[] speak(int... words) {
+        int slotSamples = RATE * SLOT_MILLIS / 1000;
+        int toneSamples = RATE * TONE_MILLIS / 1000;
+        byte[] pcm = new byte[words.length * slotSamples * 2];
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] < 0) continue;
+            double amplitude = AMPLITUDE_STEP * (words[w] + 1);
+            for (int i = 0; i < toneSamples; i++) {
+                short value = (short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * 200 * i / RATE));
+                int at = (w * slotSamples + i) * 2;
+                pcm[at] = (byte) value;
+                pcm[at + 1] = (byte) (value >> 8);
+            }
+        }
+        return pcm;
+    }
+}
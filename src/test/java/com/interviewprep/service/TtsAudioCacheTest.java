@@ -0,0 +1,108 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtsAudioCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testQuestionsAreSynthesizedOnceAndReused() throws Exception {
+        // Arrange
+        List<String> synthesized = new CopyOnWriteArrayList<>();
+        TtsAudioCache.Synthesizer synthesizer = (text, voice, wav) -> {
+            synthesized.add(voice + ":" + text);
+            writeWav(wav, 8000);
+        };
+        TtsAudioCache cache = new TtsAudioCache(tempDir, "en", synthesizer, Long.MAX_VALUE);
+
+        // Act
+        cache.prefetch(List.of("Tell me about yourself.", "Why this role?"));
+        Path first = cache.prefetch("Tell me about yourself.").get(5, TimeUnit.SECONDS);
+        Path second = cache.prefetch("Why this role?").get(5, TimeUnit.SECONDS);
+        TtsAudioCache nextSession = new TtsAudioCache(tempDir, "en", synthesizer, Long.MAX_VALUE);
+        TtsAudioCache otherVoice = new TtsAudioCache(tempDir, "en-gb", synthesizer, Long.MAX_VALUE);
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(List.of("en:Tell me about yourself.", "en:Why this role?"), synthesized,
+            "Synthesized once each, in order");
+        assertEquals(first, nextSession.lookup("Tell me about  yourself. "), "Whitespace does not change the key");
+        assertNull(otherVoice.lookup("Tell me about yourself."), "The voice is part of the key");
+        cache.shutdown();
+        nextSession.shutdown();
+        otherVoice.shutdown();
+    }
+
+    @Test
+    void testFailedSynthesisIsNotCached() throws Exception {
+        // Arrange: one synthesizer writes garbage, the other fails outright
+        TtsAudioCache garbage = new TtsAudioCache(tempDir, "",
+            (text, voice, wav) -> Files.writeString(wav, "not audio"), Long.MAX_VALUE);
+        TtsAudioCache failing = new TtsAudioCache(tempDir, "", (text, voice, wav) -> {
+            throw new IOException("espeak not found");
+        }, Long.MAX_VALUE);
+
+        // Act
+        Path fromGarbage = garbage.prefetch("Question one").get(5, TimeUnit.SECONDS);
+        Path fromFailure = failing.prefetch("Question two").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNull(fromGarbage);
+        assertNull(fromFailure);
+        assertNull(garbage.lookup("Question one"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "No partial files are left behind");
+        }
+        garbage.shutdown();
+        failing.shutdown();
+    }
+
+    @Test
+    void testLeastRecentlyPlayedAudioIsPrunedFirst() throws Exception {
+        // Arrange: room for two of the three files
+        long wavBytes = 44 + 2 * 8000;
+        TtsAudioCache cache = new TtsAudioCache(tempDir, "", (text, voice, wav) -> writeWav(wav, 8000),
+            2 * wavBytes + 100);
+        Path a = cache.prefetch("A").get(5, TimeUnit.SECONDS);
+        Path b = cache.prefetch("B").get(5, TimeUnit.SECONDS);
+        Files.setLastModifiedTime(a, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Files.setLastModifiedTime(b, FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+        cache.lookup("A");
+
+        // Act
+        cache.prefetch("C").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNotNull(cache.lookup("A"), "Played recently");
+        assertNull(cache.lookup("B"));
+        assertNotNull(cache.lookup("C"));
+        cache.shutdown();
+    }
+
+    private static void writeWav(Path wav, int samples) throws IOException {
+        AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+        byte[] pcm = new byte[samples * 2];
+        try (AudioInputStream in = new AudioInputStream(new ByteArrayInputStream(pcm), format, samples)) {
+            AudioSystem.write(in, AudioFileFormat.Type.WAVE, wav.toFile());
+        }
+    }
+}
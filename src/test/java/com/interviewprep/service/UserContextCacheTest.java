@@ -0,0 +1,117 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.MCPContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserContextCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChangesStayInMemoryUntilWrittenBack() {
+        // Arrange
+        CountingBackend backend = new CountingBackend();
+        UserContextCache cache = new UserContextCache(storage(backend), 10, 4, 0);
+
+        // Act
+        cache.update("alice", context -> context.setCurrentDifficultyLevel(4));
+        cache.update("alice", context -> context.setLastResumeHash("abc"));
+        int savesBeforeFlush = backend.saves.get();
+        cache.flush();
+        cache.flush();
+
+        // Assert
+        assertEquals(0, savesBeforeFlush);
+        assertEquals(1, backend.saves.get(), "One write per changed context, none when unchanged");
+        MCPContext saved = backend.loadMCPContext("alice");
+        assertEquals(4, saved.getCurrentDifficultyLevel());
+        assertEquals("abc", saved.getLastResumeHash());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsWrittenBackOnEviction() {
+        // Arrange
+        CountingBackend backend = new CountingBackend();
+        UserContextCache cache = new UserContextCache(storage(backend), 2, 4, 0);
+        cache.update("alice", context -> context.setLastResumeHash("a"));
+        cache.update("bob", context -> context.setLastResumeHash("b"));
+        cache.read("alice", MCPContext::getUserId);
+
+        // Act: carol pushes out bob, the least recently used
+        cache.update("carol", context -> context.setLastResumeHash("c"));
+
+        // Assert
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getUsers());
+        assertEquals("b", backend.loadMCPContext("bob").getLastResumeHash());
+        assertNull(backend.loadMCPContext("alice"), "alice is still cached and not yet written");
+        assertEquals("b", cache.read("bob", MCPContext::getLastResumeHash), "Reloaded with its change");
+    }
+
+    @Test
+    void testConcurrentUpdatesAcrossUsersAreNotLost() throws Exception {
+        // Arrange: fewer cached users than active ones, so contexts are evicted and reloaded throughout
+        CountingBackend backend = new CountingBackend();
+        UserContextCache cache = new UserContextCache(storage(backend), 3, 4, 0);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        int users = 10;
+        int updatesPerUser = 200;
+
+        // Act
+        List<Future<?>> work = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            work.add(threads.submit(() -> {
+                for (int i = 0; i < users * updatesPerUser / 8; i++) {
+                    String userId = "user" + (i + offset) % users;
+                    cache.update(userId, context -> context.getQuestionHistory().merge("q1", 1, Integer::sum));
+                }
+            }));
+        }
+        for (Future<?> future : work) {
+            future.get();
+        }
+        threads.shutdown();
+        cache.flush();
+
+        // Assert
+        int total = 0;
+        for (int u = 0; u < users; u++) {
+            total += backend.loadMCPContext("user" + u).getQuestionHistory().get("q1");
+        }
+        assertEquals(users * updatesPerUser, total);
+        assertTrue(cache.getStats().getEvictions() > 0);
+        assertEquals(0, cache.getStats().getWriteFailures());
+    }
+
+    private StorageService storage(StorageBackend backend) {
+        return new StorageService(backend, tempDir.toString());
+    }
+
+    /**
+     * In-memory backend that counts context writes
+     */
+    static class CountingBackend extends InMemoryStorageBackend {
+        final AtomicInteger saves = new AtomicInteger();
+
+        @Override
+        public void saveMCPContext(MCPContext context) {
+            saves.incrementAndGet();
+            super.saveMCPContext(context);
+        }
+    }
+}
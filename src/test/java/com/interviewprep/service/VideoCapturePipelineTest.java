@@ -0,0 +1,127 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.VideoCapturePipeline.VideoPipelineStats;
+import com.interviewprep.service.VideoFrameQueue.DropPolicy;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+import org.bytedeco.javacv.FrameRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoCapturePipelineTest {
+
+    @Test
+    void testSlowEncoderDoesNotStallCapture() throws Exception {
+        // Arrange: 100 fps camera, encoder takes 40 ms per frame
+        PacedGrabber grabber = new PacedGrabber(10);
+        SlowRecorder recorder = new SlowRecorder(40);
+        FrameBus bus = new FrameBus(grabber, 1.0);
+        VideoCapturePipeline pipeline = new VideoCapturePipeline(
+            bus.subscribe("encoder", 4, DropPolicy.DROP_OLDEST, 0), recorder, 100);
+
+        // Act
+        pipeline.start();
+        bus.start();
+        Thread.sleep(1000);
+        bus.stop(1000);
+        VideoPipelineStats stats = pipeline.stop(2000);
+
+        // Assert: capture kept its pace while the encoder managed about a quarter of it
+        assertTrue(stats.getCaptured() >= 70, stats.toString());
+        assertTrue(stats.getEncoded() < stats.getCaptured() / 2, stats.toString());
+        assertEquals(stats.getCaptured(), stats.getEncoded() + stats.getDropped(), stats.toString());
+        assertEquals(0, stats.getQueued());
+        assertTrue(stats.getMaxQueueDepth() <= 4);
+        assertTrue(stats.getMeanLatencyMillis() >= 40, stats.toString());
+        assertNull(pipeline.getFailure());
+    }
+
+    @Test
+    void testFramesAreEncodedAtTheirCaptureTime() throws Exception {
+        // Arrange
+        PacedGrabber grabber = new PacedGrabber(10);
+        SlowRecorder recorder = new SlowRecorder(35);
+        FrameBus bus = new FrameBus(grabber, 1.0);
+        VideoCapturePipeline pipeline = new VideoCapturePipeline(
+            bus.subscribe("encoder", 2, DropPolicy.DROP_NEWEST, 0), recorder, 100);
+
+        // Act
+        pipeline.start();
+        bus.start();
+        Thread.sleep(600);
+        bus.stop(1000);
+        pipeline.stop(2000);
+
+        // Assert: positions follow capture order and skip over dropped frames
+        List<Integer> positions = recorder.positions;
+        assertTrue(positions.size() >= 5);
+        for (int i = 1; i < positions.size(); i++) {
+            assertTrue(positions.get(i) > positions.get(i - 1), positions.toString());
+        }
+        int last = positions.get(positions.size() - 1);
+        assertTrue(last > positions.size(), "gaps expected for dropped frames: " + positions);
+        for (int i = 1; i < recorder.markers.size(); i++) {
+            assertTrue(recorder.markers.get(i) > recorder.markers.get(i - 1));
+        }
+    }
+
+    /**
+     * Reuses one frame, like a webcam grabber, stamping each with a sequence marker
+     */
+    static class PacedGrabber extends FrameGrabber {
+        private final long intervalMillis;
+        private final Frame frame = VideoFrameQueueTest.frame(0);
+        private int count;
+
+        PacedGrabber(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        @Override
+        public Frame grab() throws Exception {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            VideoFrameQueueTest.fill(frame, ++count % 256);
+            return frame;
+        }
+
+        @Override public void start() { }
+        @Override public void stop() { }
+        @Override public void trigger() { }
+        @Override public void release() { }
+    }
+
+    static class SlowRecorder extends FrameRecorder {
+        private final long delayMillis;
+        final List<Integer> positions = new ArrayList<>();
+        final List<Integer> markers = new ArrayList<>();
+
+        SlowRecorder(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void record(Frame frame) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            positions.add(getFrameNumber());
+            markers.add(VideoFrameQueueTest.marker(frame));
+            setFrameNumber(getFrameNumber() + 1);
+        }
+
+        @Override public void start() { }
+        @Override public void flush() { }
+        @Override public void stop() { }
+        @Override public void release() { }
+    }
+}
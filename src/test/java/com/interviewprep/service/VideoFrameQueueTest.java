@@ -0,0 +1,167 @@
+package com.interviewprep.service;
+
+import com.interviewprep.service.VideoFrameQueue.DropPolicy;
+import org.bytedeco.javacv.Frame;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoFrameQueueTest {
+
+    @Test
+    void testFramesAreCopiedIntoReusedBuffers() {
+        // Arrange: the grabber reuses one frame, as real grabbers do
+        Frame source = frame(0);
+        SharedFrame shared = new SharedFrame(null);
+        List<Frame> seen = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            fill(source, i);
+            shared.fill(source, i, i, false);
+            assertEquals(i, marker(shared.getFrame()));
+            if (!seen.contains(shared.getFrame())) seen.add(shared.getFrame());
+        }
+
+        // Assert: a copy, not the grabber's frame, allocated once
+        assertFalse(seen.contains(source));
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void testQueueHoldsAndReleasesReferences() throws Exception {
+        VideoFrameQueue queue = new VideoFrameQueue(2, DropPolicy.DROP_OLDEST);
+        SharedFrame first = shared(1, false);
+        SharedFrame second = shared(2, false);
+        SharedFrame third = shared(3, false);
+
+        queue.offer(first);
+        queue.offer(second);
+        queue.offer(third);
+
+        // the evicted frame's reference was given back; queued ones hold one each
+        assertEquals(1, first.getReferenceCount());
+        assertEquals(2, second.getReferenceCount());
+        SharedFrame taken = queue.take(10);
+        assertSame(second, taken);
+        taken.release();
+        queue.discard();
+        assertEquals(1, third.getReferenceCount());
+    }
+
+    @Test
+    void testDropOldestKeepsNewestFrames() throws Exception {
+        VideoFrameQueue queue = offerAll(DropPolicy.DROP_OLDEST, 3, 10, 0);
+
+        assertEquals(7, queue.getDroppedCount());
+        assertEquals(List.of(7, 8, 9), drain(queue));
+    }
+
+    @Test
+    void testDropNewestKeepsQueuedFrames() throws Exception {
+        VideoFrameQueue queue = offerAll(DropPolicy.DROP_NEWEST, 3, 10, 0);
+
+        assertEquals(7, queue.getDroppedCount());
+        assertEquals(List.of(0, 1, 2), drain(queue));
+    }
+
+    @Test
+    void testSkipNonKeyKeepsKeyFrames() throws Exception {
+        // every 4th frame starts a GOP interval
+        VideoFrameQueue queue = offerAll(DropPolicy.SKIP_NON_KEY, 3, 13, 4);
+
+        assertEquals(10, queue.getDroppedCount());
+        assertEquals(List.of(4, 8, 12), drain(queue));
+        assertEquals(13, queue.getOfferedCount());
+        assertEquals(3, queue.getMaxDepth());
+    }
+
+    @Test
+    void testFrameRateCap() {
+        VideoFrameQueue queue = new VideoFrameQueue("preview", 1, DropPolicy.DROP_OLDEST, 10);
+        long frameNanos = 1_000_000_000L / 30;
+
+        int accepted = 0;
+        for (int i = 0; i < 30; i++) {
+            if (queue.wants(i * frameNanos)) {
+                queue.offer(shared(i, false, i * frameNanos));
+                accepted++;
+            }
+        }
+
+        assertEquals(10, accepted);
+    }
+
+    @Test
+    void testTakeReturnsNullOnceClosedAndDrained() throws Exception {
+        VideoFrameQueue queue = new VideoFrameQueue(2, DropPolicy.DROP_OLDEST);
+        queue.offer(shared(1, true));
+        queue.close();
+
+        assertFalse(queue.offer(shared(2, true)));
+        assertFalse(queue.wants(0));
+        assertNotNull(queue.take(10));
+        assertNull(queue.take(10));
+        assertTrue(queue.isDrained());
+    }
+
+    @Test
+    void testPolicyNames() {
+        assertEquals(DropPolicy.DROP_OLDEST, DropPolicy.fromName("oldest"));
+        assertEquals(DropPolicy.DROP_NEWEST, DropPolicy.fromName("Newest"));
+        assertEquals(DropPolicy.SKIP_NON_KEY, DropPolicy.fromName("skip-non-key"));
+        assertThrows(IllegalArgumentException.class, () -> DropPolicy.fromName("random"));
+    }
+
+    private static VideoFrameQueue offerAll(DropPolicy policy, int capacity, int count, int gop) {
+        VideoFrameQueue queue = new VideoFrameQueue(capacity, policy);
+        for (int i = 0; i < count; i++) {
+            SharedFrame frame = shared(i, gop > 0 && i % gop == 0);
+            queue.offer(frame);
+            frame.release();
+        }
+        return queue;
+    }
+
+    private static List<Integer> drain(VideoFrameQueue queue) throws InterruptedException {
+        List<Integer> markers = new ArrayList<>();
+        queue.close();
+        SharedFrame frame;
+        while ((frame = queue.take(10)) != null) {
+            markers.add(marker(frame.getFrame()));
+            frame.release();
+        }
+        return markers;
+    }
+
+    private static SharedFrame shared(int marker, boolean key) {
+        return shared(marker, key, marker);
+    }
+
+    private static SharedFrame shared(int marker, boolean key, long captureNanos) {
+        SharedFrame frame = new SharedFrame(null);
+        frame.fill(frame(marker), captureNanos, marker, key);
+        return frame;
+    }
+
+    static Frame frame(int marker) {
+        Frame frame = new Frame(8, 4, Frame.DEPTH_UBYTE, 3);
+        fill(frame, marker);
+        return frame;
+    }
+
+    static void fill(Frame frame, int marker) {
+        ByteBuffer data = (ByteBuffer) frame.image[0];
+        for (int i = 0; i < data.capacity(); i++) {
+            data.put(i, (byte) marker);
+        }
+    }
+
+    static int marker(Frame frame) {
+        return ((ByteBuffer) frame.image[0]).get(0) & 0xFF;
+    }
+}
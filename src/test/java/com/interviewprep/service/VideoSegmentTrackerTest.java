@@ -0,0 +1,107 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.VideoSegmentIndex;
+import com.interviewprep.model.VideoSegmentIndex.Answer;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoSegmentTrackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSegmentedRecordingIndexesQuestions() throws Exception {
+        // Arrange: 5 s at 10 fps in 2 s segments
+        VideoSegmentTracker tracker = new VideoSegmentTracker(tempDir, "video_test", 2);
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(tracker.getOutputPattern(), 32, 32);
+        recorder.setFormat("mp4");
+        recorder.setVideoCodec(avcodec.AV_CODEC_ID_MPEG4);
+        recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+        recorder.setFrameRate(10);
+        tracker.applyTo(recorder);
+        recorder.start();
+
+        // Act
+        Frame frame = new Frame(32, 32, Frame.DEPTH_UBYTE, 3);
+        for (int i = 0; i < 50; i++) {
+            if (i == 5) tracker.markQuestion("q1", 0, 500);
+            if (i == 35) tracker.markQuestion("q2", 1, 3500);
+            recorder.setFrameNumber(i);
+            recorder.record(frame);
+        }
+        recorder.stop();
+        recorder.release();
+        VideoSegmentIndex index = tracker.finish();
+
+        // Assert
+        assertTrue(index.isComplete());
+        assertEquals(3, index.getSegments().size());
+        assertEquals("video_test_001.mp4", index.getSegments().get(1).getFileName());
+        assertEquals(2000, index.getSegments().get(1).getStartMillis());
+        assertEquals(5000, index.getSegments().get(2).getEndMillis());
+
+        Answer second = index.getAnswer("q2");
+        assertEquals("video_test_001.mp4", second.getFileName());
+        assertEquals(1500, second.getOffsetMillis());
+        assertEquals("video_test_000.mp4", index.getAnswer("q1").getFileName());
+
+        // Each segment is a playable MP4 starting at zero
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(tempDir.resolve(second.getFileName()).toFile())) {
+            grabber.start();
+            assertEquals(20, grabber.getLengthInVideoFrames());
+            grabber.setTimestamp(second.getOffsetMillis() * 1000);
+            assertEquals(1_500_000, grabber.grabImage().timestamp, 100_000);
+            grabber.stop();
+        }
+        assertEquals(index, VideoSegmentTracker.readIndex(tempDir));
+    }
+
+    @Test
+    void testIndexAfterCrashUsesSegmentsClosedSinceLastWrite() throws Exception {
+        // Arrange: the index was last written while segment 0 was the only one closed
+        Path list = tempDir.resolve(VideoSegmentTracker.SEGMENT_LIST_NAME);
+        Files.writeString(list, "video_000.mp4,0.000000,10.000000\n");
+        VideoSegmentTracker tracker = new VideoSegmentTracker(tempDir, "video", 10);
+        tracker.markQuestion("q1", 0, 2000);
+        tracker.markQuestion("q2", 1, 14000);
+        tracker.markQuestion("q3", 2, 23000);
+
+        // Act: segment 1 closes, then the process dies halfway through writing the list
+        Files.writeString(list, "video_000.mp4,0.000000,10.000000\nvideo_001.mp4,10.000000,20.033333\nvideo_0");
+        VideoSegmentIndex index = VideoSegmentTracker.readIndex(tempDir);
+
+        // Assert
+        assertFalse(index.isComplete());
+        assertEquals(2, index.getSegments().size());
+        assertEquals("video_001.mp4", index.getAnswer("q2").getFileName());
+        assertEquals(4000, index.getAnswer("q2").getOffsetMillis());
+        assertNull(index.getAnswer("q3").getFileName(), "Lost with the unfinished segment");
+    }
+
+    @Test
+    void testResolveFileFindsTranscodedSegment() throws Exception {
+        Files.createFile(tempDir.resolve("video_000" + RecordingRetentionService.LOW_TIER_SUFFIX));
+        Files.createFile(tempDir.resolve("video_001.mp4"));
+
+        assertEquals(tempDir.resolve("video_000.low.mp4"), VideoSegmentTracker.resolveFile(tempDir, "video_000.mp4"));
+        assertEquals(tempDir.resolve("video_001.mp4"), VideoSegmentTracker.resolveFile(tempDir, "video_001.mp4"));
+        assertNull(VideoSegmentTracker.readIndex(tempDir));
+    }
+
+    @Test
+    void testStoredVideoPathIsRecognisedAsIndex() {
+        assertTrue(VideoSegmentTracker.isIndex(tempDir.resolve(VideoSegmentTracker.INDEX_FILE_NAME)));
+        assertFalse(VideoSegmentTracker.isIndex(tempDir.resolve("video_20240101.mp4")));
+    }
+}
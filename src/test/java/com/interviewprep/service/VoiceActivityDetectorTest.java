@@ -0,0 +1,140 @@
+package com.interviewprep.service;
+
+import com.interviewprep.model.AnswerSegmentIndex.Span;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoiceActivityDetectorTest {
+    private static final int RATE = 16000;
+
+    @Test
+    void testDetectsSpeechBetweenSilences() {
+        // Arrange: 1 s noise, 2 s tone, 1 s noise
+        byte[] pcm = concat(noise(1000), tone(2000, 0.3), noise(1000));
+        VoiceActivityDetector vad = new VoiceActivityDetector(RATE);
+
+        // Act
+        vad.process(pcm, 0, pcm.length);
+        vad.finish();
+
+        // Assert
+        List<Span> spans = vad.getSpans();
+        assertEquals(1, spans.size());
+        assertEquals(1000, spans.get(0).getStartMillis(), 40);
+        assertEquals(3000, spans.get(0).getEndMillis(), 40);
+    }
+
+    @Test
+    void testShortGapsAreBridgedAndLongGapsSplit() {
+        // Arrange: a 150 ms gap is inside the hangover, an 800 ms gap is a pause
+        byte[] pcm = concat(noise(500), tone(700, 0.3), noise(150), tone(700, 0.3),
+            noise(800), tone(500, 0.3), noise(500));
+        VoiceActivityDetector vad = new VoiceActivityDetector(RATE);
+
+        // Act
+        vad.process(pcm, 0, pcm.length);
+        vad.finish();
+
+        // Assert
+        List<Span> spans = vad.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals(500, spans.get(0).getStartMillis(), 40);
+        assertEquals(2050, spans.get(0).getEndMillis(), 40);
+        assertEquals(2850, spans.get(1).getStartMillis(), 40);
+    }
+
+    @Test
+    void testClicksShorterThanMinimumAreIgnored() {
+        byte[] pcm = concat(noise(500), tone(20, 0.8), noise(500));
+        VoiceActivityDetector vad = new VoiceActivityDetector(RATE);
+
+        vad.process(pcm, 0, pcm.length);
+        vad.finish();
+
+        assertTrue(vad.getSpans().isEmpty());
+    }
+
+    @Test
+    void testOddBlockSizesGiveSameResultAsOneBlock() {
+        // Arrange
+        byte[] pcm = concat(noise(400), tone(600, 0.2), noise(700));
+        VoiceActivityDetector whole = new VoiceActivityDetector(RATE);
+        VoiceActivityDetector chunked = new VoiceActivityDetector(RATE);
+
+        // Act
+        whole.process(pcm, 0, pcm.length);
+        whole.finish();
+        for (int offset = 0; offset < pcm.length; offset += 333) {
+            chunked.process(pcm, offset, Math.min(333, pcm.length - offset));
+        }
+        chunked.finish();
+
+        // Assert
+        assertEquals(whole.getSpans(), chunked.getSpans());
+    }
+
+    @Test
+    void testSuppressedAudioIsNotSpeech() {
+        byte[] pcm = concat(noise(300), tone(1000, 0.3), noise(300));
+        VoiceActivityDetector vad = new VoiceActivityDetector(RATE);
+
+        vad.process(pcm, 0, pcm.length, true);
+        vad.finish();
+
+        assertTrue(vad.getSpans().isEmpty());
+    }
+
+    @Test
+    void testSkipAdvancesTimeAndClosesOpenSpan() {
+        // Arrange
+        VoiceActivityDetector vad = new VoiceActivityDetector(RATE);
+        byte[] speech = concat(noise(200), tone(500, 0.3));
+        vad.process(speech, 0, speech.length);
+        assertTrue(vad.isSpeaking());
+
+        // Act: one second lost upstream
+        vad.skip(RATE * 2);
+
+        // Assert
+        assertFalse(vad.isSpeaking());
+        assertEquals(1, vad.getSpans().size());
+        assertEquals(700, vad.getSpans().get(0).getEndMillis(), 40);
+        assertEquals(1700, vad.getPositionMillis());
+    }
+
+    static byte[] tone(int millis, double amplitude) {
+        int samples = RATE * millis / 1000;
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short value = (short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * 220 * i / RATE));
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+
+    static byte[] noise(int millis) {
+        Random random = new Random(millis);
+        int samples = RATE * millis / 1000;
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short value = (short) Math.round(random.nextGaussian() * 30); // roughly -60 dBFS
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+
+    static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package com.interviewprep.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WhisperCppEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCleanDropsNonSpeechMarkers() {
+        String output = "[BLANK_AUDIO]\n I led the migration (coughs) to\n  the new platform. [MUSIC]\n";
+
+        assertEquals("I led the migration to the new platform.", WhisperCppEngine.clean(output));
+    }
+
+    @Test
+    void testUnavailableWithoutModel() {
+        WhisperCppEngine engine = new WhisperCppEngine("whisper-cli", tempDir.resolve("missing.bin"), "en", 1, 5);
+
+        assertFalse(engine.isAvailable());
+    }
+}